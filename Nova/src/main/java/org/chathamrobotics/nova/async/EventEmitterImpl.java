@@ -11,37 +11,44 @@ package org.chathamrobotics.nova.async;
 
 import android.support.annotation.NonNull;
 
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
-
 /**
- * Implementation of event emitter
+ * Implementation of event emitter. Safe to emit from one thread, such as the event loop, while
+ * other threads add and remove listeners. Each event's listeners are kept in an immutable array
+ * that is replaced when they change, so emitting never locks and, unless a listener registered
+ * with {@link #once(Object, AsyncCallback)} is due, never allocates.
+ *
+ * Listeners added or removed while an event is being emitted take effect on the next emit.
  * @param <E>   the type used for events
  */
-@SuppressWarnings("unused")
+@SuppressWarnings({"unused", "WeakerAccess"})
 public class EventEmitterImpl<E> implements EventEmitter<E> {
-    private final HashMap<E, List<AsyncCallback>> eventListeners = new HashMap<>();
+    private final ListenerTable<E> listeners;
+
+    /**
+     * Creates a new instance of {@link EventEmitterImpl} for any type of event
+     */
+    public EventEmitterImpl() {
+        this.listeners = new ListenerTable<>(null);
+    }
+
+    /**
+     * Creates a new instance of {@link EventEmitterImpl}. If the events are an enum they are looked
+     * up by ordinal instead of by hash
+     * @param eventType the type used for events
+     */
+    public EventEmitterImpl(@NonNull Class<E> eventType) {
+        this.listeners = new ListenerTable<>(eventType);
+    }
 
     /**
-     * Registers a listener on the given event that will only be called once
+     * Registers a listener on the given event that will only be called once. If the event is
+     * emitted from several threads at once the listener is still only called once
      * @param event     the event to listen for
      * @param callback  the callback to register
      */
     @Override
-    public void once(final E event, final AsyncCallback callback) {
-        on(event, new AsyncCallback() {
-            private int count;
-
-            @Override
-            public void run(Throwable thr) {
-                count++;
-
-                callback.run(thr);
-
-                if (count >= 1) removeListener(event, this);
-            }
-        });
+    public void once(@NonNull E event, @NonNull AsyncCallback callback) {
+        listeners.add(event, callback, true);
     }
 
     /**
@@ -61,25 +68,17 @@ public class EventEmitterImpl<E> implements EventEmitter<E> {
      */
     @Override
     public void addListener(@NonNull E event, @NonNull AsyncCallback callback) {
-        List<AsyncCallback> listeners = eventListeners.get(event);
-
-        if (listeners == null) {
-            listeners = new LinkedList<>();
-            eventListeners.put(event, listeners);
-        }
-
-        listeners.add(callback);
+        listeners.add(event, callback, false);
     }
 
     /**
-     * Removes a listener
+     * Removes a listener. If the callback was registered more than once only one is removed
      * @param event     the event
      * @param callback  the callback to remove
      */
     @Override
     public void removeListener(@NonNull E event, @NonNull AsyncCallback callback) {
-        List<AsyncCallback> listeners = eventListeners.get(event);
-        if (listeners != null) listeners.remove(callback);
+        listeners.remove(event, callback);
     }
 
     /**
@@ -87,8 +86,8 @@ public class EventEmitterImpl<E> implements EventEmitter<E> {
      * @param event     the event
      */
     @Override
-    public void removeListeners(E event) {
-        eventListeners.remove(event);
+    public void removeListeners(@NonNull E event) {
+        listeners.clear(event);
     }
 
     /**
@@ -96,6 +95,38 @@ public class EventEmitterImpl<E> implements EventEmitter<E> {
      */
     @Override
     public void removeListeners() {
-        eventListeners.clear();
+        listeners.clear();
+    }
+
+    /**
+     * Gets the number of listeners on the event
+     * @param event the event
+     * @return      the number of listeners
+     */
+    public int listenerCount(@NonNull E event) {
+        return listeners.count(event);
+    }
+
+    /**
+     * Calls the event's listeners without an error
+     * @param event the event to emit
+     * @return      whether the event had any listeners
+     */
+    public boolean emit(@NonNull E event) {
+        return emit(event, null);
+    }
+
+    /**
+     * Calls the event's listeners in the order they were added. An exception thrown by a listener
+     * stops the emit and is thrown to the caller
+     * @param event the event to emit
+     * @param thr   the error to pass to the listeners. Null if there wasn't one
+     * @return      whether the event had any listeners
+     */
+    public boolean emit(@NonNull E event, Throwable thr) {
+        Object[] callbacks = listeners.claim(event);
+        for (Object callback : callbacks) ((AsyncCallback) callback).run(thr);
+
+        return callbacks.length > 0;
     }
 }
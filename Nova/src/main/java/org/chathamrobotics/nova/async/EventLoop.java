@@ -12,10 +12,15 @@ package org.chathamrobotics.nova.async;
 import android.support.annotation.NonNull;
 import android.util.Log;
 
+import org.chathamrobotics.nova.metrics.Counter;
+import org.chathamrobotics.nova.metrics.LatencyHistogram;
+import org.chathamrobotics.nova.metrics.MetricsRegistry;
+import org.chathamrobotics.nova.util.Clock;
+import org.chathamrobotics.nova.util.NovaClock;
+
 import java.util.Collection;
-import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * A external event loop that operates in it's own thread. The event loop will only run if it has
@@ -27,7 +32,17 @@ public class EventLoop {
 
     protected String tag = TAG;
 
-    protected final List<Listener> listeners = Collections.synchronizedList(new LinkedList<Listener>());
+    private static final Listener[] NO_LISTENERS = new Listener[0];
+
+    // copy on write so that listeners can remove themselves while the loop is iterating. Subclasses
+    // that change it directly must call listenersChanged()
+    protected final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    // what each pass runs, so a pass neither allocates an iterator nor goes through the list
+    private volatile Listener[] snapshot = NO_LISTENERS;
+
+    private final LatencyHistogram passLatency = MetricsRegistry.getInstance().histogram(getClass().getSimpleName() + ".pass");
+    private final Counter passCount = MetricsRegistry.getInstance().counter(getClass().getSimpleName() + ".passes");
 
     private final Runnable pollingLoop = new Runnable() {
         @Override
@@ -35,8 +50,7 @@ public class EventLoop {
             while(true) {
                 if (Thread.interrupted()) break;
 
-                for (Listener listener : listeners)
-                    listener.run();
+                poll();
 
                 // exit thread if there are no more listeners
                 if (listeners.isEmpty()) break;
@@ -48,6 +62,65 @@ public class EventLoop {
 
     private Thread pollingThread;
 
+    private volatile Clock clock = NovaClock.getInstance();
+    private volatile boolean threaded = true;
+    private volatile boolean conditionTiming;
+
+    /**
+     * Gets the clock used to measure timeouts for the event loop's listeners
+     * @return  the event loop's clock
+     */
+    public Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Sets the clock used to measure timeouts for the event loop's listeners
+     * @param clock the clock to use
+     */
+    public void setClock(@NonNull Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Checks whether or not the event loop polls in its own thread
+     * @return  whether or not the event loop polls in its own thread
+     */
+    public boolean isThreaded() {
+        return threaded;
+    }
+
+    /**
+     * Sets whether or not the event loop polls in its own thread. If not {@link #poll()} must be
+     * called to run the listeners, eg. by a simulation
+     * @param threaded  whether or not the event loop should poll in its own thread
+     */
+    public void setThreaded(boolean threaded) {
+        this.threaded = threaded;
+
+        if (threaded) {
+            if (! listeners.isEmpty()) startPolling();
+        } else if (pollingThread != null) stop();
+    }
+
+    /**
+     * Checks whether or not each listener's condition is timed
+     * @return  whether or not each listener's condition is timed
+     */
+    public boolean isConditionTiming() {
+        return conditionTiming;
+    }
+
+    /**
+     * Sets whether or not each listener's condition is timed, in the Listener.condition histogram.
+     * Off by default because it reads the clock twice per listener per pass. The whole pass is
+     * always timed while metrics are enabled
+     * @param conditionTiming   whether or not to time each listener's condition
+     */
+    public void setConditionTiming(boolean conditionTiming) {
+        this.conditionTiming = conditionTiming;
+    }
+
     /**
      * Stops the event loop thread.
      * Note: it will start again if addListener() is called
@@ -57,7 +130,7 @@ public class EventLoop {
         // stop thread and give it a chance to close gracefully
         Thread cache = pollingThread;
         pollingThread = null;
-        cache.interrupt();
+        if (cache != null) cache.interrupt();
     }
 
     /**
@@ -80,9 +153,10 @@ public class EventLoop {
         boolean result;
 
         result = listeners.add(listener);
+        listenersChanged();
         if (result) Log.d(tag, "Added listener (" + listener + ")");
 
-        startPolling();
+        if (threaded) startPolling();
 
         // only return the listener if the add was successful
         return result ? listener : null;
@@ -93,15 +167,19 @@ public class EventLoop {
      */
     public void removeAllListeners() {
         listeners.clear();
+        listenersChanged();
         Log.d(tag, "removed all listeners");
     }
 
     /**
-     * Removes all of the listeners in the given collection. For the best performance use a {@link LinkedList}
+     * Removes all of the listeners in the given collection. They are removed in one pass, so the
+     * listener list is copied once rather than once per listener
      * @param listeners the listeners to remove
      */
     public void removeAllListeners(Collection<Listener> listeners) {
-        for (Listener listener : listeners) removeListener(listener);
+        this.listeners.removeAll(listeners);
+        listenersChanged();
+        Log.d(tag, "Removed Listeners (" + listeners + ")");
     }
 
     /**
@@ -111,15 +189,43 @@ public class EventLoop {
      */
     public Listener removeListener(@NonNull Listener listener) {
        boolean result = listeners.remove(listener);
+       listenersChanged();
        Log.d(tag, "Removed Listener (" + listener + ")");
        return result ? listener : null;
     }
 
+    /**
+     * Runs each of the listeners once. This is done continuously by the polling thread unless the
+     * event loop is not threaded
+     */
+    public void poll() {
+        Listener[] listeners = snapshot;
+        boolean timed = conditionTiming;
+        long start = passLatency.start();
+
+        for (Listener listener : listeners)
+            listener.run(timed);
+
+        // passes are only run by one thread at a time
+        passLatency.stopSingleWriter(start);
+        passCount.increment();
+    }
+
+    /**
+     * Updates the listeners that each pass runs. Called whenever {@link #listeners} is changed
+     */
+    protected final void listenersChanged() {
+        // locked so a slow update cannot replace a newer one
+        synchronized (listeners) {
+            snapshot = listeners.toArray(NO_LISTENERS);
+        }
+    }
+
     private void startPolling() {
         //noinspection ConstantConditions
         if (pollingThread != null && pollingThread.isAlive()) return;
 
-        pollingThread = new Thread(pollingThread, tag);
+        pollingThread = new Thread(pollingLoop, tag);
         pollingThread.setDaemon(true);
 
         Log.d(tag, "Starting polling loop thread");
@@ -10,6 +10,11 @@ package org.chathamrobotics.nova.async;
 
 import android.support.annotation.NonNull;
 
+import org.chathamrobotics.nova.metrics.LatencyHistogram;
+import org.chathamrobotics.nova.metrics.MetricsRegistry;
+import org.chathamrobotics.nova.util.Deadline;
+
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 /**
@@ -17,6 +22,8 @@ import java.util.concurrent.TimeoutException;
  */
 @SuppressWarnings({"unused", "WeakerAccess", "SameParameterValue"})
 public class Listener {
+    private static final LatencyHistogram CONDITION_LATENCY = MetricsRegistry.getInstance().histogram("Listener.condition");
+
     /**
      * A condition that a listener will test to determine whether or not to call the handler
      */
@@ -29,20 +36,32 @@ public class Listener {
     }
 
     /**
-     * Adds a timeout to the listener
+     * Adds a timeout to the listener. The timeout is measured with the event loop's clock
      * @param listener  the listener
      * @param timeout   the timeout in ms
      * @param eventLoop the event loop to remove the listener from
      * @return          the listener
      */
     public static Listener timeout(@NonNull final Listener listener, long timeout, @NonNull final EventLoop eventLoop) {
-        final long endTime = System.currentTimeMillis() + timeout;
+        return timeout(listener, timeout, TimeUnit.MILLISECONDS, eventLoop);
+    }
+
+    /**
+     * Adds a timeout to the listener. The timeout is measured with the event loop's clock
+     * @param listener  the listener
+     * @param timeout   the timeout
+     * @param unit      the unit of the timeout
+     * @param eventLoop the event loop to remove the listener from
+     * @return          the listener
+     */
+    public static Listener timeout(@NonNull final Listener listener, long timeout, TimeUnit unit, @NonNull final EventLoop eventLoop) {
+        final Deadline deadline = Deadline.after(timeout, unit, eventLoop.getClock());
 
         final Condition cnd = listener.condition;
         listener.condition = new Condition() {
             @Override
             public boolean test() throws Exception {
-                if (System.currentTimeMillis() > endTime) {
+                if (deadline.isExceeded()) {
                     eventLoop.removeListener(listener);
                     throw new TimeoutException("Listener timed out");
                 }
@@ -106,11 +125,25 @@ public class Listener {
      * Runs the listener
      */
     public void run() {
+        run(false);
+    }
+
+    // runs the listener, timing the condition if asked to by the event loop
+    void run(boolean timed) {
         boolean result;
+        Throwable error = null;
+
+        long start = timed ? CONDITION_LATENCY.start() : LatencyHistogram.NOT_TIMED;
         try {
             result = condition.test();
         } catch (Throwable thr) {
-            handler.run(thr);
+            result = false;
+            error = thr;
+        }
+        CONDITION_LATENCY.stop(start);
+
+        if (error != null) {
+            handler.run(error);
             return;
         }
 
@@ -0,0 +1,206 @@
+package org.chathamrobotics.nova.async;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The listener storage shared by the event emitters. Each event's callbacks are kept in an
+ * immutable array that is replaced when they change, so reading them never locks and, unless a
+ * once callback is due, never allocates. The callbacks are stored as objects so any callback type
+ * can be kept
+ * @param <E>   the type used for events
+ */
+final class ListenerTable<E> {
+    /**
+     * An immutable snapshot of an event's callbacks
+     */
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(new Object[0], new boolean[0], false);
+
+        final Object[] callbacks;
+        final boolean[] once;
+        final boolean hasOnce;
+
+        Snapshot(Object[] callbacks, boolean[] once, boolean hasOnce) {
+            this.callbacks = callbacks;
+            this.once = once;
+            this.hasOnce = hasOnce;
+        }
+
+        Snapshot with(Object callback, boolean isOnce) {
+            int size = callbacks.length;
+
+            Object[] newCallbacks = new Object[size + 1];
+            boolean[] newOnce = new boolean[size + 1];
+            System.arraycopy(callbacks, 0, newCallbacks, 0, size);
+            System.arraycopy(once, 0, newOnce, 0, size);
+
+            newCallbacks[size] = callback;
+            newOnce[size] = isOnce;
+
+            return new Snapshot(newCallbacks, newOnce, hasOnce || isOnce);
+        }
+
+        Snapshot without(Object callback) {
+            for (int i = 0; i < callbacks.length; i++) {
+                if (callbacks[i] != callback && ! callbacks[i].equals(callback)) continue;
+
+                return copyWithout(i);
+            }
+
+            return this;
+        }
+
+        Snapshot withoutOnce() {
+            int size = 0;
+            for (boolean isOnce : once) if (! isOnce) size++;
+
+            if (size == 0) return EMPTY;
+
+            Object[] newCallbacks = new Object[size];
+            for (int i = 0, j = 0; i < callbacks.length; i++) if (! once[i]) newCallbacks[j++] = callbacks[i];
+
+            return new Snapshot(newCallbacks, new boolean[size], false);
+        }
+
+        private Snapshot copyWithout(int index) {
+            int size = callbacks.length - 1;
+            if (size == 0) return EMPTY;
+
+            Object[] newCallbacks = new Object[size];
+            boolean[] newOnce = new boolean[size];
+            boolean newHasOnce = false;
+
+            for (int i = 0, j = 0; i < callbacks.length; i++) {
+                if (i == index) continue;
+
+                newCallbacks[j] = callbacks[i];
+                newOnce[j] = once[i];
+                newHasOnce |= once[i];
+                j++;
+            }
+
+            return new Snapshot(newCallbacks, newOnce, newHasOnce);
+        }
+    }
+
+    // exactly one of these is used. The array, indexed by ordinal, when the events are an enum
+    private final ConcurrentMap<E, Snapshot> eventSnapshots;
+    private final AtomicReferenceArray<Snapshot> enumSnapshots;
+
+    /**
+     * Creates a new instance of {@link ListenerTable}
+     * @param eventType the type used for events. If it is an enum the events are looked up by
+     *                  ordinal instead of by hash. Null if it is not known
+     */
+    ListenerTable(Class<E> eventType) {
+        if (eventType != null && eventType.isEnum()) {
+            int size = eventType.getEnumConstants().length;
+
+            this.eventSnapshots = null;
+            this.enumSnapshots = new AtomicReferenceArray<>(size);
+
+            for (int i = 0; i < size; i++) enumSnapshots.set(i, Snapshot.EMPTY);
+        } else {
+            this.eventSnapshots = new ConcurrentHashMap<>();
+            this.enumSnapshots = null;
+        }
+    }
+
+    /**
+     * Adds a callback to the event
+     * @param event     the event
+     * @param callback  the callback
+     * @param once      whether the callback should be removed the first time it is claimed
+     */
+    void add(E event, Object callback, boolean once) {
+        Snapshot current;
+
+        do {
+            current = get(event);
+        } while (! compareAndSet(event, current, current.with(callback, once)));
+    }
+
+    /**
+     * Removes a callback from the event. If it was added more than once only one is removed
+     * @param event     the event
+     * @param callback  the callback
+     */
+    void remove(E event, Object callback) {
+        Snapshot current, updated;
+
+        do {
+            current = get(event);
+            updated = current.without(callback);
+        } while (updated != current && ! compareAndSet(event, current, updated));
+    }
+
+    /**
+     * Removes all of the event's callbacks
+     * @param event the event
+     */
+    void clear(E event) {
+        if (enumSnapshots != null) enumSnapshots.set(ordinal(event), Snapshot.EMPTY);
+        else eventSnapshots.remove(event);
+    }
+
+    /**
+     * Removes every callback
+     */
+    void clear() {
+        if (enumSnapshots == null) {
+            eventSnapshots.clear();
+            return;
+        }
+
+        for (int i = 0; i < enumSnapshots.length(); i++) enumSnapshots.set(i, Snapshot.EMPTY);
+    }
+
+    /**
+     * Gets the number of callbacks on the event
+     * @param event the event
+     * @return      the number of callbacks
+     */
+    int count(E event) {
+        return get(event).callbacks.length;
+    }
+
+    /**
+     * Gets the event's callbacks to call, removing the once callbacks among them. The once
+     * callbacks are only handed to one caller even if several claim the event at once
+     * @param event the event
+     * @return      the callbacks in the order they were added. Must not be modified
+     */
+    Object[] claim(E event) {
+        Snapshot snapshot = get(event);
+
+        while (snapshot.hasOnce && ! compareAndSet(event, snapshot, snapshot.withoutOnce()))
+            snapshot = get(event);
+
+        return snapshot.callbacks;
+    }
+
+    private Snapshot get(E event) {
+        if (enumSnapshots != null) return enumSnapshots.get(ordinal(event));
+
+        Snapshot snapshot = eventSnapshots.get(event);
+        return snapshot == null ? Snapshot.EMPTY : snapshot;
+    }
+
+    private boolean compareAndSet(E event, Snapshot expected, Snapshot updated) {
+        if (enumSnapshots != null) return enumSnapshots.compareAndSet(ordinal(event), expected, updated);
+
+        // events without callbacks are left out of the map
+        if (expected == Snapshot.EMPTY)
+            return updated == Snapshot.EMPTY || eventSnapshots.putIfAbsent(event, updated) == null;
+
+        return updated == Snapshot.EMPTY ?
+                eventSnapshots.remove(event, expected) :
+                eventSnapshots.replace(event, expected, updated);
+    }
+
+    private static int ordinal(Object event) {
+        return ((Enum) event).ordinal();
+    }
+}
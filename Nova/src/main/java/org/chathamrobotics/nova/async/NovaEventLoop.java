@@ -11,7 +11,6 @@ package org.chathamrobotics.nova.async;
 
 import android.support.annotation.NonNull;
 
-import java.util.ListIterator;
 
 /**
  * The event loop used by nova
@@ -137,10 +136,11 @@ public class NovaEventLoop extends EventLoop {
      * @param <T>       the type of the object
      */
     public <T> void removeAllListeners(T object) {
-        for (ListIterator<Listener> itr = listeners.listIterator(); itr.hasNext();) {
-            Listener listener = itr.next();
+        for (Listener listener : listeners) {
             if (listener instanceof ObjectListener && ((ObjectListener) listener).object == object)
-                itr.remove();
+                listeners.remove(listener);
         }
+
+        listenersChanged();
     }
 }
@@ -0,0 +1,347 @@
+package org.chathamrobotics.nova.async;
+
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+/**
+ * An event emitter whose events can carry a value, such as a sensor reading. Primitive values are
+ * passed to callbacks that take the primitive so emitting them does not box or allocate.
+ *
+ * A primitive is passed to every callback it can be widened to. An int is passed to the
+ * {@link IntCallback}s, then the {@link LongCallback}s, then the {@link DoubleCallback}s. A long
+ * skips the int callbacks and a double is only passed to double callbacks. Objects are emitted with
+ * {@link #emitValue(Object, Object)} and only passed to {@link ObjectCallback}s, so primitives are
+ * never boxed for them. Within each kind callbacks are called in the order they were added. An
+ * exception thrown by a value callback is logged and the emit carries on with the next callback.
+ *
+ * Usage:
+ * <pre>{@code
+ *      PayloadEmitter<Event> emitter = new PayloadEmitter<>(Event.class);
+ *
+ *      emitter.on(Event.HEADING, new PayloadEmitter.DoubleCallback() {
+ *          public void run(double heading) { ... }
+ *      });
+ *
+ *      emitter.emit(Event.HEADING, gyro.getHeading());
+ * }</pre>
+ * @param <E>   the type used for events
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class PayloadEmitter<E> extends EventEmitterImpl<E> {
+    private static final String TAG = PayloadEmitter.class.getSimpleName();
+
+    /**
+     * A callback that receives an int
+     */
+    public interface IntCallback {
+        /**
+         * Runs the callback
+         * @param value the event's value
+         */
+        void run(int value);
+    }
+
+    /**
+     * A callback that receives a long. Also receives ints
+     */
+    public interface LongCallback {
+        /**
+         * Runs the callback
+         * @param value the event's value
+         */
+        void run(long value);
+    }
+
+    /**
+     * A callback that receives a double. Also receives ints and longs
+     */
+    public interface DoubleCallback {
+        /**
+         * Runs the callback
+         * @param value the event's value
+         */
+        void run(double value);
+    }
+
+    /**
+     * A callback that receives an object
+     * @param <T>   the type of the value
+     */
+    public interface ObjectCallback<T> {
+        /**
+         * Runs the callback
+         * @param value the event's value
+         */
+        void run(T value);
+    }
+
+    private final ListenerTable<E> intCallbacks;
+    private final ListenerTable<E> longCallbacks;
+    private final ListenerTable<E> doubleCallbacks;
+    private final ListenerTable<E> objectCallbacks;
+
+    /**
+     * Creates a new instance of {@link PayloadEmitter} for any type of event
+     */
+    public PayloadEmitter() {
+        super();
+
+        this.intCallbacks = new ListenerTable<>(null);
+        this.longCallbacks = new ListenerTable<>(null);
+        this.doubleCallbacks = new ListenerTable<>(null);
+        this.objectCallbacks = new ListenerTable<>(null);
+    }
+
+    /**
+     * Creates a new instance of {@link PayloadEmitter}. If the events are an enum they are looked
+     * up by ordinal instead of by hash
+     * @param eventType the type used for events
+     */
+    public PayloadEmitter(@NonNull Class<E> eventType) {
+        super(eventType);
+
+        this.intCallbacks = new ListenerTable<>(eventType);
+        this.longCallbacks = new ListenerTable<>(eventType);
+        this.doubleCallbacks = new ListenerTable<>(eventType);
+        this.objectCallbacks = new ListenerTable<>(eventType);
+    }
+
+    // INT
+
+    /**
+     * Registers an int callback on the given event
+     * @param event     the event to listen for
+     * @param callback  the callback to register
+     */
+    public void on(@NonNull E event, @NonNull IntCallback callback) {
+        intCallbacks.add(event, callback, false);
+    }
+
+    /**
+     * Registers an int callback on the given event that will only be called once
+     * @param event     the event to listen for
+     * @param callback  the callback to register
+     */
+    public void once(@NonNull E event, @NonNull IntCallback callback) {
+        intCallbacks.add(event, callback, true);
+    }
+
+    /**
+     * Removes an int callback
+     * @param event     the event
+     * @param callback  the callback to remove
+     */
+    public void removeListener(@NonNull E event, @NonNull IntCallback callback) {
+        intCallbacks.remove(event, callback);
+    }
+
+    // LONG
+
+    /**
+     * Registers a long callback on the given event
+     * @param event     the event to listen for
+     * @param callback  the callback to register
+     */
+    public void on(@NonNull E event, @NonNull LongCallback callback) {
+        longCallbacks.add(event, callback, false);
+    }
+
+    /**
+     * Registers a long callback on the given event that will only be called once
+     * @param event     the event to listen for
+     * @param callback  the callback to register
+     */
+    public void once(@NonNull E event, @NonNull LongCallback callback) {
+        longCallbacks.add(event, callback, true);
+    }
+
+    /**
+     * Removes a long callback
+     * @param event     the event
+     * @param callback  the callback to remove
+     */
+    public void removeListener(@NonNull E event, @NonNull LongCallback callback) {
+        longCallbacks.remove(event, callback);
+    }
+
+    // DOUBLE
+
+    /**
+     * Registers a double callback on the given event
+     * @param event     the event to listen for
+     * @param callback  the callback to register
+     */
+    public void on(@NonNull E event, @NonNull DoubleCallback callback) {
+        doubleCallbacks.add(event, callback, false);
+    }
+
+    /**
+     * Registers a double callback on the given event that will only be called once
+     * @param event     the event to listen for
+     * @param callback  the callback to register
+     */
+    public void once(@NonNull E event, @NonNull DoubleCallback callback) {
+        doubleCallbacks.add(event, callback, true);
+    }
+
+    /**
+     * Removes a double callback
+     * @param event     the event
+     * @param callback  the callback to remove
+     */
+    public void removeListener(@NonNull E event, @NonNull DoubleCallback callback) {
+        doubleCallbacks.remove(event, callback);
+    }
+
+    // OBJECT
+
+    /**
+     * Registers an object callback on the given event. The emitter does not check the type of the
+     * values emitted, so every emit of the event must pass a value of the callback's type
+     * @param event     the event to listen for
+     * @param callback  the callback to register
+     */
+    public void on(@NonNull E event, @NonNull ObjectCallback<?> callback) {
+        objectCallbacks.add(event, callback, false);
+    }
+
+    /**
+     * Registers an object callback on the given event that will only be called once
+     * @param event     the event to listen for
+     * @param callback  the callback to register
+     */
+    public void once(@NonNull E event, @NonNull ObjectCallback<?> callback) {
+        objectCallbacks.add(event, callback, true);
+    }
+
+    /**
+     * Removes an object callback
+     * @param event     the event
+     * @param callback  the callback to remove
+     */
+    public void removeListener(@NonNull E event, @NonNull ObjectCallback<?> callback) {
+        objectCallbacks.remove(event, callback);
+    }
+
+    // ALL
+
+    /**
+     * Removes all listeners and callbacks for the event
+     * @param event     the event
+     */
+    @Override
+    public void removeListeners(@NonNull E event) {
+        super.removeListeners(event);
+
+        intCallbacks.clear(event);
+        longCallbacks.clear(event);
+        doubleCallbacks.clear(event);
+        objectCallbacks.clear(event);
+    }
+
+    /**
+     * Removes all listeners and callbacks
+     */
+    @Override
+    public void removeListeners() {
+        super.removeListeners();
+
+        intCallbacks.clear();
+        longCallbacks.clear();
+        doubleCallbacks.clear();
+        objectCallbacks.clear();
+    }
+
+    /**
+     * Gets the number of listeners and callbacks of every kind on the event
+     * @param event the event
+     * @return      the number of listeners
+     */
+    @Override
+    public int listenerCount(@NonNull E event) {
+        return super.listenerCount(event)
+                + intCallbacks.count(event)
+                + longCallbacks.count(event)
+                + doubleCallbacks.count(event)
+                + objectCallbacks.count(event);
+    }
+
+    // EMIT
+
+    /**
+     * Passes the value to the event's int, long and double callbacks
+     * @param event the event to emit
+     * @param value the value
+     * @return      whether any callback was called
+     */
+    public boolean emit(@NonNull E event, int value) {
+        Object[] callbacks = intCallbacks.claim(event);
+        for (Object callback : callbacks) {
+            try {
+                ((IntCallback) callback).run(value);
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Callback for " + event + " failed", e);
+            }
+        }
+
+        return emit(event, (long) value) || callbacks.length > 0;
+    }
+
+    /**
+     * Passes the value to the event's long and double callbacks
+     * @param event the event to emit
+     * @param value the value
+     * @return      whether any callback was called
+     */
+    public boolean emit(@NonNull E event, long value) {
+        Object[] callbacks = longCallbacks.claim(event);
+        for (Object callback : callbacks) {
+            try {
+                ((LongCallback) callback).run(value);
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Callback for " + event + " failed", e);
+            }
+        }
+
+        return emit(event, (double) value) || callbacks.length > 0;
+    }
+
+    /**
+     * Passes the value to the event's double callbacks
+     * @param event the event to emit
+     * @param value the value
+     * @return      whether any callback was called
+     */
+    public boolean emit(@NonNull E event, double value) {
+        Object[] callbacks = doubleCallbacks.claim(event);
+        for (Object callback : callbacks) {
+            try {
+                ((DoubleCallback) callback).run(value);
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Callback for " + event + " failed", e);
+            }
+        }
+
+        return callbacks.length > 0;
+    }
+
+    /**
+     * Passes the value to the event's object callbacks
+     * @param event the event to emit
+     * @param value the value
+     * @return      whether any callback was called
+     */
+    @SuppressWarnings("unchecked")
+    public boolean emitValue(@NonNull E event, Object value) {
+        Object[] callbacks = objectCallbacks.claim(event);
+        for (Object callback : callbacks) {
+            try {
+                ((ObjectCallback<Object>) callback).run(value);
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Callback for " + event + " failed", e);
+            }
+        }
+
+        return callbacks.length > 0;
+    }
+}
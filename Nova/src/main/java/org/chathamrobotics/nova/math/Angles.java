@@ -4,7 +4,52 @@ import org.chathamrobotics.nova.util.units.AngleUnit;
 
 public final class Angles {
     public final static AngleUnit DEFAULT_ANGLE_UNIT = AngleUnit.RADIANS;
-    private final static double DOUBLE_DELTA = 1e-6;
+
+    /**
+     * Wraps the angle into [0, full). Uses floor instead of a floating point modulo, which is slow
+     * and keeps the sign of negative angles
+     * @param angle the angle to wrap
+     * @return      the wrapped angle
+     */
+    public static double wrap(double angle) {
+        return wrap(angle, DEFAULT_ANGLE_UNIT);
+    }
+
+    /**
+     * Wraps the angle into [0, full). Uses floor instead of a floating point modulo, which is slow
+     * and keeps the sign of negative angles
+     * @param angle     the angle to wrap
+     * @param angleUnit the unit of the angle
+     * @return          the wrapped angle
+     */
+    public static double wrap(double angle, AngleUnit angleUnit) {
+        double full = angleUnit.getFull();
+        double wrapped = angle - full * Math.floor(angle / full);
+
+        // angles within rounding error of a full turn can land on either side of the range
+        return wrapped >= 0 && wrapped < full ? wrapped : 0;
+    }
+
+    /**
+     * Normalizes the angle into (-half, half], so that negative means clockwise
+     * @param angle the angle to normalize
+     * @return      the normalized angle
+     */
+    public static double normalize(double angle) {
+        return normalize(angle, DEFAULT_ANGLE_UNIT);
+    }
+
+    /**
+     * Normalizes the angle into (-half, half], so that negative means clockwise
+     * @param angle     the angle to normalize
+     * @param angleUnit the unit of the angle
+     * @return          the normalized angle
+     */
+    public static double normalize(double angle, AngleUnit angleUnit) {
+        double full = angleUnit.getFull();
+
+        return angle - full * Math.ceil(angle / full - 0.5);
+    }
 
     /**
      * Calculates the angle relative to the reference angle
@@ -24,7 +69,7 @@ public final class Angles {
      * @return          the relative angle
      */
     public static double relativeAngle(double reference, double angle, AngleUnit angleUnit) {
-        return Math.abs(angle - reference + angleUnit.getFull()) % angleUnit.getFull();
+        return wrap(angle - reference, angleUnit);
     }
 
     /**
@@ -45,12 +90,7 @@ public final class Angles {
      * @return          the distance
      */
     public static double shortestDistance(double ini, double fin, AngleUnit angleUnit) {
-        double dis = Math.abs(fin - ini + angleUnit.getFull() / 2) % angleUnit.getFull() - angleUnit.getFull() / 2;
-
-        // if dis == -180
-        if (Math.abs(dis + angleUnit.getFull() / 2) < DOUBLE_DELTA) dis = angleUnit.getFull() / 2;
-
-        return dis;
+        return normalize(fin - ini, angleUnit);
     }
 
     private Angles() {}
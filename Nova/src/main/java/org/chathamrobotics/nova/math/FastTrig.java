@@ -0,0 +1,64 @@
+package org.chathamrobotics.nova.math;
+
+/**
+ * Table driven sine and cosine. A 4096 entry table with linear interpolation keeps the error
+ * under {@link #MAX_ERROR}, which is far below what a motor or gyro can resolve, at a fraction of
+ * the cost of {@link Math#sin(double)} on the robot controller.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class FastTrig {
+    /**
+     * The largest difference from {@link Math#sin(double)} and {@link Math#cos(double)} for angles
+     * within {@link #MAX_ANGLE} of zero
+     */
+    public final static double MAX_ERROR = 1e-6;
+
+    /**
+     * Larger angles lose precision when reduced onto the table, and fall back to {@link Math}
+     */
+    public final static double MAX_ANGLE = 1 << 20;
+
+    // a power of two so the index can be wrapped with a mask
+    private final static int SIZE = 4096;
+    private final static int MASK = SIZE - 1;
+    private final static int QUARTER = SIZE / 4;
+    private final static double INDEX_PER_RADIAN = SIZE / (2 * Math.PI);
+
+    // one extra entry so interpolation never has to wrap
+    private final static double[] SIN = new double[SIZE + 1];
+
+    static {
+        for (int i = 0; i <= SIZE; i++) SIN[i] = Math.sin(i / INDEX_PER_RADIAN);
+    }
+
+    /**
+     * Calculates the sine of the angle
+     * @param angle the angle in radians
+     * @return      the sine of the angle
+     */
+    public static double sin(double angle) {
+        return lookup(angle, 0);
+    }
+
+    /**
+     * Calculates the cosine of the angle
+     * @param angle the angle in radians
+     * @return      the cosine of the angle
+     */
+    public static double cos(double angle) {
+        return lookup(angle, QUARTER);
+    }
+
+    private static double lookup(double angle, int offset) {
+        if (! (Math.abs(angle) <= MAX_ANGLE)) return offset == 0 ? Math.sin(angle) : Math.cos(angle);
+
+        double position = angle * INDEX_PER_RADIAN;
+        double floor = Math.floor(position);
+        int index = ((int) floor + offset) & MASK;
+        double fraction = position - floor;
+
+        return SIN[index] + (SIN[index + 1] - SIN[index]) * fraction;
+    }
+
+    private FastTrig() {}
+}
@@ -0,0 +1,161 @@
+package org.chathamrobotics.nova.math;
+
+import org.chathamrobotics.nova.util.units.AngleUnit;
+import org.chathamrobotics.nova.util.units.DistanceUnit;
+
+/**
+ * A mutable position and heading on the field. The position is stored in meters and the heading in
+ * radians, counter clockwise from the x axis. Operations modify the pose in place and return it so
+ * they can be chained without allocating.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class Pose2 {
+    private static final double TWO_PI = 2 * Math.PI;
+
+    public final Vector2 position = new Vector2();
+    public double heading;
+
+    /**
+     * Creates a new instance of {@link Pose2} at the origin
+     */
+    public Pose2() {}
+
+    /**
+     * Creates a new instance of {@link Pose2}
+     * @param x         the x position in meters
+     * @param y         the y position in meters
+     * @param heading   the heading in radians
+     */
+    public Pose2(double x, double y, double heading) {
+        set(x, y, heading);
+    }
+
+    /**
+     * Creates a copy of the given pose
+     * @param other the pose to copy
+     */
+    public Pose2(Pose2 other) {
+        set(other);
+    }
+
+    /**
+     * Sets the pose
+     * @param x         the x position in meters
+     * @param y         the y position in meters
+     * @param heading   the heading in radians
+     * @return          this pose
+     */
+    public Pose2 set(double x, double y, double heading) {
+        position.set(x, y);
+        this.heading = heading;
+
+        return this;
+    }
+
+    /**
+     * Sets the pose
+     * @param x             the x position
+     * @param y             the y position
+     * @param distanceUnit  the unit of the position
+     * @param heading       the heading
+     * @param angleUnit     the unit of the heading
+     * @return              this pose
+     */
+    public Pose2 set(double x, double y, DistanceUnit distanceUnit, double heading, AngleUnit angleUnit) {
+        return set(distanceUnit.toMeters(x), distanceUnit.toMeters(y), angleUnit.toRadians(heading));
+    }
+
+    /**
+     * Sets the pose to the value of another
+     * @param other the pose to copy
+     * @return      this pose
+     */
+    public Pose2 set(Pose2 other) {
+        return set(other.position.x, other.position.y, other.heading);
+    }
+
+    /**
+     * Gets the heading
+     * @param unit  the unit to get the heading in
+     * @return      the heading
+     */
+    public double getHeading(AngleUnit unit) {
+        return unit.fromRadians(heading);
+    }
+
+    /**
+     * Moves the pose by a displacement measured in the pose's own frame, such as the change
+     * measured by odometry since the last update
+     * @param forward   the distance moved forward in meters
+     * @param left      the distance moved left in meters
+     * @param turn      the change in heading in radians
+     * @return          this pose
+     */
+    public Pose2 move(double forward, double left, double turn) {
+        double cos = Math.cos(heading), sin = Math.sin(heading);
+
+        position.add(forward * cos - left * sin, forward * sin + left * cos);
+        heading += turn;
+
+        return this;
+    }
+
+    /**
+     * Composes this pose with a pose relative to it
+     * @param relative  the pose in this pose's frame
+     * @return          this pose
+     */
+    public Pose2 transformBy(Pose2 relative) {
+        return move(relative.position.x, relative.position.y, relative.heading);
+    }
+
+    /**
+     * Rotates a field relative vector into this pose's frame. Used for field centric driving
+     * @param vector    the vector to rotate. Modified in place
+     * @return          the vector
+     */
+    public Vector2 toLocal(Vector2 vector) {
+        return vector.rotate(-heading);
+    }
+
+    /**
+     * Rotates a vector in this pose's frame into the field's frame
+     * @param vector    the vector to rotate. Modified in place
+     * @return          the vector
+     */
+    public Vector2 toField(Vector2 vector) {
+        return vector.rotate(heading);
+    }
+
+    /**
+     * Wraps the heading into [-pi, pi)
+     * @return  this pose
+     */
+    public Pose2 normalizeHeading() {
+        heading -= TWO_PI * Math.floor((heading + Math.PI) / TWO_PI);
+
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (! (obj instanceof Pose2)) return false;
+
+        Pose2 other = (Pose2) obj;
+
+        return position.equals(other.position) && Double.compare(heading, other.heading) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        long bits = Double.doubleToLongBits(heading);
+
+        return position.hashCode() * 31 + (int) (bits ^ (bits >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("(%.4f, %.4f, %.2f deg)", position.x, position.y, Math.toDegrees(heading));
+    }
+}
@@ -0,0 +1,560 @@
+package org.chathamrobotics.nova.math;
+
+import android.support.annotation.NonNull;
+
+import org.chathamrobotics.nova.util.PoseBuffer;
+
+/**
+ * An extended kalman filter that fuses odometry, gyro headings and vision poses into one estimate
+ * of the robot's pose. The state is the field pose (x, y, heading) and its 3x3 covariance, kept in
+ * primitive arrays so no update allocates.
+ *
+ * Odometry drives the prediction and should be fed at encoder rate with {@link #predict(long, double, double, double)}.
+ * Gyro headings are applied as they are read. Vision poses arrive tens of milliseconds after the
+ * frame was captured, so the estimator keeps a short history of its inputs: a late pose is applied
+ * at the step it was captured in and the steps after it are replayed. Corrections that land in the
+ * same step are stored as one fused measurement, which gives the same estimate as applying them
+ * one after another, so a replay matches what was applied live.
+ *
+ * The estimator is not thread safe and should be updated from one thread, eg. the event loop. Each
+ * update is published to {@link #getOutput()}, which can be read from any thread.
+ *
+ * Usage:
+ * <pre>{@code
+ *      PoseEstimator estimator = new PoseEstimator(64);
+ *
+ *      // every loop
+ *      estimator.predict(now, forward, left, turn);
+ *      estimator.correctHeading(gyroHeading, GYRO_VARIANCE);
+ *      estimator.correctFrom(vuforiaManager.getPoses());
+ * }</pre>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class PoseEstimator {
+    /**
+     * The default variance of a vision position at full confidence in m^2
+     */
+    public static final double DEFAULT_VISION_POSITION_VARIANCE = 0.05 * 0.05;
+
+    /**
+     * The default variance of a vision heading at full confidence in rad^2
+     */
+    public static final double DEFAULT_VISION_HEADING_VARIANCE = 0.05 * 0.05;
+
+    /**
+     * The default odometry translation noise, the variance added per meter traveled in m^2/m
+     */
+    public static final double DEFAULT_TRANSLATION_NOISE = 0.01;
+
+    /**
+     * The default odometry rotation noise, the variance added per radian turned in rad^2/rad
+     */
+    public static final double DEFAULT_ROTATION_NOISE = 0.01;
+
+    private static final double ROOT_TWO_OVER_TWO = Math.sqrt(2) / 2;
+    private static final int X = 0, Y = 1, HEADING = 2;
+
+    ////////// STATE ///////////
+    private final double[] state = new double[3];
+    private final double[] covariance = new double[9];
+
+    // scratch space for the updates
+    private final double[] a = new double[9], b = new double[9], gain = new double[9];
+    private final double[] innovation = new double[3];
+
+    ////////// HISTORY ///////////
+    // each entry is one prediction step, with the corrections applied after it and the state it left.
+    // Several corrections of one kind in a step are fused into one measurement
+    private final int capacity;
+    private final long[] times;
+    private final double[] odometry;
+    private final double[] gyroHeadings, gyroVariances;
+    private final boolean[] hasGyro, hasVision;
+    private final double[] visionPoses, visionVariances;
+    private final double[] states, covariances;
+    private int newest = -1, size;
+
+    ////////// SETTINGS ///////////
+    private double translationNoise = DEFAULT_TRANSLATION_NOISE;
+    private double rotationNoise = DEFAULT_ROTATION_NOISE;
+    private double visionPositionVariance = DEFAULT_VISION_POSITION_VARIANCE;
+    private double visionHeadingVariance = DEFAULT_VISION_HEADING_VARIANCE;
+
+    private final PoseBuffer output;
+    private final PoseBuffer.Sample sample = new PoseBuffer.Sample();
+    private long lastVisionSequence;
+    private int rejectedCount;
+
+    /**
+     * Creates a new instance of {@link PoseEstimator} at the origin with no uncertainty
+     * @param historySize   the number of prediction steps to keep for replaying late vision poses.
+     *                      At encoder rate 64 steps covers a few hundred milliseconds
+     */
+    public PoseEstimator(int historySize) {
+        if (historySize < 1) throw new IllegalArgumentException("The history must hold at least one step");
+
+        this.capacity = historySize;
+        this.times = new long[historySize];
+        this.odometry = new double[historySize * 3];
+        this.gyroHeadings = new double[historySize];
+        this.gyroVariances = new double[historySize];
+        this.hasGyro = new boolean[historySize];
+        this.hasVision = new boolean[historySize];
+        this.visionPoses = new double[historySize * 3];
+        this.visionVariances = new double[historySize * 2];
+        this.states = new double[historySize * 3];
+        this.covariances = new double[historySize * 9];
+
+        this.output = new PoseBuffer(32);
+    }
+
+    // ACCESSORS
+
+    /**
+     * Gets the estimated pose
+     * @param out   the pose to set
+     * @return      the pose
+     */
+    public Pose2 getPose(@NonNull Pose2 out) {
+        return out.set(state[X], state[Y], state[HEADING]);
+    }
+
+    /**
+     * Gets the covariance of the estimate, row major in the order x, y, heading
+     * @param out   an array of at least 9 values to copy the covariance into
+     * @return      the array
+     */
+    public double[] getCovariance(@NonNull double[] out) {
+        System.arraycopy(covariance, 0, out, 0, 9);
+        return out;
+    }
+
+    /**
+     * Gets the standard deviation of the position estimate, averaged over x and y
+     * @return  the standard deviation in meters
+     */
+    public double getPositionDeviation() {
+        return Math.sqrt((covariance[0] + covariance[4]) / 2);
+    }
+
+    /**
+     * Gets the standard deviation of the heading estimate
+     * @return  the standard deviation in radians
+     */
+    public double getHeadingDeviation() {
+        return Math.sqrt(covariance[8]);
+    }
+
+    /**
+     * Gets the buffer every update is published to. Each sample's confidence is
+     * 1 / (1 + {@link #getPositionDeviation()}), so it falls as the estimate gets less certain
+     * @return  the output buffer
+     */
+    public PoseBuffer getOutput() {
+        return output;
+    }
+
+    /**
+     * Gets the number of vision poses dropped because they were captured before the oldest step in
+     * the history
+     * @return  the number of rejected poses
+     */
+    public int getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Sets how much uncertainty odometry adds as the robot moves
+     * @param translationNoise  the variance added per meter traveled in m^2/m
+     * @param rotationNoise     the variance added per radian turned in rad^2/rad
+     */
+    public void setOdometryNoise(double translationNoise, double rotationNoise) {
+        if (translationNoise < 0 || rotationNoise < 0) throw new IllegalArgumentException("Noise cannot be negative");
+
+        this.translationNoise = translationNoise;
+        this.rotationNoise = rotationNoise;
+    }
+
+    /**
+     * Sets how uncertain vision poses read with {@link #correctFrom(PoseBuffer)} are at full
+     * confidence. Less confident poses have their variance divided by the confidence
+     * @param positionVariance  the variance of the position in m^2
+     * @param headingVariance   the variance of the heading in rad^2
+     */
+    public void setVisionVariance(double positionVariance, double headingVariance) {
+        if (positionVariance <= 0 || headingVariance <= 0) throw new IllegalArgumentException("Variances must be positive");
+
+        this.visionPositionVariance = positionVariance;
+        this.visionHeadingVariance = headingVariance;
+    }
+
+    // BEHAVIOR
+
+    /**
+     * Resets the estimate and clears the history
+     * @param pose                  the pose to start from
+     * @param positionVariance      the variance of the starting position in m^2
+     * @param headingVariance       the variance of the starting heading in rad^2
+     */
+    public void reset(@NonNull Pose2 pose, double positionVariance, double headingVariance) {
+        state[X] = pose.position.x;
+        state[Y] = pose.position.y;
+        state[HEADING] = pose.heading;
+
+        for (int i = 0; i < 9; i++) covariance[i] = 0;
+        covariance[0] = covariance[4] = positionVariance;
+        covariance[8] = headingVariance;
+
+        newest = -1;
+        size = 0;
+    }
+
+    /**
+     * Moves the estimate by the distance the robot traveled since the last prediction, measured in
+     * the robot's frame
+     * @param time      the time of the measurement in nanoseconds
+     * @param forward   the distance traveled forward in meters
+     * @param left      the distance traveled left in meters
+     * @param turn      the angle turned counter clockwise in radians
+     */
+    public void predict(long time, double forward, double left, double turn) {
+        newest = (newest + 1) % capacity;
+        if (size < capacity) size++;
+
+        times[newest] = time;
+        odometry[newest * 3] = forward;
+        odometry[newest * 3 + 1] = left;
+        odometry[newest * 3 + 2] = turn;
+        hasGyro[newest] = false;
+        hasVision[newest] = false;
+
+        applyPrediction(forward, left, turn);
+        save(newest);
+        publish(time);
+    }
+
+    /**
+     * Moves the estimate by the distance each wheel of a holonomic (X drive) chassis traveled since
+     * the last prediction. Uses the motor layout and sign conventions of
+     * {@link org.chathamrobotics.nova.system.HolonomicDrive}
+     * @param time          the time of the measurement in nanoseconds
+     * @param distances     the distance each wheel's surface traveled in meters
+     * @param trackRadius   the distance from the center of the chassis to the wheels in meters
+     */
+    public void predictHolonomic(long time, @NonNull WheelSpeeds distances, double trackRadius) {
+        double fl = distances.frontLeft, fr = distances.frontRight;
+        double br = distances.backRight, bl = distances.backLeft;
+
+        double p = (br - fl) / 2, q = (bl - fr) / 2;
+
+        predict(time,
+                ROOT_TWO_OVER_TWO * (p + q),
+                ROOT_TWO_OVER_TWO * (p - q),
+                (fl + fr + br + bl) / (4 * trackRadius));
+    }
+
+    /**
+     * Corrects the estimate with a heading measured now, eg. by a gyro. The heading must share the
+     * estimator's zero
+     * @param heading   the heading in radians, counter clockwise
+     * @param variance  the variance of the measurement in rad^2
+     */
+    public void correctHeading(double heading, double variance) {
+        if (variance <= 0) throw new IllegalArgumentException("The variance must be positive");
+
+        applyHeading(heading, variance);
+
+        if (size > 0) {
+            if (hasGyro[newest]) {
+                double fused = fuseVariance(gyroVariances[newest], variance);
+
+                gyroHeadings[newest] = fuseAngle(gyroHeadings[newest], gyroVariances[newest], heading, variance);
+                gyroVariances[newest] = fused;
+            } else {
+                hasGyro[newest] = true;
+                gyroHeadings[newest] = heading;
+                gyroVariances[newest] = variance;
+            }
+
+            save(newest);
+            publish(times[newest]);
+        }
+    }
+
+    /**
+     * Corrects the estimate with a pose captured at the given time, eg. by vision. If it was
+     * captured before the newest prediction it is applied at the step it was captured in and the
+     * later steps are replayed
+     * @param captureTime       when the pose was captured in nanoseconds
+     * @param x                 the x position in meters
+     * @param y                 the y position in meters
+     * @param heading           the heading in radians
+     * @param positionVariance  the variance of the position in m^2
+     * @param headingVariance   the variance of the heading in rad^2
+     * @return                  whether the pose was applied. False if it is older than the history
+     */
+    public boolean correctPose(long captureTime, double x, double y, double heading,
+                               double positionVariance, double headingVariance) {
+        if (positionVariance <= 0 || headingVariance <= 0) throw new IllegalArgumentException("Variances must be positive");
+
+        if (size == 0 || captureTime - times[newest] >= 0) {
+            applyPose(x, y, heading, positionVariance, headingVariance);
+
+            if (size > 0) {
+                record(newest, x, y, heading, positionVariance, headingVariance);
+                save(newest);
+                publish(times[newest]);
+            }
+
+            return true;
+        }
+
+        // find the newest step captured at or before the pose
+        int steps = 0, index = newest;
+        while (times[index] - captureTime > 0) {
+            if (++steps == size) {
+                rejectedCount++;
+                return false;
+            }
+
+            index = (index - 1 + capacity) % capacity;
+        }
+
+        restore(index);
+        applyPose(x, y, heading, positionVariance, headingVariance);
+        record(index, x, y, heading, positionVariance, headingVariance);
+        save(index);
+
+        // replay the steps after it
+        while (index != newest) {
+            index = (index + 1) % capacity;
+
+            applyPrediction(odometry[index * 3], odometry[index * 3 + 1], odometry[index * 3 + 2]);
+            if (hasGyro[index]) applyHeading(gyroHeadings[index], gyroVariances[index]);
+            if (hasVision[index]) applyPose(
+                    visionPoses[index * 3], visionPoses[index * 3 + 1], visionPoses[index * 3 + 2],
+                    visionVariances[index * 2], visionVariances[index * 2 + 1]);
+
+            save(index);
+        }
+
+        publish(times[newest]);
+
+        return true;
+    }
+
+    /**
+     * Corrects the estimate with every pose published to the buffer since the last call, eg.
+     * {@link org.chathamrobotics.nova.system.VuforiaManager#getPoses()}. Each pose's variance is
+     * the vision variance divided by its confidence
+     * @param poses the buffer to read
+     * @return      the number of poses applied
+     */
+    public int correctFrom(@NonNull PoseBuffer poses) {
+        long latest = poses.getSequence();
+
+        // poses that were overwritten before they could be read are skipped
+        long next = Math.max(lastVisionSequence + 1, latest - poses.getCapacity() + 1);
+        int applied = 0;
+
+        for (; next <= latest; next++) {
+            if (! poses.read(next, sample) || sample.confidence <= 0) continue;
+
+            if (correctPose(sample.captureTime, sample.pose.position.x, sample.pose.position.y, sample.pose.heading,
+                    visionPositionVariance / sample.confidence, visionHeadingVariance / sample.confidence)) {
+                applied++;
+            }
+        }
+
+        lastVisionSequence = latest;
+
+        return applied;
+    }
+
+    @Override
+    public String toString() {
+        return "PoseEstimator(" + state[X] + ", " + state[Y] + ", " + state[HEADING]
+                + " +/- " + getPositionDeviation() + "m " + getHeadingDeviation() + "rad)";
+    }
+
+    // HELPERS
+
+    private void applyPrediction(double forward, double left, double turn) {
+        // integrate along the mid point heading
+        double mid = state[HEADING] + turn / 2;
+        double cos = FastTrig.cos(mid), sin = FastTrig.sin(mid);
+
+        double dx = forward * cos - left * sin;
+        double dy = forward * sin + left * cos;
+
+        state[X] += dx;
+        state[Y] += dy;
+        state[HEADING] += turn;
+
+        // P = F P F^T with F = [1 0 -dy; 0 1 dx; 0 0 1]
+        double[] p = covariance;
+        double p02 = p[2] - dy * p[8], p12 = p[5] + dx * p[8];
+
+        double p00 = p[0] - dy * (p[6] + p[2]) + dy * dy * p[8];
+        double p01 = p[1] + dx * p[2] - dy * p[7] - dx * dy * p[8];
+        double p11 = p[4] + dx * (p[7] + p[5]) + dx * dx * p[8];
+
+        // Q = G diag(q) G^T, where G rotates the robot frame noise onto the field
+        double qForward = translationNoise * Math.abs(forward);
+        double qLeft = translationNoise * Math.abs(left);
+        double qTurn = rotationNoise * Math.abs(turn);
+
+        // the turn noise also moves the position through the mid point heading
+        double gx = -dy / 2, gy = dx / 2;
+
+        p00 += cos * cos * qForward + sin * sin * qLeft + gx * gx * qTurn;
+        p01 += cos * sin * (qForward - qLeft) + gx * gy * qTurn;
+        p11 += sin * sin * qForward + cos * cos * qLeft + gy * gy * qTurn;
+        p02 += gx * qTurn;
+        p12 += gy * qTurn;
+
+        p[0] = p00;
+        p[1] = p[3] = p01;
+        p[2] = p[6] = p02;
+        p[4] = p11;
+        p[5] = p[7] = p12;
+        p[8] += qTurn;
+    }
+
+    private void applyHeading(double heading, double variance) {
+        double[] p = covariance;
+
+        double error = Angles.normalize(heading - state[HEADING]);
+        double s = p[8] + variance;
+
+        double k0 = p[2] / s, k1 = p[5] / s, k2 = p[8] / s;
+
+        state[X] += k0 * error;
+        state[Y] += k1 * error;
+        state[HEADING] += k2 * error;
+
+        // P = (I - K H) P, where H picks the heading row
+        double r0 = p[6], r1 = p[7], r2 = p[8];
+
+        p[0] -= k0 * r0; p[1] -= k0 * r1; p[2] -= k0 * r2;
+        p[3] -= k1 * r0; p[4] -= k1 * r1; p[5] -= k1 * r2;
+        p[6] -= k2 * r0; p[7] -= k2 * r1; p[8] -= k2 * r2;
+
+        symmetrize();
+    }
+
+    private void applyPose(double x, double y, double heading, double positionVariance, double headingVariance) {
+        double[] p = covariance;
+
+        innovation[X] = x - state[X];
+        innovation[Y] = y - state[Y];
+        innovation[HEADING] = Angles.normalize(heading - state[HEADING]);
+
+        // S = P + R
+        System.arraycopy(p, 0, a, 0, 9);
+        a[0] += positionVariance;
+        a[4] += positionVariance;
+        a[8] += headingVariance;
+
+        // K = P S^-1
+        invert3(a, b);
+        multiply3(p, b, gain);
+
+        for (int i = 0; i < 3; i++) {
+            state[i] += gain[i * 3] * innovation[0] + gain[i * 3 + 1] * innovation[1] + gain[i * 3 + 2] * innovation[2];
+        }
+
+        // P = (I - K) P
+        multiply3(gain, p, a);
+        for (int i = 0; i < 9; i++) p[i] -= a[i];
+
+        symmetrize();
+    }
+
+    private void symmetrize() {
+        double[] p = covariance;
+
+        p[1] = p[3] = (p[1] + p[3]) / 2;
+        p[2] = p[6] = (p[2] + p[6]) / 2;
+        p[5] = p[7] = (p[5] + p[7]) / 2;
+    }
+
+    private void record(int index, double x, double y, double heading, double positionVariance, double headingVariance) {
+        if (hasVision[index]) {
+            int pose = index * 3, variances = index * 2;
+            double oldPosition = visionVariances[variances], oldHeading = visionVariances[variances + 1];
+
+            visionPoses[pose] = fuse(visionPoses[pose], oldPosition, x, positionVariance);
+            visionPoses[pose + 1] = fuse(visionPoses[pose + 1], oldPosition, y, positionVariance);
+            visionPoses[pose + 2] = fuseAngle(visionPoses[pose + 2], oldHeading, heading, headingVariance);
+            visionVariances[variances] = fuseVariance(oldPosition, positionVariance);
+            visionVariances[variances + 1] = fuseVariance(oldHeading, headingVariance);
+
+            return;
+        }
+
+        hasVision[index] = true;
+        visionPoses[index * 3] = x;
+        visionPoses[index * 3 + 1] = y;
+        visionPoses[index * 3 + 2] = heading;
+        visionVariances[index * 2] = positionVariance;
+        visionVariances[index * 2 + 1] = headingVariance;
+    }
+
+    // the inverse variance weighted mean of two independent measurements. Applying it as one
+    // measurement of the fused variance is the same as applying both
+    private static double fuse(double first, double firstVariance, double second, double secondVariance) {
+        return first + firstVariance / (firstVariance + secondVariance) * (second - first);
+    }
+
+    private static double fuseAngle(double first, double firstVariance, double second, double secondVariance) {
+        return first + firstVariance / (firstVariance + secondVariance) * Angles.normalize(second - first);
+    }
+
+    private static double fuseVariance(double firstVariance, double secondVariance) {
+        return firstVariance * secondVariance / (firstVariance + secondVariance);
+    }
+
+    private void save(int index) {
+        System.arraycopy(state, 0, states, index * 3, 3);
+        System.arraycopy(covariance, 0, covariances, index * 9, 9);
+    }
+
+    private void restore(int index) {
+        System.arraycopy(states, index * 3, state, 0, 3);
+        System.arraycopy(covariances, index * 9, covariance, 0, 9);
+    }
+
+    private void publish(long time) {
+        output.publish(state[X], state[Y], state[HEADING], time, 1 / (1 + getPositionDeviation()));
+    }
+
+    private static void multiply3(double[] m, double[] n, double[] out) {
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                out[i * 3 + j] = m[i * 3] * n[j] + m[i * 3 + 1] * n[3 + j] + m[i * 3 + 2] * n[6 + j];
+            }
+        }
+    }
+
+    private static void invert3(double[] m, double[] out) {
+        double c00 = m[4] * m[8] - m[5] * m[7];
+        double c01 = m[5] * m[6] - m[3] * m[8];
+        double c02 = m[3] * m[7] - m[4] * m[6];
+
+        double det = m[0] * c00 + m[1] * c01 + m[2] * c02;
+        if (det == 0) throw new ArithmeticException("Singular innovation covariance");
+
+        double inv = 1 / det;
+
+        out[0] = c00 * inv;
+        out[1] = (m[2] * m[7] - m[1] * m[8]) * inv;
+        out[2] = (m[1] * m[5] - m[2] * m[4]) * inv;
+        out[3] = c01 * inv;
+        out[4] = (m[0] * m[8] - m[2] * m[6]) * inv;
+        out[5] = (m[2] * m[3] - m[0] * m[5]) * inv;
+        out[6] = c02 * inv;
+        out[7] = (m[1] * m[6] - m[0] * m[7]) * inv;
+        out[8] = (m[0] * m[4] - m[1] * m[3]) * inv;
+    }
+}
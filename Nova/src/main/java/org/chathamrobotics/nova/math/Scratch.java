@@ -0,0 +1,115 @@
+package org.chathamrobotics.nova.math;
+
+import java.util.Arrays;
+
+/**
+ * A per thread pool of temporary {@link Vector2}, {@link Pose2} and {@link WheelSpeeds} objects.
+ * Objects are handed out like a stack: take a mark, borrow what is needed and release back to the
+ * mark when done. Objects borrowed after a mark must not be used after it has been released. The
+ * pool only allocates while it grows, so a loop that borrows the same amount each cycle stops
+ * allocating after the first.
+ *
+ * Usage:
+ * <pre>{@code
+ *      Scratch scratch = Scratch.get();
+ *      int mark = scratch.mark();
+ *
+ *      Vector2 local = scratch.vector().set(fieldX, fieldY);
+ *      pose.toLocal(local);
+ *      drive.drive(local, rotation);
+ *
+ *      scratch.release(mark);
+ * }</pre>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class Scratch {
+    private static final int INITIAL_SIZE = 8;
+
+    // the counts are packed into one int by mark, 10 bits each
+    private static final int MAX_SIZE = 0x3ff;
+
+    private static final ThreadLocal<Scratch> SCRATCH = new ThreadLocal<Scratch>() {
+        @Override
+        protected Scratch initialValue() {
+            return new Scratch();
+        }
+    };
+
+    /**
+     * Gets the current thread's pool
+     * @return  the current thread's pool
+     */
+    public static Scratch get() {
+        return SCRATCH.get();
+    }
+
+    private Vector2[] vectors = new Vector2[INITIAL_SIZE];
+    private Pose2[] poses = new Pose2[INITIAL_SIZE];
+    private WheelSpeeds[] wheelSpeeds = new WheelSpeeds[INITIAL_SIZE];
+
+    private int vectorCount, poseCount, wheelSpeedsCount;
+
+    private Scratch() {}
+
+    /**
+     * Gets the current mark to release back to
+     * @return  the mark
+     */
+    public int mark() {
+        return vectorCount | poseCount << 10 | wheelSpeedsCount << 20;
+    }
+
+    /**
+     * Returns every object borrowed since the mark to the pool
+     * @param mark  the mark returned by {@link #mark()}
+     */
+    public void release(int mark) {
+        int vectorMark = mark & MAX_SIZE, poseMark = mark >>> 10 & MAX_SIZE, wheelSpeedsMark = mark >>> 20;
+
+        if (vectorMark > vectorCount || poseMark > poseCount || wheelSpeedsMark > wheelSpeedsCount)
+            throw new IllegalStateException("The mark has already been released");
+
+        vectorCount = vectorMark;
+        poseCount = poseMark;
+        wheelSpeedsCount = wheelSpeedsMark;
+    }
+
+    /**
+     * Borrows a vector. Its value is left over from its last use
+     * @return  the vector
+     */
+    public Vector2 vector() {
+        if (vectorCount == vectors.length) vectors = Arrays.copyOf(vectors, grow(vectorCount));
+        if (vectors[vectorCount] == null) vectors[vectorCount] = new Vector2();
+
+        return vectors[vectorCount++];
+    }
+
+    /**
+     * Borrows a pose. Its value is left over from its last use
+     * @return  the pose
+     */
+    public Pose2 pose() {
+        if (poseCount == poses.length) poses = Arrays.copyOf(poses, grow(poseCount));
+        if (poses[poseCount] == null) poses[poseCount] = new Pose2();
+
+        return poses[poseCount++];
+    }
+
+    /**
+     * Borrows wheel speeds. Their value is left over from their last use
+     * @return  the wheel speeds
+     */
+    public WheelSpeeds wheelSpeeds() {
+        if (wheelSpeedsCount == wheelSpeeds.length) wheelSpeeds = Arrays.copyOf(wheelSpeeds, grow(wheelSpeedsCount));
+        if (wheelSpeeds[wheelSpeedsCount] == null) wheelSpeeds[wheelSpeedsCount] = new WheelSpeeds();
+
+        return wheelSpeeds[wheelSpeedsCount++];
+    }
+
+    private static int grow(int size) {
+        if (size >= MAX_SIZE) throw new IllegalStateException("Too many scratch objects borrowed. Are they being released?");
+
+        return Math.min(size * 2, MAX_SIZE);
+    }
+}
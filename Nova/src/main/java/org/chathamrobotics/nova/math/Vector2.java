@@ -0,0 +1,267 @@
+package org.chathamrobotics.nova.math;
+
+import org.chathamrobotics.nova.util.units.AngleUnit;
+import org.chathamrobotics.nova.util.units.DistanceUnit;
+
+/**
+ * A mutable two dimensional vector. Lengths are stored in meters and angles in radians, counter
+ * clockwise from the x axis. Operations modify the vector in place and return it so they can be
+ * chained without allocating.
+ *
+ * In the robot's frame x is forward and y is left.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class Vector2 {
+    public double x, y;
+
+    /**
+     * Creates a new instance of {@link Vector2} at the origin
+     */
+    public Vector2() {}
+
+    /**
+     * Creates a new instance of {@link Vector2}
+     * @param x the x component in meters
+     * @param y the y component in meters
+     */
+    public Vector2(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Creates a new instance of {@link Vector2}
+     * @param x     the x component
+     * @param y     the y component
+     * @param unit  the unit of the components
+     */
+    public Vector2(double x, double y, DistanceUnit unit) {
+        set(x, y, unit);
+    }
+
+    /**
+     * Creates a copy of the given vector
+     * @param other the vector to copy
+     */
+    public Vector2(Vector2 other) {
+        set(other);
+    }
+
+    /**
+     * Sets the vector's components
+     * @param x the x component in meters
+     * @param y the y component in meters
+     * @return  this vector
+     */
+    public Vector2 set(double x, double y) {
+        this.x = x;
+        this.y = y;
+
+        return this;
+    }
+
+    /**
+     * Sets the vector's components
+     * @param x     the x component
+     * @param y     the y component
+     * @param unit  the unit of the components
+     * @return      this vector
+     */
+    public Vector2 set(double x, double y, DistanceUnit unit) {
+        return set(unit.toMeters(x), unit.toMeters(y));
+    }
+
+    /**
+     * Sets the vector to the value of another
+     * @param other the vector to copy
+     * @return      this vector
+     */
+    public Vector2 set(Vector2 other) {
+        return set(other.x, other.y);
+    }
+
+    /**
+     * Sets the vector from polar coordinates
+     * @param magnitude the length of the vector in meters
+     * @param angle     the angle of the vector in radians
+     * @return          this vector
+     */
+    public Vector2 setPolar(double magnitude, double angle) {
+        return set(magnitude * Math.cos(angle), magnitude * Math.sin(angle));
+    }
+
+    /**
+     * Sets the vector from polar coordinates
+     * @param magnitude the length of the vector in meters
+     * @param angle     the angle of the vector
+     * @param unit      the unit of the angle
+     * @return          this vector
+     */
+    public Vector2 setPolar(double magnitude, double angle, AngleUnit unit) {
+        return setPolar(magnitude, unit.toRadians(angle));
+    }
+
+    /**
+     * Gets the x component
+     * @param unit  the unit to get the component in
+     * @return      the x component
+     */
+    public double getX(DistanceUnit unit) {
+        return unit.fromMeters(x);
+    }
+
+    /**
+     * Gets the y component
+     * @param unit  the unit to get the component in
+     * @return      the y component
+     */
+    public double getY(DistanceUnit unit) {
+        return unit.fromMeters(y);
+    }
+
+    /**
+     * Adds another vector to this one
+     * @param other the vector to add
+     * @return      this vector
+     */
+    public Vector2 add(Vector2 other) {
+        return set(x + other.x, y + other.y);
+    }
+
+    /**
+     * Adds the given components to this vector
+     * @param dx    the amount to add to x in meters
+     * @param dy    the amount to add to y in meters
+     * @return      this vector
+     */
+    public Vector2 add(double dx, double dy) {
+        return set(x + dx, y + dy);
+    }
+
+    /**
+     * Subtracts another vector from this one
+     * @param other the vector to subtract
+     * @return      this vector
+     */
+    public Vector2 sub(Vector2 other) {
+        return set(x - other.x, y - other.y);
+    }
+
+    /**
+     * Scales the vector
+     * @param scalar    the amount to scale by
+     * @return          this vector
+     */
+    public Vector2 scale(double scalar) {
+        return set(x * scalar, y * scalar);
+    }
+
+    /**
+     * Rotates the vector counter clockwise
+     * @param angle the angle to rotate by in radians
+     * @return      this vector
+     */
+    public Vector2 rotate(double angle) {
+        return rotate(Math.cos(angle), Math.sin(angle));
+    }
+
+    /**
+     * Rotates the vector counter clockwise
+     * @param angle the angle to rotate by
+     * @param unit  the unit of the angle
+     * @return      this vector
+     */
+    public Vector2 rotate(double angle, AngleUnit unit) {
+        return rotate(unit.toRadians(angle));
+    }
+
+    /**
+     * Rotates the vector counter clockwise by an angle whose sine and cosine are already known.
+     * Used to rotate several vectors by the same angle while only doing the trig once
+     * @param cos   the cosine of the angle
+     * @param sin   the sine of the angle
+     * @return      this vector
+     */
+    public Vector2 rotate(double cos, double sin) {
+        return set(x * cos - y * sin, x * sin + y * cos);
+    }
+
+    /**
+     * Scales the vector to a length of one. A zero vector is left as is
+     * @return  this vector
+     */
+    public Vector2 normalize() {
+        double magnitude = magnitude();
+
+        return magnitude == 0 ? this : scale(1 / magnitude);
+    }
+
+    /**
+     * Shortens the vector to the given length if it is longer, keeping its direction
+     * @param max   the maximum length in meters
+     * @return      this vector
+     */
+    public Vector2 limit(double max) {
+        double magnitude = magnitude();
+
+        return magnitude > max ? scale(max / magnitude) : this;
+    }
+
+    /**
+     * Calculates the length of the vector
+     * @return  the length in meters
+     */
+    public double magnitude() {
+        return Math.sqrt(x * x + y * y);
+    }
+
+    /**
+     * Calculates the angle of the vector
+     * @return  the angle in radians (-pi, pi], counter clockwise from the x axis
+     */
+    public double angle() {
+        return Math.atan2(y, x);
+    }
+
+    /**
+     * Calculates the dot product with another vector
+     * @param other the other vector
+     * @return      the dot product
+     */
+    public double dot(Vector2 other) {
+        return x * other.x + y * other.y;
+    }
+
+    /**
+     * Calculates the distance to another vector
+     * @param other the other vector
+     * @return      the distance in meters
+     */
+    public double distanceTo(Vector2 other) {
+        double dx = other.x - x, dy = other.y - y;
+
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (! (obj instanceof Vector2)) return false;
+
+        Vector2 other = (Vector2) obj;
+
+        return Double.compare(x, other.x) == 0 && Double.compare(y, other.y) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        long bits = Double.doubleToLongBits(x) * 31 + Double.doubleToLongBits(y);
+
+        return (int) (bits ^ (bits >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("(%.4f, %.4f)", x, y);
+    }
+}
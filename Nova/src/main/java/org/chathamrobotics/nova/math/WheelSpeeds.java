@@ -0,0 +1,127 @@
+package org.chathamrobotics.nova.math;
+
+/**
+ * Mutable powers for the four wheels of a holonomic or mecanum drive, in the order front left,
+ * front right, back right, back left. Operations modify the speeds in place and return them so they
+ * can be chained without allocating.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class WheelSpeeds {
+    public double frontLeft, frontRight, backRight, backLeft;
+
+    /**
+     * Creates a new instance of {@link WheelSpeeds} with all the wheels stopped
+     */
+    public WheelSpeeds() {}
+
+    /**
+     * Creates a new instance of {@link WheelSpeeds}
+     * @param frontLeft     the front left power
+     * @param frontRight    the front right power
+     * @param backRight     the back right power
+     * @param backLeft      the back left power
+     */
+    public WheelSpeeds(double frontLeft, double frontRight, double backRight, double backLeft) {
+        set(frontLeft, frontRight, backRight, backLeft);
+    }
+
+    /**
+     * Sets the wheel powers
+     * @param frontLeft     the front left power
+     * @param frontRight    the front right power
+     * @param backRight     the back right power
+     * @param backLeft      the back left power
+     * @return              these speeds
+     */
+    public WheelSpeeds set(double frontLeft, double frontRight, double backRight, double backLeft) {
+        this.frontLeft = frontLeft;
+        this.frontRight = frontRight;
+        this.backRight = backRight;
+        this.backLeft = backLeft;
+
+        return this;
+    }
+
+    /**
+     * Sets the wheel powers to the value of others
+     * @param other the speeds to copy
+     * @return      these speeds
+     */
+    public WheelSpeeds set(WheelSpeeds other) {
+        return set(other.frontLeft, other.frontRight, other.backRight, other.backLeft);
+    }
+
+    /**
+     * Adds the same power to every wheel
+     * @param power the power to add
+     * @return      these speeds
+     */
+    public WheelSpeeds add(double power) {
+        return set(frontLeft + power, frontRight + power, backRight + power, backLeft + power);
+    }
+
+    /**
+     * Adds other speeds to these wheel by wheel
+     * @param other the speeds to add
+     * @return      these speeds
+     */
+    public WheelSpeeds add(WheelSpeeds other) {
+        return set(
+                frontLeft + other.frontLeft,
+                frontRight + other.frontRight,
+                backRight + other.backRight,
+                backLeft + other.backLeft
+        );
+    }
+
+    /**
+     * Scales every wheel's power
+     * @param scalar    the amount to scale by
+     * @return          these speeds
+     */
+    public WheelSpeeds scale(double scalar) {
+        return set(frontLeft * scalar, frontRight * scalar, backRight * scalar, backLeft * scalar);
+    }
+
+    /**
+     * Scales every wheel down by the same amount so none is over the maximum. Unlike clipping each
+     * wheel this keeps the ratio between the wheels, so the robot still moves in the same direction
+     * @param max   the maximum power of any wheel
+     * @return      these speeds
+     */
+    public WheelSpeeds desaturate(double max) {
+        double largest = maxAbs();
+
+        return largest > max ? scale(max / largest) : this;
+    }
+
+    /**
+     * Gets the largest power of any wheel
+     * @return  the largest absolute power
+     */
+    public double maxAbs() {
+        return Math.max(
+                Math.max(Math.abs(frontLeft), Math.abs(frontRight)),
+                Math.max(Math.abs(backRight), Math.abs(backLeft))
+        );
+    }
+
+    /**
+     * Copies the powers into an array
+     * @param out   the array to copy into. Must have a length of at least 4
+     * @return      the array {fl, fr, br, bl}
+     */
+    public double[] toArray(double[] out) {
+        out[0] = frontLeft;
+        out[1] = frontRight;
+        out[2] = backRight;
+        out[3] = backLeft;
+
+        return out;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[fl %.3f, fr %.3f, br %.3f, bl %.3f]", frontLeft, frontRight, backRight, backLeft);
+    }
+}
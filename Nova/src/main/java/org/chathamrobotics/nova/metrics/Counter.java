@@ -0,0 +1,73 @@
+package org.chathamrobotics.nova.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A monotonically increasing count. Recording does not allocate.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class Counter implements Metric {
+    private final String name;
+    private final MetricsRegistry registry;
+    private final AtomicLong count = new AtomicLong();
+
+    /**
+     * Creates a new instance of {@link Counter}
+     * @param name      the name of the counter
+     * @param registry  the registry the counter belongs to
+     */
+    Counter(String name, MetricsRegistry registry) {
+        this.name = name;
+        this.registry = registry;
+    }
+
+    /**
+     * Gets the name of the counter
+     * @return  the name of the counter
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Increments the counter by one
+     */
+    public void increment() {
+        if (registry.isEnabled()) count.incrementAndGet();
+    }
+
+    /**
+     * Adds the given amount to the counter
+     * @param amount    the amount to add
+     */
+    public void add(long amount) {
+        if (registry.isEnabled()) count.addAndGet(amount);
+    }
+
+    /**
+     * Gets the current count
+     * @return  the current count
+     */
+    public long get() {
+        return count.get();
+    }
+
+    /**
+     * Resets the count to zero
+     */
+    @Override
+    public void reset() {
+        count.set(0);
+    }
+
+    @Override
+    public String summary() {
+        return String.valueOf(get());
+    }
+
+    @Override
+    public String toString() {
+        return name + "=" + summary();
+    }
+}
@@ -0,0 +1,65 @@
+package org.chathamrobotics.nova.metrics;
+
+/**
+ * The last observed value of some quantity. Recording does not allocate.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class Gauge implements Metric {
+    private final String name;
+    private final MetricsRegistry registry;
+
+    private volatile double value;
+
+    /**
+     * Creates a new instance of {@link Gauge}
+     * @param name      the name of the gauge
+     * @param registry  the registry the gauge belongs to
+     */
+    Gauge(String name, MetricsRegistry registry) {
+        this.name = name;
+        this.registry = registry;
+    }
+
+    /**
+     * Gets the name of the gauge
+     * @return  the name of the gauge
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the value of the gauge
+     * @param value the value
+     */
+    public void set(double value) {
+        if (registry.isEnabled()) this.value = value;
+    }
+
+    /**
+     * Gets the value of the gauge
+     * @return  the value of the gauge
+     */
+    public double get() {
+        return value;
+    }
+
+    /**
+     * Resets the gauge to zero
+     */
+    @Override
+    public void reset() {
+        value = 0;
+    }
+
+    @Override
+    public String summary() {
+        return String.valueOf(value);
+    }
+
+    @Override
+    public String toString() {
+        return name + "=" + summary();
+    }
+}
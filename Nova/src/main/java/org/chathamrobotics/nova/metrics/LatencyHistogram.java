@@ -0,0 +1,264 @@
+package org.chathamrobotics.nova.metrics;
+
+import org.chathamrobotics.nova.util.Clock;
+import org.chathamrobotics.nova.util.NovaClock;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A log-linear (HDR style) histogram of latencies measured in nanoseconds. Values below 64ns are
+ * recorded exactly and larger values are recorded with a relative error of at most 1/32. Values
+ * above {@link #MAX_VALUE} are clamped. Recording does not allocate and is safe to do from multiple
+ * threads. A histogram that is only written by one thread, like an event loop's, can use the
+ * cheaper single writer methods instead. Time is read from {@link NovaClock} so simulations record
+ * virtual time.
+ *
+ * Usage:
+ * <pre>{@code
+ *      long start = histogram.start();
+ *      doWork();
+ *      histogram.stop(start);
+ * }</pre>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class LatencyHistogram implements Metric {
+    /**
+     * The largest value that can be recorded without being clamped (~18 minutes)
+     */
+    public static final long MAX_VALUE = (1L << 40) - 1;
+
+    /**
+     * Returned by {@link #start()} if the registry is disabled
+     */
+    public static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT / 2;
+    private static final int BUCKET_COUNT = indexOf(MAX_VALUE) + 1;
+
+    private static final Clock CLOCK = NovaClock.getInstance();
+
+    /**
+     * A point in time copy of a histogram's statistics
+     */
+    public static class Snapshot {
+        public final long count, min, max, p50, p90, p99, p999;
+        public final double mean;
+
+        private Snapshot(long count, long min, long max, double mean, long p50, long p90, long p99, long p999) {
+            this.count = count;
+            this.min = min;
+            this.max = max;
+            this.mean = mean;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p99 = p99;
+            this.p999 = p999;
+        }
+
+        @Override
+        public String toString() {
+            if (count == 0) return "n=0";
+
+            return String.format(
+                    "n=%d min=%.3fms p50=%.3fms p90=%.3fms p99=%.3fms p99.9=%.3fms max=%.3fms mean=%.3fms",
+                    count, min / 1e6, p50 / 1e6, p90 / 1e6, p99 / 1e6, p999 / 1e6, max / 1e6, mean / 1e6
+            );
+        }
+    }
+
+    private final String name;
+    private final MetricsRegistry registry;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(0);
+
+    /**
+     * Creates a new instance of {@link LatencyHistogram}
+     * @param name      the name of the histogram
+     * @param registry  the registry the histogram belongs to
+     */
+    LatencyHistogram(String name, MetricsRegistry registry) {
+        this.name = name;
+        this.registry = registry;
+    }
+
+    /**
+     * Gets the name of the histogram
+     * @return  the name of the histogram
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Starts timing an operation
+     * @return  the start time to pass to {@link #stop(long)}. {@link #NOT_TIMED} if the registry is disabled
+     */
+    public long start() {
+        return registry.isEnabled() ? CLOCK.nanoTime() : NOT_TIMED;
+    }
+
+    /**
+     * Records the time since the given start time
+     * @param start the value returned by {@link #start()}
+     */
+    public void stop(long start) {
+        if (start != NOT_TIMED) record(CLOCK.nanoTime() - start);
+    }
+
+    /**
+     * Records the time since the given start time, from the only thread that writes to the histogram.
+     * Cheaper than {@link #stop(long)}, but a value can be lost if another thread records at the same time
+     * @param start the value returned by {@link #start()}
+     */
+    public void stopSingleWriter(long start) {
+        if (start != NOT_TIMED) recordSingleWriter(CLOCK.nanoTime() - start);
+    }
+
+    /**
+     * Records the time since the given timestamp was last marked. Nothing is recorded if the
+     * timestamp has not been marked
+     * @param timestamp the timestamp
+     */
+    public void recordSince(Timestamp timestamp) {
+        long time = timestamp.get();
+        if (time != Timestamp.UNSET && registry.isEnabled()) record(CLOCK.nanoTime() - time);
+    }
+
+    /**
+     * Records a value
+     * @param nanos the value in nanoseconds
+     */
+    public void record(long nanos) {
+        if (! registry.isEnabled()) return;
+
+        nanos = clamp(nanos);
+
+        counts.incrementAndGet(indexOf(nanos));
+        count.incrementAndGet();
+        sum.addAndGet(nanos);
+
+        long cur;
+        while (nanos < (cur = min.get()) && ! min.compareAndSet(cur, nanos));
+        while (nanos > (cur = max.get()) && ! max.compareAndSet(cur, nanos));
+    }
+
+    /**
+     * Records a value from the only thread that writes to the histogram. Uses ordered writes instead
+     * of atomic updates, so readers still see whole values, but a value can be lost if another thread
+     * records at the same time
+     * @param nanos the value in nanoseconds
+     */
+    public void recordSingleWriter(long nanos) {
+        if (! registry.isEnabled()) return;
+
+        nanos = clamp(nanos);
+        int index = indexOf(nanos);
+
+        counts.lazySet(index, counts.get(index) + 1);
+        count.lazySet(count.get() + 1);
+        sum.lazySet(sum.get() + nanos);
+
+        if (nanos < min.get()) min.lazySet(nanos);
+        if (nanos > max.get()) max.lazySet(nanos);
+    }
+
+    /**
+     * Gets the number of recorded values
+     * @return  the number of recorded values
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Gets the value at the given percentile
+     * @param percentile    the percentile [0, 100]
+     * @return              the value in nanoseconds
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = count.get();
+        if (total == 0) return 0;
+
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) return Math.min(highestEquivalentValue(i), max.get());
+        }
+
+        return max.get();
+    }
+
+    /**
+     * Takes a snapshot of the histogram
+     * @return  the snapshot
+     */
+    public Snapshot snapshot() {
+        long n = count.get();
+
+        return new Snapshot(
+                n,
+                n == 0 ? 0 : min.get(),
+                max.get(),
+                n == 0 ? 0 : (double) sum.get() / n,
+                getValueAtPercentile(50),
+                getValueAtPercentile(90),
+                getValueAtPercentile(99),
+                getValueAtPercentile(99.9)
+        );
+    }
+
+    /**
+     * Clears all recorded values
+     */
+    @Override
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) counts.set(i, 0);
+        count.set(0);
+        sum.set(0);
+        min.set(Long.MAX_VALUE);
+        max.set(0);
+    }
+
+    @Override
+    public String summary() {
+        return snapshot().toString();
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + summary();
+    }
+
+    private static long clamp(long nanos) {
+        return nanos < 0 ? 0 : Math.min(nanos, MAX_VALUE);
+    }
+
+    // the bucket a value is recorded in
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) return (int) value;
+
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS + 1;
+
+        return shift * SUB_BUCKET_HALF + (int) (value >>> shift);
+    }
+
+    // the largest value that would be recorded in the bucket
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) return index;
+
+        int shift = index / SUB_BUCKET_HALF - 1;
+        long top = index - shift * SUB_BUCKET_HALF;
+
+        return ((top + 1) << shift) - 1;
+    }
+}
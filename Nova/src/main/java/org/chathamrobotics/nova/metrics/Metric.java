@@ -0,0 +1,25 @@
+package org.chathamrobotics.nova.metrics;
+
+/**
+ * A named measurement kept by a {@link MetricsRegistry}
+ */
+@SuppressWarnings("unused")
+public interface Metric {
+    /**
+     * Gets the name of the metric
+     * @return  the name of the metric
+     */
+    String getName();
+
+    /**
+     * Resets the metric to its initial value
+     */
+    void reset();
+
+    /**
+     * Gets a human readable summary of the metric's current value. This allocates and should not
+     * be called from the hot path
+     * @return  the summary
+     */
+    String summary();
+}
@@ -0,0 +1,191 @@
+package org.chathamrobotics.nova.metrics;
+
+import android.support.annotation.NonNull;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A collection of named metrics. Metrics should be looked up once and kept in a field, after that
+ * recording to them does not allocate. The registry is disabled by default, while disabled recording
+ * is a no-op.
+ *
+ * Usage:
+ * <pre>{@code
+ *      private static final LatencyHistogram LOOP = MetricsRegistry.getInstance().histogram("MyOpMode.loop");
+ *
+ *      long start = LOOP.start();
+ *      ...
+ *      LOOP.stop(start);
+ * }</pre>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class MetricsRegistry {
+    private static class InstanceHolder {
+        public static final MetricsRegistry theInstance = new MetricsRegistry();
+    }
+
+    private static final Comparator<Metric> BY_NAME = new Comparator<Metric>() {
+        @Override
+        public int compare(Metric a, Metric b) {
+            return a.getName().compareTo(b.getName());
+        }
+    };
+
+    /**
+     * Gets the instance of {@link MetricsRegistry} used by nova
+     * @return  the instance of {@link MetricsRegistry}
+     */
+    public static MetricsRegistry getInstance() {
+        return InstanceHolder.theInstance;
+    }
+
+    private final ConcurrentHashMap<String, Metric> metrics = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled;
+
+    /**
+     * Creates a new instance of {@link MetricsRegistry}. Most code should use {@link #getInstance()}
+     */
+    public MetricsRegistry() {}
+
+    /**
+     * Checks whether or not the registry is recording
+     * @return  whether or not the registry is recording
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether or not the registry should record
+     * @param enabled   whether or not to record
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets or creates the counter with the given name
+     * @param name  the name of the counter
+     * @return      the counter
+     */
+    public Counter counter(@NonNull String name) {
+        Metric metric = metrics.get(name);
+        if (metric == null) metric = register(new Counter(name, this));
+
+        return cast(metric, Counter.class);
+    }
+
+    /**
+     * Gets or creates the gauge with the given name
+     * @param name  the name of the gauge
+     * @return      the gauge
+     */
+    public Gauge gauge(@NonNull String name) {
+        Metric metric = metrics.get(name);
+        if (metric == null) metric = register(new Gauge(name, this));
+
+        return cast(metric, Gauge.class);
+    }
+
+    /**
+     * Gets or creates the timestamp with the given name
+     * @param name  the name of the timestamp
+     * @return      the timestamp
+     */
+    public Timestamp timestamp(@NonNull String name) {
+        Metric metric = metrics.get(name);
+        if (metric == null) metric = register(new Timestamp(name, this));
+
+        return cast(metric, Timestamp.class);
+    }
+
+    /**
+     * Gets or creates the latency histogram with the given name
+     * @param name  the name of the histogram
+     * @return      the histogram
+     */
+    public LatencyHistogram histogram(@NonNull String name) {
+        Metric metric = metrics.get(name);
+        if (metric == null) metric = register(new LatencyHistogram(name, this));
+
+        return cast(metric, LatencyHistogram.class);
+    }
+
+    /**
+     * Gets all of the metrics sorted by name
+     * @return  the metrics
+     */
+    public List<Metric> getMetrics() {
+        List<Metric> list = new ArrayList<>(metrics.values());
+        Collections.sort(list, BY_NAME);
+
+        return list;
+    }
+
+    /**
+     * Resets all of the metrics
+     */
+    public void reset() {
+        for (Metric metric : metrics.values()) metric.reset();
+    }
+
+    /**
+     * Adds a line for each metric to the telemetry
+     * @param telemetry the telemetry to add the metrics to
+     */
+    public void addToTelemetry(@NonNull Telemetry telemetry) {
+        for (Metric metric : getMetrics()) telemetry.addData(metric.getName(), metric.summary());
+    }
+
+    /**
+     * Writes a snapshot of all the metrics to the given file
+     * @param file          the file to write to
+     * @throws IOException  thrown if the file could not be written
+     */
+    public void dump(@NonNull File file) throws IOException {
+        File dir = file.getParentFile();
+        if (dir != null && ! dir.isDirectory() && ! dir.mkdirs())
+            throw new IOException("Could not create " + dir);
+
+        PrintWriter writer = new PrintWriter(new FileWriter(file));
+        try {
+            dump(writer);
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Writes a snapshot of all the metrics to the given writer
+     * @param writer    the writer to write to
+     */
+    public void dump(@NonNull PrintWriter writer) {
+        for (Metric metric : getMetrics()) writer.println(metric.getName() + " : " + metric.summary());
+        writer.flush();
+    }
+
+    private Metric register(Metric metric) {
+        Metric existing = metrics.putIfAbsent(metric.getName(), metric);
+        return existing == null ? metric : existing;
+    }
+
+    private static <M extends Metric> M cast(Metric metric, Class<M> type) {
+        if (! type.isInstance(metric))
+            throw new IllegalArgumentException(
+                    "Metric " + metric.getName() + " is a " + metric.getClass().getSimpleName() + " not a " + type.getSimpleName()
+            );
+
+        return type.cast(metric);
+    }
+}
@@ -0,0 +1,76 @@
+package org.chathamrobotics.nova.metrics;
+
+import org.chathamrobotics.nova.util.Clock;
+import org.chathamrobotics.nova.util.NovaClock;
+
+/**
+ * The time at which some event last happened. Used to measure latency between two points in the
+ * code that do not know about each other, eg. from a controller update to a motor write.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class Timestamp implements Metric {
+    /**
+     * The value returned by {@link #get()} if the event has not happened yet
+     */
+    public static final long UNSET = Long.MIN_VALUE;
+
+    private static final Clock CLOCK = NovaClock.getInstance();
+
+    private final String name;
+    private final MetricsRegistry registry;
+
+    private volatile long time = UNSET;
+
+    /**
+     * Creates a new instance of {@link Timestamp}
+     * @param name      the name of the timestamp
+     * @param registry  the registry the timestamp belongs to
+     */
+    Timestamp(String name, MetricsRegistry registry) {
+        this.name = name;
+        this.registry = registry;
+    }
+
+    /**
+     * Gets the name of the timestamp
+     * @return  the name of the timestamp
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Marks the event as having happened now
+     */
+    public void mark() {
+        if (registry.isEnabled()) time = CLOCK.nanoTime();
+    }
+
+    /**
+     * Gets the time the event last happened
+     * @return  the time in nanoseconds as given by {@link NovaClock}. {@link #UNSET} if it has not happened
+     */
+    public long get() {
+        return time;
+    }
+
+    /**
+     * Resets the timestamp to {@link #UNSET}
+     */
+    @Override
+    public void reset() {
+        time = UNSET;
+    }
+
+    @Override
+    public String summary() {
+        long t = time;
+        return t == UNSET ? "unset" : String.format("%.3fms ago", (CLOCK.nanoTime() - t) / 1e6);
+    }
+
+    @Override
+    public String toString() {
+        return name + "=" + summary();
+    }
+}
@@ -0,0 +1,286 @@
+package org.chathamrobotics.nova.robot;
+
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import com.qualcomm.robotcore.hardware.DcMotorSimple;
+
+import org.chathamrobotics.nova.metrics.Counter;
+import org.chathamrobotics.nova.metrics.LatencyHistogram;
+import org.chathamrobotics.nova.metrics.MetricsRegistry;
+import org.chathamrobotics.nova.system.ActuatorSystem;
+import org.chathamrobotics.nova.util.Clock;
+import org.chathamrobotics.nova.util.NovaClock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stops a robot as fast as possible. Every actuator of every {@link ActuatorSystem} is set to zero
+ * power in one pass before anything else happens, then the systems are stopped in parallel so a
+ * system that is slow to stop, like vuforia closing the camera, cannot hold up the others.
+ *
+ * The actuators are collected when the stop is armed, which happens again whenever a system is
+ * registered or unregistered, so zeroing them does not allocate. The time from the stop being
+ * triggered to the last actuator being zeroed is recorded and checked against a latency target:
+ * <pre>{@code
+ *      robot.emergencyStop();
+ *      assertTrue(robot.getEmergencyStop().isWithinTarget());
+ * }</pre>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class EmergencyStop {
+    private static final String TAG = EmergencyStop.class.getSimpleName();
+
+    /**
+     * The default time allowed to zero every actuator, in nanoseconds. Each write to an expansion
+     * hub takes a few milliseconds, so this leaves room for several drive trains
+     */
+    public static final long DEFAULT_LATENCY_TARGET = TimeUnit.MILLISECONDS.toNanos(20);
+
+    /**
+     * The default time allowed for the systems to stop, in nanoseconds
+     */
+    public static final long DEFAULT_TEARDOWN_TIMEOUT = TimeUnit.SECONDS.toNanos(1);
+
+    // joins are cut into slices so the teardown timeout follows clocks that do not run in real time
+    private static final long JOIN_SLICE = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final SystemRegistry registry;
+    private final Clock clock;
+
+    private final LatencyHistogram zeroLatency, teardownLatency;
+    private final Counter missedTarget;
+
+    private volatile DcMotorSimple[] actuators = new DcMotorSimple[0];
+    // the registry's modifications when the stop was armed. -1 before it is armed
+    private volatile int armedModifications = -1;
+
+    private volatile long latencyTarget = DEFAULT_LATENCY_TARGET;
+    private volatile long teardownTimeout = DEFAULT_TEARDOWN_TIMEOUT;
+    private volatile long lastTimeToZero = -1, lastTeardownTime = -1;
+
+    /**
+     * Creates a new instance of {@link EmergencyStop} timed with {@link NovaClock}
+     * @param registry  the systems to stop
+     */
+    public EmergencyStop(@NonNull SystemRegistry registry) {
+        this(registry, NovaClock.getInstance());
+    }
+
+    /**
+     * Creates a new instance of {@link EmergencyStop}
+     * @param registry  the systems to stop
+     * @param clock     the clock to time the stop with
+     */
+    public EmergencyStop(@NonNull SystemRegistry registry, @NonNull Clock clock) {
+        this.registry = registry;
+        this.clock = clock;
+
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        this.zeroLatency = metrics.histogram("Robot.estop.zero");
+        this.teardownLatency = metrics.histogram("Robot.estop.teardown");
+        this.missedTarget = metrics.counter("Robot.estop.missed");
+    }
+
+    // ACCESSORS
+
+    /**
+     * Sets the time allowed to zero every actuator
+     * @param target    the latency target
+     * @param unit      the unit of the target
+     */
+    public void setLatencyTarget(long target, TimeUnit unit) {
+        if (target <= 0) throw new IllegalArgumentException("The latency target must be positive");
+
+        this.latencyTarget = unit.toNanos(target);
+    }
+
+    /**
+     * Gets the time allowed to zero every actuator
+     * @param unit  the unit to get the target in
+     * @return      the latency target
+     */
+    public long getLatencyTarget(TimeUnit unit) {
+        return unit.convert(latencyTarget, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Sets how long to wait for the systems to stop
+     * @param timeout   the timeout
+     * @param unit      the unit of the timeout
+     */
+    public void setTeardownTimeout(long timeout, TimeUnit unit) {
+        if (timeout <= 0) throw new IllegalArgumentException("The teardown timeout must be positive");
+
+        this.teardownTimeout = unit.toNanos(timeout);
+    }
+
+    /**
+     * Gets how long to wait for the systems to stop
+     * @param unit  the unit to get the timeout in
+     * @return      the timeout
+     */
+    public long getTeardownTimeout(TimeUnit unit) {
+        return unit.convert(teardownTimeout, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets how long the last stop took to zero every actuator
+     * @param unit  the unit to get the time in
+     * @return      the time. Negative if the actuators have not been zeroed
+     */
+    public long getTimeToZero(TimeUnit unit) {
+        return lastTimeToZero < 0 ? -1 : unit.convert(lastTimeToZero, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets how long the last emergency stop took to stop the systems
+     * @param unit  the unit to get the time in
+     * @return      the time. Negative if the systems have not been torn down
+     */
+    public long getTeardownTime(TimeUnit unit) {
+        return lastTeardownTime < 0 ? -1 : unit.convert(lastTeardownTime, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Checks whether the last stop zeroed every actuator within the latency target
+     * @return  whether the target was met
+     * @throws IllegalStateException    thrown if the actuators have not been zeroed
+     */
+    public boolean isWithinTarget() {
+        if (lastTimeToZero < 0) throw new IllegalStateException("The emergency stop has not been triggered");
+
+        return lastTimeToZero <= latencyTarget;
+    }
+
+    /**
+     * Gets the actuators that are zeroed
+     * @return  the actuators
+     */
+    public DcMotorSimple[] getActuators() {
+        return actuators.clone();
+    }
+
+    // BEHAVIOR
+
+    /**
+     * Collects the actuators of the registered systems, so triggering the stop does not have to.
+     * Called automatically before zeroing if the registry changed since the stop was last armed
+     */
+    public synchronized void arm() {
+        // read first, so a change made while collecting arms the stop again
+        int modifications = registry.getModifications();
+        List<DcMotorSimple> collected = new ArrayList<>();
+
+        for (SystemRegistry.Entry entry : registry.getOrder()) {
+            if (! (entry.getSystem() instanceof ActuatorSystem)) continue;
+
+            for (DcMotorSimple actuator : ((ActuatorSystem) entry.getSystem()).getActuators()) {
+                if (actuator != null) collected.add(actuator);
+            }
+        }
+
+        actuators = collected.toArray(new DcMotorSimple[collected.size()]);
+        armedModifications = modifications;
+    }
+
+    /**
+     * Sets every actuator to zero power without stopping any system. If the stop has to be armed
+     * again it is done before the time starts
+     * @return  the time it took in nanoseconds
+     */
+    public long zero() {
+        if (armedModifications != registry.getModifications()) arm();
+
+        long start = clock.nanoTime();
+
+        for (DcMotorSimple actuator : actuators) {
+            try {
+                actuator.setPower(0);
+            } catch (RuntimeException e) {
+                // keep zeroing the others
+                Log.e(TAG, "Failed to zero " + actuator, e);
+            }
+        }
+
+        long timeToZero = clock.nanoTime() - start;
+
+        lastTimeToZero = timeToZero;
+        zeroLatency.record(timeToZero);
+        if (timeToZero > latencyTarget) missedTarget.increment();
+
+        return timeToZero;
+    }
+
+    /**
+     * Zeros every actuator then stops every system in parallel, waiting up to the teardown timeout
+     * for them to finish. Dependency order is ignored
+     * @return  whether every system stopped within the teardown timeout
+     */
+    public boolean trigger() {
+        zero();
+
+        long start = clock.nanoTime();
+        boolean stopped = teardown(start + teardownTimeout);
+
+        lastTeardownTime = clock.nanoTime() - start;
+        teardownLatency.record(lastTeardownTime);
+
+        return stopped;
+    }
+
+    @Override
+    public String toString() {
+        return "EmergencyStop(" + actuators.length + " actuators, target " + getLatencyTarget(TimeUnit.MILLISECONDS) + "ms)";
+    }
+
+    // HELPERS
+
+    private boolean teardown(long deadline) {
+        List<SystemRegistry.Entry> entries = registry.getOrder();
+        Thread[] threads = new Thread[entries.size()];
+
+        for (int i = 0; i < threads.length; i++) {
+            final SystemRegistry.Entry entry = entries.get(i);
+
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        entry.stop();
+                    } catch (RuntimeException e) {
+                        Log.e(TAG, "Failed to stop " + entry.getName(), e);
+                    }
+                }
+            }, TAG + "." + entry.getName());
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+
+        // every thread gets the rest of the shared deadline, so one slow system is not blamed for the others
+        List<String> laggards = new ArrayList<>();
+        boolean interrupted = false;
+
+        for (Thread thread : threads) {
+            long remaining;
+
+            while (! interrupted && thread.isAlive() && (remaining = deadline - clock.nanoTime()) > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedJoin(thread, Math.min(remaining, JOIN_SLICE));
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+
+            if (thread.isAlive()) laggards.add(thread.getName());
+        }
+
+        if (interrupted) Thread.currentThread().interrupt();
+        if (laggards.isEmpty()) return true;
+
+        Log.w(TAG, laggards + " did not stop in time");
+        return false;
+    }
+}
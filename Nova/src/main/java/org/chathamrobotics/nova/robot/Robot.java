@@ -10,23 +10,49 @@ package org.chathamrobotics.nova.robot;
 
 import com.qualcomm.robotcore.hardware.HardwareMap;
 
+import org.chathamrobotics.nova.async.AsyncCallback;
+import org.chathamrobotics.nova.metrics.MetricsRegistry;
 import org.chathamrobotics.nova.system.RobotSystem;
+import org.chathamrobotics.nova.system.SystemStates;
+import org.chathamrobotics.nova.util.Deadline;
+import org.chathamrobotics.nova.util.InputRecorder;
 import org.chathamrobotics.nova.util.RobotLogger;
 import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.robotcore.internal.system.AppUtil;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * The robot ie. a collection of robot systems
+ * The robot ie. a collection of robot systems. Systems are also kept in a {@link SystemRegistry},
+ * so they can be looked up by type or name and are initialized and started after the systems they
+ * depend on
  */
 @SuppressWarnings("WeakerAccess")
 public class Robot extends ArrayList<RobotSystem> {
+    // how often to log the systems that are still being waited on
+    private static final long WAIT_LOG_INTERVAL = 250;
 
     public final RobotLogger logger;
 
     protected final HardwareMap hardwareMap;
     protected final Telemetry telemetry;
 
+    private final SystemRegistry registry = new SystemRegistry();
+    private final EmergencyStop emergencyStop = new EmergencyStop(registry);
+
+    // the list's modCount when the registry was last brought in step with it
+    private int syncedModCount;
+
+    private InputRecorder inputRecorder;
+
     /**
      * Creates a new instance of {@link Robot}
      * @param hardwareMap   the robot's hardware map
@@ -47,54 +73,390 @@ public class Robot extends ArrayList<RobotSystem> {
         return hardwareMap;
     }
 
+    /**
+     * Gets the registry of the robot's systems. Systems must be added to and removed from the robot,
+     * not the registry
+     * @return  the system registry
+     */
+    public SystemRegistry getRegistry() {
+        syncRegistry();
+        return registry;
+    }
+
+    /**
+     * Gets the robot's emergency stop
+     * @return  the emergency stop
+     */
+    public EmergencyStop getEmergencyStop() {
+        return emergencyStop;
+    }
+
+    /**
+     * Adds a system, registering it under its class name. A system can only be added once
+     * @param system    the system to add
+     * @return          whether the system was added. False if it already had been
+     */
+    @Override
+    public boolean add(RobotSystem system) {
+        syncRegistry();
+        if (registry.contains(system)) return false;
+
+        registry.register(uniqueName(system), system);
+        super.add(system);
+        registryChanged();
+
+        return true;
+    }
+
+    /**
+     * Inserts a system, registering it under its class name at the same position in the
+     * registry, so it is initialized and started in list order unless it has dependencies
+     * @param index     the index to insert it at
+     * @param system    the system to add
+     * @throws IllegalArgumentException thrown if the system has already been added
+     */
+    @Override
+    public void add(int index, RobotSystem system) {
+        syncRegistry();
+        if (registry.contains(system)) throw new IllegalArgumentException(system + " has already been added");
+
+        super.add(index, system);
+        registry.register(index, uniqueName(system), system);
+        registryChanged();
+    }
+
+    /**
+     * Removes a system, unregistering it
+     * @param index the index of the system
+     * @return      the system
+     */
+    @Override
+    public RobotSystem remove(int index) {
+        RobotSystem removed = super.remove(index);
+        syncRegistry();
+
+        return removed;
+    }
+
+    /**
+     * Removes a system, unregistering it
+     * @param system    the system
+     * @return          whether the system had been added
+     */
+    @Override
+    public boolean remove(Object system) {
+        boolean removed = super.remove(system);
+        syncRegistry();
+
+        return removed;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> systems) {
+        boolean removed = super.removeAll(systems);
+        syncRegistry();
+
+        return removed;
+    }
+
+    /**
+     * Replaces a system, unregistering the old one and registering the new one under its class name
+     * @param index     the index of the system to replace
+     * @param system    the new system
+     * @return          the old system
+     */
+    @Override
+    public RobotSystem set(int index, RobotSystem system) {
+        RobotSystem replaced = super.set(index, system);
+
+        // set does not count as a structural change, so modCount cannot be relied on
+        diffRegistry();
+
+        return replaced;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        syncRegistry();
+    }
+
+    /**
+     * Adds a system with a name and the systems it depends on. It will be initialized and started
+     * after its dependencies and stopped before them
+     * @param name          a unique name for the system
+     * @param system        the system
+     * @param dependencies  systems already added that this one depends on
+     * @param <T>           the type of the system
+     * @return              the system
+     * @throws IllegalArgumentException thrown if the name or system is already used or a
+     *                                  dependency has not been added
+     */
+    public <T extends RobotSystem> T addSystem(String name, T system, RobotSystem... dependencies) {
+        syncRegistry();
+        registry.register(name, system, dependencies);
+        super.add(system);
+        registryChanged();
+
+        return system;
+    }
+
+    /**
+     * Gets the system of the given type
+     * @param type  the system's class, or a class or interface it extends
+     * @param <T>   the type of the system
+     * @return      the system or null if there is none
+     * @throws IllegalStateException    thrown if more than one system is of the type
+     */
+    public <T> T getSystem(Class<T> type) {
+        syncRegistry();
+        return registry.get(type);
+    }
+
+    /**
+     * Gets the system added with the name
+     * @param name  the name
+     * @return      the system or null if there is none
+     */
+    public RobotSystem getSystem(String name) {
+        syncRegistry();
+        return registry.get(name);
+    }
+
+    /**
+     * Calls the callback once every system has reached the state, or immediately if they all have
+     * @param state     the state to wait for
+     * @param callback  the callback. Called from the thread that changed the last system's state
+     */
+    public void whenState(RobotSystem.State state, final AsyncCallback callback) {
+        final AtomicInteger remaining = new AtomicInteger(size() + 1);
+
+        AsyncCallback countDown = new AsyncCallback() {
+            @Override
+            public void run(Throwable thr) {
+                if (remaining.decrementAndGet() == 0) callback.run(null);
+            }
+        };
+
+        for (RobotSystem system : this) SystemStates.whenState(system, state, countDown);
+
+        // the extra count keeps the callback from running before every system is registered
+        countDown.run(null);
+    }
+
+    /**
+     * Blocks until every system has reached the state. The timeout is measured with nova's clock
+     * @param state                 the state to wait for
+     * @param timeout               the maximum time to wait
+     * @param unit                  the unit of the timeout
+     * @return                      whether every system reached the state before the timeout
+     * @throws InterruptedException thrown if interrupted while waiting
+     */
+    public boolean awaitState(RobotSystem.State state, long timeout, TimeUnit unit) throws InterruptedException {
+        Deadline deadline = Deadline.after(timeout, unit);
+
+        for (RobotSystem system : this) {
+            long remaining = deadline.remaining(TimeUnit.NANOSECONDS);
+
+            if (! SystemStates.awaitState(system, state, remaining, TimeUnit.NANOSECONDS)) return false;
+        }
+
+        return true;
+    }
+
     /**
      * Initializes the robot
      */
     public void init() {
-        // initialize all systems
-        for (RobotSystem system : this)
-            system.init();
+        // initialize all systems, dependencies first
+        getRegistry().initAll();
+        emergencyStop.arm();
 
         // wait for all systems to finish initializing
-        for (RobotSystem system : this)
-            while (! system.isInitialized()) {
-                logger.debug.logf("Waiting for %s to initialize", system);
-                logger.update();
-                Thread.yield();
-            }
+        awaitAll(RobotSystem.State.INITIALIZED, "initialize");
     }
 
     /**
      * Starts the robot
      */
     public void start() {
-        // start all systems
-        for (RobotSystem system : this) {
-            system.start();
-        }
+        // start all systems, dependencies first
+        getRegistry().startAll();
 
         logger.update();
 
         // wait for all systems to finish starting
-        for (RobotSystem system : this)
-            while (! system.isRunning()) {
-                logger.debug.logf("Waiting for %s to start", system);
-                logger.update();
-                Thread.yield();
-            }
+        awaitAll(RobotSystem.State.RUNNING, "start");
     }
 
     /**
      * Stops the robot
      */
     public void stop() {
-        // call stop on all systems
-        for (RobotSystem system : this)
-            system.stop();
+        syncRegistry();
+
+        // cut the power before any system gets a chance to be slow
+        emergencyStop.zero();
+
+        // call stop on all systems, dependents first
+        registry.stopAll();
+
+        dumpMetrics();
+        saveInputRecording();
 
         logger.update();
     }
 
+    /**
+     * Stops the robot as fast as possible. Every actuator is zeroed, then the systems are stopped
+     * in parallel
+     * @return  whether every system stopped within the emergency stop's teardown timeout
+     */
+    public boolean emergencyStop() {
+        syncRegistry();
+
+        boolean stopped = emergencyStop.trigger();
+
+        if (! emergencyStop.isWithinTarget()) logger.warn.logf(
+                "Emergency stop took %dms to zero the actuators", emergencyStop.getTimeToZero(TimeUnit.MILLISECONDS));
+        if (! stopped) logger.warn.log("Not every system stopped in time");
+
+        dumpMetrics();
+        logger.update();
+
+        return stopped;
+    }
+
+    /**
+     * Adds a snapshot of the metrics to the telemetry. Does nothing if metrics are disabled
+     */
+    public void addMetricsToTelemetry() {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+
+        if (registry.isEnabled()) registry.addToTelemetry(telemetry);
+    }
+
+    /**
+     * Sets the recorder whose recording is saved when the robot is stopped
+     * @param inputRecorder the recorder. Null to not save a recording
+     */
+    public void setInputRecorder(InputRecorder inputRecorder) {
+        this.inputRecorder = inputRecorder;
+    }
+
+    /**
+     * Gets the recorder whose recording is saved when the robot is stopped
+     * @return  the recorder. Null if there is none
+     */
+    public InputRecorder getInputRecorder() {
+        return inputRecorder;
+    }
+
+    /**
+     * Gets the file to save the input recording to
+     * @return  the file to save the input recording to
+     */
+    protected File getInputRecordingFile() {
+        return new File(AppUtil.ROBOT_DATA_DIR, "nova-input-" + System.currentTimeMillis() + ".bin");
+    }
+
+    /**
+     * Gets the file the metrics are dumped to when the robot stops
+     * @return  the metrics file
+     */
+    protected File getMetricsFile() {
+        return new File(AppUtil.ROBOT_DATA_DIR, "nova-metrics-" + System.currentTimeMillis() + ".txt");
+    }
+
+    // blocks until every system reaches the state, logging the ones still being waited on
+    private void awaitAll(RobotSystem.State state, String action) {
+        try {
+            for (RobotSystem system : registry) {
+                while (! SystemStates.awaitState(system, state, WAIT_LOG_INTERVAL, TimeUnit.MILLISECONDS)) {
+                    logger.debug.logf("Waiting for %s to %s", system, action);
+                    logger.update();
+                }
+            }
+        } catch (InterruptedException e) {
+            // the op mode is stopping
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // brings the registry in step with changes made to the list some other way, eg. through an
+    // iterator or addAll
+    private void syncRegistry() {
+        if (syncedModCount != modCount) diffRegistry();
+    }
+
+    // unregisters systems that are no longer in the list and registers ones that are new
+    private void diffRegistry() {
+        Set<RobotSystem> members = Collections.newSetFromMap(new IdentityHashMap<RobotSystem, Boolean>());
+        members.addAll(this);
+
+        for (RobotSystem system : registry) {
+            if (! members.contains(system)) registry.unregister(system);
+        }
+
+        // the registry keeps the list's order, so new systems are registered where they are in the list
+        int index = 0;
+        for (RobotSystem system : this) {
+            if (! registry.contains(system)) registry.register(index, uniqueName(system), system);
+            index++;
+        }
+
+        registryChanged();
+    }
+
+    // re-arms the emergency stop with the new systems' actuators now, rather than when it is triggered
+    private void registryChanged() {
+        syncedModCount = modCount;
+        emergencyStop.arm();
+    }
+
+    // the system's class name, numbered if another system already has it
+    private String uniqueName(RobotSystem system) {
+        String base = system.getClass().getSimpleName();
+        if (base.isEmpty()) base = "System";
+
+        String name = base;
+        for (int i = 2; registry.get(name) != null; i++) name = base + i;
+
+        return name;
+    }
+
+    // writes the metrics to the metrics file if metrics are enabled
+    private void dumpMetrics() {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        if (! registry.isEnabled()) return;
+
+        File file = getMetricsFile();
+
+        try {
+            registry.dump(file);
+            logger.info.logf("Wrote metrics to %s", file);
+        } catch (IOException e) {
+            logger.warn.log(e, "Failed to write metrics");
+        }
+    }
+
+    // writes the input recording to the input recording file if there is one
+    private void saveInputRecording() {
+        if (inputRecorder == null) return;
+
+        inputRecorder.stop();
+        if (inputRecorder.getRecording().size() == 0) return;
+
+        File file = getInputRecordingFile();
+
+        try {
+            inputRecorder.getRecording().save(file);
+            logger.info.logf("Wrote input recording to %s", file);
+        } catch (IOException e) {
+            logger.warn.log(e, "Failed to write input recording");
+        }
+    }
+
     @Override
     public String toString() {
         return this.getClass().getSimpleName();
@@ -0,0 +1,492 @@
+package org.chathamrobotics.nova.robot;
+
+import android.support.annotation.NonNull;
+
+import org.chathamrobotics.nova.async.AsyncCallback;
+import org.chathamrobotics.nova.metrics.LatencyHistogram;
+import org.chathamrobotics.nova.metrics.MetricsRegistry;
+import org.chathamrobotics.nova.system.RobotSystem;
+import org.chathamrobotics.nova.system.SystemStates;
+import org.chathamrobotics.nova.util.Clock;
+import org.chathamrobotics.nova.util.NovaClock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The systems of a robot, indexed by name and by type so a system can be looked up in constant
+ * time from an op mode's loop. Systems can depend on each other; they are initialized and started
+ * after the systems they depend on and stopped before them. How long each system takes to
+ * initialize, become ready, start and stop is recorded.
+ *
+ * Usage:
+ * <pre>{@code
+ *      registry.register("gyro", gyro);
+ *      registry.register("drive", drive, gyro);
+ *      ...
+ *      HolonomicDrive drive = registry.get(HolonomicDrive.class);
+ * }</pre>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class SystemRegistry implements Iterable<RobotSystem> {
+    private static final Object AMBIGUOUS = new Object();
+    private static final Clock CLOCK = NovaClock.getInstance();
+
+    /**
+     * A registered system, with its dependencies and how long its lifecycle took
+     */
+    public static class Entry {
+        private final String name;
+        private final RobotSystem system;
+        private int index;
+        private final List<Entry> dependencies = new ArrayList<>();
+
+        private final LatencyHistogram initHistogram, readyHistogram, startHistogram, stopHistogram;
+        private volatile long initTime = -1, readyTime = -1, startTime = -1, stopTime = -1;
+
+        private Entry(String name, RobotSystem system, int index) {
+            this.name = name;
+            this.system = system;
+            this.index = index;
+
+            MetricsRegistry registry = MetricsRegistry.getInstance();
+            this.initHistogram = registry.histogram("Robot." + name + ".init");
+            this.readyHistogram = registry.histogram("Robot." + name + ".ready");
+            this.startHistogram = registry.histogram("Robot." + name + ".start");
+            this.stopHistogram = registry.histogram("Robot." + name + ".stop");
+        }
+
+        /**
+         * Gets the name the system was registered with
+         * @return  the name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the system
+         * @return  the system
+         */
+        public RobotSystem getSystem() {
+            return system;
+        }
+
+        /**
+         * Gets the systems this system depends on
+         * @return  the dependencies
+         */
+        public List<Entry> getDependencies() {
+            return Collections.unmodifiableList(dependencies);
+        }
+
+        /**
+         * Gets how long the last call to the system's init took
+         * @param unit  the unit to get the time in
+         * @return      the time. Negative if the system has not been initialized
+         */
+        public long getInitTime(TimeUnit unit) {
+            return convert(initTime, unit);
+        }
+
+        /**
+         * Gets how long the system took to become initialized after init was called. This includes
+         * any work the system does in the background, eg. starting vuforia
+         * @param unit  the unit to get the time in
+         * @return      the time. Negative if the system has not become initialized
+         */
+        public long getReadyTime(TimeUnit unit) {
+            return convert(readyTime, unit);
+        }
+
+        /**
+         * Gets how long the last call to the system's start took
+         * @param unit  the unit to get the time in
+         * @return      the time. Negative if the system has not been started
+         */
+        public long getStartTime(TimeUnit unit) {
+            return convert(startTime, unit);
+        }
+
+        /**
+         * Gets how long the last call to the system's stop took
+         * @param unit  the unit to get the time in
+         * @return      the time. Negative if the system has not been stopped
+         */
+        public long getStopTime(TimeUnit unit) {
+            return convert(stopTime, unit);
+        }
+
+        // stops the system, timing it
+        void stop() {
+            long start = CLOCK.nanoTime();
+
+            system.stop();
+
+            stopTime = CLOCK.nanoTime() - start;
+            stopHistogram.record(stopTime);
+        }
+
+        @Override
+        public String toString() {
+            return name + "(init " + getInitTime(TimeUnit.MILLISECONDS) + "ms, ready " + getReadyTime(TimeUnit.MILLISECONDS)
+                    + "ms, start " + getStartTime(TimeUnit.MILLISECONDS) + "ms, stop " + getStopTime(TimeUnit.MILLISECONDS) + "ms)";
+        }
+
+        private static long convert(long time, TimeUnit unit) {
+            return time < 0 ? -1 : unit.convert(time, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private final Map<String, Entry> byName = new ConcurrentHashMap<>();
+    private volatile Map<Class<?>, Object> byType = new ConcurrentHashMap<>();
+    private final Map<RobotSystem, Entry> bySystem = Collections.synchronizedMap(new IdentityHashMap<RobotSystem, Entry>());
+    private final List<Entry> entries = new ArrayList<>();
+
+    private volatile List<Entry> order;
+    private volatile int modifications;
+
+    // ACCESSORS
+
+    /**
+     * Gets the number of registered systems
+     * @return  the number of systems
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets a count that changes whenever a system is registered or unregistered, so a copy of the
+     * registry's systems can tell whether it is out of date without locking
+     * @return  the number of changes
+     */
+    public int getModifications() {
+        return modifications;
+    }
+
+    /**
+     * Checks whether a system is registered
+     * @param system    the system
+     * @return          whether it is registered
+     */
+    public boolean contains(RobotSystem system) {
+        return bySystem.containsKey(system);
+    }
+
+    /**
+     * Gets the system registered with the name
+     * @param name  the name
+     * @return      the system or null if there is none
+     */
+    public RobotSystem get(@NonNull String name) {
+        Entry entry = byName.get(name);
+
+        return entry == null ? null : entry.system;
+    }
+
+    /**
+     * Gets the system registered with the name as the given type
+     * @param name  the name
+     * @param type  the type of the system
+     * @param <T>   the type of the system
+     * @return      the system or null if there is none
+     * @throws ClassCastException   thrown if the system is not of the type
+     */
+    public <T> T get(@NonNull String name, @NonNull Class<T> type) {
+        return type.cast(get(name));
+    }
+
+    /**
+     * Gets the system of the given type. The type can be the system's class or any class or
+     * interface it extends, such as {@link org.chathamrobotics.nova.system.DriveSystem}
+     * @param type  the type of the system
+     * @param <T>   the type of the system
+     * @return      the system or null if there is none
+     * @throws IllegalStateException    thrown if more than one system is of the type
+     */
+    public <T> T get(@NonNull Class<T> type) {
+        Object system = byType.get(type);
+
+        if (system == AMBIGUOUS) throw new IllegalStateException(
+                "More than one system is a " + type.getSimpleName() + ", look it up by name instead");
+
+        return type.cast(system);
+    }
+
+    /**
+     * Gets the entry for a system
+     * @param system    the system
+     * @return          the entry or null if the system is not registered
+     */
+    public Entry getEntry(RobotSystem system) {
+        return bySystem.get(system);
+    }
+
+    /**
+     * Gets the entry for the system registered with the name
+     * @param name  the name
+     * @return      the entry or null if there is none
+     */
+    public Entry getEntry(@NonNull String name) {
+        return byName.get(name);
+    }
+
+    /**
+     * Gets the entries in the order the systems are initialized and started: every system after
+     * the systems it depends on, otherwise in the order they were registered
+     * @return  the ordered entries
+     */
+    public List<Entry> getOrder() {
+        List<Entry> current = order;
+        if (current != null) return current;
+
+        synchronized (this) {
+            if (order == null) order = sort();
+
+            return order;
+        }
+    }
+
+    @Override
+    public Iterator<RobotSystem> iterator() {
+        final Iterator<Entry> iterator = getOrder().iterator();
+
+        return new Iterator<RobotSystem>() {
+            private Entry last;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public RobotSystem next() {
+                last = iterator.next();
+                return last.system;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) throw new IllegalStateException("next has not been called");
+
+                unregister(last.system);
+                last = null;
+            }
+        };
+    }
+
+    // REGISTRATION
+
+    /**
+     * Registers a system after the systems already registered
+     * @param name          a unique name for the system
+     * @param system        the system
+     * @param dependencies  registered systems that must be initialized and started before this one
+     * @return              the system's entry
+     * @throws IllegalArgumentException thrown if the name or system is already registered
+     */
+    public synchronized Entry register(@NonNull String name, @NonNull RobotSystem system, RobotSystem... dependencies) {
+        return register(entries.size(), name, system, dependencies);
+    }
+
+    /**
+     * Registers a system at a position in the registration order, which is the order systems
+     * without dependencies between them are initialized and started in
+     * @param index         the position to register the system at
+     * @param name          a unique name for the system
+     * @param system        the system
+     * @param dependencies  registered systems that must be initialized and started before this one
+     * @return              the system's entry
+     * @throws IllegalArgumentException     thrown if the name or system is already registered
+     * @throws IndexOutOfBoundsException    thrown if the index is not in [0, size]
+     */
+    public synchronized Entry register(int index, @NonNull String name, @NonNull RobotSystem system, RobotSystem... dependencies) {
+        if (index < 0 || index > entries.size()) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + entries.size());
+        if (byName.containsKey(name)) throw new IllegalArgumentException("A system is already registered as " + name);
+        if (bySystem.containsKey(system)) throw new IllegalArgumentException(system + " is already registered");
+
+        for (RobotSystem dependency : dependencies) entryOf(dependency);
+
+        Entry entry = new Entry(name, system, index);
+
+        entries.add(index, entry);
+        for (int i = index + 1; i < entries.size(); i++) entries.get(i).index = i;
+        byName.put(name, entry);
+        bySystem.put(system, entry);
+        indexTypes(byType, system, system.getClass());
+
+        for (RobotSystem dependency : dependencies) entry.dependencies.add(entryOf(dependency));
+
+        order = null;
+        modifications++;
+
+        return entry;
+    }
+
+    /**
+     * Unregisters a system. Systems that depended on it no longer do
+     * @param system    the system
+     * @return          whether the system was registered
+     */
+    public synchronized boolean unregister(@NonNull RobotSystem system) {
+        Entry entry = bySystem.remove(system);
+        if (entry == null) return false;
+
+        byName.remove(entry.name);
+        entries.remove(entry);
+
+        for (int i = 0; i < entries.size(); i++) {
+            Entry other = entries.get(i);
+
+            other.index = i;
+            other.dependencies.remove(entry);
+        }
+
+        // rebuilt rather than edited, so a type two systems shared goes back to the one left
+        Map<Class<?>, Object> types = new ConcurrentHashMap<>();
+        for (Entry other : entries) indexTypes(types, other.system, other.system.getClass());
+        byType = types;
+
+        order = null;
+        modifications++;
+
+        return true;
+    }
+
+    /**
+     * Makes a system depend on another, so it is initialized and started after it
+     * @param system        the system
+     * @param dependency    the system it depends on
+     * @throws IllegalArgumentException thrown if either is not registered or the dependency would
+     *                                  create a cycle
+     */
+    public synchronized void addDependency(@NonNull RobotSystem system, @NonNull RobotSystem dependency) {
+        Entry entry = entryOf(system), dependencyEntry = entryOf(dependency);
+
+        if (dependsOn(dependencyEntry, entry)) throw new IllegalArgumentException(
+                entry.name + " cannot depend on " + dependencyEntry.name + ", which depends on it");
+
+        entry.dependencies.add(dependencyEntry);
+        order = null;
+    }
+
+    // LIFECYCLE
+
+    /**
+     * Initializes every system in order, timing each. Does not wait for them to become initialized
+     */
+    public void initAll() {
+        for (final Entry entry : getOrder()) {
+            final long start = CLOCK.nanoTime();
+
+            entry.system.init();
+
+            entry.initTime = CLOCK.nanoTime() - start;
+            entry.initHistogram.record(entry.initTime);
+
+            SystemStates.whenState(entry.system, RobotSystem.State.INITIALIZED, new AsyncCallback() {
+                @Override
+                public void run(Throwable thr) {
+                    entry.readyTime = CLOCK.nanoTime() - start;
+                    entry.readyHistogram.record(entry.readyTime);
+                }
+            });
+        }
+    }
+
+    /**
+     * Starts every system in order, timing each
+     */
+    public void startAll() {
+        for (Entry entry : getOrder()) {
+            long start = CLOCK.nanoTime();
+
+            entry.system.start();
+
+            entry.startTime = CLOCK.nanoTime() - start;
+            entry.startHistogram.record(entry.startTime);
+        }
+    }
+
+    /**
+     * Stops every system in reverse order, timing each
+     */
+    public void stopAll() {
+        List<Entry> ordered = getOrder();
+
+        for (int i = ordered.size() - 1; i >= 0; i--) ordered.get(i).stop();
+    }
+
+    @Override
+    public String toString() {
+        return "SystemRegistry" + getOrder();
+    }
+
+    // HELPERS
+
+    private Entry entryOf(RobotSystem system) {
+        Entry entry = bySystem.get(system);
+        if (entry == null) throw new IllegalArgumentException(system + " is not registered");
+
+        return entry;
+    }
+
+    // indexes the system under its class and every class and interface it extends
+    private static void indexTypes(Map<Class<?>, Object> types, RobotSystem system, Class<?> type) {
+        if (type == null || type == Object.class) return;
+
+        Object existing = types.get(type);
+        if (existing == system) return;
+
+        types.put(type, existing == null ? system : AMBIGUOUS);
+
+        indexTypes(types, system, type.getSuperclass());
+        for (Class<?> implemented : type.getInterfaces()) indexTypes(types, system, implemented);
+    }
+
+    // whether from depends on to, directly or through other systems
+    private static boolean dependsOn(Entry from, Entry to) {
+        if (from == to) return true;
+
+        for (Entry dependency : from.dependencies) {
+            if (dependsOn(dependency, to)) return true;
+        }
+
+        return false;
+    }
+
+    // orders the entries so each comes after its dependencies, keeping registration order otherwise
+    private List<Entry> sort() {
+        List<Entry> sorted = new ArrayList<>(entries.size());
+        boolean[] placed = new boolean[entries.size()];
+
+        while (sorted.size() < entries.size()) {
+            for (Entry entry : entries) {
+                if (placed[entry.index] || ! allPlaced(entry, placed)) continue;
+
+                placed[entry.index] = true;
+                sorted.add(entry);
+
+                // restart so earlier registered systems that are now unblocked go first
+                break;
+            }
+        }
+
+        return Collections.unmodifiableList(sorted);
+    }
+
+    private static boolean allPlaced(Entry entry, boolean[] placed) {
+        for (Entry dependency : entry.dependencies) {
+            if (! placed[dependency.index]) return false;
+        }
+
+        return true;
+    }
+}
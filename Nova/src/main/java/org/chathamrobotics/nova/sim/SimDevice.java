@@ -0,0 +1,12 @@
+package org.chathamrobotics.nova.sim;
+
+/**
+ * A piece of simulated hardware that is advanced in steps by a {@link Simulation}
+ */
+public interface SimDevice {
+    /**
+     * Advances the device's state
+     * @param elapsed   the amount of simulated time that has passed since the last update in ns
+     */
+    void update(long elapsed);
+}
@@ -0,0 +1,172 @@
+package org.chathamrobotics.nova.sim;
+
+import com.qualcomm.robotcore.hardware.GyroSensor;
+
+/**
+ * A simulated gyro. The heading is integrated from the angular velocity plus a constant drift, and
+ * reads 0 until the gyro has finished calibrating. The heading increases with positive (counter
+ * clockwise) angular velocity.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class SimGyro implements GyroSensor, SimDevice {
+    ////////// CONSTANTS ///////////
+    public static final long DEFAULT_CALIBRATION_TIME = 1500000000L;
+    public static final double DEFAULT_DRIFT = 0.01;
+
+    // the angular velocity that gives a rotation fraction of one in degrees per second
+    private static final double FULL_SCALE = 2000;
+
+    ////////// FIELDS ///////////
+    private final String name;
+    private final long calibrationTime;
+    private final double drift;
+
+    private double angularVelocity;
+    private double heading;
+    private long calibrationRemaining;
+
+    ////////// CONSTRUCTORS ///////////
+
+    /**
+     * Creates a new instance of {@link SimGyro} with the default drift and calibration time
+     * @param name  the name of the gyro
+     */
+    public SimGyro(String name) {
+        this(name, DEFAULT_DRIFT, DEFAULT_CALIBRATION_TIME);
+    }
+
+    /**
+     * Creates a new instance of {@link SimGyro}
+     * @param name              the name of the gyro
+     * @param drift             the drift in degrees per second
+     * @param calibrationTime   how long calibration takes in ns
+     */
+    public SimGyro(String name, double drift, long calibrationTime) {
+        this.name = name;
+        this.drift = drift;
+        this.calibrationTime = calibrationTime;
+    }
+
+    ////////// SIMULATION ///////////
+
+    /**
+     * Advances the gyro's heading and calibration
+     * @param elapsed   the amount of simulated time that has passed since the last update in ns
+     */
+    @Override
+    public synchronized void update(long elapsed) {
+        if (calibrationRemaining > 0) {
+            calibrationRemaining = Math.max(0, calibrationRemaining - elapsed);
+            return;
+        }
+
+        heading += (angularVelocity + drift) * elapsed / 1e9;
+    }
+
+    /**
+     * Sets the actual angular velocity of the robot
+     * @param angularVelocity   the angular velocity in degrees per second, positive is counter clockwise
+     */
+    public synchronized void setAngularVelocity(double angularVelocity) {
+        this.angularVelocity = angularVelocity;
+    }
+
+    /**
+     * Gets the actual angular velocity of the robot
+     * @return  the angular velocity in degrees per second, positive is counter clockwise
+     */
+    public synchronized double getAngularVelocity() {
+        return angularVelocity;
+    }
+
+    /**
+     * Gets the integrated heading without wrapping it to [0, 360)
+     * @return  the integrated heading in degrees
+     */
+    public synchronized double getIntegratedHeading() {
+        return heading;
+    }
+
+    ////////// GYRO SENSOR ///////////
+
+    @Override
+    public synchronized void calibrate() {
+        calibrationRemaining = calibrationTime;
+        heading = 0;
+    }
+
+    @Override
+    public synchronized boolean isCalibrating() {
+        return calibrationRemaining > 0;
+    }
+
+    @Override
+    public synchronized int getHeading() {
+        int wrapped = (int) Math.floor(heading) % 360;
+
+        return wrapped < 0 ? wrapped + 360 : wrapped;
+    }
+
+    @Override
+    public synchronized double getRotationFraction() {
+        return Math.max(-1, Math.min(1, angularVelocity / FULL_SCALE));
+    }
+
+    @Override
+    public int rawX() {
+        return 0;
+    }
+
+    @Override
+    public int rawY() {
+        return 0;
+    }
+
+    @Override
+    public synchronized int rawZ() {
+        return (int) Math.round(angularVelocity + drift);
+    }
+
+    @Override
+    public synchronized void resetZAxisIntegrator() {
+        heading = 0;
+    }
+
+    @Override
+    public synchronized String status() {
+        return String.format("%s: %s, heading %d", name, isCalibrating() ? "calibrating" : "ready", getHeading());
+    }
+
+    ////////// HARDWARE DEVICE ///////////
+
+    @Override
+    public Manufacturer getManufacturer() {
+        return Manufacturer.Other;
+    }
+
+    @Override
+    public String getDeviceName() {
+        return name;
+    }
+
+    @Override
+    public String getConnectionInfo() {
+        return "simulated";
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public void resetDeviceConfigurationForOpMode() {}
+
+    @Override
+    public void close() {}
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
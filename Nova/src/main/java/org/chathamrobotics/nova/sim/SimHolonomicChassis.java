@@ -0,0 +1,141 @@
+package org.chathamrobotics.nova.sim;
+
+/**
+ * A simulated holonomic (X drive) chassis using the same motor layout and sign conventions as
+ * {@link org.chathamrobotics.nova.system.HolonomicDrive}. The chassis updates its own motors and
+ * gyro so only the chassis needs to be added to the simulation.
+ *
+ * The pose is in field coordinates: x is forward and y is left of the starting pose, heading is
+ * counter clockwise.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class SimHolonomicChassis implements SimDevice {
+    ////////// CONSTANTS ///////////
+    // a 4 inch omni wheel
+    public static final double DEFAULT_WHEEL_RADIUS = 0.0508;
+    public static final double DEFAULT_TRACK_RADIUS = 0.2;
+
+    private static final double ROOT_TWO_OVER_TWO = Math.sqrt(2) / 2;
+
+    ////////// FIELDS ///////////
+    private final SimMotor frontLeft, frontRight, backRight, backLeft;
+    private final SimGyro gyro;
+    private final double wheelRadius, trackRadius;
+
+    private double x, y, heading;
+
+    ////////// CONSTRUCTORS ///////////
+
+    /**
+     * Creates a new instance of {@link SimHolonomicChassis} with the default dimensions
+     * @param frontLeft     the front left motor
+     * @param frontRight    the front right motor
+     * @param backRight     the back right motor
+     * @param backLeft      the back left motor
+     * @param gyro          the gyro on the chassis. Null if there is none
+     */
+    public SimHolonomicChassis(SimMotor frontLeft, SimMotor frontRight, SimMotor backRight, SimMotor backLeft, SimGyro gyro) {
+        this(frontLeft, frontRight, backRight, backLeft, gyro, DEFAULT_WHEEL_RADIUS, DEFAULT_TRACK_RADIUS);
+    }
+
+    /**
+     * Creates a new instance of {@link SimHolonomicChassis}
+     * @param frontLeft     the front left motor
+     * @param frontRight    the front right motor
+     * @param backRight     the back right motor
+     * @param backLeft      the back left motor
+     * @param gyro          the gyro on the chassis. Null if there is none
+     * @param wheelRadius   the radius of the wheels in meters
+     * @param trackRadius   the distance from the center of the chassis to the wheels in meters
+     */
+    public SimHolonomicChassis(
+            SimMotor frontLeft,
+            SimMotor frontRight,
+            SimMotor backRight,
+            SimMotor backLeft,
+            SimGyro gyro,
+            double wheelRadius,
+            double trackRadius
+    ) {
+        this.frontLeft = frontLeft;
+        this.frontRight = frontRight;
+        this.backRight = backRight;
+        this.backLeft = backLeft;
+        this.gyro = gyro;
+        this.wheelRadius = wheelRadius;
+        this.trackRadius = trackRadius;
+    }
+
+    ////////// SIMULATION ///////////
+
+    /**
+     * Advances the motors, then moves the chassis according to the wheel speeds
+     * @param elapsed   the amount of simulated time that has passed since the last update in ns
+     */
+    @Override
+    public void update(long elapsed) {
+        frontLeft.update(elapsed);
+        frontRight.update(elapsed);
+        backRight.update(elapsed);
+        backLeft.update(elapsed);
+
+        double fl = surfaceSpeed(frontLeft), fr = surfaceSpeed(frontRight);
+        double br = surfaceSpeed(backRight), bl = surfaceSpeed(backLeft);
+
+        // inverse of HolonomicDrive.calcMotorValues
+        double p = (br - fl) / 2, q = (bl - fr) / 2;
+        double forward = ROOT_TWO_OVER_TWO * (p + q);
+        double left = ROOT_TWO_OVER_TWO * (p - q);
+        double angularVelocity = (fl + fr + br + bl) / (4 * trackRadius);
+
+        double dt = elapsed / 1e9;
+
+        synchronized (this) {
+            heading += angularVelocity * dt;
+            x += (forward * Math.cos(heading) - left * Math.sin(heading)) * dt;
+            y += (forward * Math.sin(heading) + left * Math.cos(heading)) * dt;
+        }
+
+        if (gyro != null) {
+            gyro.setAngularVelocity(Math.toDegrees(angularVelocity));
+            gyro.update(elapsed);
+        }
+    }
+
+    /**
+     * Gets the x position of the chassis
+     * @return  the distance forward of the starting pose in meters
+     */
+    public synchronized double getX() {
+        return x;
+    }
+
+    /**
+     * Gets the y position of the chassis
+     * @return  the distance left of the starting pose in meters
+     */
+    public synchronized double getY() {
+        return y;
+    }
+
+    /**
+     * Gets the actual heading of the chassis
+     * @return  the heading in radians, counter clockwise from the starting pose
+     */
+    public synchronized double getHeading() {
+        return heading;
+    }
+
+    /**
+     * Gets the chassis' gyro
+     * @return  the gyro. Null if there is none
+     */
+    public SimGyro getGyro() {
+        return gyro;
+    }
+
+    // the speed of the wheel's surface in m/s
+    private double surfaceSpeed(SimMotor motor) {
+        return motor.getVelocity() / motor.getMotorType().getTicksPerRev() * 2 * Math.PI * wheelRadius;
+    }
+}
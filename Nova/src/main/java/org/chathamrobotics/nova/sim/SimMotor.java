@@ -0,0 +1,292 @@
+package org.chathamrobotics.nova.sim;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.DcMotorController;
+import com.qualcomm.robotcore.hardware.configuration.MotorConfigurationType;
+import com.qualcomm.robotcore.util.Range;
+
+/**
+ * A simulated motor with an encoder. The shaft's velocity follows the commanded power with a first
+ * order lag and the encoder counts the ticks the shaft has turned. RUN_TO_POSITION is modeled as a
+ * proportional controller limited by the set power.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class SimMotor implements DcMotor, SimDevice {
+    ////////// CONSTANTS ///////////
+    // modeled on a NeveRest 40
+    public static final double DEFAULT_TICKS_PER_REV = 1120;
+    public static final double DEFAULT_MAX_RPM = 160;
+    public static final double DEFAULT_TIME_CONSTANT = 0.05;
+
+    /**
+     * How close to the target RUN_TO_POSITION has to get before the motor is no longer busy
+     */
+    public static final int POSITION_TOLERANCE = 10;
+
+    // a floating motor coasts to a stop this many times slower than it speeds up
+    private static final double FLOAT_FACTOR = 4;
+
+    ////////// FIELDS ///////////
+    private final String name;
+    private final int port;
+    private final double timeConstant;
+
+    private MotorConfigurationType type;
+
+    private double power;
+    private int target;
+    private RunMode mode = RunMode.RUN_WITHOUT_ENCODER;
+    private ZeroPowerBehavior zeroPowerBehavior = ZeroPowerBehavior.BRAKE;
+    private Direction direction = Direction.FORWARD;
+
+    // the shaft's state in ticks, before direction is applied
+    private double position;
+    private double velocity;
+
+    ////////// CONSTRUCTORS ///////////
+
+    /**
+     * Creates a new instance of {@link SimMotor} modeled on a NeveRest 40
+     * @param name  the name of the motor
+     */
+    public SimMotor(String name) {
+        this(name, 0, DEFAULT_TICKS_PER_REV, DEFAULT_MAX_RPM, DEFAULT_TIME_CONSTANT);
+    }
+
+    /**
+     * Creates a new instance of {@link SimMotor}
+     * @param name          the name of the motor
+     * @param port          the motor's port number
+     * @param ticksPerRev   the number of encoder ticks per revolution of the output shaft
+     * @param maxRPM        the speed of the output shaft at full power
+     * @param timeConstant  the time it takes the motor to reach ~63% of a change in speed in seconds
+     */
+    public SimMotor(String name, int port, double ticksPerRev, double maxRPM, double timeConstant) {
+        if (timeConstant <= 0) throw new IllegalArgumentException("timeConstant must be positive");
+
+        this.name = name;
+        this.port = port;
+        this.timeConstant = timeConstant;
+
+        this.type = new MotorConfigurationType();
+        type.setTicksPerRev(ticksPerRev);
+        type.setMaxRPM(maxRPM);
+        type.setAchieveableMaxRPMFraction(1);
+    }
+
+    ////////// SIMULATION ///////////
+
+    /**
+     * Advances the motor's velocity and position
+     * @param elapsed   the amount of simulated time that has passed since the last update in ns
+     */
+    @Override
+    public synchronized void update(long elapsed) {
+        double dt = elapsed / 1e9;
+        double commanded = getCommandedPower();
+
+        double tau = commanded == 0 && zeroPowerBehavior == ZeroPowerBehavior.FLOAT ?
+                timeConstant * FLOAT_FACTOR : timeConstant;
+
+        // exact solution of the first order lag over the step
+        velocity += (commanded * getMaxTicksPerSecond() - velocity) * (1 - Math.exp(-dt / tau));
+        position += velocity * dt;
+    }
+
+    /**
+     * Gets the velocity of the motor as seen by the encoder
+     * @return  the velocity in ticks per second
+     */
+    public synchronized double getVelocity() {
+        return sign() * velocity;
+    }
+
+    /**
+     * Moves the shaft to the given position as if it were turned by hand
+     * @param position  the position in ticks as seen by the encoder
+     */
+    public synchronized void setCurrentPosition(int position) {
+        this.position = sign() * position;
+    }
+
+    // the power actually applied to the shaft
+    private double getCommandedPower() {
+        switch (mode) {
+            case STOP_AND_RESET_ENCODER:
+                return 0;
+            case RUN_TO_POSITION:
+                double gain = 10 / type.getTicksPerRev();
+                double limit = Math.abs(power);
+
+                return sign() * Range.clip((target - getCurrentPosition()) * gain, -limit, limit);
+            default:
+                return sign() * power;
+        }
+    }
+
+    private double getMaxTicksPerSecond() {
+        return type.getMaxRPM() * type.getAchieveableMaxRPMFraction() * type.getTicksPerRev() / 60;
+    }
+
+    private double sign() {
+        return direction == Direction.FORWARD ? 1 : -1;
+    }
+
+    // old op modes still pass the pre 3.0 names, which the sdk treats as aliases of the new ones
+    @SuppressWarnings("deprecation")
+    private static RunMode currentName(RunMode mode) {
+        switch (mode) {
+            case RUN_WITHOUT_ENCODERS: return RunMode.RUN_WITHOUT_ENCODER;
+            case RUN_USING_ENCODERS: return RunMode.RUN_USING_ENCODER;
+            case RESET_ENCODERS: return RunMode.STOP_AND_RESET_ENCODER;
+            default: return mode;
+        }
+    }
+
+    ////////// DC MOTOR ///////////
+
+    @Override
+    public synchronized MotorConfigurationType getMotorType() {
+        return type;
+    }
+
+    @Override
+    public synchronized void setMotorType(MotorConfigurationType motorType) {
+        this.type = motorType;
+    }
+
+    /**
+     * Simulated motors do not have a controller
+     * @return  null
+     */
+    @Override
+    public DcMotorController getController() {
+        return null;
+    }
+
+    @Override
+    public int getPortNumber() {
+        return port;
+    }
+
+    @Override
+    public synchronized void setZeroPowerBehavior(ZeroPowerBehavior zeroPowerBehavior) {
+        if (zeroPowerBehavior != ZeroPowerBehavior.UNKNOWN) this.zeroPowerBehavior = zeroPowerBehavior;
+    }
+
+    @Override
+    public synchronized ZeroPowerBehavior getZeroPowerBehavior() {
+        return zeroPowerBehavior;
+    }
+
+    @Override
+    @Deprecated
+    public synchronized void setPowerFloat() {
+        setZeroPowerBehavior(ZeroPowerBehavior.FLOAT);
+        setPower(0);
+    }
+
+    @Override
+    public synchronized boolean getPowerFloat() {
+        return zeroPowerBehavior == ZeroPowerBehavior.FLOAT && power == 0;
+    }
+
+    @Override
+    public synchronized void setTargetPosition(int position) {
+        this.target = position;
+    }
+
+    @Override
+    public synchronized int getTargetPosition() {
+        return target;
+    }
+
+    @Override
+    public synchronized boolean isBusy() {
+        return mode == RunMode.RUN_TO_POSITION && Math.abs(target - getCurrentPosition()) > POSITION_TOLERANCE;
+    }
+
+    @Override
+    public synchronized int getCurrentPosition() {
+        return (int) Math.round(sign() * position);
+    }
+
+    @Override
+    public synchronized void setMode(RunMode mode) {
+        mode = currentName(mode);
+
+        if (mode == RunMode.STOP_AND_RESET_ENCODER) {
+            position = 0;
+            velocity = 0;
+        }
+
+        this.mode = mode;
+    }
+
+    @Override
+    public synchronized RunMode getMode() {
+        return mode;
+    }
+
+    @Override
+    public synchronized void setDirection(Direction direction) {
+        this.direction = direction;
+    }
+
+    @Override
+    public synchronized Direction getDirection() {
+        return direction;
+    }
+
+    @Override
+    public synchronized void setPower(double power) {
+        Range.throwIfRangeIsInvalid(power, -1, 1);
+
+        this.power = power;
+    }
+
+    @Override
+    public synchronized double getPower() {
+        return power;
+    }
+
+    ////////// HARDWARE DEVICE ///////////
+
+    @Override
+    public Manufacturer getManufacturer() {
+        return Manufacturer.Other;
+    }
+
+    @Override
+    public String getDeviceName() {
+        return name;
+    }
+
+    @Override
+    public String getConnectionInfo() {
+        return "simulated; port " + port;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public synchronized void resetDeviceConfigurationForOpMode() {
+        power = 0;
+        mode = RunMode.RUN_WITHOUT_ENCODER;
+        direction = Direction.FORWARD;
+        zeroPowerBehavior = ZeroPowerBehavior.BRAKE;
+    }
+
+    @Override
+    public synchronized void close() {
+        power = 0;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
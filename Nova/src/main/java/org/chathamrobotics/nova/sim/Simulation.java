@@ -0,0 +1,242 @@
+package org.chathamrobotics.nova.sim;
+
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import org.chathamrobotics.nova.async.EventLoop;
+import org.chathamrobotics.nova.async.Listener;
+import org.chathamrobotics.nova.util.Clock;
+import org.chathamrobotics.nova.util.NovaClock;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Steps simulated hardware and event loops forward in virtual time. Each step advances the clock,
+ * updates the devices in the order they were added and then polls the attached event loops once.
+ * While an event loop is attached the simulation's clock is the source of {@link NovaClock}, so
+ * metrics, deadlines and timeout checkers run on virtual time as well.
+ *
+ * Usage:
+ * <pre>{@code
+ *      Simulation sim = new Simulation();
+ *      SimMotor motor = sim.add(new SimMotor("Lift"));
+ *      sim.attach(NovaEventLoop.getInstance());
+ *
+ *      new MotorEncoder(motor).goToPosition(1000, 1, callback);
+ *      long settleTime = sim.runUntil(condition, 5, TimeUnit.SECONDS);
+ *
+ *      sim.detach();
+ * }</pre>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class Simulation {
+    public static final String TAG = Simulation.class.getSimpleName();
+
+    /**
+     * The default step, about the length of one hardware cycle on a rev hub
+     */
+    public static final long DEFAULT_STEP = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final VirtualClock clock;
+    private final long step;
+
+    private final List<SimDevice> devices = new CopyOnWriteArrayList<>();
+    private final List<EventLoop> eventLoops = new CopyOnWriteArrayList<>();
+
+    // how the attached event loops and nova's clock were set up before they were attached
+    private final Map<EventLoop, Boolean> wasThreaded = new IdentityHashMap<>();
+    private Clock previousSource;
+
+    private Thread thread;
+
+    /**
+     * Creates a new instance of {@link Simulation} with the default step
+     */
+    public Simulation() {
+        this(DEFAULT_STEP, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Creates a new instance of {@link Simulation}
+     * @param step  the amount of virtual time each step advances
+     * @param unit  the unit of the step
+     */
+    public Simulation(long step, TimeUnit unit) {
+        if (step <= 0) throw new IllegalArgumentException("step must be positive");
+
+        this.clock = new VirtualClock();
+        this.step = unit.toNanos(step);
+    }
+
+    /**
+     * Gets the simulation's clock
+     * @return  the simulation's clock
+     */
+    public VirtualClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Gets the amount of virtual time each step advances
+     * @return  the step in ns
+     */
+    public long getStep() {
+        return step;
+    }
+
+    /**
+     * Adds a device to the simulation
+     * @param device    the device to add
+     * @param <D>       the type of device
+     * @return          the device
+     */
+    public <D extends SimDevice> D add(@NonNull D device) {
+        devices.add(device);
+        return device;
+    }
+
+    /**
+     * Attaches an event loop to the simulation. The event loop stops polling in its own thread and
+     * is polled once every step. The simulation's clock becomes the source of {@link NovaClock},
+     * which event loops measure timeouts with by default
+     * @param eventLoop the event loop to attach
+     */
+    public synchronized void attach(@NonNull EventLoop eventLoop) {
+        if (wasThreaded.containsKey(eventLoop)) return;
+
+        if (wasThreaded.isEmpty()) {
+            previousSource = NovaClock.getInstance().getSource();
+            NovaClock.getInstance().setSource(clock);
+        }
+
+        wasThreaded.put(eventLoop, eventLoop.isThreaded());
+        eventLoop.setThreaded(false);
+
+        eventLoops.add(eventLoop);
+    }
+
+    /**
+     * Detaches an event loop, restoring whether it polls in its own thread. Once no event loops are
+     * attached {@link NovaClock} goes back to the source it had before the first was attached
+     * @param eventLoop the event loop to detach
+     */
+    public synchronized void detach(@NonNull EventLoop eventLoop) {
+        if (! wasThreaded.containsKey(eventLoop)) return;
+
+        eventLoops.remove(eventLoop);
+        eventLoop.setThreaded(wasThreaded.remove(eventLoop));
+
+        if (wasThreaded.isEmpty()) {
+            NovaClock.getInstance().setSource(previousSource);
+            previousSource = null;
+        }
+    }
+
+    /**
+     * Detaches every event loop
+     */
+    public synchronized void detach() {
+        for (EventLoop eventLoop : eventLoops) detach(eventLoop);
+    }
+
+    /**
+     * Runs a single step
+     */
+    public void step() {
+        clock.advance(step, TimeUnit.NANOSECONDS);
+
+        for (SimDevice device : devices) device.update(step);
+        for (EventLoop eventLoop : eventLoops) eventLoop.poll();
+    }
+
+    /**
+     * Runs the simulation for the given amount of virtual time
+     * @param duration  the amount of virtual time to run for
+     * @param unit      the unit of the duration
+     */
+    public void run(long duration, TimeUnit unit) {
+        long end = clock.nanoTime() + unit.toNanos(duration);
+
+        while (clock.nanoTime() < end) step();
+    }
+
+    /**
+     * Runs the simulation until the condition is met
+     * @param condition     the condition to wait for. Tested after every step
+     * @param timeout       the maximum amount of virtual time to run for
+     * @param unit          the unit of the timeout
+     * @return              the amount of virtual time it took to meet the condition in ns
+     * @throws Exception    thrown if the condition throws or the timeout is reached. A {@link TimeoutException} if the timeout is reached
+     */
+    public long runUntil(@NonNull Listener.Condition condition, long timeout, TimeUnit unit) throws Exception {
+        long start = clock.nanoTime();
+        long end = start + unit.toNanos(timeout);
+
+        while (! condition.test()) {
+            if (clock.nanoTime() >= end)
+                throw new TimeoutException("Condition was not met within " + unit.toMillis(timeout) + "ms of simulated time");
+
+            step();
+        }
+
+        return clock.nanoTime() - start;
+    }
+
+    /**
+     * Starts stepping the simulation in its own thread. Used to run blocking code, such as a linear
+     * op mode, against simulated hardware
+     * @param speed the number of times faster than real time to run. Zero or less to run as fast as possible
+     */
+    public synchronized void start(final double speed) {
+        if (thread != null && thread.isAlive()) throw new IllegalStateException("The simulation is already running");
+
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                long realStep = speed > 0 ? (long) (step / speed) : 0;
+                long next = System.nanoTime();
+
+                while (! Thread.currentThread().isInterrupted()) {
+                    step();
+
+                    if (realStep == 0) {
+                        Thread.yield();
+                        continue;
+                    }
+
+                    next += realStep;
+                    long wait = next - System.nanoTime();
+
+                    if (wait > 0) {
+                        try {
+                            TimeUnit.NANOSECONDS.sleep(wait);
+                        } catch (InterruptedException e) {
+                            break;
+                        }
+                    }
+                }
+
+                Log.d(TAG, "Stopped simulation at " + clock);
+            }
+        }, TAG);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the simulation thread and waits for it to finish its current step
+     * @throws InterruptedException thrown if interrupted while waiting
+     */
+    public synchronized void stop() throws InterruptedException {
+        if (thread == null) return;
+
+        thread.interrupt();
+        thread.join();
+        thread = null;
+    }
+}
@@ -0,0 +1,49 @@
+package org.chathamrobotics.nova.sim;
+
+import org.chathamrobotics.nova.util.Clock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A clock that only moves when it is advanced
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class VirtualClock implements Clock {
+    private final AtomicLong time = new AtomicLong();
+
+    /**
+     * Creates a new instance of {@link VirtualClock} starting at 0
+     */
+    public VirtualClock() {}
+
+    /**
+     * Creates a new instance of {@link VirtualClock}
+     * @param start the time to start at in ns
+     */
+    public VirtualClock(long start) {
+        time.set(start);
+    }
+
+    @Override
+    public long nanoTime() {
+        return time.get();
+    }
+
+    /**
+     * Moves the clock forward
+     * @param duration  the amount to move the clock forward by
+     * @param unit      the unit of the duration
+     * @return          the new time in ns
+     */
+    public long advance(long duration, TimeUnit unit) {
+        if (duration < 0) throw new IllegalArgumentException("A clock cannot go backwards");
+
+        return time.addAndGet(unit.toNanos(duration));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s(%.3fs)", getClass().getSimpleName(), time.get() / 1e9);
+    }
+}
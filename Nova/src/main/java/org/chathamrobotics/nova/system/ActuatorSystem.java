@@ -0,0 +1,16 @@
+package org.chathamrobotics.nova.system;
+
+import com.qualcomm.robotcore.hardware.DcMotorSimple;
+
+/**
+ * A robot system that drives actuators. The robot's emergency stop cuts power to every actuator
+ * before any system is stopped, so a system that is slow to stop cannot keep the robot moving
+ */
+public interface ActuatorSystem extends RobotSystem {
+    /**
+     * Gets the actuators the system drives. Called when the emergency stop is armed, not when it
+     * is triggered, so the array must not change while the system is registered
+     * @return  the actuators
+     */
+    DcMotorSimple[] getActuators();
+}
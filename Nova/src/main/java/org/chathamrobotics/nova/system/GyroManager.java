@@ -3,14 +3,20 @@ package org.chathamrobotics.nova.system;
 import com.qualcomm.robotcore.hardware.GyroSensor;
 
 import org.chathamrobotics.nova.async.AsyncCallback;
+import org.chathamrobotics.nova.async.Listener;
 import org.chathamrobotics.nova.async.NovaEventLoop;
 import org.chathamrobotics.nova.async.ObjectListener;
+import org.chathamrobotics.nova.async.PayloadEmitter;
 import org.chathamrobotics.nova.math.Angles;
 import org.chathamrobotics.nova.robot.Robot;
 import org.chathamrobotics.nova.robot.RobotConfiguration;
+import org.chathamrobotics.nova.util.Clock;
+import org.chathamrobotics.nova.util.NovaClock;
 import org.chathamrobotics.nova.util.RobotLogger;
 import org.chathamrobotics.nova.util.units.AngleUnit;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * A manager for the gyroscope
  */
@@ -18,6 +24,8 @@ import org.chathamrobotics.nova.util.units.AngleUnit;
 public class GyroManager extends RobotSystemImpl {
     private final static String TAG = GyroManager.class.getSimpleName();
     private final static NovaEventLoop EVENT_LOOP = NovaEventLoop.getInstance();
+    private final static Clock CLOCK = NovaClock.getInstance();
+    private final static long DEFAULT_POLL_PERIOD = TimeUnit.MILLISECONDS.toNanos(20);
     private final static ObjectListener.Condition<GyroSensor> GYRO_NOT_CALIBRATING = new ObjectListener.Condition<GyroSensor>() {
         @Override
         public boolean test(GyroSensor value) throws Exception {
@@ -44,6 +52,16 @@ public class GyroManager extends RobotSystemImpl {
         UPSIDE_DOWN
     }
 
+    /**
+     * Events emitted by the gyro manager
+     */
+    public enum Event {
+        /**
+         * The heading changed while running. Carries the heading in degrees as an int
+         */
+        HEADING
+    }
+
     /**
      * Builds a new instance of {@link GyroManager}
      * @param robot         the robot
@@ -59,8 +77,39 @@ public class GyroManager extends RobotSystemImpl {
 
     private final GyroSensor gyro;
 
+    private final PayloadEmitter<Event> emitter = new PayloadEmitter<>(Event.class);
+
+    // only polls the gyro while something is listening, at most once a poll period as each read
+    // goes over I2C
+    private final Listener.Condition headingChanged = new Listener.Condition() {
+        @Override
+        public boolean test() {
+            if (emitter.listenerCount(Event.HEADING) == 0) return false;
+
+            long now = CLOCK.nanoTime();
+            if (now - nextPoll < 0) return false;
+            nextPoll = now + pollPeriod;
+
+            int heading = getHeading();
+            if (heading == lastHeading) return false;
+
+            lastHeading = heading;
+            return true;
+        }
+    };
+    private final AsyncCallback emitHeading = new AsyncCallback() {
+        @Override
+        public void run(Throwable thr) {
+            if (thr != null) logger.error.log(thr, "Error reading the heading");
+            else emitter.emit(Event.HEADING, lastHeading);
+        }
+    };
+
     private Orientation orientation = Orientation.UPSIDE_UP;
     private int initialHeading;
+    private volatile int lastHeading;
+    private volatile long pollPeriod = DEFAULT_POLL_PERIOD;
+    private long nextPoll;
 
     /**
      * Creates a new instance of {@link GyroManager}
@@ -83,6 +132,35 @@ public class GyroManager extends RobotSystemImpl {
         return gyro;
     }
 
+    /**
+     * Gets the emitter for the gyro manager's events. Subscribers to {@link Event#HEADING} can use
+     * an int, long or double callback to receive the heading without it being boxed
+     * @return  the emitter
+     */
+    public PayloadEmitter<Event> getEmitter() {
+        return emitter;
+    }
+
+    /**
+     * Sets how often the heading is read for {@link Event#HEADING} listeners
+     * @param period    the time between reads. 20ms by default
+     * @param unit      the unit of the period
+     */
+    public void setPollPeriod(long period, TimeUnit unit) {
+        if (period < 0) throw new IllegalArgumentException("period must not be negative");
+
+        this.pollPeriod = unit.toNanos(period);
+    }
+
+    /**
+     * Gets how often the heading is read for {@link Event#HEADING} listeners
+     * @param unit  the unit to get the period in
+     * @return      the time between reads
+     */
+    public long getPollPeriod(TimeUnit unit) {
+        return unit.convert(pollPeriod, TimeUnit.NANOSECONDS);
+    }
+
     /**
      * Sets the orientation of the gyro
      * @param orientation   the orientation of the gyro
@@ -188,7 +266,7 @@ public class GyroManager extends RobotSystemImpl {
      * @return          whether or not the heading gyro is equal to the given heading
      */
     public boolean isAtHeading(int heading, int delta) {
-        return Angles.shortestDistance(getHeading(), initialHeading, AngleUnit.DEGREES) <= delta;
+        return Math.abs(Angles.shortestDistance(getHeading(), heading, AngleUnit.DEGREES)) <= delta;
     }
 
     /**
@@ -199,7 +277,7 @@ public class GyroManager extends RobotSystemImpl {
      * @return          whether or not the heading gyro is equal to the given heading
      */
     public boolean isAtHeading(double heading, double delta, AngleUnit angleUnit) {
-        return Angles.shortestDistance(getHeading(angleUnit), heading, angleUnit) <= delta;
+        return Math.abs(Angles.shortestDistance(getHeading(angleUnit), heading, angleUnit)) <= delta;
     }
 
     /**
@@ -224,7 +302,7 @@ public class GyroManager extends RobotSystemImpl {
         calibrate(new AsyncCallback() {
             @Override
             public void run(Throwable thr) {
-                if (thr == null)
+                if (thr != null)
                     logger.error.log(thr, "Error initializing gyro");
                 else {
                     setState(State.INITIALIZED);
@@ -243,6 +321,10 @@ public class GyroManager extends RobotSystemImpl {
 
         logger.info.log("Starts the gyro manager");
 
+        lastHeading = -1;
+        nextPoll = CLOCK.nanoTime();
+        openListeners.add(EVENT_LOOP.addListener(headingChanged, emitHeading));
+
         setState(State.RUNNING);
     }
 
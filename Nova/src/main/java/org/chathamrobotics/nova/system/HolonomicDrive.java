@@ -10,11 +10,19 @@ package org.chathamrobotics.nova.system;
 
 
 import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.DcMotorSimple;
 import com.qualcomm.robotcore.hardware.HardwareMap;
 import com.qualcomm.robotcore.util.Range;
 
+import org.chathamrobotics.nova.math.FastTrig;
+import org.chathamrobotics.nova.math.Vector2;
+import org.chathamrobotics.nova.math.WheelSpeeds;
+import org.chathamrobotics.nova.metrics.LatencyHistogram;
+import org.chathamrobotics.nova.metrics.MetricsRegistry;
+import org.chathamrobotics.nova.metrics.Timestamp;
 import org.chathamrobotics.nova.robot.Robot;
 import org.chathamrobotics.nova.robot.RobotConfiguration;
+import org.chathamrobotics.nova.util.Controller;
 import org.chathamrobotics.nova.util.RobotLogger;
 import org.chathamrobotics.nova.util.units.AngleUnit;
 
@@ -30,7 +38,7 @@ import org.chathamrobotics.nova.util.units.AngleUnit;
  * </p>
  */
 @SuppressWarnings({"unused", "WeakerAccess"})
-public class HolonomicDrive extends RobotSystemImpl implements DriveSystem {
+public class HolonomicDrive extends RobotSystemImpl implements DriveSystem, ActuatorSystem {
     /////////// CONSTANTS //////////////////
     public final static double MAX_POWER = 2;
     public final static AngleUnit DEFAULT_DIRECTION_UNIT = AngleUnit.RADIANS;
@@ -65,6 +73,10 @@ public class HolonomicDrive extends RobotSystemImpl implements DriveSystem {
         }
     };
 
+    private final static LatencyHistogram SET_POWER_LATENCY = MetricsRegistry.getInstance().histogram(TAG + ".setPower");
+    private final static LatencyHistogram INPUT_LATENCY = MetricsRegistry.getInstance().histogram(Controller.UPDATE_METRIC + "->" + TAG + ".setPower");
+    private final static Timestamp CONTROLLER_UPDATE = MetricsRegistry.getInstance().timestamp(Controller.UPDATE_METRIC);
+
     /////////// INNER CLASSES ////////////////
 
     /**
@@ -146,6 +158,11 @@ public class HolonomicDrive extends RobotSystemImpl implements DriveSystem {
     /////////// FIELDS /////////////////////
     protected final DcMotor frontLeft, frontRight, backRight, backLeft;
     private double offsetAngle = 0;
+    private double offsetCos = 1, offsetSin = 0;
+    private boolean fastTrig = false;
+
+    // reused by every call to set the power so driving does not allocate
+    private final WheelSpeeds wheelSpeeds = new WheelSpeeds();
 
     /////////// CONSTRUCTORS ///////////////
     /**
@@ -172,6 +189,15 @@ public class HolonomicDrive extends RobotSystemImpl implements DriveSystem {
     }
 
     /////////// ACCESSORS //////////////////
+    /**
+     * Gets the drive motors
+     * @return  the front left, front right, back right and back left motors
+     */
+    @Override
+    public DcMotorSimple[] getActuators() {
+        return new DcMotorSimple[] {frontLeft, frontRight, backRight, backLeft};
+    }
+
     /**
      * Gets the offset angle
      * @return  the offset angle
@@ -195,6 +221,26 @@ public class HolonomicDrive extends RobotSystemImpl implements DriveSystem {
      */
     public void setOffsetAngle(double offsetAngle, AngleUnit unit) {
         this.offsetAngle = unit.toRadians(offsetAngle);
+        this.offsetCos = Math.cos(this.offsetAngle);
+        this.offsetSin = Math.sin(this.offsetAngle);
+    }
+
+    /**
+     * Sets whether to use table driven trig when calculating motor values. The table is accurate to
+     * within {@link FastTrig#MAX_ERROR} of full power and is much cheaper than {@link Math} on the
+     * robot controller
+     * @param fastTrig  whether to use table driven trig
+     */
+    public void setFastTrig(boolean fastTrig) {
+        this.fastTrig = fastTrig;
+    }
+
+    /**
+     * Gets whether table driven trig is used when calculating motor values
+     * @return  whether table driven trig is used
+     */
+    public boolean isFastTrig() {
+        return fastTrig;
     }
 
     /**
@@ -237,6 +283,8 @@ public class HolonomicDrive extends RobotSystemImpl implements DriveSystem {
      * @param rotation  the rotation to perform [-1, 1] positive is to the right
      */
     public void setPower(double magnitude, double direction, AngleUnit unit, double rotation) {
+        long start = SET_POWER_LATENCY.start();
+
         confirmRunning("setPower");
 
         Range.throwIfRangeIsInvalid(magnitude, -MAX_POWER, MAX_POWER);
@@ -252,9 +300,12 @@ public class HolonomicDrive extends RobotSystemImpl implements DriveSystem {
         logger.debug.log("Adjusted direction (rad)", direction);
         logger.debug.log("Rotation", rotation);
 
-        double[] motorPowers = calcMotorValues(magnitude, direction, rotation);
+        calcMotorValues(magnitude, direction, rotation, wheelSpeeds);
 
-        setMotorPowers(motorPowers[0], motorPowers[1], motorPowers[2], motorPowers[3]);
+        setMotorPowers(wheelSpeeds.frontLeft, wheelSpeeds.frontRight, wheelSpeeds.backRight, wheelSpeeds.backLeft);
+
+        SET_POWER_LATENCY.stop(start);
+        INPUT_LATENCY.recordSince(CONTROLLER_UPDATE);
     }
 
     /////////// BEHAVIOR ///////////////////
@@ -283,9 +334,10 @@ public class HolonomicDrive extends RobotSystemImpl implements DriveSystem {
      */
     @Override
     public void stop() {
-        logger.debug.log("stopping");
-
+        // cut the power before anything slower, like logging
         halt();
+
+        logger.debug.log("stopping");
         setState(State.STOPPED);
     }
 
@@ -293,7 +345,10 @@ public class HolonomicDrive extends RobotSystemImpl implements DriveSystem {
      * Stops the driver's movement
      */
     public void halt() {
-        setMotorPowers(0,0,0,0);
+        frontLeft.setPower(0);
+        frontRight.setPower(0);
+        backRight.setPower(0);
+        backLeft.setPower(0);
     }
 
     /**
@@ -330,6 +385,49 @@ public class HolonomicDrive extends RobotSystemImpl implements DriveSystem {
         setPower(power * MAX_POWER, direction, unit, rotation);
     }
 
+    /**
+     * Drives the holonomic driver. Unlike the other drive methods, if a wheel would be given more
+     * than full power all the wheels are scaled down together so the robot keeps its heading
+     * @param power     the power to drive with in the robot's frame, x is forward and y is left.
+     *                  Its length should be at most 1
+     * @param rotation  the rotation to perform [-1, 1] positive is to the right
+     */
+    public void drive(Vector2 power, double rotation) {
+        driveComponents(power.x, power.y, rotation);
+    }
+
+    /**
+     * Drives the holonomic driver relative to the field instead of the robot. See {@link #drive(Vector2, double)}
+     * @param power     the power to drive with in the field's frame. Its length should be at most 1
+     * @param rotation  the rotation to perform [-1, 1] positive is to the right
+     * @param heading   the robot's heading on the field in radians, counter clockwise
+     */
+    public void drive(Vector2 power, double rotation, double heading) {
+        double cos = cos(heading), sin = sin(heading);
+
+        driveComponents(power.x * cos + power.y * sin, power.y * cos - power.x * sin, rotation);
+    }
+
+    private void driveComponents(double forward, double left, double rotation) {
+        long start = SET_POWER_LATENCY.start();
+
+        confirmRunning("drive");
+
+        Range.throwIfRangeIsInvalid(rotation, -1, 1);
+
+        calcWheelSpeeds(
+                MAX_POWER * (forward * offsetCos - left * offsetSin),
+                MAX_POWER * (forward * offsetSin + left * offsetCos),
+                rotation,
+                wheelSpeeds
+        ).desaturate(1);
+
+        setMotorPowers(wheelSpeeds.frontLeft, wheelSpeeds.frontRight, wheelSpeeds.backRight, wheelSpeeds.backLeft);
+
+        SET_POWER_LATENCY.stop(start);
+        INPUT_LATENCY.recordSince(CONTROLLER_UPDATE);
+    }
+
     /**
      * Rotates the robot with the given power
      * @param power the power at which to rotate the robot
@@ -346,23 +444,34 @@ public class HolonomicDrive extends RobotSystemImpl implements DriveSystem {
      * @return          the motor values {fl, fr, br, bl}
      */
     protected double[] calcMotorValues(double magnitude, double direction, double rotation) {
-        double[] values = new double[4];
-        double a = ROOT_TWO_OVER_FOUR * magnitude;
-
-        double br = a * (Math.sin(direction) + Math.cos(direction)), fl = -br;
-        double bl = a * (Math.cos(direction) - Math.sin(direction)), fr = -bl;
+        return calcMotorValues(magnitude, direction, rotation, new WheelSpeeds()).toArray(new double[4]);
+    }
 
-        fl -= rotation;
-        fr -= rotation;
-        br -= rotation;
-        bl -= rotation;
+    /**
+     * Calculates the motor values without allocating
+     * @param magnitude the magnitude of the vector
+     * @param direction the direction of the vector
+     * @param rotation  the rotation to perform
+     * @param out       the speeds to write the motor values to
+     * @return          the motor values
+     */
+    protected WheelSpeeds calcMotorValues(double magnitude, double direction, double rotation, WheelSpeeds out) {
+        return calcWheelSpeeds(magnitude * cos(direction), magnitude * sin(direction), rotation, out);
+    }
 
-        values[0] = fl;
-        values[1] = fr;
-        values[2] = br;
-        values[3] = bl;
+    /**
+     * Calculates the motor values from the components of the vector without allocating
+     * @param forward   the forward component of the vector
+     * @param left      the left component of the vector
+     * @param rotation  the rotation to perform
+     * @param out       the speeds to write the motor values to
+     * @return          the motor values
+     */
+    protected WheelSpeeds calcWheelSpeeds(double forward, double left, double rotation, WheelSpeeds out) {
+        double br = ROOT_TWO_OVER_FOUR * (left + forward), fl = -br;
+        double bl = ROOT_TWO_OVER_FOUR * (forward - left), fr = -bl;
 
-        return values;
+        return out.set(fl, fr, br, bl).add(-rotation);
     }
 
     /**
@@ -380,6 +489,14 @@ public class HolonomicDrive extends RobotSystemImpl implements DriveSystem {
         );
     }
 
+    private double sin(double angle) {
+        return fastTrig ? FastTrig.sin(angle) : Math.sin(angle);
+    }
+
+    private double cos(double angle) {
+        return fastTrig ? FastTrig.cos(angle) : Math.cos(angle);
+    }
+
     private void setMotorPowers(double fl, double fr, double br, double bl) {
         logger.verbose.log("front left power", fl);
         logger.verbose.log("front right power", fr);
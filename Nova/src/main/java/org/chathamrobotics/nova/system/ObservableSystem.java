@@ -0,0 +1,38 @@
+package org.chathamrobotics.nova.system;
+
+import org.chathamrobotics.nova.async.AsyncCallback;
+import org.chathamrobotics.nova.async.EventEmitter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A robot system that publishes its state changes, so they can be waited on without polling.
+ * {@link RobotSystemImpl} is one; use {@link SystemStates} to wait on any system
+ */
+public interface ObservableSystem extends RobotSystem {
+    /**
+     * Gets the emitter the system's state changes are emitted on. Each state is emitted as its own
+     * event, from the thread that changed the state
+     * @return  the lifecycle emitter
+     */
+    EventEmitter<State> getLifecycle();
+
+    /**
+     * Calls the callback once the system reaches the state, or immediately if it already has. A
+     * running system has also reached {@link State#INITIALIZED}, and a stopped system every state
+     * @param state     the state to wait for
+     * @param callback  the callback
+     */
+    void whenState(State state, AsyncCallback callback);
+
+    /**
+     * Blocks until the system reaches the state. A running system has also reached
+     * {@link State#INITIALIZED}, and a stopped system every state
+     * @param state                 the state to wait for
+     * @param timeout               the maximum time to wait
+     * @param unit                  the unit of the timeout
+     * @return                      whether the state was reached before the timeout
+     * @throws InterruptedException thrown if interrupted while waiting
+     */
+    boolean awaitState(State state, long timeout, TimeUnit unit) throws InterruptedException;
+}
@@ -8,24 +8,34 @@ package org.chathamrobotics.nova.system;
  * @Last Modified time: 3/24/2018
  */
 
+import org.chathamrobotics.nova.async.AsyncCallback;
+import org.chathamrobotics.nova.async.EventEmitter;
+import org.chathamrobotics.nova.async.EventEmitterImpl;
 import org.chathamrobotics.nova.async.Listener;
 import org.chathamrobotics.nova.async.NovaEventLoop;
+import org.chathamrobotics.nova.util.Deadline;
 import org.chathamrobotics.nova.util.RobotLogger;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * A implementation of robot system
  */
 @SuppressWarnings({"unused", "WeakerAccess"})
-public abstract class RobotSystemImpl implements RobotSystem {
+public abstract class RobotSystemImpl implements ObservableSystem {
     private static final NovaEventLoop EVENT_LOOP = NovaEventLoop.getInstance();
 
     protected final RobotLogger logger;
     protected final List<Listener> openListeners = new LinkedList<>();
 
-    private State state;
+    private final EventEmitterImpl<State> lifecycle = new EventEmitterImpl<>(State.class);
+    private final Object stateLock = new Object();
+
+    // written under the state lock, read without it
+    private volatile State state;
 
     /**
      * Creates a new instance of {@link RobotSystemImpl}
@@ -61,14 +71,89 @@ public abstract class RobotSystemImpl implements RobotSystem {
         return this.state;
     }
 
+    /**
+     * Gets the emitter the system's state changes are emitted on
+     * @return  the lifecycle emitter
+     */
+    @Override
+    public EventEmitter<State> getLifecycle() {
+        return lifecycle;
+    }
+
+    /**
+     * Calls the callback once the system reaches the state, or immediately if it already has
+     * @param state     the state to wait for
+     * @param callback  the callback
+     */
+    @Override
+    public void whenState(State state, final AsyncCallback callback) {
+        synchronized (stateLock) {
+            // registered under the lock so the transition cannot be missed
+            if (! hasReached(state)) {
+                final AtomicBoolean called = new AtomicBoolean();
+                AsyncCallback first = new AsyncCallback() {
+                    @Override
+                    public void run(Throwable thr) {
+                        if (called.compareAndSet(false, true)) callback.run(thr);
+                    }
+                };
+
+                // the system can skip the state, eg. by stopping before it starts, and any later
+                // state counts as having passed through it
+                for (State later : State.values()) {
+                    if (later.compareTo(state) >= 0) lifecycle.once(later, first);
+                }
+
+                return;
+            }
+        }
+
+        callback.run(null);
+    }
+
+    /**
+     * Blocks until the system reaches the state. The timeout is measured with nova's clock
+     * @param state                 the state to wait for
+     * @param timeout               the maximum time to wait
+     * @param unit                  the unit of the timeout
+     * @return                      whether the state was reached before the timeout
+     * @throws InterruptedException thrown if interrupted while waiting
+     */
+    @Override
+    public boolean awaitState(State state, long timeout, TimeUnit unit) throws InterruptedException {
+        Deadline deadline = Deadline.after(timeout, unit);
+
+        synchronized (stateLock) {
+            while (! hasReached(state)) {
+                long remaining = deadline.remaining(TimeUnit.NANOSECONDS);
+                if (remaining <= 0) return false;
+
+                TimeUnit.NANOSECONDS.timedWait(stateLock, remaining);
+            }
+        }
+
+        return true;
+    }
+
     @Override
     public String toString() {
         return this.getClass().getSimpleName();
     }
 
-    // sets the state
+    // sets the state, wakes anything waiting on it and emits it
     protected void setState(State state) {
-        this.state = state;
+        boolean skippedInit;
+
+        synchronized (stateLock) {
+            skippedInit = state == State.RUNNING && ! isInitialized();
+
+            this.state = state;
+            stateLock.notifyAll();
+        }
+
+        // a system that went straight to running has still been initialized
+        if (skippedInit) lifecycle.emit(State.INITIALIZED);
+        lifecycle.emit(state);
     }
 
     /**
@@ -97,6 +182,11 @@ public abstract class RobotSystemImpl implements RobotSystem {
             throw new IllegalStateException(operation + " can only be called after initialization");
     }
 
+    // whether the system is in the state or has passed through it
+    private boolean hasReached(State target) {
+        return SystemStates.hasReached(this, target);
+    }
+
     /**
      * Removes all of the open listeners
      */
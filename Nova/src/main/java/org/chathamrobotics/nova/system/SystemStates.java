@@ -0,0 +1,94 @@
+package org.chathamrobotics.nova.system;
+
+import android.support.annotation.NonNull;
+
+import org.chathamrobotics.nova.async.AsyncCallback;
+import org.chathamrobotics.nova.async.Listener;
+import org.chathamrobotics.nova.async.NovaEventLoop;
+import org.chathamrobotics.nova.util.Deadline;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Waits on the state of any {@link RobotSystem}. An {@link ObservableSystem} is waited on without
+ * polling; other systems are polled, on the event loop for callbacks and every
+ * {@link #POLL_INTERVAL}ms when blocking
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class SystemStates {
+    /**
+     * How often systems that do not publish their state are checked when blocking, in ms
+     */
+    public static final long POLL_INTERVAL = 5;
+
+    private static final NovaEventLoop EVENT_LOOP = NovaEventLoop.getInstance();
+
+    // no make instance
+    private SystemStates() {}
+
+    /**
+     * Checks whether the system is in the state or has passed through it. States are passed through
+     * in order, so a running system has also reached {@link RobotSystem.State#INITIALIZED} and a
+     * stopped system has reached every state, even if it stopped before getting to them
+     * @param system    the system
+     * @param state     the state
+     * @return          whether the system has reached the state
+     */
+    public static boolean hasReached(@NonNull RobotSystem system, @NonNull RobotSystem.State state) {
+        if (state == RobotSystem.State.INITIALIZED && system.isInitialized()) return true;
+
+        RobotSystem.State current = system.getState();
+        return current != null && current.compareTo(state) >= 0;
+    }
+
+    /**
+     * Calls the callback once the system reaches the state, or immediately if it already has
+     * @param system    the system
+     * @param state     the state to wait for
+     * @param callback  the callback
+     */
+    public static void whenState(@NonNull final RobotSystem system, @NonNull final RobotSystem.State state,
+                                 @NonNull AsyncCallback callback) {
+        if (system instanceof ObservableSystem) {
+            ((ObservableSystem) system).whenState(state, callback);
+            return;
+        }
+
+        if (hasReached(system, state)) {
+            callback.run(null);
+            return;
+        }
+
+        EVENT_LOOP.addListener(Listener.once(new Listener(new Listener.Condition() {
+            @Override
+            public boolean test() {
+                return hasReached(system, state);
+            }
+        }, callback), EVENT_LOOP));
+    }
+
+    /**
+     * Blocks until the system reaches the state. The timeout is measured with nova's clock
+     * @param system                the system
+     * @param state                 the state to wait for
+     * @param timeout               the maximum time to wait
+     * @param unit                  the unit of the timeout
+     * @return                      whether the state was reached before the timeout
+     * @throws InterruptedException thrown if interrupted while waiting
+     */
+    public static boolean awaitState(@NonNull RobotSystem system, @NonNull RobotSystem.State state,
+                                     long timeout, TimeUnit unit) throws InterruptedException {
+        if (system instanceof ObservableSystem) return ((ObservableSystem) system).awaitState(state, timeout, unit);
+
+        Deadline deadline = Deadline.after(timeout, unit);
+
+        while (! hasReached(system, state)) {
+            long remaining = deadline.remaining(TimeUnit.NANOSECONDS);
+            if (remaining <= 0) return false;
+
+            TimeUnit.NANOSECONDS.sleep(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(POLL_INTERVAL)));
+        }
+
+        return true;
+    }
+}
@@ -6,14 +6,29 @@ import android.view.View;
 import com.qualcomm.robotcore.hardware.HardwareMap;
 import com.vuforia.CameraCalibration;
 
+import org.chathamrobotics.nova.async.AsyncCallback;
+import org.chathamrobotics.nova.async.Listener;
+import org.chathamrobotics.nova.async.NovaEventLoop;
 import org.chathamrobotics.nova.robot.Robot;
 import org.chathamrobotics.nova.robot.RobotConfiguration;
+import org.chathamrobotics.nova.util.IdleMonitor;
+import org.chathamrobotics.nova.util.NovaClock;
+import org.chathamrobotics.nova.util.PoseBuffer;
 import org.chathamrobotics.nova.util.RobotLogger;
+import org.chathamrobotics.nova.vision.FramePipeline;
+import org.chathamrobotics.nova.vision.PosePublisher;
+import org.chathamrobotics.nova.vision.TimestampedListener;
+import org.firstinspires.ftc.robotcore.external.matrices.OpenGLMatrix;
 import org.firstinspires.ftc.robotcore.external.navigation.VuforiaLocalizer;
+import org.firstinspires.ftc.robotcore.external.navigation.VuforiaTrackable;
 import org.firstinspires.ftc.robotcore.external.navigation.VuforiaTrackables;
 import org.firstinspires.ftc.robotcore.internal.vuforia.VuforiaLocalizerImpl;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A management system for vuforia
@@ -22,6 +37,14 @@ import java.util.concurrent.BlockingQueue;
 public class VuforiaManager extends RobotSystemImpl implements VuforiaLocalizer {
     private final static String TAG = VuforiaManager.class.getSimpleName();
     private final static String CAMERA_MONITOR_VIEW_ID = "cameraMonitorViewId";
+    private final static NovaEventLoop EVENT_LOOP = NovaEventLoop.getInstance();
+    private final static int POSE_BUFFER_SIZE = 32;
+    private final static FramePipeline.Closer<CloseableFrame> CLOSE_FRAME = new FramePipeline.Closer<CloseableFrame>() {
+        @Override
+        public void close(CloseableFrame frame) {
+            frame.close();
+        }
+    };
 
     /**
      * A Pausable Vuforia
@@ -126,28 +149,84 @@ public class VuforiaManager extends RobotSystemImpl implements VuforiaLocalizer
     }
 
     private final VuforiaLocalizer.Parameters parameters;
-    private final Thread vuforiaInitializer = new Thread(new Runnable() {
+    private final VuforiaSession session;
+    private final AsyncCallback onSessionReady = new AsyncCallback() {
         @Override
-        public void run() {
-            logger.debug.log("Initializing Vuforia");
+        public void run(Throwable thr) {
+            if (thr != null) {
+                logger.error.log(thr, "Vuforia failed to initialize");
+                return;
+            }
 
-            vuforia = new PausableVuforia(parameters);
+            // the session may have been handed to another op mode while it was initializing
+            if (session.getOwner() != VuforiaManager.this) return;
 
+            vuforia = session.get();
             setState(State.INITIALIZED);
         }
-    }, "VuforiaInitializer");
+    };
+
+    private final FramePipeline<CloseableFrame> framePipeline = new FramePipeline<>(TAG + ".frames", CLOSE_FRAME);
+    private final PosePublisher posePublisher =
+            new PosePublisher(TAG + ".poses", new PoseBuffer(POSE_BUFFER_SIZE), NovaClock.getInstance());
+
+    // trackables activated through the manager, each holding the idle monitor once
+    private final Set<VuforiaTrackables> activeTrackables =
+            Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<VuforiaTrackables, Boolean>()));
+
+    private final IdleMonitor idleMonitor = new IdleMonitor(TAG, new IdleMonitor.Pausable() {
+        @Override
+        public void pause() {
+            if (vuforia != null) vuforia.pause();
+        }
+
+        @Override
+        public void resume() {
+            if (vuforia != null) vuforia.resume();
+        }
+    }, -1, TimeUnit.MILLISECONDS, EVENT_LOOP.getClock());
+
+    private final Listener.Condition isIdle = new Listener.Condition() {
+        @Override
+        public boolean test() {
+            return idleMonitor.isIdle();
+        }
+    };
+    private final AsyncCallback pauseWhenIdle = new AsyncCallback() {
+        @Override
+        public void run(Throwable thr) {
+            if (thr != null) {
+                logger.error.log(thr, "Error checking whether vuforia is idle");
+                return;
+            }
+
+            logger.debug.log("Pausing vuforia while nothing uses it");
+            idleMonitor.poll();
+        }
+    };
 
     private PausableVuforia vuforia;
 
     /**
-     * Creates a new instance of {@link VuforiaManager}
+     * Creates a new instance of {@link VuforiaManager} that uses the shared {@link VuforiaSession}
      * @param parameters    the parameters for vuforia
      * @param logger        the robot logger
      */
     public VuforiaManager(VuforiaLocalizer.Parameters parameters, RobotLogger logger) {
+        this(parameters, VuforiaSession.getInstance(), logger);
+    }
+
+    /**
+     * Creates a new instance of {@link VuforiaManager}
+     * @param parameters    the parameters for vuforia
+     * @param session       the session to get vuforia from
+     * @param logger        the robot logger
+     */
+    public VuforiaManager(VuforiaLocalizer.Parameters parameters, VuforiaSession session, RobotLogger logger) {
         super(logger);
 
         this.parameters = parameters;
+        this.session = session;
     }
 
     // ACCESSORS
@@ -178,6 +257,11 @@ public class VuforiaManager extends RobotSystemImpl implements VuforiaLocalizer
     @Override
     public void setFrameQueueCapacity(int capacity) {
         confirmInitialized("setFrameQueueCapacity");
+
+        vuforia.setFrameQueueCapacity(capacity);
+
+        // the old queue is no longer filled
+        framePipeline.setSource(vuforia.getFrameQueue());
     }
 
     /**
@@ -190,6 +274,81 @@ public class VuforiaManager extends RobotSystemImpl implements VuforiaLocalizer
         return vuforia.getFrameQueueCapacity();
     }
 
+    /**
+     * Gets the pipeline that passes frames from the frame queue to processors on its own thread.
+     * The frame queue must be enabled with {@link #setFrameQueueCapacity(int)} for it to receive
+     * frames. While it has processors it consumes the frame queue, so the queue should not also be
+     * read directly
+     * @return  the frame pipeline
+     */
+    public FramePipeline<CloseableFrame> getFramePipeline() {
+        return framePipeline;
+    }
+
+    /**
+     * Adds a processor to the frame pipeline, enabling the frame queue if it is not already
+     * @param processor the processor
+     */
+    public void addFrameProcessor(FramePipeline.Processor<CloseableFrame> processor) {
+        confirmInitialized("addFrameProcessor");
+
+        if (getFrameQueueCapacity() == 0) setFrameQueueCapacity(1);
+
+        framePipeline.addProcessor(processor);
+        idleMonitor.acquire();
+    }
+
+    /**
+     * Removes a processor added with {@link #addFrameProcessor(FramePipeline.Processor)}, closing
+     * it if it is a {@link FramePipeline.CloseableProcessor}
+     * @param processor the processor
+     * @return          whether the processor was removed. False if it had not been added
+     */
+    public boolean removeFrameProcessor(FramePipeline.Processor<CloseableFrame> processor) {
+        if (! framePipeline.removeProcessor(processor)) return false;
+
+        idleMonitor.release();
+        return true;
+    }
+
+    /**
+     * Gets the publisher that polls trackables added with
+     * {@link #publishPoses(VuforiaTrackables, OpenGLMatrix)} on its own thread
+     * @return  the pose publisher
+     */
+    public PosePublisher getPosePublisher() {
+        return posePublisher;
+    }
+
+    /**
+     * Gets the buffer the robot's pose is published to, along with when each pose was captured
+     * according to {@link NovaClock}. It can be read from any thread without blocking
+     * @return  the pose buffer
+     */
+    public PoseBuffer getPoses() {
+        return posePublisher.getBuffer();
+    }
+
+    /**
+     * Gets the monitor that pauses vuforia while nothing is using it. It also reports how long
+     * vuforia has spent paused
+     * @return  the idle monitor
+     */
+    public IdleMonitor getIdleMonitor() {
+        return idleMonitor;
+    }
+
+    /**
+     * Sets how long vuforia must go unused before it is paused. Vuforia counts as used while it
+     * has frame processors, activated trackables or has been acquired with {@link #acquire()}.
+     * Code that reads the frame queue or activates trackables directly must acquire it too
+     * @param timeout   the timeout. Negative, the default, to never pause automatically
+     * @param unit      the unit of the timeout
+     */
+    public void setIdleTimeout(long timeout, TimeUnit unit) {
+        idleMonitor.setIdleTimeout(timeout, unit);
+    }
+
     /**
      * Gets the {@link VuforiaLocalizer} used internally
      * @return  the {@link VuforiaLocalizer} used internally
@@ -198,18 +357,30 @@ public class VuforiaManager extends RobotSystemImpl implements VuforiaLocalizer
         return vuforia;
     }
 
+    /**
+     * Gets the session vuforia is shared through
+     * @return  the vuforia session
+     */
+    public VuforiaSession getSession() {
+        return session;
+    }
+
     // BEHAVIOR
 
     /**
-     * Initializes the {@link VuforiaManager}
+     * Initializes the {@link VuforiaManager}. Vuforia is taken from the session, which starts it if
+     * it was not already warmed up. The manager is initialized once vuforia is ready
      */
     @Override
     public void init() {
         logger.info.log("Initializing");
 
-        logger.debug.log("Starting vuforia initialization thread");
+        session.warmUp(parameters);
+        session.acquire(this);
 
-        vuforiaInitializer.start();
+        logger.debug.log("Waiting for the vuforia session");
+
+        session.whenReady(onSessionReady);
     }
 
     /**
@@ -221,11 +392,17 @@ public class VuforiaManager extends RobotSystemImpl implements VuforiaLocalizer
 
         logger.info.log("Starting");
 
+        framePipeline.setSource(vuforia.getFrameQueue());
+        if (! framePipeline.isRunning()) framePipeline.start();
+        if (! posePublisher.isRunning()) posePublisher.start();
+
+        openListeners.add(EVENT_LOOP.addListener(isIdle, pauseWhenIdle));
+
         setState(State.RUNNING);
     }
 
     /**
-     * Stops the {@link VuforiaManager}
+     * Stops the {@link VuforiaManager}. Vuforia is left running in the session for the next op mode
      */
     @Override
     public void stop() {
@@ -233,25 +410,37 @@ public class VuforiaManager extends RobotSystemImpl implements VuforiaLocalizer
 
         removeOpenListeners();
 
-        if (vuforiaInitializer.isAlive()) {
-            vuforiaInitializer.interrupt();
+        try {
+            framePipeline.stop();
+            posePublisher.stop();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
 
-        if (vuforia != null) {
-            vuforia.close();
-            vuforia = null;
+        // closes processors that hold threads, like the vision pipeline's workers
+        for (int i = framePipeline.removeProcessors(); i > 0; i--) idleMonitor.release();
+        posePublisher.removeSources();
+
+        // the session deactivates every trackable it loaded when it is released
+        synchronized (activeTrackables) {
+            for (int i = 0; i < activeTrackables.size(); i++) idleMonitor.release();
+            activeTrackables.clear();
         }
 
+        session.release(this);
+        vuforia = null;
+
         setState(State.STOPPED);
     }
 
     /**
-     * Pauses Vuforia. This will not unlock the camera, but will save resources
+     * Pauses Vuforia. This will not unlock the camera, but will save resources. Vuforia is resumed
+     * by {@link #resume()} or the next time it is used
      */
     public void pause() {
         confirmRunning("pause");
 
-        vuforia.pause();
+        idleMonitor.pause();
     }
 
     /**
@@ -260,17 +449,96 @@ public class VuforiaManager extends RobotSystemImpl implements VuforiaLocalizer
     public void resume() {
         confirmRunning("resume");
 
-        vuforia.resume();
+        idleMonitor.resume();
+    }
+
+    /**
+     * Marks vuforia as in use, resuming it if it was paused. Must be matched by a call to
+     * {@link #release()}
+     */
+    public void acquire() {
+        idleMonitor.acquire();
+    }
+
+    /**
+     * Marks vuforia as no longer used by a caller of {@link #acquire()}
+     */
+    public void release() {
+        idleMonitor.release();
+    }
+
+    /**
+     * Activates trackables, resuming vuforia if it was paused. Vuforia is kept running until they
+     * are deactivated with {@link #deactivate(VuforiaTrackables)}
+     * @param trackables    the trackables to activate
+     */
+    public void activate(VuforiaTrackables trackables) {
+        confirmInitialized("activate");
+
+        // trackables that are already active are only counted once
+        if (activeTrackables.add(trackables)) idleMonitor.acquire();
+        else idleMonitor.resume();
+
+        trackables.activate();
+    }
+
+    /**
+     * Deactivates trackables activated with {@link #activate(VuforiaTrackables)}. Does nothing to
+     * trackables that are not active
+     * @param trackables    the trackables to deactivate
+     */
+    public void deactivate(VuforiaTrackables trackables) {
+        if (! activeTrackables.remove(trackables)) return;
+
+        trackables.deactivate();
+        idleMonitor.release();
+    }
+
+    /**
+     * Activates trackables and publishes the robot location they give to {@link #getPoses()}. Each
+     * trackable must have its location on the field set
+     * @param trackables            the trackables
+     * @param phoneLocationOnRobot  where the phone is on the robot
+     */
+    public void publishPoses(VuforiaTrackables trackables, OpenGLMatrix phoneLocationOnRobot) {
+        confirmInitialized("publishPoses");
+
+        for (VuforiaTrackable trackable : trackables) {
+            TimestampedListener listener = new TimestampedListener(trackable);
+            listener.setPhoneInformation(phoneLocationOnRobot, parameters.cameraDirection);
+
+            trackable.setListener(listener);
+            posePublisher.addSource(listener);
+        }
+
+        activate(trackables);
+    }
+
+    /**
+     * Stops publishing poses from trackables passed to
+     * {@link #publishPoses(VuforiaTrackables, OpenGLMatrix)} and deactivates them
+     * @param trackables    the trackables
+     */
+    public void stopPublishingPoses(VuforiaTrackables trackables) {
+        for (VuforiaTrackable trackable : trackables) {
+            if (trackable.getListener() instanceof TimestampedListener) {
+                posePublisher.removeSource((TimestampedListener) trackable.getListener());
+            }
+        }
+
+        deactivate(trackables);
     }
 
     /**
+     * Loads trackables from an asset. They are cached by the session, so later op modes get the
+     * same trackables without reloading the dataset
      * @see VuforiaLocalizer#loadTrackablesFromAsset(String)
      */
     @Override
     public VuforiaTrackables loadTrackablesFromAsset(String assetName) {
         confirmInitialized("loadTrackablesFromAsset");
 
-        return vuforia.loadTrackablesFromAsset(assetName);
+        return session.loadTrackablesFromAsset(assetName);
     }
 
     /**
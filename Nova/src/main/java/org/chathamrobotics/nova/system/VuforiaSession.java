@@ -0,0 +1,407 @@
+package org.chathamrobotics.nova.system;
+
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import org.chathamrobotics.nova.async.AsyncCallback;
+import org.chathamrobotics.nova.metrics.Counter;
+import org.chathamrobotics.nova.metrics.LatencyHistogram;
+import org.chathamrobotics.nova.metrics.MetricsRegistry;
+import org.chathamrobotics.nova.util.Deadline;
+import org.firstinspires.ftc.robotcore.external.navigation.VuforiaLocalizer;
+import org.firstinspires.ftc.robotcore.external.navigation.VuforiaTrackable;
+import org.firstinspires.ftc.robotcore.external.navigation.VuforiaTrackableDefaultListener;
+import org.firstinspires.ftc.robotcore.external.navigation.VuforiaTrackables;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A process wide vuforia instance shared between op modes. Vuforia takes seconds to start, so the
+ * session can be warmed up as soon as the app is ready, eg. from an
+ * {@link com.qualcomm.robotcore.eventloop.opmode.OpModeRegistrar} method, and is kept alive when
+ * an op mode stops. Trackables loaded through the session are cached by asset name.
+ *
+ * One owner, normally a {@link VuforiaManager}, holds the session at a time. When it is released or
+ * handed over to a new owner the cached trackables are deactivated and given fresh default
+ * listeners, the frame queue is disabled and vuforia is resumed, so the next op mode starts from a
+ * clean state. Releases by an owner that no
+ * longer holds the session are ignored.
+ *
+ * Usage:
+ * <pre>{@code
+ *      VuforiaSession session = VuforiaSession.getInstance();
+ *      session.warmUp(parameters);
+ *      ...
+ *      session.acquire(this);
+ *      VuforiaLocalizer vuforia = session.await(5, TimeUnit.SECONDS);
+ *      VuforiaTrackables relics = session.loadTrackablesFromAsset("RelicVuMark");
+ *      ...
+ *      session.release(this);
+ * }</pre>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class VuforiaSession {
+    private static final String TAG = VuforiaSession.class.getSimpleName();
+
+    private static class InstanceHolder {
+        public static final VuforiaSession theInstance = new VuforiaSession(DEFAULT_FACTORY);
+    }
+
+    /**
+     * Creates the vuforia instance for a session
+     */
+    public interface Factory {
+        /**
+         * Creates and initializes vuforia. Called on the initializer thread
+         * @param parameters    the vuforia parameters
+         * @return              the initialized vuforia
+         */
+        VuforiaManager.PausableVuforia create(VuforiaLocalizer.Parameters parameters);
+    }
+
+    private static final Factory DEFAULT_FACTORY = new Factory() {
+        @Override
+        public VuforiaManager.PausableVuforia create(VuforiaLocalizer.Parameters parameters) {
+            return new VuforiaManager.PausableVuforia(parameters);
+        }
+    };
+
+    /**
+     * Gets the instance of {@link VuforiaSession} shared by every op mode
+     * @return  the instance of {@link VuforiaSession}
+     */
+    public static VuforiaSession getInstance() {
+        return InstanceHolder.theInstance;
+    }
+
+    /**
+     * Checks whether a session started with one set of parameters can be used by a caller that
+     * asked for another
+     * @param a the first parameters
+     * @param b the second parameters
+     * @return  whether the parameters would create the same vuforia
+     */
+    public static boolean isCompatible(VuforiaLocalizer.Parameters a, VuforiaLocalizer.Parameters b) {
+        if (a == b) return true;
+
+        return a.vuforiaLicenseKey.equals(b.vuforiaLicenseKey)
+                && a.cameraDirection == b.cameraDirection
+                && a.useExtendedTracking == b.useExtendedTracking
+                && a.cameraMonitorFeedback == b.cameraMonitorFeedback
+                && a.cameraMonitorViewIdParent == b.cameraMonitorViewIdParent
+                && a.cameraMonitorViewParent == b.cameraMonitorViewParent;
+    }
+
+    private final Factory factory;
+    private final Map<String, VuforiaTrackables> trackables = new HashMap<>();
+    private final List<AsyncCallback> readyCallbacks = new ArrayList<>();
+    private final LatencyHistogram initTime;
+    private final Counter cacheHits, handovers;
+
+    private VuforiaLocalizer.Parameters parameters;
+    private VuforiaManager.PausableVuforia vuforia;
+    private RuntimeException initError;
+    private boolean initializing;
+    private int generation;
+    private Object owner;
+
+    /**
+     * Creates a new instance of {@link VuforiaSession}. Most code should use {@link #getInstance()}
+     * @param factory   creates the vuforia instance
+     */
+    public VuforiaSession(@NonNull Factory factory) {
+        this.factory = factory;
+
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        this.initTime = registry.histogram(TAG + ".init");
+        this.cacheHits = registry.counter(TAG + ".trackables.hits");
+        this.handovers = registry.counter(TAG + ".handovers");
+    }
+
+    // ACCESSORS
+
+    /**
+     * Checks whether vuforia has finished initializing
+     * @return  whether vuforia is ready
+     */
+    public synchronized boolean isReady() {
+        return vuforia != null;
+    }
+
+    /**
+     * Checks whether vuforia is currently being initialized
+     * @return  whether vuforia is initializing
+     */
+    public synchronized boolean isInitializing() {
+        return initializing;
+    }
+
+    /**
+     * Gets vuforia if it is ready
+     * @return  vuforia or null if it is not ready
+     */
+    public synchronized VuforiaManager.PausableVuforia get() {
+        return vuforia;
+    }
+
+    /**
+     * Gets the parameters the session was warmed up with
+     * @return  the parameters or null if the session has not been warmed up
+     */
+    public synchronized VuforiaLocalizer.Parameters getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Gets the current owner of the session
+     * @return  the owner or null if no one holds the session
+     */
+    public synchronized Object getOwner() {
+        return owner;
+    }
+
+    /**
+     * Gets the number of trackables cached by the session
+     * @return  the number of cached trackables
+     */
+    public synchronized int getCachedTrackablesCount() {
+        return trackables.size();
+    }
+
+    // BEHAVIOR
+
+    /**
+     * Starts initializing vuforia in the background if it has not been already or if it failed. If
+     * the session was started with incompatible parameters and is not owned it is closed and restarted
+     * @param parameters    the vuforia parameters
+     * @throws IllegalStateException    if the session is owned and uses incompatible parameters
+     */
+    public synchronized void warmUp(@NonNull VuforiaLocalizer.Parameters parameters) {
+        if (this.parameters != null) {
+            if (isCompatible(this.parameters, parameters)) {
+                // retry if the last attempt failed
+                if (initError != null) startInitializer(this.parameters, ++generation);
+                return;
+            }
+
+            if (owner != null) throw new IllegalStateException(
+                    "The vuforia session is in use by " + owner + " with different parameters");
+
+            Log.i(TAG, "Restarting vuforia with new parameters");
+            close();
+        }
+
+        this.parameters = parameters;
+        startInitializer(parameters, ++generation);
+    }
+
+    /**
+     * Calls the callback once vuforia is ready, or with the error if it fails to initialize. If it
+     * is already ready the callback is called immediately, otherwise it is called on the
+     * initializer thread
+     * @param callback  the callback
+     */
+    public void whenReady(@NonNull AsyncCallback callback) {
+        RuntimeException error;
+
+        synchronized (this) {
+            if (vuforia == null && initError == null) {
+                if (! initializing) throw new IllegalStateException("The vuforia session has not been warmed up");
+
+                readyCallbacks.add(callback);
+                return;
+            }
+
+            error = initError;
+        }
+
+        callback.run(error);
+    }
+
+    /**
+     * Waits for vuforia to be ready. The timeout is measured with nova's clock
+     * @param timeout   the maximum time to wait
+     * @param unit      the unit of the timeout
+     * @return          the ready vuforia
+     * @throws InterruptedException     if interrupted while waiting
+     * @throws TimeoutException         if vuforia is not ready before the timeout
+     * @throws IllegalStateException    if vuforia failed to initialize or was never warmed up
+     */
+    public synchronized VuforiaManager.PausableVuforia await(long timeout, TimeUnit unit)
+            throws InterruptedException, TimeoutException {
+        Deadline deadline = Deadline.after(timeout, unit);
+
+        while (vuforia == null) {
+            if (initError != null) throw new IllegalStateException("Vuforia failed to initialize", initError);
+            if (! initializing) throw new IllegalStateException("The vuforia session has not been warmed up");
+
+            long remaining = deadline.remaining(TimeUnit.NANOSECONDS);
+            if (remaining <= 0) throw new TimeoutException("Vuforia did not initialize in time");
+
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+
+        return vuforia;
+    }
+
+    /**
+     * Takes ownership of the session. If another owner still holds it, it is handed over: the
+     * previous owner's state is reset and its later call to {@link #release(Object)} is ignored
+     * @param owner the new owner
+     */
+    public synchronized void acquire(@NonNull Object owner) {
+        if (this.owner == owner) return;
+
+        if (this.owner != null) {
+            Log.w(TAG, "Handing the vuforia session over from " + this.owner + " to " + owner);
+            handovers.increment();
+            reset();
+        }
+
+        this.owner = owner;
+    }
+
+    /**
+     * Gives up ownership of the session, resetting its state. Vuforia is kept running for the next owner
+     * @param owner the owner releasing the session
+     * @return      whether the owner held the session
+     */
+    public synchronized boolean release(@NonNull Object owner) {
+        if (this.owner != owner) return false;
+
+        reset();
+        this.owner = null;
+
+        return true;
+    }
+
+    /**
+     * Loads trackables from an asset, or returns them from the cache if they were already loaded
+     * @param assetName the name of the asset
+     * @return          the trackables
+     * @throws IllegalStateException    if vuforia is not ready
+     * @see VuforiaLocalizer#loadTrackablesFromAsset(String)
+     */
+    public synchronized VuforiaTrackables loadTrackablesFromAsset(@NonNull String assetName) {
+        VuforiaTrackables loaded = trackables.get(assetName);
+
+        if (loaded != null) {
+            cacheHits.increment();
+            return loaded;
+        }
+
+        if (vuforia == null) throw new IllegalStateException("Cannot load trackables before vuforia is ready");
+
+        loaded = vuforia.loadTrackablesFromAsset(assetName);
+        trackables.put(assetName, loaded);
+
+        return loaded;
+    }
+
+    /**
+     * Closes vuforia and clears the cache. The next call to {@link #warmUp(VuforiaLocalizer.Parameters)}
+     * starts a new vuforia. Waiting ready callbacks are called with an error
+     */
+    public void close() {
+        List<AsyncCallback> callbacks;
+
+        synchronized (this) {
+            // an initializer that is still running closes its vuforia when it finishes
+            generation++;
+            initializing = false;
+
+            if (vuforia != null) {
+                reset();
+                vuforia.close();
+            }
+
+            trackables.clear();
+            vuforia = null;
+            initError = null;
+            parameters = null;
+            owner = null;
+
+            callbacks = new ArrayList<>(readyCallbacks);
+            readyCallbacks.clear();
+            notifyAll();
+        }
+
+        RuntimeException closed = new IllegalStateException("The vuforia session was closed before it was ready");
+        for (AsyncCallback callback : callbacks) callback.run(closed);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "VuforiaSession(" + (vuforia != null ? "ready" : initializing ? "initializing" : "closed")
+                + ", owner " + owner + ", " + trackables.size() + " trackables)";
+    }
+
+    // HELPERS
+
+    private void startInitializer(final VuforiaLocalizer.Parameters parameters, final int generation) {
+        initializing = true;
+        initError = null;
+
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Log.d(TAG, "Initializing vuforia");
+
+                long start = initTime.start();
+                VuforiaManager.PausableVuforia created = null;
+                RuntimeException error = null;
+
+                try {
+                    created = factory.create(parameters);
+                } catch (RuntimeException e) {
+                    Log.e(TAG, "Failed to initialize vuforia", e);
+                    error = e;
+                }
+
+                initTime.stop(start);
+
+                List<AsyncCallback> callbacks;
+
+                synchronized (VuforiaSession.this) {
+                    if (VuforiaSession.this.generation != generation) {
+                        // closed while initializing
+                        if (created != null) created.close();
+                        return;
+                    }
+
+                    vuforia = created;
+                    initError = error;
+                    initializing = false;
+
+                    callbacks = new ArrayList<>(readyCallbacks);
+                    readyCallbacks.clear();
+                    VuforiaSession.this.notifyAll();
+                }
+
+                for (AsyncCallback callback : callbacks) callback.run(error);
+            }
+        }, "VuforiaInitializer").start();
+    }
+
+    private void reset() {
+        if (vuforia == null) return;
+
+        for (VuforiaTrackables loaded : trackables.values()) {
+            loaded.deactivate();
+
+            // drops the last owner's listeners, eg. a TimestampedListener with its phone location
+            for (int i = 0; i < loaded.size(); i++) {
+                VuforiaTrackable trackable = loaded.get(i);
+                trackable.setListener(new VuforiaTrackableDefaultListener(trackable));
+            }
+        }
+
+        vuforia.setFrameQueueCapacity(0);
+        vuforia.resume();
+    }
+}
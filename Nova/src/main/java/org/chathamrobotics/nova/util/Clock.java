@@ -0,0 +1,24 @@
+package org.chathamrobotics.nova.util;
+
+/**
+ * A source of monotonic time. Components that wait or time out take a clock so that they can be
+ * driven by virtual time in tests and simulations.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public interface Clock {
+    /**
+     * The system's monotonic clock
+     */
+    Clock SYSTEM = new Clock() {
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+    };
+
+    /**
+     * Gets the current time. Only the difference between two times is meaningful
+     * @return  the current time in nanoseconds
+     */
+    long nanoTime();
+}
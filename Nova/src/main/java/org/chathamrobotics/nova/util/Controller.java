@@ -17,15 +17,241 @@ import android.view.MotionEvent;
 import com.qualcomm.robotcore.exception.RobotCoreException;
 import com.qualcomm.robotcore.hardware.Gamepad;
 
+import org.chathamrobotics.nova.async.AsyncCallback;
+import org.chathamrobotics.nova.async.EventLoop;
+import org.chathamrobotics.nova.async.Listener;
+import org.chathamrobotics.nova.async.NovaEventLoop;
+import org.chathamrobotics.nova.metrics.LatencyHistogram;
+import org.chathamrobotics.nova.metrics.MetricsRegistry;
+import org.chathamrobotics.nova.metrics.Timestamp;
 import org.firstinspires.ftc.robotcore.internal.ui.GamepadUser;
 
+import java.util.concurrent.TimeUnit;
+
 /**
- * A utility wrapper for gamepad
+ * A utility wrapper for gamepad. Input can either be polled by calling {@link #update()} every loop
+ * or subscribed to with {@link #on(Button, ButtonState, AsyncCallback)}, in which case the callbacks
+ * are called from the event loop when the input changes.
  */
 @SuppressWarnings({"unused", "WeakerAccess"})
 public class Controller extends Gamepad {
     public static final String TAG = Controller.class.getSimpleName();
 
+    /**
+     * The name of the {@link Timestamp} metric marked every time a controller is updated. Systems can
+     * measure input latency against it
+     */
+    public static final String UPDATE_METRIC = "Controller.update";
+
+    private static final Timestamp UPDATE_TIMESTAMP = MetricsRegistry.getInstance().timestamp(UPDATE_METRIC);
+    private static final LatencyHistogram UPDATE_LATENCY = MetricsRegistry.getInstance().histogram(UPDATE_METRIC + ".duration");
+
+    /**
+     * The default amount of time a button has to be pressed before a {@link ButtonState#HELD} event
+     */
+    public static final long DEFAULT_HOLD_TIME = TimeUnit.MILLISECONDS.toNanos(500);
+
+    /**
+     * A push button on the gamepad. Each button has a bit in the masks returned by
+     * {@link #getButtons()}, {@link #getTapped()}, {@link #getHeld()} and {@link #getReleased()}
+     */
+    public enum Button {
+        DPAD_UP,
+        DPAD_DOWN,
+        DPAD_LEFT,
+        DPAD_RIGHT,
+        A,
+        B,
+        X,
+        Y,
+        GUIDE,
+        START,
+        BACK,
+        LEFT_BUMPER,
+        RIGHT_BUMPER,
+        LEFT_STICK_BUTTON,
+        RIGHT_STICK_BUTTON;
+
+        /**
+         * Combines the buttons into a mask
+         * @param buttons   the buttons
+         * @return          the mask with the bits of the buttons set
+         */
+        public static int mask(@NonNull Button... buttons) {
+            int mask = 0;
+            for (Button button : buttons) mask |= button.mask;
+
+            return mask;
+        }
+
+        /**
+         * The bit of the button
+         */
+        public final int mask;
+
+        Button() {
+            this.mask = 1 << ordinal();
+        }
+
+        /**
+         * Checks whether or not the button is pressed on the gamepad
+         * @param gamepad   the gamepad to read
+         * @return          whether or not the button is pressed
+         */
+        public boolean isPressed(@NonNull Gamepad gamepad) {
+            switch (this) {
+                case DPAD_UP: return gamepad.dpad_up;
+                case DPAD_DOWN: return gamepad.dpad_down;
+                case DPAD_LEFT: return gamepad.dpad_left;
+                case DPAD_RIGHT: return gamepad.dpad_right;
+                case A: return gamepad.a;
+                case B: return gamepad.b;
+                case X: return gamepad.x;
+                case Y: return gamepad.y;
+                case GUIDE: return gamepad.guide;
+                case START: return gamepad.start;
+                case BACK: return gamepad.back;
+                case LEFT_BUMPER: return gamepad.left_bumper;
+                case RIGHT_BUMPER: return gamepad.right_bumper;
+                case LEFT_STICK_BUTTON: return gamepad.left_stick_button;
+                case RIGHT_STICK_BUTTON: return gamepad.right_stick_button;
+                default: return false;
+            }
+        }
+
+        /**
+         * Sets whether or not the button is pressed on the gamepad
+         * @param gamepad   the gamepad to modify
+         * @param pressed   whether or not the button is pressed
+         */
+        public void setPressed(@NonNull Gamepad gamepad, boolean pressed) {
+            switch (this) {
+                case DPAD_UP: gamepad.dpad_up = pressed; break;
+                case DPAD_DOWN: gamepad.dpad_down = pressed; break;
+                case DPAD_LEFT: gamepad.dpad_left = pressed; break;
+                case DPAD_RIGHT: gamepad.dpad_right = pressed; break;
+                case A: gamepad.a = pressed; break;
+                case B: gamepad.b = pressed; break;
+                case X: gamepad.x = pressed; break;
+                case Y: gamepad.y = pressed; break;
+                case GUIDE: gamepad.guide = pressed; break;
+                case START: gamepad.start = pressed; break;
+                case BACK: gamepad.back = pressed; break;
+                case LEFT_BUMPER: gamepad.left_bumper = pressed; break;
+                case RIGHT_BUMPER: gamepad.right_bumper = pressed; break;
+                case LEFT_STICK_BUTTON: gamepad.left_stick_button = pressed; break;
+                case RIGHT_STICK_BUTTON: gamepad.right_stick_button = pressed; break;
+            }
+        }
+    }
+
+    /**
+     * An analog input on the gamepad
+     */
+    public enum Axis {
+        LEFT_STICK_X,
+        LEFT_STICK_Y,
+        RIGHT_STICK_X,
+        RIGHT_STICK_Y,
+        LEFT_TRIGGER,
+        RIGHT_TRIGGER,
+        /**
+         * The distance of the left stick from its center
+         */
+        LEFT_STICK,
+        /**
+         * The distance of the right stick from its center
+         */
+        RIGHT_STICK;
+
+        /**
+         * Gets the value of the axis on the gamepad
+         * @param gamepad   the gamepad to read
+         * @return          the value of the axis
+         */
+        public float getValue(@NonNull Gamepad gamepad) {
+            switch (this) {
+                case LEFT_STICK_X: return gamepad.left_stick_x;
+                case LEFT_STICK_Y: return gamepad.left_stick_y;
+                case RIGHT_STICK_X: return gamepad.right_stick_x;
+                case RIGHT_STICK_Y: return gamepad.right_stick_y;
+                case LEFT_TRIGGER: return gamepad.left_trigger;
+                case RIGHT_TRIGGER: return gamepad.right_trigger;
+                case LEFT_STICK: return magnitude(gamepad.left_stick_x, gamepad.left_stick_y);
+                case RIGHT_STICK: return magnitude(gamepad.right_stick_x, gamepad.right_stick_y);
+                default: return 0;
+            }
+        }
+
+        /**
+         * Sets the value of the axis on the gamepad
+         * @param gamepad   the gamepad to modify
+         * @param value     the value of the axis
+         * @throws IllegalArgumentException thrown if the axis is {@link #LEFT_STICK} or {@link #RIGHT_STICK}
+         */
+        public void setValue(@NonNull Gamepad gamepad, float value) {
+            switch (this) {
+                case LEFT_STICK_X: gamepad.left_stick_x = value; break;
+                case LEFT_STICK_Y: gamepad.left_stick_y = value; break;
+                case RIGHT_STICK_X: gamepad.right_stick_x = value; break;
+                case RIGHT_STICK_Y: gamepad.right_stick_y = value; break;
+                case LEFT_TRIGGER: gamepad.left_trigger = value; break;
+                case RIGHT_TRIGGER: gamepad.right_trigger = value; break;
+                default: throw new IllegalArgumentException("Cannot set the value of " + this);
+            }
+        }
+    }
+
+    /**
+     * A sequence of button taps that has to happen within a window of time, eg. a double tap. Each
+     * step is a mask of buttons that have to be tapped together. A combo keeps track of when it was
+     * last triggered so it should only be checked against one controller
+     */
+    public static class Combo {
+        private final int[] steps;
+        private final long window;
+
+        // the number of the tap that last triggered the combo
+        private long triggeredAt = -1;
+
+        /**
+         * Creates a new instance of {@link Combo}
+         * @param window    the time from the first tap to the last
+         * @param unit      the unit of the window
+         * @param buttons   the buttons to tap in order
+         */
+        public Combo(long window, TimeUnit unit, @NonNull Button... buttons) {
+            this(window, unit, masks(buttons));
+        }
+
+        /**
+         * Creates a new instance of {@link Combo}
+         * @param window    the time from the first tap to the last
+         * @param unit      the unit of the window
+         * @param steps     the masks of the buttons to tap in order
+         */
+        public Combo(long window, TimeUnit unit, @NonNull int... steps) {
+            if (steps.length == 0 || steps.length > TAP_HISTORY)
+                throw new IllegalArgumentException("A combo must have between 1 and " + TAP_HISTORY + " steps");
+
+            this.steps = steps.clone();
+            this.window = unit.toNanos(window);
+        }
+
+        private static int[] masks(Button[] buttons) {
+            int[] masks = new int[buttons.length];
+            for (int i = 0; i < buttons.length; i++) masks[i] = buttons[i].mask;
+
+            return masks;
+        }
+    }
+
+    // must be a power of two
+    private static final int TAP_HISTORY = 16;
+
+    private static final int AXIS_COUNT = Axis.values().length;
+    private static final long NOT_SHAPED = Long.MIN_VALUE;
+
     /**
      * The state of a push button
      */
@@ -117,6 +343,29 @@ public class Controller extends Gamepad {
     }
 
     private final Gamepad gamepad;
+    private final EventLoop eventLoop;
+
+    // replaced on write so the event loop can iterate without allocating
+    private volatile InputListener[] inputListeners = new InputListener[0];
+    private final Object inputListenersLock = new Object();
+    private final Listener dispatcher;
+    private long dispatchedTimestamp;
+    private volatile long holdTime = DEFAULT_HOLD_TIME;
+
+    private boolean changeDetection;
+
+    private int buttons, tapped, held, released;
+
+    // ring buffer of the masks of buttons tapped in each update and when
+    private final int[] tapMasks = new int[TAP_HISTORY];
+    private final long[] tapTimes = new long[TAP_HISTORY];
+    private long tapCount;
+
+    private final ResponseCurve[] curves = new ResponseCurve[AXIS_COUNT];
+    private final float[] slewRates = new float[AXIS_COUNT];
+    private final float[] shaped = new float[AXIS_COUNT];
+    private boolean shaping;
+    private long shapedAt = NOT_SHAPED;
 
     /**
      * The state of the dpad up button
@@ -198,7 +447,47 @@ public class Controller extends Gamepad {
      * @param gamepad   the gamepad to wrap
      */
     public Controller(@NonNull Gamepad gamepad) {
+        this(gamepad, NovaEventLoop.getInstance());
+    }
+
+    /**
+     * Creates a instance of {@link Controller}
+     * @param gamepad   the gamepad to wrap
+     * @param eventLoop the event loop to call input listeners from
+     */
+    public Controller(@NonNull Gamepad gamepad, @NonNull EventLoop eventLoop) {
         this.gamepad = gamepad;
+        this.eventLoop = eventLoop;
+
+        this.dispatcher = new Listener(new Listener.Condition() {
+            @Override
+            public boolean test() {
+                return hasNewInput();
+            }
+        }, new AsyncCallback() {
+            @Override
+            public void run(Throwable thr) {
+                dispatch();
+            }
+        });
+    }
+
+    /**
+     * Checks whether or not {@link #update()} only copies the gamepad when its timestamp changes
+     * @return  whether or not change detection is enabled
+     */
+    public boolean isChangeDetection() {
+        return changeDetection;
+    }
+
+    /**
+     * Sets whether or not {@link #update()} only copies the gamepad when its timestamp changes. The
+     * gamepads given to op modes are timestamped on every change, gamepads modified by hand have to
+     * call {@link Gamepad#refreshTimestamp()}
+     * @param changeDetection   whether or not to enable change detection
+     */
+    public void setChangeDetection(boolean changeDetection) {
+        this.changeDetection = changeDetection;
     }
 
     /**
@@ -206,33 +495,432 @@ public class Controller extends Gamepad {
      * beginning of the loop
      */
     public void update() {
-        try {
-            this.copy(gamepad);
-        } catch (RobotCoreException e) {
-            Log.w(TAG, "Failed to copy gamepad");
-            e.printStackTrace();
+        long updateStart = UPDATE_LATENCY.start();
+
+        if (! changeDetection || gamepad.timestamp != timestamp) {
+            try {
+                this.copy(gamepad);
+            } catch (RobotCoreException e) {
+                Log.w(TAG, "Failed to copy gamepad");
+                e.printStackTrace();
+            }
+
+            updateButtonStates(packButtons());
+        } else if ((tapped | released) != 0) {
+            // no new input but buttons tapped or released in the last change have moved on
+            updateButtonStates(buttons);
+        }
+
+        if (shaping) shapeInput();
+
+        UPDATE_LATENCY.stop(updateStart);
+        UPDATE_TIMESTAMP.mark();
+    }
+
+    /**
+     * Gets the state of the button as of the last {@link #update()}
+     * @param button    the button
+     * @return          the state of the button
+     */
+    public ButtonState getState(@NonNull Button button) {
+        return stateOf(button.mask);
+    }
+
+    /**
+     * Gets the buttons pressed as of the last {@link #update()}
+     * @return  the mask of the pressed buttons
+     */
+    public int getButtons() {
+        return buttons;
+    }
+
+    /**
+     * Gets the buttons that were pressed in the last {@link #update()}
+     * @return  the mask of the tapped buttons
+     */
+    public int getTapped() {
+        return tapped;
+    }
+
+    /**
+     * Gets the buttons that were pressed in both of the last two updates
+     * @return  the mask of the held buttons
+     */
+    public int getHeld() {
+        return held;
+    }
+
+    /**
+     * Gets the buttons that were let go in the last {@link #update()}
+     * @return  the mask of the released buttons
+     */
+    public int getReleased() {
+        return released;
+    }
+
+    /**
+     * Checks whether or not the button is pressed
+     * @param button    the button
+     * @return          whether or not the button is pressed
+     */
+    public boolean isPressed(@NonNull Button button) {
+        return (buttons & button.mask) != 0;
+    }
+
+    /**
+     * Checks whether or not the button was pressed in the last {@link #update()}
+     * @param button    the button
+     * @return          whether or not the button was tapped
+     */
+    public boolean isTapped(@NonNull Button button) {
+        return (tapped & button.mask) != 0;
+    }
+
+    /**
+     * Checks whether or not the button was pressed in both of the last two updates
+     * @param button    the button
+     * @return          whether or not the button is held
+     */
+    public boolean isHeld(@NonNull Button button) {
+        return (held & button.mask) != 0;
+    }
+
+    /**
+     * Checks whether or not the button was let go in the last {@link #update()}
+     * @param button    the button
+     * @return          whether or not the button was released
+     */
+    public boolean isReleased(@NonNull Button button) {
+        return (released & button.mask) != 0;
+    }
+
+    /**
+     * Checks whether or not the chord was completed in the last {@link #update()}, ie. all of its
+     * buttons are pressed and at least one of them was just tapped
+     * @param mask  the mask of the chord's buttons. See {@link Button#mask(Button...)}
+     * @return      whether or not the chord was completed
+     */
+    public boolean isChord(int mask) {
+        return (buttons & mask) == mask && (tapped & mask) != 0;
+    }
+
+    /**
+     * Checks whether or not the combo was completed in the last {@link #update()}. Each completion
+     * is only reported once and taps used by one completion are not reused by the next, so a triple
+     * tap is only one double tap
+     * @param combo the combo
+     * @return      whether or not the combo was completed
+     */
+    public boolean isTriggered(@NonNull Combo combo) {
+        int[] steps = combo.steps;
+        int last = steps[steps.length - 1];
+
+        // the last step has to have been tapped in this update
+        if ((tapped & last) != last) return false;
+
+        long newest = tapCount - 1;
+        long first = newest - (steps.length - 1);
+        if (first < 0 || first <= combo.triggeredAt) return false;
+
+        for (int i = 0; i < steps.length; i++) {
+            int tap = (int) ((first + i) & (TAP_HISTORY - 1));
+            if ((tapMasks[tap] & steps[i]) != steps[i]) return false;
+        }
+
+        long elapsed = tapTimes[(int) (newest & (TAP_HISTORY - 1))] - tapTimes[(int) (first & (TAP_HISTORY - 1))];
+        if (elapsed > combo.window) return false;
+
+        combo.triggeredAt = newest;
+        return true;
+    }
+
+    /**
+     * Gets the curve applied to the axis
+     * @param axis  the axis
+     * @return      the curve. Null if there is none
+     */
+    public ResponseCurve getCurve(@NonNull Axis axis) {
+        return curves[axis.ordinal()];
+    }
+
+    /**
+     * Sets the curve applied to the axis. A curve on {@link Axis#LEFT_STICK} or {@link Axis#RIGHT_STICK}
+     * is applied to the distance of the stick from its center, eg. for a radial deadzone, before
+     * the curves of its x and y axes
+     * @param axis  the axis
+     * @param curve the curve to apply. Null to remove the curve
+     */
+    public void setCurve(@NonNull Axis axis, ResponseCurve curve) {
+        curves[axis.ordinal()] = curve;
+        updateShaping();
+    }
+
+    /**
+     * Gets the slew rate limit of the axis
+     * @param axis  the axis
+     * @return      the maximum change of the shaped value per second. 0 if it is not limited
+     */
+    public float getSlewRate(@NonNull Axis axis) {
+        return slewRates[axis.ordinal()];
+    }
+
+    /**
+     * Limits how fast the shaped value of the axis can change. A limit on {@link Axis#LEFT_STICK} or
+     * {@link Axis#RIGHT_STICK} applies to both of the stick's axes unless they have their own
+     * @param axis      the axis
+     * @param slewRate  the maximum change of the shaped value per second. 0 to not limit it
+     */
+    public void setSlewRate(@NonNull Axis axis, float slewRate) {
+        if (slewRate < 0) throw new IllegalArgumentException("slewRate cannot be negative");
+
+        slewRates[axis.ordinal()] = slewRate;
+        updateShaping();
+    }
+
+    /**
+     * Gets the value of the axis after its curves and slew rate limits as of the last {@link #update()}
+     * @param axis  the axis
+     * @return      the shaped value
+     */
+    public float getShaped(@NonNull Axis axis) {
+        if (! shaping) return axis.getValue(this);
+
+        switch (axis) {
+            case LEFT_STICK:
+                return magnitude(shaped[Axis.LEFT_STICK_X.ordinal()], shaped[Axis.LEFT_STICK_Y.ordinal()]);
+            case RIGHT_STICK:
+                return magnitude(shaped[Axis.RIGHT_STICK_X.ordinal()], shaped[Axis.RIGHT_STICK_Y.ordinal()]);
+            default:
+                return shaped[axis.ordinal()];
+        }
+    }
+
+    /**
+     * Gets the amount of time a button has to be pressed before a {@link ButtonState#HELD} event
+     * @param unit  the unit to get the time in
+     * @return      the hold time
+     */
+    public long getHoldTime(TimeUnit unit) {
+        return unit.convert(holdTime, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Sets the amount of time a button has to be pressed before a {@link ButtonState#HELD} event
+     * @param holdTime  the hold time
+     * @param unit      the unit of the hold time
+     */
+    public void setHoldTime(long holdTime, TimeUnit unit) {
+        this.holdTime = unit.toNanos(holdTime);
+    }
+
+    /**
+     * Listens for a button event. {@link ButtonState#TAPPED} is called when the button is pressed,
+     * {@link ButtonState#HELD} once the button has been pressed for the hold time and
+     * {@link ButtonState#RELEASED} when it is let go. The callback is called from the event loop
+     * @param button    the button to listen to
+     * @param event     the event to listen for
+     * @param callback  called when the event happens
+     */
+    public void on(@NonNull Button button, @NonNull ButtonState event, @NonNull AsyncCallback callback) {
+        addInputListener(new InputListener(button, null, 0, event, callback));
+    }
+
+    /**
+     * Listens for an axis crossing a threshold. The axis is treated as a button which is pressed
+     * while the magnitude of its value is at least the threshold
+     * @param axis      the axis to listen to
+     * @param threshold the magnitude at which the axis is considered pressed
+     * @param event     the event to listen for
+     * @param callback  called when the event happens
+     */
+    public void on(@NonNull Axis axis, float threshold, @NonNull ButtonState event, @NonNull AsyncCallback callback) {
+        addInputListener(new InputListener(null, axis, threshold, event, callback));
+    }
+
+    /**
+     * Removes the input listeners with the given callback
+     * @param callback  the callback to remove
+     */
+    public void removeListener(@NonNull AsyncCallback callback) {
+        synchronized (inputListenersLock) {
+            int count = 0;
+            for (InputListener listener : inputListeners) if (listener.callback != callback) count++;
+
+            InputListener[] updated = new InputListener[count];
+            int i = 0;
+            for (InputListener listener : inputListeners) if (listener.callback != callback) updated[i++] = listener;
+
+            inputListeners = updated;
+            if (updated.length == 0) eventLoop.removeListener(dispatcher);
+        }
+    }
+
+    /**
+     * Removes all of the input listeners
+     */
+    public void removeAllListeners() {
+        synchronized (inputListenersLock) {
+            inputListeners = new InputListener[0];
+            eventLoop.removeListener(dispatcher);
+        }
+    }
+
+    private void addInputListener(InputListener listener) {
+        if (listener.event == ButtonState.STATIONARY)
+            throw new IllegalArgumentException("Cannot listen for " + ButtonState.STATIONARY);
+
+        synchronized (inputListenersLock) {
+            InputListener[] updated = new InputListener[inputListeners.length + 1];
+            System.arraycopy(inputListeners, 0, updated, 0, inputListeners.length);
+            updated[inputListeners.length] = listener;
+
+            inputListeners = updated;
+            if (updated.length == 1) eventLoop.addListener(dispatcher);
+        }
+    }
+
+    // called every event loop pass so it must be cheap
+    private boolean hasNewInput() {
+        if (gamepad.timestamp != dispatchedTimestamp) return true;
+
+        for (InputListener listener : inputListeners)
+            if (listener.isHoldDue()) return true;
+
+        return false;
+    }
+
+    private void dispatch() {
+        dispatchedTimestamp = gamepad.timestamp;
+
+        for (InputListener listener : inputListeners) listener.update();
+    }
+
+    private static float magnitude(float x, float y) {
+        return (float) Math.sqrt(x * x + y * y);
+    }
+
+    private void updateShaping() {
+        boolean shaping = false;
+        for (int i = 0; i < AXIS_COUNT; i++) shaping |= curves[i] != null || slewRates[i] > 0;
+
+        // start again from the raw values
+        if (shaping && ! this.shaping) shapedAt = NOT_SHAPED;
+        this.shaping = shaping;
+    }
+
+    private void shapeInput() {
+        long now = NovaClock.getInstance().nanoTime();
+        float dt = shapedAt == NOT_SHAPED ? Float.POSITIVE_INFINITY : (now - shapedAt) / 1e9f;
+        shapedAt = now;
+
+        shapeStick(Axis.LEFT_STICK, Axis.LEFT_STICK_X, Axis.LEFT_STICK_Y, left_stick_x, left_stick_y, dt);
+        shapeStick(Axis.RIGHT_STICK, Axis.RIGHT_STICK_X, Axis.RIGHT_STICK_Y, right_stick_x, right_stick_y, dt);
+
+        shapeAxis(Axis.LEFT_TRIGGER, left_trigger, 0, dt);
+        shapeAxis(Axis.RIGHT_TRIGGER, right_trigger, 0, dt);
+    }
+
+    private void shapeStick(Axis stick, Axis xAxis, Axis yAxis, float x, float y, float dt) {
+        ResponseCurve radial = curves[stick.ordinal()];
+
+        if (radial != null) {
+            float magnitude = magnitude(x, y);
+
+            if (magnitude > 0) {
+                float scale = radial.apply(Math.min(magnitude, 1)) / magnitude;
+                x *= scale;
+                y *= scale;
+            }
+        }
+
+        float slewRate = slewRates[stick.ordinal()];
+        shapeAxis(xAxis, x, slewRate, dt);
+        shapeAxis(yAxis, y, slewRate, dt);
+    }
+
+    private void shapeAxis(Axis axis, float value, float defaultSlewRate, float dt) {
+        int i = axis.ordinal();
+
+        if (curves[i] != null) value = curves[i].apply(value);
+
+        float slewRate = slewRates[i] > 0 ? slewRates[i] : defaultSlewRate;
+        if (slewRate > 0) {
+            float maxChange = slewRate * dt;
+            value = shaped[i] + Math.max(-maxChange, Math.min(maxChange, value - shaped[i]));
+        }
+
+        shaped[i] = value;
+    }
+
+    private int packButtons() {
+        int bits = 0;
+
+        if (dpad_up) bits |= Button.DPAD_UP.mask;
+        if (dpad_down) bits |= Button.DPAD_DOWN.mask;
+        if (dpad_left) bits |= Button.DPAD_LEFT.mask;
+        if (dpad_right) bits |= Button.DPAD_RIGHT.mask;
+
+        if (a) bits |= Button.A.mask;
+        if (b) bits |= Button.B.mask;
+        if (x) bits |= Button.X.mask;
+        if (y) bits |= Button.Y.mask;
+
+        if (guide) bits |= Button.GUIDE.mask;
+        if (start) bits |= Button.START.mask;
+        if (back) bits |= Button.BACK.mask;
+
+        if (left_bumper) bits |= Button.LEFT_BUMPER.mask;
+        if (right_bumper) bits |= Button.RIGHT_BUMPER.mask;
+
+        if (left_stick_button) bits |= Button.LEFT_STICK_BUTTON.mask;
+        if (right_stick_button) bits |= Button.RIGHT_STICK_BUTTON.mask;
+
+        return bits;
+    }
+
+    private void updateButtonStates(int current) {
+        int previous = buttons;
+
+        buttons = current;
+        tapped = current & ~previous;
+        held = current & previous;
+        released = previous & ~current;
+
+        if (tapped != 0) {
+            int tap = (int) (tapCount & (TAP_HISTORY - 1));
+            tapMasks[tap] = tapped;
+            tapTimes[tap] = NovaClock.getInstance().nanoTime();
+            tapCount++;
         }
 
         // Button states
-        dpadUpState = updateButtonState(dpad_up, dpadUpState);
-        dpadDownState = updateButtonState(dpad_down, dpadDownState);
-        dpadLeftState = updateButtonState(dpad_left, dpadLeftState);
-        dpadRightState = updateButtonState(dpad_right, dpadRightState);
+        dpadUpState = stateOf(Button.DPAD_UP.mask);
+        dpadDownState = stateOf(Button.DPAD_DOWN.mask);
+        dpadLeftState = stateOf(Button.DPAD_LEFT.mask);
+        dpadRightState = stateOf(Button.DPAD_RIGHT.mask);
+
+        aState = stateOf(Button.A.mask);
+        bState = stateOf(Button.B.mask);
+        xState = stateOf(Button.X.mask);
+        yState = stateOf(Button.Y.mask);
 
-        aState = updateButtonState(a, aState);
-        bState = updateButtonState(b, bState);
-        xState = updateButtonState(x, xState);
-        yState = updateButtonState(y, yState);
+        guideState = stateOf(Button.GUIDE.mask);
+        startState = stateOf(Button.START.mask);
+        backState = stateOf(Button.BACK.mask);
 
-        guideState = updateButtonState(guide, guideState);
-        startState = updateButtonState(start, startState);
-        backState = updateButtonState(back, backState);
+        leftBumperState = stateOf(Button.LEFT_BUMPER.mask);
+        rightBumperState = stateOf(Button.RIGHT_BUMPER.mask);
 
-        leftBumperState = updateButtonState(left_bumper, leftBumperState);
-        rightBumperState = updateButtonState(right_bumper, rightBumperState);
+        leftStickButtonState = stateOf(Button.LEFT_STICK_BUTTON.mask);
+        rightStickButtonState = stateOf(Button.RIGHT_STICK_BUTTON.mask);
+    }
+
+    private ButtonState stateOf(int mask) {
+        if ((tapped & mask) != 0) return ButtonState.TAPPED;
+        if ((held & mask) != 0) return ButtonState.HELD;
+        if ((released & mask) != 0) return ButtonState.RELEASED;
 
-        leftStickButtonState = updateButtonState(left_stick_button, leftStickButtonState);
-        rightStickButtonState = updateButtonState(right_stick_button, rightStickButtonState);
+        return ButtonState.STATIONARY;
     }
 
     /**
@@ -332,18 +1020,54 @@ public class Controller extends Gamepad {
         return gamepad.type();
     }
 
-    private ButtonState updateButtonState(boolean isPressed, ButtonState currentState) {
-        if (isPressed) {
-            if (currentState == ButtonState.TAPPED || currentState == ButtonState.HELD)
-                return ButtonState.HELD;
+    /**
+     * Listens to a single button or axis for one kind of event
+     */
+    private class InputListener {
+        private final Button button;
+        private final Axis axis;
+        private final float threshold;
+        private final ButtonState event;
+        private final AsyncCallback callback;
 
-            return ButtonState.TAPPED;
+        private boolean pressed;
+        private Deadline holdDeadline;
+
+        private InputListener(Button button, Axis axis, float threshold, ButtonState event, AsyncCallback callback) {
+            this.button = button;
+            this.axis = axis;
+            this.threshold = threshold;
+            this.event = event;
+            this.callback = callback;
+
+            // a button that is already down when the listener is added has not been tapped
+            this.pressed = isPressed();
         }
 
-        // unless the button was tapped or held before it is stationary
-        if (currentState == ButtonState.STATIONARY || currentState == ButtonState.RELEASED)
-            return ButtonState.STATIONARY;
+        private boolean isPressed() {
+            return button != null ? button.isPressed(gamepad) : Math.abs(axis.getValue(gamepad)) >= threshold;
+        }
 
-        return ButtonState.RELEASED;
+        private boolean isHoldDue() {
+            return holdDeadline != null && holdDeadline.hasPassed();
+        }
+
+        private void update() {
+            boolean isPressed = isPressed();
+
+            if (isPressed && ! pressed) {
+                pressed = true;
+                if (event == ButtonState.HELD)
+                    holdDeadline = Deadline.after(holdTime, TimeUnit.NANOSECONDS, eventLoop.getClock());
+                if (event == ButtonState.TAPPED) callback.run(null);
+            } else if (! isPressed && pressed) {
+                pressed = false;
+                holdDeadline = null;
+                if (event == ButtonState.RELEASED) callback.run(null);
+            } else if (isHoldDue()) {
+                holdDeadline = null;
+                callback.run(null);
+            }
+        }
     }
 }
@@ -0,0 +1,92 @@
+package org.chathamrobotics.nova.util;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A point in time measured by a {@link Clock}. Comparisons are done on the difference between
+ * times so they stay correct when the clock's value overflows.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class Deadline {
+    /**
+     * Creates a deadline the given amount of time from now on nova's clock
+     * @param duration  the amount of time until the deadline
+     * @param unit      the unit of the duration
+     * @return          the deadline
+     */
+    public static Deadline after(long duration, TimeUnit unit) {
+        return after(duration, unit, NovaClock.getInstance());
+    }
+
+    /**
+     * Creates a deadline the given amount of time from now
+     * @param duration  the amount of time until the deadline
+     * @param unit      the unit of the duration
+     * @param clock     the clock to measure the deadline with
+     * @return          the deadline
+     */
+    public static Deadline after(long duration, TimeUnit unit, @NonNull Clock clock) {
+        return new Deadline(clock.nanoTime() + unit.toNanos(duration), clock);
+    }
+
+    private final long time;
+    private final Clock clock;
+
+    /**
+     * Creates a new instance of {@link Deadline}
+     * @param time  the time of the deadline in ns as read from the clock
+     * @param clock the clock to measure the deadline with
+     */
+    public Deadline(long time, @NonNull Clock clock) {
+        this.time = time;
+        this.clock = clock;
+    }
+
+    /**
+     * Gets the time of the deadline
+     * @return  the time of the deadline in ns as read from the clock
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Gets the clock the deadline is measured with
+     * @return  the clock the deadline is measured with
+     */
+    public Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Checks whether or not the deadline has been reached
+     * @return  whether or not the deadline has been reached
+     */
+    public boolean hasPassed() {
+        return clock.nanoTime() - time >= 0;
+    }
+
+    /**
+     * Checks whether or not it is now strictly after the deadline
+     * @return  whether or not it is after the deadline
+     */
+    public boolean isExceeded() {
+        return clock.nanoTime() - time > 0;
+    }
+
+    /**
+     * Gets the amount of time left until the deadline
+     * @param unit  the unit to measure the time with
+     * @return      the time left. Negative if the deadline has passed
+     */
+    public long remaining(TimeUnit unit) {
+        return unit.convert(time - clock.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s(%.3fms remaining)", getClass().getSimpleName(), (time - clock.nanoTime()) / 1e6);
+    }
+}
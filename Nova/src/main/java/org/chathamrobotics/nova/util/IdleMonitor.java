@@ -0,0 +1,202 @@
+package org.chathamrobotics.nova.util;
+
+import android.support.annotation.NonNull;
+
+import org.chathamrobotics.nova.metrics.LatencyHistogram;
+import org.chathamrobotics.nova.metrics.MetricsRegistry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pauses something expensive, such as the camera, once nothing has used it for a while and
+ * resumes it as soon as something does. Users hold it with {@link #acquire()} and let go with
+ * {@link #release()}. {@link #poll()} must be called regularly, eg. from the event loop, to pause
+ * it once it has been idle for the timeout.
+ *
+ * Usage:
+ * <pre>{@code
+ *      IdleMonitor monitor = new IdleMonitor("Camera", camera, 2, TimeUnit.SECONDS, clock);
+ *
+ *      monitor.acquire();  // resumes the camera if it was paused
+ *      ...
+ *      monitor.release();  // the camera is paused 2 seconds later unless acquired again
+ * }</pre>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class IdleMonitor {
+    private static final long NOT_IDLE = Long.MIN_VALUE;
+
+    /**
+     * Something that can be paused and resumed
+     */
+    public interface Pausable {
+        /**
+         * Pauses
+         */
+        void pause();
+
+        /**
+         * Resumes after pausing
+         */
+        void resume();
+    }
+
+    private final Pausable target;
+    private final Clock clock;
+    private final LatencyHistogram pauseDurations;
+
+    private long idleTimeout;
+    private int users;
+    private boolean paused;
+    private long idleSince, pausedSince, pausedTime;
+    private int pauseCount;
+
+    /**
+     * Creates a new instance of {@link IdleMonitor}. The target is assumed to be running and is
+     * idle until it is acquired
+     * @param name          the name of the target. Used for metrics
+     * @param target        the thing to pause and resume
+     * @param idleTimeout   how long the target must be idle for before it is paused
+     * @param unit          the unit of the timeout
+     * @param clock         the clock to measure time with
+     */
+    public IdleMonitor(@NonNull String name, @NonNull Pausable target, long idleTimeout, TimeUnit unit, @NonNull Clock clock) {
+        this.target = target;
+        this.clock = clock;
+        this.pauseDurations = MetricsRegistry.getInstance().histogram(name + ".paused");
+
+        setIdleTimeout(idleTimeout, unit);
+        this.idleSince = clock.nanoTime();
+    }
+
+    // ACCESSORS
+
+    /**
+     * Sets how long the target must be idle for before it is paused
+     * @param idleTimeout   the timeout. Negative to never pause automatically
+     * @param unit          the unit of the timeout
+     */
+    public synchronized void setIdleTimeout(long idleTimeout, TimeUnit unit) {
+        this.idleTimeout = idleTimeout < 0 ? -1 : unit.toNanos(idleTimeout);
+    }
+
+    /**
+     * Gets how long the target must be idle for before it is paused
+     * @param unit  the unit to get the timeout in
+     * @return      the timeout. Negative if it is never paused automatically
+     */
+    public synchronized long getIdleTimeout(TimeUnit unit) {
+        return idleTimeout < 0 ? -1 : unit.convert(idleTimeout, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the number of users currently holding the target
+     * @return  the number of users
+     */
+    public synchronized int getUsers() {
+        return users;
+    }
+
+    /**
+     * Checks whether the target is paused
+     * @return  whether the target is paused
+     */
+    public synchronized boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Checks whether the target has been idle for the timeout but has not been paused yet
+     * @return  whether the target should be paused
+     */
+    public synchronized boolean isIdle() {
+        return ! paused && users == 0 && idleTimeout >= 0 && clock.nanoTime() - idleSince >= idleTimeout;
+    }
+
+    /**
+     * Gets the number of times the target has been paused
+     * @return  the number of pauses
+     */
+    public synchronized int getPauseCount() {
+        return pauseCount;
+    }
+
+    /**
+     * Gets the total time the target has spent paused, including the current pause
+     * @param unit  the unit to get the time in
+     * @return      the time paused
+     */
+    public synchronized long getPausedTime(TimeUnit unit) {
+        long time = pausedTime;
+        if (paused) time += clock.nanoTime() - pausedSince;
+
+        return unit.convert(time, TimeUnit.NANOSECONDS);
+    }
+
+    // BEHAVIOR
+
+    /**
+     * Starts using the target, resuming it if it is paused
+     */
+    public synchronized void acquire() {
+        users++;
+        idleSince = NOT_IDLE;
+
+        resume();
+    }
+
+    /**
+     * Stops using the target. Once no users are left and the timeout passes the target is paused
+     */
+    public synchronized void release() {
+        if (users == 0) throw new IllegalStateException("The monitor was released more times than it was acquired");
+
+        if (--users == 0) idleSince = clock.nanoTime();
+    }
+
+    /**
+     * Pauses the target if it has been idle for the timeout
+     * @return  whether the target is paused
+     */
+    public synchronized boolean poll() {
+        if (isIdle()) pause();
+
+        return paused;
+    }
+
+    /**
+     * Pauses the target now, even if it is in use. It is resumed by {@link #resume()} or the next
+     * call to {@link #acquire()}
+     */
+    public synchronized void pause() {
+        if (paused) return;
+
+        target.pause();
+
+        paused = true;
+        pausedSince = clock.nanoTime();
+        pauseCount++;
+    }
+
+    /**
+     * Resumes the target if it is paused. If nothing acquires it, it is paused again after the timeout
+     */
+    public synchronized void resume() {
+        if (! paused) return;
+
+        target.resume();
+
+        long duration = clock.nanoTime() - pausedSince;
+        pausedTime += duration;
+        pauseDurations.record(duration);
+
+        paused = false;
+        if (users == 0) idleSince = clock.nanoTime();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "IdleMonitor(" + (paused ? "paused" : users + " users") + ", paused "
+                + getPausedTime(TimeUnit.MILLISECONDS) + "ms over " + pauseCount + " pauses)";
+    }
+}
@@ -0,0 +1,163 @@
+package org.chathamrobotics.nova.util;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Records the input of controllers into a preallocated {@link InputRecording}. Call
+ * {@link #record()} every loop after updating the controllers. Recording only copies values into
+ * arrays so it does not allocate or block, and frames are only stored when the input changes.
+ *
+ * Usage:
+ * <pre>{@code
+ *      InputRecorder recorder = new InputRecorder(driver, gunner);
+ *      robot.setInputRecorder(recorder);
+ *      recorder.start();
+ *
+ *      // every loop
+ *      driver.update();
+ *      gunner.update();
+ *      recorder.record();
+ * }</pre>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class InputRecorder {
+    public static final String TAG = InputRecorder.class.getSimpleName();
+
+    /**
+     * The default number of frames, about two and a half minutes of changing input at 100Hz
+     */
+    public static final int DEFAULT_CAPACITY = 16384;
+
+    private final Controller[] controllers;
+    private final InputRecording recording;
+    private final Clock clock;
+
+    private long startTime;
+    private boolean active;
+    private int dropped;
+
+    /**
+     * Creates a new instance of {@link InputRecorder} with the default capacity
+     * @param controllers   the controllers to record
+     */
+    public InputRecorder(@NonNull Controller... controllers) {
+        this(DEFAULT_CAPACITY, NovaClock.getInstance(), controllers);
+    }
+
+    /**
+     * Creates a new instance of {@link InputRecorder}
+     * @param capacity      the maximum number of frames to record
+     * @param clock         the clock to time frames with
+     * @param controllers   the controllers to record
+     */
+    public InputRecorder(int capacity, @NonNull Clock clock, @NonNull Controller... controllers) {
+        if (controllers.length == 0) throw new IllegalArgumentException("At least one controller is required");
+
+        this.controllers = controllers.clone();
+        this.recording = new InputRecording(controllers.length, capacity);
+        this.clock = clock;
+    }
+
+    /**
+     * Clears the recording and starts recording
+     */
+    public void start() {
+        recording.size = 0;
+        dropped = 0;
+        startTime = clock.nanoTime();
+        active = true;
+    }
+
+    /**
+     * Stops recording
+     */
+    public void stop() {
+        active = false;
+    }
+
+    /**
+     * Checks whether or not the recorder is recording
+     * @return  whether or not the recorder is recording
+     */
+    public boolean isRecording() {
+        return active;
+    }
+
+    /**
+     * Checks whether or not the recording is out of space
+     * @return  whether or not the recording is full
+     */
+    public boolean isFull() {
+        return recording.size == recording.capacity();
+    }
+
+    /**
+     * Gets the number of frames that were not recorded because the recording was full
+     * @return  the number of dropped frames
+     */
+    public int getDroppedFrames() {
+        return dropped;
+    }
+
+    /**
+     * Gets the recording. The recording is reused when the recorder is started again
+     * @return  the recording
+     */
+    public InputRecording getRecording() {
+        return recording;
+    }
+
+    /**
+     * Records the current input of the controllers if it has changed since the last frame
+     */
+    public void record() {
+        if (! active) return;
+
+        int frame = recording.size;
+        if (frame > 0 && ! hasChanged(frame - 1)) return;
+
+        if (frame == recording.capacity()) {
+            dropped++;
+            return;
+        }
+
+        recording.times[frame] = clock.nanoTime() - startTime;
+
+        int count = controllers.length;
+        for (int i = 0; i < count; i++) {
+            Controller controller = controllers[i];
+
+            recording.buttons[frame * count + i] = controller.getButtons();
+
+            int offset = (frame * count + i) * InputRecording.AXES.length;
+            recording.axes[offset] = controller.left_stick_x;
+            recording.axes[offset + 1] = controller.left_stick_y;
+            recording.axes[offset + 2] = controller.right_stick_x;
+            recording.axes[offset + 3] = controller.right_stick_y;
+            recording.axes[offset + 4] = controller.left_trigger;
+            recording.axes[offset + 5] = controller.right_trigger;
+        }
+
+        recording.size = frame + 1;
+    }
+
+    private boolean hasChanged(int frame) {
+        int count = controllers.length;
+
+        for (int i = 0; i < count; i++) {
+            Controller controller = controllers[i];
+            int offset = (frame * count + i) * InputRecording.AXES.length;
+
+            if (recording.buttons[frame * count + i] != controller.getButtons()
+                    || recording.axes[offset] != controller.left_stick_x
+                    || recording.axes[offset + 1] != controller.left_stick_y
+                    || recording.axes[offset + 2] != controller.right_stick_x
+                    || recording.axes[offset + 3] != controller.right_stick_y
+                    || recording.axes[offset + 4] != controller.left_trigger
+                    || recording.axes[offset + 5] != controller.right_trigger)
+                return true;
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,241 @@
+package org.chathamrobotics.nova.util;
+
+import android.support.annotation.NonNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Recorded controller input. Each frame holds the time since the recording started, and the
+ * packed buttons and the stick and trigger values of every recorded controller. Frames are only
+ * recorded when the input changes, so a frame's input holds until the next frame.
+ *
+ * The binary format is big endian: the magic number, the version, the controller count and the
+ * frame count followed by the frames.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class InputRecording {
+    /**
+     * The axes stored in each frame, in order
+     */
+    public static final Controller.Axis[] AXES = {
+            Controller.Axis.LEFT_STICK_X,
+            Controller.Axis.LEFT_STICK_Y,
+            Controller.Axis.RIGHT_STICK_X,
+            Controller.Axis.RIGHT_STICK_Y,
+            Controller.Axis.LEFT_TRIGGER,
+            Controller.Axis.RIGHT_TRIGGER
+    };
+
+    private static final int MAGIC = 0x4e564952; // NVIR
+    private static final short VERSION = 1;
+
+    /**
+     * Reads a recording from a file
+     * @param file          the file to read
+     * @return              the recording
+     * @throws IOException  thrown if the file could not be read or is not a recording
+     */
+    public static InputRecording load(@NonNull File file) throws IOException {
+        InputStream in = new FileInputStream(file);
+
+        try {
+            return read(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Reads a recording from a stream
+     * @param stream        the stream to read
+     * @return              the recording
+     * @throws IOException  thrown if the stream could not be read, is not a recording or is truncated
+     */
+    public static InputRecording read(@NonNull InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+
+        if (in.readInt() != MAGIC) throw new IOException("Not an input recording");
+
+        short version = in.readShort();
+        if (version != VERSION) throw new IOException("Unsupported input recording version " + version);
+
+        int controllers = in.readUnsignedByte();
+        int frames = in.readInt();
+        if (controllers < 1) throw new IOException("Input recording has no controllers");
+        if (frames < 0) throw new IOException("Input recording has " + frames + " frames");
+
+        // read the frames before allocating for them, so a corrupt count cannot exhaust memory
+        long length = (long) frames * (8 + controllers * (4 + AXES.length * 4));
+        if (length > Integer.MAX_VALUE - 8) throw new IOException("Input recording has too many frames " + frames);
+
+        byte[] body = readUpTo(in, (int) length);
+        if (body.length < length) throw new IOException("Input recording is truncated");
+        in = new DataInputStream(new ByteArrayInputStream(body));
+
+        InputRecording recording = new InputRecording(controllers, frames);
+        for (int frame = 0; frame < frames; frame++) {
+            recording.times[frame] = in.readLong();
+
+            for (int controller = 0; controller < controllers; controller++) {
+                recording.buttons[frame * controllers + controller] = in.readInt();
+
+                int offset = (frame * controllers + controller) * AXES.length;
+                for (int axis = 0; axis < AXES.length; axis++) recording.axes[offset + axis] = in.readFloat();
+            }
+        }
+        recording.size = frames;
+
+        return recording;
+    }
+
+    private static byte[] readUpTo(InputStream in, int length) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(length, 8192));
+        byte[] buffer = new byte[8192];
+        int read;
+
+        while (out.size() < length && (read = in.read(buffer, 0, Math.min(buffer.length, length - out.size()))) != -1)
+            out.write(buffer, 0, read);
+
+        return out.toByteArray();
+    }
+
+    final int controllers;
+    final long[] times;
+    final int[] buttons;
+    final float[] axes;
+    int size;
+
+    /**
+     * Creates a new empty instance of {@link InputRecording}
+     * @param controllers   the number of controllers recorded
+     * @param capacity      the maximum number of frames
+     */
+    public InputRecording(int controllers, int capacity) {
+        if (controllers < 1 || controllers > 255) throw new IllegalArgumentException("controllers must be in [1, 255]");
+
+        this.controllers = controllers;
+        this.times = new long[capacity];
+        this.buttons = new int[capacity * controllers];
+        this.axes = new float[capacity * controllers * AXES.length];
+    }
+
+    /**
+     * Gets the number of controllers recorded
+     * @return  the number of controllers recorded
+     */
+    public int getControllerCount() {
+        return controllers;
+    }
+
+    /**
+     * Gets the number of frames
+     * @return  the number of frames
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the maximum number of frames
+     * @return  the maximum number of frames
+     */
+    public int capacity() {
+        return times.length;
+    }
+
+    /**
+     * Gets the time of the frame
+     * @param frame the index of the frame
+     * @return      the time since the start of the recording in ns
+     */
+    public long getTime(int frame) {
+        return times[frame];
+    }
+
+    /**
+     * Gets the length of the recording
+     * @return  the time of the last frame in ns
+     */
+    public long getDuration() {
+        return size == 0 ? 0 : times[size - 1];
+    }
+
+    /**
+     * Gets the buttons pressed on a controller in the frame
+     * @param frame         the index of the frame
+     * @param controller    the index of the controller
+     * @return              the mask of the pressed buttons
+     */
+    public int getButtons(int frame, int controller) {
+        return buttons[frame * controllers + controller];
+    }
+
+    /**
+     * Gets the value of an axis of a controller in the frame
+     * @param frame         the index of the frame
+     * @param controller    the index of the controller
+     * @param axis          the index of the axis in {@link #AXES}
+     * @return              the value of the axis
+     */
+    public float getAxis(int frame, int controller, int axis) {
+        return axes[(frame * controllers + controller) * AXES.length + axis];
+    }
+
+    /**
+     * Writes the recording to a file
+     * @param file          the file to write to
+     * @throws IOException  thrown if the file could not be written
+     */
+    public void save(@NonNull File file) throws IOException {
+        OutputStream out = new FileOutputStream(file);
+
+        try {
+            write(out);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Writes the recording to a stream
+     * @param stream        the stream to write to
+     * @throws IOException  thrown if the stream could not be written to
+     */
+    public void write(@NonNull OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeByte(controllers);
+        out.writeInt(size);
+
+        for (int frame = 0; frame < size; frame++) {
+            out.writeLong(times[frame]);
+
+            for (int controller = 0; controller < controllers; controller++) {
+                out.writeInt(buttons[frame * controllers + controller]);
+
+                int offset = (frame * controllers + controller) * AXES.length;
+                for (int axis = 0; axis < AXES.length; axis++) out.writeFloat(axes[offset + axis]);
+            }
+        }
+
+        out.flush();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s(%d frames, %.3fs)", getClass().getSimpleName(), size, getDuration() / 1e9);
+    }
+}
@@ -0,0 +1,156 @@
+package org.chathamrobotics.nova.util;
+
+import android.support.annotation.NonNull;
+
+import com.qualcomm.robotcore.hardware.Gamepad;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays an {@link InputRecording} back into gamepads, eg. to run a driven routine as an autonomous.
+ * Wrap the gamepads in {@link Controller}s and drive the robot from them as in tele op. Each frame
+ * is applied once its time since {@link #start()} has passed, measured with {@link NovaClock}.
+ *
+ * Usage:
+ * <pre>{@code
+ *      InputReplay replay = new InputReplay(InputRecording.load(file), gamepad);
+ *      Controller controller = new Controller(gamepad);
+ *
+ *      replay.start();
+ *      while (opModeIsActive() && ! replay.isFinished()) {
+ *          replay.awaitNextFrame();
+ *          replay.update();
+ *          controller.update();
+ *          drive(controller);
+ *      }
+ * }</pre>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class InputReplay {
+    private static final Controller.Button[] BUTTONS = Controller.Button.values();
+    private static final long WAIT_SLICE = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final InputRecording recording;
+    private final Gamepad[] gamepads;
+    private final Clock clock;
+
+    private long startTime;
+    private int next;
+    private boolean started;
+
+    /**
+     * Creates a new instance of {@link InputReplay}
+     * @param recording the recording to play
+     * @param gamepads  the gamepads to play the recording into, one for each recorded controller
+     */
+    public InputReplay(@NonNull InputRecording recording, @NonNull Gamepad... gamepads) {
+        this(recording, NovaClock.getInstance(), gamepads);
+    }
+
+    /**
+     * Creates a new instance of {@link InputReplay}
+     * @param recording the recording to play
+     * @param clock     the clock to time the frames with
+     * @param gamepads  the gamepads to play the recording into, one for each recorded controller
+     */
+    public InputReplay(@NonNull InputRecording recording, @NonNull Clock clock, @NonNull Gamepad... gamepads) {
+        if (gamepads.length != recording.getControllerCount())
+            throw new IllegalArgumentException("Expected " + recording.getControllerCount() + " gamepads but got " + gamepads.length);
+
+        this.recording = recording;
+        this.clock = clock;
+        this.gamepads = gamepads.clone();
+    }
+
+    /**
+     * Starts the replay from the beginning
+     */
+    public void start() {
+        startTime = clock.nanoTime();
+        next = 0;
+        started = true;
+    }
+
+    /**
+     * Checks whether or not every frame has been played
+     * @return  whether or not the replay is finished
+     */
+    public boolean isFinished() {
+        return started && next >= recording.size();
+    }
+
+    /**
+     * Gets the time until the next frame is due
+     * @param unit  the unit to get the time in
+     * @return      the time until the next frame. Negative if it is late, 0 if there are no more frames
+     */
+    public long getTimeUntilNextFrame(TimeUnit unit) {
+        if (! started) throw new IllegalStateException("The replay has not been started");
+        if (next >= recording.size()) return 0;
+
+        return unit.convert(startTime + recording.times[next] - clock.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Blocks until the next frame is due on the replay's clock
+     * @throws InterruptedException thrown if interrupted while waiting
+     */
+    public void awaitNextFrame() throws InterruptedException {
+        if (! started) throw new IllegalStateException("The replay has not been started");
+        if (next >= recording.size()) return;
+
+        // sleeps in slices so it follows clocks that do not run in real time
+        Deadline due = new Deadline(startTime + recording.times[next], clock);
+        long remaining;
+        while ((remaining = due.remaining(TimeUnit.NANOSECONDS)) > 0)
+            TimeUnit.NANOSECONDS.sleep(Math.min(remaining, WAIT_SLICE));
+    }
+
+    /**
+     * Applies the latest frame that is due to the gamepads. Frames that were due before it are
+     * skipped since their input has been replaced, unless they change a button: those are applied
+     * one per update so a press and release that are both due are still seen as a tap
+     * @return  whether or not a frame was applied
+     */
+    public boolean update() {
+        if (! started) throw new IllegalStateException("The replay has not been started");
+
+        long elapsed = clock.nanoTime() - startTime;
+        int frame = -1;
+
+        // compare differences so the replay survives the clock overflowing
+        while (next < recording.size() && elapsed - recording.times[next] >= 0) {
+            frame = next++;
+
+            if (changesButtons(frame)) break;
+        }
+
+        if (frame < 0) return false;
+
+        for (int i = 0; i < gamepads.length; i++) apply(frame, i, gamepads[i]);
+
+        return true;
+    }
+
+    // whether any controller's buttons differ from the frame before. Gamepads start unpressed
+    private boolean changesButtons(int frame) {
+        for (int i = 0; i < gamepads.length; i++) {
+            int previous = frame == 0 ? 0 : recording.getButtons(frame - 1, i);
+
+            if (recording.getButtons(frame, i) != previous) return true;
+        }
+
+        return false;
+    }
+
+    private void apply(int frame, int index, Gamepad gamepad) {
+        int buttons = recording.getButtons(frame, index);
+        for (Controller.Button button : BUTTONS) button.setPressed(gamepad, (buttons & button.mask) != 0);
+
+        for (int axis = 0; axis < InputRecording.AXES.length; axis++)
+            InputRecording.AXES[axis].setValue(gamepad, recording.getAxis(frame, index, axis));
+
+        // a new timestamp so change detecting controllers see the input
+        gamepad.setTimestamp(gamepad.timestamp + 1);
+    }
+}
@@ -0,0 +1,65 @@
+package org.chathamrobotics.nova.util;
+
+import android.support.annotation.NonNull;
+
+/**
+ * The clock used by nova for timeouts, deadlines and metrics. By default it reads the system's
+ * monotonic clock, tests and simulations can replace its source with a virtual clock.
+ *
+ * Usage:
+ * <pre>{@code
+ *      VirtualClock clock = new VirtualClock();
+ *      NovaClock.getInstance().setSource(clock);
+ *      ...
+ *      NovaClock.getInstance().reset();
+ * }</pre>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class NovaClock implements Clock {
+    private static class InstanceHolder {
+        public static final NovaClock theInstance = new NovaClock();
+    }
+
+    /**
+     * Gets the instance of {@link NovaClock}
+     * @return  the instance of {@link NovaClock}
+     */
+    public static NovaClock getInstance() {
+        return InstanceHolder.theInstance;
+    }
+
+    private volatile Clock source = Clock.SYSTEM;
+
+    // no make instance
+    private NovaClock() {}
+
+    @Override
+    public long nanoTime() {
+        return source.nanoTime();
+    }
+
+    /**
+     * Gets the clock that time is read from
+     * @return  the clock that time is read from
+     */
+    public Clock getSource() {
+        return source;
+    }
+
+    /**
+     * Sets the clock that time is read from
+     * @param source    the clock to read time from
+     */
+    public void setSource(@NonNull Clock source) {
+        if (source == this) throw new IllegalArgumentException("NovaClock cannot be its own source");
+
+        this.source = source;
+    }
+
+    /**
+     * Resets the source to the system's clock
+     */
+    public void reset() {
+        source = Clock.SYSTEM;
+    }
+}
@@ -0,0 +1,223 @@
+package org.chathamrobotics.nova.util;
+
+import android.support.annotation.NonNull;
+
+import org.chathamrobotics.nova.math.Pose2;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed size ring of timestamped poses written by one thread and read by any number of others
+ * without locking. The writer never waits for readers, and a reader that races with the writer
+ * simply retries or finds that the sample it wanted was overwritten. Nothing is allocated after
+ * construction.
+ *
+ * Samples are numbered from 1 in the order they are published, so a reader can keep the last
+ * sequence number it read and pick up every newer sample:
+ * <pre>{@code
+ *      PoseBuffer.Sample sample = new PoseBuffer.Sample();
+ *
+ *      while (buffer.read(lastSequence + 1, sample)) {
+ *          lastSequence = sample.sequence;
+ *          fuse(sample.pose, sample.captureTime, sample.confidence);
+ *      }
+ * }</pre>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class PoseBuffer {
+    private static final int STRIDE = 6;
+    private static final int VERSION = 0, X = 1, Y = 2, HEADING = 3, TIME = 4, CONFIDENCE = 5;
+
+    /**
+     * A pose read from the buffer. Meant to be reused between reads
+     */
+    public static class Sample {
+        public final Pose2 pose = new Pose2();
+        public long captureTime;
+        public double confidence;
+        public long sequence;
+
+        @Override
+        public String toString() {
+            return "Sample(#" + sequence + " " + pose + " at " + captureTime + "ns, confidence " + confidence + ")";
+        }
+    }
+
+    // each slot holds a version followed by its fields. The version is negative while it is written
+    private final AtomicLongArray slots;
+    private final AtomicLong published = new AtomicLong();
+    private final int mask;
+
+    /**
+     * Creates a new instance of {@link PoseBuffer}
+     * @param capacity  the number of samples to keep. Rounded up to a power of two
+     */
+    public PoseBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 24) throw new IllegalArgumentException("Capacity must be between 1 and 2^24");
+
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) size <<= 1;
+
+        this.mask = size - 1;
+        this.slots = new AtomicLongArray(size * STRIDE);
+    }
+
+    // ACCESSORS
+
+    /**
+     * Gets the number of samples the buffer keeps
+     * @return  the capacity
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Gets the sequence number of the newest sample
+     * @return  the sequence number. Zero if nothing has been published
+     */
+    public long getSequence() {
+        return published.get();
+    }
+
+    // WRITING
+
+    /**
+     * Publishes a pose. Must only be called from one thread
+     * @param x             the x position in meters
+     * @param y             the y position in meters
+     * @param heading       the heading in radians
+     * @param captureTime   when the pose was observed, in nanoseconds
+     * @param confidence    how much the pose can be trusted, from 0 to 1
+     * @return              the sequence number of the sample
+     */
+    public long publish(double x, double y, double heading, long captureTime, double confidence) {
+        long sequence = published.get() + 1;
+        int base = (int) (sequence & mask) * STRIDE;
+
+        slots.set(base + VERSION, -sequence);
+        slots.set(base + X, Double.doubleToRawLongBits(x));
+        slots.set(base + Y, Double.doubleToRawLongBits(y));
+        slots.set(base + HEADING, Double.doubleToRawLongBits(heading));
+        slots.set(base + TIME, captureTime);
+        slots.set(base + CONFIDENCE, Double.doubleToRawLongBits(confidence));
+        slots.set(base + VERSION, sequence);
+
+        published.set(sequence);
+
+        return sequence;
+    }
+
+    /**
+     * Publishes a pose. Must only be called from one thread
+     * @param pose          the pose
+     * @param captureTime   when the pose was observed, in nanoseconds
+     * @param confidence    how much the pose can be trusted, from 0 to 1
+     * @return              the sequence number of the sample
+     */
+    public long publish(@NonNull Pose2 pose, long captureTime, double confidence) {
+        return publish(pose.position.x, pose.position.y, pose.heading, captureTime, confidence);
+    }
+
+    // READING
+
+    /**
+     * Reads the sample with the given sequence number
+     * @param sequence  the sequence number
+     * @param out       the sample to read into
+     * @return          whether the sample was read. False if it has not been published yet or
+     *                  has already been overwritten
+     */
+    public boolean read(long sequence, @NonNull Sample out) {
+        if (sequence < 1 || sequence > published.get()) return false;
+
+        int base = (int) (sequence & mask) * STRIDE;
+
+        if (slots.get(base + VERSION) != sequence) return false;
+
+        double x = Double.longBitsToDouble(slots.get(base + X));
+        double y = Double.longBitsToDouble(slots.get(base + Y));
+        double heading = Double.longBitsToDouble(slots.get(base + HEADING));
+        long captureTime = slots.get(base + TIME);
+        double confidence = Double.longBitsToDouble(slots.get(base + CONFIDENCE));
+
+        // overwritten while it was read
+        if (slots.get(base + VERSION) != sequence) return false;
+
+        out.pose.set(x, y, heading);
+        out.captureTime = captureTime;
+        out.confidence = confidence;
+        out.sequence = sequence;
+
+        return true;
+    }
+
+    /**
+     * Reads the newest sample
+     * @param out   the sample to read into
+     * @return      whether a sample was read. False if nothing has been published
+     */
+    public boolean readLatest(@NonNull Sample out) {
+        long sequence;
+
+        while ((sequence = published.get()) > 0) {
+            if (read(sequence, out)) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Reads the newest sample captured at or before the given time, to line a pose up with
+     * readings from other sensors. Every sample still in the buffer is checked as samples are not
+     * always published in the order they were captured
+     * @param time  the time in nanoseconds
+     * @param out   the sample to read into. Left unchanged if no sample is read
+     * @return      whether a sample was read. False if every sample still in the buffer is newer
+     */
+    public boolean readAt(long time, @NonNull Sample out) {
+        long newest = published.get();
+
+        long best = 0, bestTime = 0;
+        double bestX = 0, bestY = 0, bestHeading = 0, bestConfidence = 0;
+
+        for (long sequence = newest; sequence > 0 && sequence > newest - getCapacity(); sequence--) {
+            int base = (int) (sequence & mask) * STRIDE;
+            if (slots.get(base + VERSION) != sequence) continue;
+
+            // on equal capture times the newer sample, found first, is kept
+            long captureTime = slots.get(base + TIME);
+            if (captureTime - time > 0 || (best != 0 && captureTime - bestTime <= 0)) continue;
+
+            double x = Double.longBitsToDouble(slots.get(base + X));
+            double y = Double.longBitsToDouble(slots.get(base + Y));
+            double heading = Double.longBitsToDouble(slots.get(base + HEADING));
+            double confidence = Double.longBitsToDouble(slots.get(base + CONFIDENCE));
+
+            // overwritten while it was read
+            if (slots.get(base + VERSION) != sequence) continue;
+
+            best = sequence;
+            bestTime = captureTime;
+            bestX = x;
+            bestY = y;
+            bestHeading = heading;
+            bestConfidence = confidence;
+        }
+
+        if (best == 0) return false;
+
+        out.pose.set(bestX, bestY, bestHeading);
+        out.captureTime = bestTime;
+        out.confidence = bestConfidence;
+        out.sequence = best;
+
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "PoseBuffer(" + published.get() + " published, capacity " + getCapacity() + ")";
+    }
+}
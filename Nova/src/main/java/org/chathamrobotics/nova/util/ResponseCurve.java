@@ -0,0 +1,182 @@
+package org.chathamrobotics.nova.util;
+
+import android.support.annotation.NonNull;
+
+/**
+ * A response curve for joystick and trigger input. The curve is sampled into a lookup table when
+ * it is created so applying it costs an interpolated table lookup regardless of how expensive the
+ * curve is to compute. Curves are defined for magnitudes in [0, 1] and applied symmetrically to
+ * negative input.
+ *
+ * A deadzone is kept exact: input at or below it is exactly 0 and the table is interpolated from
+ * the edge of the deadzone rather than across it. The deadzone carries through {@link #then(ResponseCurve)}
+ * when it is the first curve applied.
+ *
+ * Usage:
+ * <pre>{@code
+ *      ResponseCurve curve = ResponseCurve.deadzone(0.1).then(ResponseCurve.expo(0.6));
+ *      controller.setCurve(Controller.Axis.LEFT_STICK, curve);
+ * }</pre>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class ResponseCurve {
+    /**
+     * A function of the input's magnitude
+     */
+    public interface Function {
+        /**
+         * Computes the output for the input
+         * @param input the magnitude of the input in [0, 1]
+         * @return      the magnitude of the output, normally in [0, 1]
+         */
+        double apply(double input);
+    }
+
+    /**
+     * The default number of samples in the lookup table
+     */
+    public static final int DEFAULT_RESOLUTION = 129;
+
+    /**
+     * A curve that does not change the input
+     */
+    public static final ResponseCurve LINEAR = new ResponseCurve(new Function() {
+        @Override
+        public double apply(double input) {
+            return input;
+        }
+    }, 2);
+
+    /**
+     * Creates a scaled deadzone. Input below the deadzone is 0 and the rest is scaled so the output
+     * still covers [0, 1]
+     * @param deadzone  the size of the deadzone in [0, 1)
+     * @return          the curve
+     */
+    public static ResponseCurve deadzone(final double deadzone) {
+        if (deadzone < 0 || deadzone >= 1) throw new IllegalArgumentException("deadzone must be in [0, 1)");
+
+        return new ResponseCurve(new Function() {
+            @Override
+            public double apply(double input) {
+                return input <= deadzone ? 0 : (input - deadzone) / (1 - deadzone);
+            }
+        }, DEFAULT_RESOLUTION, (float) deadzone);
+    }
+
+    /**
+     * Creates an exponential curve that blends linear and cubic response, giving finer control near
+     * the center of the stick
+     * @param expo  the amount of cubic response in [0, 1]. 0 is linear and 1 is cubic
+     * @return      the curve
+     */
+    public static ResponseCurve expo(final double expo) {
+        if (expo < 0 || expo > 1) throw new IllegalArgumentException("expo must be in [0, 1]");
+
+        return new ResponseCurve(new Function() {
+            @Override
+            public double apply(double input) {
+                return (1 - expo) * input + expo * input * input * input;
+            }
+        }, DEFAULT_RESOLUTION);
+    }
+
+    /**
+     * Creates a cubic curve
+     * @return  the curve
+     */
+    public static ResponseCurve cubic() {
+        return expo(1);
+    }
+
+    /**
+     * Creates a power curve
+     * @param exponent  the exponent the input is raised to
+     * @return          the curve
+     */
+    public static ResponseCurve power(final double exponent) {
+        if (exponent <= 0) throw new IllegalArgumentException("exponent must be positive");
+
+        return new ResponseCurve(new Function() {
+            @Override
+            public double apply(double input) {
+                return Math.pow(input, exponent);
+            }
+        }, DEFAULT_RESOLUTION);
+    }
+
+    private final float[] table;
+    // magnitudes at or below the deadzone are 0. Its position in the table is kept for interpolating
+    private final float deadzone;
+    private final float deadzonePosition;
+
+    /**
+     * Creates a new instance of {@link ResponseCurve} with the default resolution
+     * @param function  the curve's function
+     */
+    public ResponseCurve(@NonNull Function function) {
+        this(function, DEFAULT_RESOLUTION);
+    }
+
+    /**
+     * Creates a new instance of {@link ResponseCurve}
+     * @param function      the curve's function
+     * @param resolution    the number of samples in the lookup table
+     */
+    public ResponseCurve(@NonNull Function function, int resolution) {
+        this(function, resolution, 0);
+    }
+
+    private ResponseCurve(Function function, int resolution, float deadzone) {
+        if (resolution < 2) throw new IllegalArgumentException("resolution must be at least 2");
+
+        table = new float[resolution];
+        for (int i = 0; i < resolution; i++) table[i] = (float) function.apply((double) i / (resolution - 1));
+
+        this.deadzone = deadzone;
+        this.deadzonePosition = deadzone * (resolution - 1);
+    }
+
+    /**
+     * Applies the curve to the input
+     * @param input the input in [-1, 1]. Input outside of the range is clipped
+     * @return      the output, with the same sign as the input
+     */
+    public float apply(float input) {
+        float magnitude = Math.abs(input);
+        float output;
+
+        if (magnitude <= deadzone) {
+            output = 0;
+        } else if (magnitude >= 1) {
+            output = table[table.length - 1];
+        } else {
+            float position = magnitude * (table.length - 1);
+            int index = (int) position;
+
+            if (index < deadzonePosition) {
+                // the sample below is inside the deadzone, so interpolate from its edge instead
+                output = table[index + 1] * (position - deadzonePosition) / (index + 1 - deadzonePosition);
+            } else {
+                output = table[index] + (table[index + 1] - table[index]) * (position - index);
+            }
+        }
+
+        return input < 0 ? -output : output;
+    }
+
+    /**
+     * Creates a curve that applies this curve followed by the given one. The result is sampled into
+     * a new table. This curve's deadzone is kept if the given curve maps 0 to 0
+     * @param next  the curve to apply second
+     * @return      the combined curve
+     */
+    public ResponseCurve then(@NonNull final ResponseCurve next) {
+        return new ResponseCurve(new Function() {
+            @Override
+            public double apply(double input) {
+                return next.apply(ResponseCurve.this.apply((float) input));
+            }
+        }, Math.max(table.length, next.table.length), next.apply(0) == 0 ? deadzone : 0);
+    }
+}
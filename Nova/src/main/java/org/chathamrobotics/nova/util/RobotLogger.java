@@ -2,6 +2,9 @@ package org.chathamrobotics.nova.util;
 
 import android.support.annotation.NonNull;
 
+import org.chathamrobotics.nova.metrics.Counter;
+import org.chathamrobotics.nova.metrics.LatencyHistogram;
+import org.chathamrobotics.nova.metrics.MetricsRegistry;
 import org.firstinspires.ftc.robotcore.external.Func;
 import org.firstinspires.ftc.robotcore.external.Telemetry;
 
@@ -11,6 +14,14 @@ import org.firstinspires.ftc.robotcore.external.Telemetry;
 @SuppressWarnings({"unused", "WeakerAccess", "SameParameterValue"})
 public class RobotLogger implements Telemetry {
     /////////// CONSTANTS ///////////
+    private static final LatencyHistogram LOGCAT_LATENCY = MetricsRegistry.getInstance().histogram("RobotLogger.logcat");
+    private static final Counter TELEMETRY_LINES = MetricsRegistry.getInstance().counter("RobotLogger.telemetryLines");
+    private static final Counter[] LEVEL_COUNTS = new Counter[Level.values().length];
+
+    static {
+        for (Level level : Level.values())
+            LEVEL_COUNTS[level.ordinal()] = MetricsRegistry.getInstance().counter("RobotLogger." + level.name().toLowerCase());
+    }
 
     ////////// INNER CLASSES ////////
 
@@ -1339,7 +1350,11 @@ public class RobotLogger implements Telemetry {
     }
 
     private void lcOut(Level level, String message) {
+        long start = LOGCAT_LATENCY.start();
         android.util.Log.println(level.priority, tag, message);
+        LOGCAT_LATENCY.stop(start);
+
+        LEVEL_COUNTS[level.ordinal()].increment();
     }
 
     private void lcOut(Level level, Throwable thr) {
@@ -1391,6 +1406,8 @@ public class RobotLogger implements Telemetry {
     }
 
     private Line tLine(Level level) {
+        TELEMETRY_LINES.increment();
+
         return getTelemetry().addLine("(" + tag + "/" + level.name() + ") ");
     }
 
@@ -9,6 +9,7 @@ package org.chathamrobotics.nova.util;
  */
 
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 /**
@@ -16,7 +17,7 @@ import java.util.concurrent.TimeoutException;
  */
 @SuppressWarnings("unused")
 public class TimeoutChecker {
-    private final long endTime;
+    private final Deadline deadline;
     private final String message;
 
     /**
@@ -29,20 +30,59 @@ public class TimeoutChecker {
 
     /**
      * Creates a new instance of {@link TimeoutChecker}
-     * @param timeout   the timeout
+     * @param timeout   the timeout in ms
      * @param message   the message to throw the timeout exception with
      */
     public TimeoutChecker(long timeout, String message) {
-        this.endTime = System.currentTimeMillis() + timeout;
+        this(timeout, TimeUnit.MILLISECONDS, message);
+    }
+
+    /**
+     * Creates a new instance of {@link TimeoutChecker}
+     * @param timeout   the timeout in ms
+     * @param message   the message to throw the timeout exception with
+     * @param clock     the clock to measure the timeout with
+     */
+    public TimeoutChecker(long timeout, String message, Clock clock) {
+        this(timeout, TimeUnit.MILLISECONDS, message, clock);
+    }
+
+    /**
+     * Creates a new instance of {@link TimeoutChecker} measured with {@link NovaClock}
+     * @param timeout   the timeout
+     * @param unit      the unit of the timeout
+     * @param message   the message to throw the timeout exception with
+     */
+    public TimeoutChecker(long timeout, TimeUnit unit, String message) {
+        this(timeout, unit, message, NovaClock.getInstance());
+    }
+
+    /**
+     * Creates a new instance of {@link TimeoutChecker}
+     * @param timeout   the timeout
+     * @param unit      the unit of the timeout
+     * @param message   the message to throw the timeout exception with
+     * @param clock     the clock to measure the timeout with
+     */
+    public TimeoutChecker(long timeout, TimeUnit unit, String message, Clock clock) {
+        this.deadline = Deadline.after(timeout, unit, clock);
         this.message = message;
     }
 
+    /**
+     * Gets the deadline for the timeout
+     * @return  the deadline
+     */
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
     /**
      * Checks whether or not the timeout has been reached. Throws a timeout exception if it has
      * @throws TimeoutException thrown if the timeout has been reached
      */
     public void check() throws TimeoutException {
-        if (System.currentTimeMillis() > endTime)
+        if (deadline.isExceeded())
             throw new TimeoutException(message);
     }
 }
@@ -0,0 +1,125 @@
+package org.chathamrobotics.nova.util.tuple;
+
+/**
+ * An immutable 2-tuple of unboxed doubles. Equal to, and hashes the same as, a {@link Pair} of the
+ * same {@link Double}s.
+ *
+ * Usage:
+ * <pre>{@code
+ *      DoublePair p = DoublePair.with(0.5, 90);
+ *
+ *      p.first(); // returns 0.5
+ *      p.second(); // returns 90
+ * }</pre>
+ *
+ * @see MutableDoublePair
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class DoublePair implements TupleView {
+    private final double first, second;
+    private final int hash;
+
+    /**
+     * Creates a new {@link DoublePair}. This method is equivalent to {@code new DoublePair(foo, bar)}
+     * @param first     the first value
+     * @param second    the second value
+     * @return          the pair
+     */
+    public static DoublePair with(double first, double second) {
+        return new DoublePair(first, second);
+    }
+
+    /**
+     * Creates a {@link DoublePair} from the values of a {@link Pair}
+     * @param pair  the pair to copy
+     * @return      the pair
+     */
+    public static DoublePair from(Pair<? extends Number, ? extends Number> pair) {
+        return new DoublePair(pair.first().doubleValue(), pair.second().doubleValue());
+    }
+
+    /**
+     * Creates a new instance of {@link DoublePair}
+     * @param first     the first value
+     * @param second    the second value
+     */
+    public DoublePair(double first, double second) {
+        this.first = first;
+        this.second = second;
+        this.hash = hash(first, second);
+    }
+
+    /**
+     * Gets the first value
+     * @return  the first value
+     */
+    public double first() {
+        return first;
+    }
+
+    /**
+     * Gets the second value
+     * @return  the second value
+     */
+    public double second() {
+        return second;
+    }
+
+    @Override
+    public int size() {
+        return 2;
+    }
+
+    @Override
+    public Object get(int i) {
+        switch (i) {
+            case 0: return first;
+            case 1: return second;
+            default: throw new IndexOutOfBoundsException("Index: " + i + ", Size: 2");
+        }
+    }
+
+    @Override
+    public Class<? extends Number> getType(int i) {
+        get(i);
+        return Double.class;
+    }
+
+    /**
+     * Converts the pair to a boxed {@link Pair}
+     * @return  the pair
+     */
+    public Pair<Double, Double> toPair() {
+        return new Pair<>(first, second);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof DoublePair) {
+            DoublePair other = (DoublePair) o;
+            return Tuples.equals(first, other.first) && Tuples.equals(second, other.second);
+        }
+
+        if (o instanceof MutableDoublePair) {
+            MutableDoublePair other = (MutableDoublePair) o;
+            return Tuples.equals(first, other.first()) && Tuples.equals(second, other.second());
+        }
+
+        return o instanceof TupleView && Tuples.equals(this, (TupleView) o);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + first + ", " + second + "]";
+    }
+
+    // the same as Arrays.hashCode of the boxed values
+    static int hash(double first, double second) {
+        return 31 * (31 + Tuples.hash(first)) + Tuples.hash(second);
+    }
+}
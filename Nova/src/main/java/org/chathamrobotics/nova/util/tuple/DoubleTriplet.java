@@ -0,0 +1,146 @@
+package org.chathamrobotics.nova.util.tuple;
+
+/**
+ * An immutable 3-tuple of unboxed doubles. Equal to, and hashes the same as, a {@link Triplet} of
+ * the same {@link Double}s.
+ *
+ * Usage:
+ * <pre>{@code
+ *      DoubleTriplet t = DoubleTriplet.with(1.2, 0.4, 90);
+ *
+ *      t.first(); // returns 1.2
+ *      t.second(); // returns 0.4
+ *      t.third(); // returns 90
+ * }</pre>
+ *
+ * @see MutableDoubleTriplet
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class DoubleTriplet implements TupleView {
+    private final double first, second, third;
+    private final int hash;
+
+    /**
+     * Creates a new {@link DoubleTriplet}. This method is equivalent to {@code new DoubleTriplet(foo, bar, baz)}
+     * @param first     the first value
+     * @param second    the second value
+     * @param third     the third value
+     * @return          the triplet
+     */
+    public static DoubleTriplet with(double first, double second, double third) {
+        return new DoubleTriplet(first, second, third);
+    }
+
+    /**
+     * Creates a {@link DoubleTriplet} from the values of a {@link Triplet}
+     * @param triplet   the triplet to copy
+     * @return          the triplet
+     */
+    public static DoubleTriplet from(Triplet<? extends Number, ? extends Number, ? extends Number> triplet) {
+        return new DoubleTriplet(
+                triplet.first().doubleValue(),
+                triplet.second().doubleValue(),
+                triplet.third().doubleValue()
+        );
+    }
+
+    /**
+     * Creates a new instance of {@link DoubleTriplet}
+     * @param first     the first value
+     * @param second    the second value
+     * @param third     the third value
+     */
+    public DoubleTriplet(double first, double second, double third) {
+        this.first = first;
+        this.second = second;
+        this.third = third;
+        this.hash = hash(first, second, third);
+    }
+
+    /**
+     * Gets the first value
+     * @return  the first value
+     */
+    public double first() {
+        return first;
+    }
+
+    /**
+     * Gets the second value
+     * @return  the second value
+     */
+    public double second() {
+        return second;
+    }
+
+    /**
+     * Gets the third value
+     * @return  the third value
+     */
+    public double third() {
+        return third;
+    }
+
+    @Override
+    public int size() {
+        return 3;
+    }
+
+    @Override
+    public Object get(int i) {
+        switch (i) {
+            case 0: return first;
+            case 1: return second;
+            case 2: return third;
+            default: throw new IndexOutOfBoundsException("Index: " + i + ", Size: 3");
+        }
+    }
+
+    @Override
+    public Class<? extends Number> getType(int i) {
+        get(i);
+        return Double.class;
+    }
+
+    /**
+     * Converts the triplet to a boxed {@link Triplet}
+     * @return  the triplet
+     */
+    public Triplet<Double, Double, Double> toTriplet() {
+        return new Triplet<>(first, second, third);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof DoubleTriplet) {
+            DoubleTriplet other = (DoubleTriplet) o;
+            return Tuples.equals(first, other.first)
+                    && Tuples.equals(second, other.second)
+                    && Tuples.equals(third, other.third);
+        }
+
+        if (o instanceof MutableDoubleTriplet) {
+            MutableDoubleTriplet other = (MutableDoubleTriplet) o;
+            return Tuples.equals(first, other.first())
+                    && Tuples.equals(second, other.second())
+                    && Tuples.equals(third, other.third());
+        }
+
+        return o instanceof TupleView && Tuples.equals(this, (TupleView) o);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + first + ", " + second + ", " + third + "]";
+    }
+
+    // the same as Arrays.hashCode of the boxed values
+    static int hash(double first, double second, double third) {
+        return 31 * (31 * (31 + Tuples.hash(first)) + Tuples.hash(second)) + Tuples.hash(third);
+    }
+}
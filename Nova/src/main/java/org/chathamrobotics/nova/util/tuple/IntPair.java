@@ -0,0 +1,125 @@
+package org.chathamrobotics.nova.util.tuple;
+
+/**
+ * An immutable 2-tuple of unboxed ints. Equal to, and hashes the same as, a {@link Pair} of the
+ * same {@link Integer}s.
+ *
+ * Usage:
+ * <pre>{@code
+ *      IntPair p = IntPair.with(3, 90);
+ *
+ *      p.first(); // returns 3
+ *      p.second(); // returns 90
+ * }</pre>
+ *
+ * @see MutableIntPair
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class IntPair implements TupleView {
+    private final int first, second;
+    private final int hash;
+
+    /**
+     * Creates a new {@link IntPair}. This method is equivalent to {@code new IntPair(foo, bar)}
+     * @param first     the first value
+     * @param second    the second value
+     * @return          the pair
+     */
+    public static IntPair with(int first, int second) {
+        return new IntPair(first, second);
+    }
+
+    /**
+     * Creates a {@link IntPair} from the values of a {@link Pair}
+     * @param pair  the pair to copy
+     * @return      the pair
+     */
+    public static IntPair from(Pair<? extends Number, ? extends Number> pair) {
+        return new IntPair(pair.first().intValue(), pair.second().intValue());
+    }
+
+    /**
+     * Creates a new instance of {@link IntPair}
+     * @param first     the first value
+     * @param second    the second value
+     */
+    public IntPair(int first, int second) {
+        this.first = first;
+        this.second = second;
+        this.hash = hash(first, second);
+    }
+
+    /**
+     * Gets the first value
+     * @return  the first value
+     */
+    public int first() {
+        return first;
+    }
+
+    /**
+     * Gets the second value
+     * @return  the second value
+     */
+    public int second() {
+        return second;
+    }
+
+    @Override
+    public int size() {
+        return 2;
+    }
+
+    @Override
+    public Object get(int i) {
+        switch (i) {
+            case 0: return first;
+            case 1: return second;
+            default: throw new IndexOutOfBoundsException("Index: " + i + ", Size: 2");
+        }
+    }
+
+    @Override
+    public Class<? extends Number> getType(int i) {
+        get(i);
+        return Integer.class;
+    }
+
+    /**
+     * Converts the pair to a boxed {@link Pair}
+     * @return  the pair
+     */
+    public Pair<Integer, Integer> toPair() {
+        return new Pair<>(first, second);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof IntPair) {
+            IntPair other = (IntPair) o;
+            return first == other.first && second == other.second;
+        }
+
+        if (o instanceof MutableIntPair) {
+            MutableIntPair other = (MutableIntPair) o;
+            return first == other.first() && second == other.second();
+        }
+
+        return o instanceof TupleView && Tuples.equals(this, (TupleView) o);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + first + ", " + second + "]";
+    }
+
+    // the same as Arrays.hashCode of the boxed values
+    static int hash(int first, int second) {
+        return 31 * (31 + first) + second;
+    }
+}
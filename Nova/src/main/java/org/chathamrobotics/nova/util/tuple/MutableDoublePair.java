@@ -0,0 +1,152 @@
+package org.chathamrobotics.nova.util.tuple;
+
+/**
+ * A reusable 2-tuple of unboxed doubles for hot loops. Equal to a {@link DoublePair} or
+ * {@link Pair} of the same values while it holds them. Do not change one while it is a key in a
+ * hash based collection.
+ *
+ * Usage:
+ * <pre>{@code
+ *      MutableDoublePair p = new MutableDoublePair();
+ *
+ *      while (opModeIsActive()) {
+ *          p.set(drive.getPower(), gyro.getHeading());
+ *          ...
+ *      }
+ * }</pre>
+ *
+ * @see DoublePair
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class MutableDoublePair implements TupleView {
+    private double first, second;
+
+    // computed when first asked for after a change
+    private int hash;
+    private boolean hashed;
+
+    /**
+     * Creates a new instance of {@link MutableDoublePair} holding zeros
+     */
+    public MutableDoublePair() {}
+
+    /**
+     * Creates a new instance of {@link MutableDoublePair}
+     * @param first     the first value
+     * @param second    the second value
+     */
+    public MutableDoublePair(double first, double second) {
+        set(first, second);
+    }
+
+    /**
+     * Sets both values
+     * @param first     the first value
+     * @param second    the second value
+     * @return          this pair
+     */
+    public MutableDoublePair set(double first, double second) {
+        this.first = first;
+        this.second = second;
+        this.hashed = false;
+
+        return this;
+    }
+
+    /**
+     * Sets the first value
+     * @param first the first value
+     * @return      this pair
+     */
+    public MutableDoublePair setFirst(double first) {
+        return set(first, second);
+    }
+
+    /**
+     * Sets the second value
+     * @param second    the second value
+     * @return          this pair
+     */
+    public MutableDoublePair setSecond(double second) {
+        return set(first, second);
+    }
+
+    /**
+     * Gets the first value
+     * @return  the first value
+     */
+    public double first() {
+        return first;
+    }
+
+    /**
+     * Gets the second value
+     * @return  the second value
+     */
+    public double second() {
+        return second;
+    }
+
+    @Override
+    public int size() {
+        return 2;
+    }
+
+    @Override
+    public Object get(int i) {
+        switch (i) {
+            case 0: return first;
+            case 1: return second;
+            default: throw new IndexOutOfBoundsException("Index: " + i + ", Size: 2");
+        }
+    }
+
+    @Override
+    public Class<? extends Number> getType(int i) {
+        get(i);
+        return Double.class;
+    }
+
+    /**
+     * Copies the current values into an immutable pair
+     * @return  the pair
+     */
+    public DoublePair toImmutable() {
+        return new DoublePair(first, second);
+    }
+
+    /**
+     * Copies the current values into a boxed {@link Pair}
+     * @return  the pair
+     */
+    public Pair<Double, Double> toPair() {
+        return new Pair<>(first, second);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof MutableDoublePair) {
+            MutableDoublePair other = (MutableDoublePair) o;
+            return Tuples.equals(first, other.first) && Tuples.equals(second, other.second);
+        }
+
+        if (o instanceof DoublePair) return o.equals(this);
+
+        return o instanceof TupleView && Tuples.equals(this, (TupleView) o);
+    }
+
+    @Override
+    public int hashCode() {
+        if (! hashed) {
+            hash = DoublePair.hash(first, second);
+            hashed = true;
+        }
+
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + first + ", " + second + "]";
+    }
+}
@@ -0,0 +1,165 @@
+package org.chathamrobotics.nova.util.tuple;
+
+/**
+ * A reusable 3-tuple of unboxed doubles for hot loops, such as an (x, y, heading) estimate. Equal to
+ * a {@link DoubleTriplet} or {@link Triplet} of the same values while it holds them. Do not change
+ * one while it is a key in a hash based collection.
+ *
+ * @see DoubleTriplet
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class MutableDoubleTriplet implements TupleView {
+    private double first, second, third;
+
+    // computed when first asked for after a change
+    private int hash;
+    private boolean hashed;
+
+    /**
+     * Creates a new instance of {@link MutableDoubleTriplet} holding zeros
+     */
+    public MutableDoubleTriplet() {}
+
+    /**
+     * Creates a new instance of {@link MutableDoubleTriplet}
+     * @param first     the first value
+     * @param second    the second value
+     * @param third     the third value
+     */
+    public MutableDoubleTriplet(double first, double second, double third) {
+        set(first, second, third);
+    }
+
+    /**
+     * Sets all the values
+     * @param first     the first value
+     * @param second    the second value
+     * @param third     the third value
+     * @return          this triplet
+     */
+    public MutableDoubleTriplet set(double first, double second, double third) {
+        this.first = first;
+        this.second = second;
+        this.third = third;
+        this.hashed = false;
+
+        return this;
+    }
+
+    /**
+     * Sets the first value
+     * @param first the first value
+     * @return      this triplet
+     */
+    public MutableDoubleTriplet setFirst(double first) {
+        return set(first, second, third);
+    }
+
+    /**
+     * Sets the second value
+     * @param second    the second value
+     * @return          this triplet
+     */
+    public MutableDoubleTriplet setSecond(double second) {
+        return set(first, second, third);
+    }
+
+    /**
+     * Sets the third value
+     * @param third the third value
+     * @return      this triplet
+     */
+    public MutableDoubleTriplet setThird(double third) {
+        return set(first, second, third);
+    }
+
+    /**
+     * Gets the first value
+     * @return  the first value
+     */
+    public double first() {
+        return first;
+    }
+
+    /**
+     * Gets the second value
+     * @return  the second value
+     */
+    public double second() {
+        return second;
+    }
+
+    /**
+     * Gets the third value
+     * @return  the third value
+     */
+    public double third() {
+        return third;
+    }
+
+    @Override
+    public int size() {
+        return 3;
+    }
+
+    @Override
+    public Object get(int i) {
+        switch (i) {
+            case 0: return first;
+            case 1: return second;
+            case 2: return third;
+            default: throw new IndexOutOfBoundsException("Index: " + i + ", Size: 3");
+        }
+    }
+
+    @Override
+    public Class<? extends Number> getType(int i) {
+        get(i);
+        return Double.class;
+    }
+
+    /**
+     * Copies the current values into an immutable triplet
+     * @return  the triplet
+     */
+    public DoubleTriplet toImmutable() {
+        return new DoubleTriplet(first, second, third);
+    }
+
+    /**
+     * Copies the current values into a boxed {@link Triplet}
+     * @return  the triplet
+     */
+    public Triplet<Double, Double, Double> toTriplet() {
+        return new Triplet<>(first, second, third);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof MutableDoubleTriplet) {
+            MutableDoubleTriplet other = (MutableDoubleTriplet) o;
+            return Tuples.equals(first, other.first)
+                    && Tuples.equals(second, other.second)
+                    && Tuples.equals(third, other.third);
+        }
+
+        if (o instanceof DoubleTriplet) return o.equals(this);
+
+        return o instanceof TupleView && Tuples.equals(this, (TupleView) o);
+    }
+
+    @Override
+    public int hashCode() {
+        if (! hashed) {
+            hash = DoubleTriplet.hash(first, second, third);
+            hashed = true;
+        }
+
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + first + ", " + second + ", " + third + "]";
+    }
+}
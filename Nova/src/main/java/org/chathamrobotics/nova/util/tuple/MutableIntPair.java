@@ -0,0 +1,152 @@
+package org.chathamrobotics.nova.util.tuple;
+
+/**
+ * A reusable 2-tuple of unboxed ints for hot loops. Equal to a {@link IntPair} or
+ * {@link Pair} of the same values while it holds them. Do not change one while it is a key in a
+ * hash based collection.
+ *
+ * Usage:
+ * <pre>{@code
+ *      MutableIntPair p = new MutableIntPair();
+ *
+ *      while (opModeIsActive()) {
+ *          p.set(encoder.getCurrentPosition(), gyro.getHeading());
+ *          ...
+ *      }
+ * }</pre>
+ *
+ * @see IntPair
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class MutableIntPair implements TupleView {
+    private int first, second;
+
+    // computed when first asked for after a change
+    private int hash;
+    private boolean hashed;
+
+    /**
+     * Creates a new instance of {@link MutableIntPair} holding zeros
+     */
+    public MutableIntPair() {}
+
+    /**
+     * Creates a new instance of {@link MutableIntPair}
+     * @param first     the first value
+     * @param second    the second value
+     */
+    public MutableIntPair(int first, int second) {
+        set(first, second);
+    }
+
+    /**
+     * Sets both values
+     * @param first     the first value
+     * @param second    the second value
+     * @return          this pair
+     */
+    public MutableIntPair set(int first, int second) {
+        this.first = first;
+        this.second = second;
+        this.hashed = false;
+
+        return this;
+    }
+
+    /**
+     * Sets the first value
+     * @param first the first value
+     * @return      this pair
+     */
+    public MutableIntPair setFirst(int first) {
+        return set(first, second);
+    }
+
+    /**
+     * Sets the second value
+     * @param second    the second value
+     * @return          this pair
+     */
+    public MutableIntPair setSecond(int second) {
+        return set(first, second);
+    }
+
+    /**
+     * Gets the first value
+     * @return  the first value
+     */
+    public int first() {
+        return first;
+    }
+
+    /**
+     * Gets the second value
+     * @return  the second value
+     */
+    public int second() {
+        return second;
+    }
+
+    @Override
+    public int size() {
+        return 2;
+    }
+
+    @Override
+    public Object get(int i) {
+        switch (i) {
+            case 0: return first;
+            case 1: return second;
+            default: throw new IndexOutOfBoundsException("Index: " + i + ", Size: 2");
+        }
+    }
+
+    @Override
+    public Class<? extends Number> getType(int i) {
+        get(i);
+        return Integer.class;
+    }
+
+    /**
+     * Copies the current values into an immutable pair
+     * @return  the pair
+     */
+    public IntPair toImmutable() {
+        return new IntPair(first, second);
+    }
+
+    /**
+     * Copies the current values into a boxed {@link Pair}
+     * @return  the pair
+     */
+    public Pair<Integer, Integer> toPair() {
+        return new Pair<>(first, second);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof MutableIntPair) {
+            MutableIntPair other = (MutableIntPair) o;
+            return first == other.first && second == other.second;
+        }
+
+        if (o instanceof IntPair) return o.equals(this);
+
+        return o instanceof TupleView && Tuples.equals(this, (TupleView) o);
+    }
+
+    @Override
+    public int hashCode() {
+        if (! hashed) {
+            hash = IntPair.hash(first, second);
+            hashed = true;
+        }
+
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + first + ", " + second + "]";
+    }
+}
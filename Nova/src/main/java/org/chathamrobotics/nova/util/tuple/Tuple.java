@@ -26,7 +26,7 @@ import java.util.List;
  * }</pre>
  */
 @SuppressWarnings({"WeakerAccess", "unused"})
-public class Tuple implements Cloneable, Serializable, Iterable<Object> {
+public class Tuple implements TupleView, Cloneable, Serializable, Iterable<Object> {
     protected final Object[] values;
 
     /**
@@ -67,6 +67,7 @@ public class Tuple implements Cloneable, Serializable, Iterable<Object> {
      * Returns the size of the tuple. eg. for a {@link Pair} the size would be 2
      * @return  the size of the tuple
      */
+    @Override
     public int size() {
         return values.length;
     }
@@ -76,6 +77,7 @@ public class Tuple implements Cloneable, Serializable, Iterable<Object> {
      * @param i the index of the value
      * @return  the value at the i-th position in the tuple
      */
+    @Override
     public Object get(int i) {
         return values[i];
     }
@@ -85,7 +87,8 @@ public class Tuple implements Cloneable, Serializable, Iterable<Object> {
      * @param i the index of the value
      * @return  the type of the value at the i-th position in the tuple
      */
-    public Class getType(int i) {
+    @Override
+    public Class<?> getType(int i) {
         return values[i].getClass();
     }
 
@@ -134,12 +137,24 @@ public class Tuple implements Cloneable, Serializable, Iterable<Object> {
     }
 
     /**
-     * Checks whether or not the given object is equal to this tuple
+     * Checks whether or not the given object is equal to this tuple. Primitive tuples holding the
+     * same values are equal
      * @param o the object to check
      * @return  whether or not the given object is equal to this tuple
      */
     @Override
     public boolean equals(Object o) {
-        return o instanceof Tuple && Arrays.equals(values, ((Tuple) o).values);
+        if (o instanceof Tuple) return Arrays.equals(values, ((Tuple) o).values);
+
+        return o instanceof TupleView && Tuples.equals(this, (TupleView) o);
+    }
+
+    /**
+     * Gets the hash code of the tuple's values
+     * @return  the hash code
+     */
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
     }
 }
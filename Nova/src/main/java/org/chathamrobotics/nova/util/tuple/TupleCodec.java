@@ -0,0 +1,338 @@
+package org.chathamrobotics.nova.util.tuple;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compact binary format for tuples and the values they hold. Every value is written as a one
+ * byte type tag followed by its data, so a reader needs no schema and no reflection. Supports null,
+ * the primitive wrappers, strings, registered enums and nested tuples. Primitive tuples are written
+ * without boxing.
+ *
+ * Enums are written as a registration id and an ordinal, so the reader has to register the same
+ * enums in the same order as the writer.
+ *
+ * Usage:
+ * <pre>{@code
+ *      TupleCodec codec = new TupleCodec();
+ *      codec.register(Side.class);
+ *
+ *      ByteBuffer buffer = ByteBuffer.allocate(4096);
+ *      codec.write(buffer, DoublePair.with(power, heading));
+ *      codec.write(buffer, Pair.with(Side.LEFT, "ready"));
+ *
+ *      buffer.flip();
+ *      channel.write(buffer);
+ * }</pre>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class TupleCodec {
+    ////////// TYPE TAGS ///////////
+    private static final byte NULL = 0;
+    private static final byte BOOLEAN = 1;
+    private static final byte BYTE = 2;
+    private static final byte SHORT = 3;
+    private static final byte CHAR = 4;
+    private static final byte INT = 5;
+    private static final byte LONG = 6;
+    private static final byte FLOAT = 7;
+    private static final byte DOUBLE = 8;
+    private static final byte STRING = 9;
+    private static final byte ENUM = 10;
+    private static final byte TUPLE = 11;
+    private static final byte PAIR = 12;
+    private static final byte TRIPLET = 13;
+    private static final byte INT_PAIR = 14;
+    private static final byte DOUBLE_PAIR = 15;
+    private static final byte DOUBLE_TRIPLET = 16;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    ////////// FIELDS ///////////
+    private final List<Enum<?>[]> enumConstants = new ArrayList<>();
+    private final Map<Class<?>, Integer> enumIds = new HashMap<>();
+
+    /**
+     * Registers an enum so its values can be written and read
+     * @param enumClass the enum's class
+     * @param <E>       the type of the enum
+     * @return          the enum's id
+     */
+    public synchronized <E extends Enum<E>> int register(Class<E> enumClass) {
+        Integer id = enumIds.get(enumClass);
+        if (id != null) return id;
+
+        if (enumConstants.size() > Short.MAX_VALUE) throw new IllegalStateException("Too many enums registered");
+
+        enumConstants.add(enumClass.getEnumConstants());
+        enumIds.put(enumClass, enumConstants.size() - 1);
+
+        return enumConstants.size() - 1;
+    }
+
+    ////////// WRITING ///////////
+
+    /**
+     * Writes a tuple to the buffer
+     * @param buffer    the buffer to write to
+     * @param tuple     the tuple to write
+     * @throws IllegalArgumentException             thrown if the tuple holds a value that cannot be written
+     * @throws java.nio.BufferOverflowException     thrown if the buffer does not have room for the tuple
+     */
+    public void write(ByteBuffer buffer, TupleView tuple) {
+        writeValue(buffer, tuple);
+    }
+
+    /**
+     * Writes a single value to the buffer, such as a telemetry value
+     * @param buffer    the buffer to write to
+     * @param value     the value to write
+     * @throws IllegalArgumentException             thrown if the value cannot be written
+     * @throws java.nio.BufferOverflowException     thrown if the buffer does not have room for the value
+     */
+    public void writeValue(ByteBuffer buffer, Object value) {
+        if (value == null) {
+            buffer.put(NULL);
+        } else if (value instanceof Double) {
+            buffer.put(DOUBLE).putDouble((Double) value);
+        } else if (value instanceof Integer) {
+            buffer.put(INT).putInt((Integer) value);
+        } else if (value instanceof String) {
+            writeString(buffer.put(STRING), (String) value);
+        } else if (value instanceof Boolean) {
+            buffer.put(BOOLEAN).put((byte) ((Boolean) value ? 1 : 0));
+        } else if (value instanceof Long) {
+            buffer.put(LONG).putLong((Long) value);
+        } else if (value instanceof Float) {
+            buffer.put(FLOAT).putFloat((Float) value);
+        } else if (value instanceof Short) {
+            buffer.put(SHORT).putShort((Short) value);
+        } else if (value instanceof Byte) {
+            buffer.put(BYTE).put((Byte) value);
+        } else if (value instanceof Character) {
+            buffer.put(CHAR).putChar((Character) value);
+        } else if (value instanceof Enum) {
+            buffer.put(ENUM).putShort((short) enumId((Enum<?>) value)).putShort((short) ((Enum<?>) value).ordinal());
+        } else if (value instanceof DoublePair) {
+            DoublePair pair = (DoublePair) value;
+            buffer.put(DOUBLE_PAIR).putDouble(pair.first()).putDouble(pair.second());
+        } else if (value instanceof MutableDoublePair) {
+            MutableDoublePair pair = (MutableDoublePair) value;
+            buffer.put(DOUBLE_PAIR).putDouble(pair.first()).putDouble(pair.second());
+        } else if (value instanceof IntPair) {
+            IntPair pair = (IntPair) value;
+            buffer.put(INT_PAIR).putInt(pair.first()).putInt(pair.second());
+        } else if (value instanceof MutableIntPair) {
+            MutableIntPair pair = (MutableIntPair) value;
+            buffer.put(INT_PAIR).putInt(pair.first()).putInt(pair.second());
+        } else if (value instanceof DoubleTriplet) {
+            DoubleTriplet triplet = (DoubleTriplet) value;
+            buffer.put(DOUBLE_TRIPLET).putDouble(triplet.first()).putDouble(triplet.second()).putDouble(triplet.third());
+        } else if (value instanceof MutableDoubleTriplet) {
+            MutableDoubleTriplet triplet = (MutableDoubleTriplet) value;
+            buffer.put(DOUBLE_TRIPLET).putDouble(triplet.first()).putDouble(triplet.second()).putDouble(triplet.third());
+        } else if (value instanceof Pair) {
+            buffer.put(PAIR);
+            writeValue(buffer, ((Pair) value).first());
+            writeValue(buffer, ((Pair) value).second());
+        } else if (value instanceof Triplet) {
+            buffer.put(TRIPLET);
+            writeValue(buffer, ((Triplet) value).first());
+            writeValue(buffer, ((Triplet) value).second());
+            writeValue(buffer, ((Triplet) value).third());
+        } else if (value instanceof TupleView) {
+            TupleView tuple = (TupleView) value;
+            buffer.put(TUPLE).putInt(tuple.size());
+
+            for (int i = 0; i < tuple.size(); i++) writeValue(buffer, tuple.get(i));
+        } else {
+            throw new IllegalArgumentException("Cannot encode values of type " + value.getClass().getName());
+        }
+    }
+
+    /**
+     * Calculates the number of bytes {@link #writeValue(ByteBuffer, Object)} would write
+     * @param value the value to measure
+     * @return      the encoded size in bytes
+     * @throws IllegalArgumentException thrown if the value cannot be written
+     */
+    public int sizeOf(Object value) {
+        if (value == null) return 1;
+        if (value instanceof Double || value instanceof Long) return 9;
+        if (value instanceof Integer || value instanceof Float) return 5;
+        if (value instanceof String) return 5 + utf8Length((String) value);
+        if (value instanceof Boolean || value instanceof Byte) return 2;
+        if (value instanceof Short || value instanceof Character) return 3;
+        if (value instanceof Enum) {
+            enumId((Enum<?>) value);
+            return 5;
+        }
+        if (value instanceof DoublePair || value instanceof MutableDoublePair) return 17;
+        if (value instanceof IntPair || value instanceof MutableIntPair) return 9;
+        if (value instanceof DoubleTriplet || value instanceof MutableDoubleTriplet) return 25;
+
+        if (value instanceof TupleView) {
+            TupleView tuple = (TupleView) value;
+
+            // pairs and triplets do not need a length
+            int size = value instanceof Pair || value instanceof Triplet ? 1 : 5;
+            for (int i = 0; i < tuple.size(); i++) size += sizeOf(tuple.get(i));
+
+            return size;
+        }
+
+        throw new IllegalArgumentException("Cannot encode values of type " + value.getClass().getName());
+    }
+
+    // encodes directly into the buffer, String.getBytes allocates an encoder and a copy
+    private static void writeString(ByteBuffer buffer, String string) {
+        buffer.putInt(utf8Length(string));
+
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xc0 | c >> 6)).put((byte) (0x80 | c & 0x3f));
+            } else if (c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE) {
+                if (isSurrogatePair(string, i)) {
+                    int codePoint = Character.toCodePoint(c, string.charAt(++i));
+
+                    buffer.put((byte) (0xf0 | codePoint >> 18))
+                            .put((byte) (0x80 | codePoint >> 12 & 0x3f))
+                            .put((byte) (0x80 | codePoint >> 6 & 0x3f))
+                            .put((byte) (0x80 | codePoint & 0x3f));
+                } else {
+                    buffer.put((byte) '?');
+                }
+            } else {
+                buffer.put((byte) (0xe0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3f)).put((byte) (0x80 | c & 0x3f));
+            }
+        }
+    }
+
+    private static int utf8Length(String string) {
+        int length = 0;
+
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE) {
+                // unpaired surrogates are replaced with '?' like String.getBytes does
+                if (isSurrogatePair(string, i)) {
+                    length += 4;
+                    i++;
+                } else {
+                    length += 1;
+                }
+            } else {
+                length += 3;
+            }
+        }
+
+        return length;
+    }
+
+    private static boolean isSurrogatePair(String string, int i) {
+        return Character.isHighSurrogate(string.charAt(i))
+                && i + 1 < string.length()
+                && Character.isLowSurrogate(string.charAt(i + 1));
+    }
+
+    ////////// READING ///////////
+
+    /**
+     * Reads a tuple from the buffer. Pairs and triplets are read back as {@link Pair} and
+     * {@link Triplet}, and primitive tuples as their immutable type
+     * @param buffer    the buffer to read from
+     * @return          the tuple
+     * @throws IllegalArgumentException             thrown if the next value in the buffer is not a tuple or is malformed
+     * @throws java.nio.BufferUnderflowException    thrown if the buffer ends in the middle of the tuple
+     */
+    public TupleView read(ByteBuffer buffer) {
+        int position = buffer.position();
+        Object value = readValue(buffer);
+
+        if (value instanceof TupleView) return (TupleView) value;
+
+        buffer.position(position);
+        throw new IllegalArgumentException("Expected a tuple but found " + value);
+    }
+
+    /**
+     * Reads a single value from the buffer
+     * @param buffer    the buffer to read from
+     * @return          the value
+     * @throws IllegalArgumentException             thrown if the value is malformed
+     * @throws java.nio.BufferUnderflowException    thrown if the buffer ends in the middle of the value
+     */
+    public Object readValue(ByteBuffer buffer) {
+        byte tag = buffer.get();
+
+        switch (tag) {
+            case NULL: return null;
+            case BOOLEAN: return buffer.get() != 0;
+            case BYTE: return buffer.get();
+            case SHORT: return buffer.getShort();
+            case CHAR: return buffer.getChar();
+            case INT: return buffer.getInt();
+            case LONG: return buffer.getLong();
+            case FLOAT: return buffer.getFloat();
+            case DOUBLE: return buffer.getDouble();
+            case STRING: return readString(buffer);
+            case ENUM: return readEnum(buffer);
+            case PAIR: return new Pair<>(readValue(buffer), readValue(buffer));
+            case TRIPLET: return new Triplet<>(readValue(buffer), readValue(buffer), readValue(buffer));
+            case INT_PAIR: return new IntPair(buffer.getInt(), buffer.getInt());
+            case DOUBLE_PAIR: return new DoublePair(buffer.getDouble(), buffer.getDouble());
+            case DOUBLE_TRIPLET: return new DoubleTriplet(buffer.getDouble(), buffer.getDouble(), buffer.getDouble());
+            case TUPLE:
+                int size = buffer.getInt();
+                if (size < 0 || size > buffer.remaining()) throw new IllegalArgumentException("Bad tuple size " + size);
+
+                Object[] values = new Object[size];
+                for (int i = 0; i < size; i++) values[i] = readValue(buffer);
+
+                return new Tuple(values);
+            default:
+                throw new IllegalArgumentException("Unknown type tag " + tag + " at " + (buffer.position() - 1));
+        }
+    }
+
+    private String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) throw new IllegalArgumentException("Bad string length " + length);
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+
+        return new String(bytes, UTF_8);
+    }
+
+    private synchronized Enum<?> readEnum(ByteBuffer buffer) {
+        int id = buffer.getShort(), ordinal = buffer.getShort();
+
+        if (id < 0 || id >= enumConstants.size()) throw new IllegalArgumentException("Unregistered enum id " + id);
+
+        Enum<?>[] constants = enumConstants.get(id);
+        if (ordinal < 0 || ordinal >= constants.length) throw new IllegalArgumentException("Bad enum ordinal " + ordinal);
+
+        return constants[ordinal];
+    }
+
+    private synchronized int enumId(Enum<?> value) {
+        Integer id = enumIds.get(value.getDeclaringClass());
+        if (id == null) throw new IllegalArgumentException(value.getDeclaringClass().getName() + " has not been registered");
+
+        return id;
+    }
+}
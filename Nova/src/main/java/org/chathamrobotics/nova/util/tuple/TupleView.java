@@ -0,0 +1,29 @@
+package org.chathamrobotics.nova.util.tuple;
+
+/**
+ * Read access to the values of a tuple by index. Implemented by {@link Tuple} and the primitive
+ * tuples, so that a {@link DoublePair} equals a {@link Pair} holding the same values and has the
+ * same hash code.
+ */
+public interface TupleView {
+    /**
+     * Returns the size of the tuple
+     * @return  the size of the tuple
+     */
+    int size();
+
+    /**
+     * Gets the value at the i-th position in the tuple starting at 0. Primitive tuples box the value
+     * @param i the index of the value
+     * @return  the value at the i-th position in the tuple
+     */
+    Object get(int i);
+
+    /**
+     * Gets the type of the value at the i-th position in the tuple starting at 0. Primitive tuples
+     * return the wrapper type
+     * @param i the index of the value
+     * @return  the type of the value at the i-th position in the tuple
+     */
+    Class<?> getType(int i);
+}
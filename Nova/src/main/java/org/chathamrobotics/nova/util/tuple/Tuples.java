@@ -0,0 +1,47 @@
+package org.chathamrobotics.nova.util.tuple;
+
+/**
+ * Equality and hashing shared by the tuples
+ */
+final class Tuples {
+    /**
+     * Hashes a double the same way {@link Double#hashCode()} does, without boxing it
+     * @param value the value to hash
+     * @return      the hash
+     */
+    static int hash(double value) {
+        long bits = Double.doubleToLongBits(value);
+
+        return (int) (bits ^ (bits >>> 32));
+    }
+
+    /**
+     * Compares doubles the same way {@link Double#equals(Object)} does, without boxing them
+     * @param a the first value
+     * @param b the second value
+     * @return  whether the values are equal
+     */
+    static boolean equals(double a, double b) {
+        return Double.doubleToLongBits(a) == Double.doubleToLongBits(b);
+    }
+
+    /**
+     * Compares two tuples value by value, boxing primitives
+     * @param a the first tuple
+     * @param b the second tuple
+     * @return  whether the tuples hold equal values
+     */
+    static boolean equals(TupleView a, TupleView b) {
+        if (a.size() != b.size()) return false;
+
+        for (int i = 0; i < a.size(); i++) {
+            Object x = a.get(i), y = b.get(i);
+
+            if (x == null ? y != null : ! x.equals(y)) return false;
+        }
+
+        return true;
+    }
+
+    private Tuples() {}
+}
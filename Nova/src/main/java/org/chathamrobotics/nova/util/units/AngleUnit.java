@@ -16,8 +16,6 @@ public enum AngleUnit implements Unit<AngleUnit> {
     DEGREES(360),
     REVOLUTIONS(1);
 
-    private static final double TWO_PI = 2 * Math.PI;
-
     /**
      * Converts the given ftc unit angle to a nova unit angle
      * @param unit  the ftc unit angle
@@ -36,6 +34,18 @@ public enum AngleUnit implements Unit<AngleUnit> {
 
     private final double full;
 
+    // FACTORS[from][to] converts a value in from into to with a single multiply
+    private static final double[][] FACTORS;
+
+    static {
+        AngleUnit[] units = values();
+        FACTORS = new double[units.length][units.length];
+
+        for (AngleUnit from : units)
+            for (AngleUnit to : units)
+                FACTORS[from.ordinal()][to.ordinal()] = from.computeFactor(to);
+    }
+
     AngleUnit(double full) {
         this.full = full;
     }
@@ -103,28 +113,49 @@ public enum AngleUnit implements Unit<AngleUnit> {
     }
 
     /**
-     * Converts a angular value from the current unit to the given unit
+     * Gets the factor that converts values from the current unit into the given unit
+     * @param unit  the unit to convert to
+     * @return      the conversion factor
+     */
+    @Override
+    public double getFactor(AngleUnit unit) {
+        return FACTORS[ordinal()][unit.ordinal()];
+    }
+
+    /**
+     * Converts from the current unit into the given unit
      * @param unit  the unit to convert to
      * @param value the value to convert
      * @return      the converted value
      */
     @Override
     public double convertTo(AngleUnit unit, double value) {
-        if (this == unit) return value;
+        return value * FACTORS[ordinal()][unit.ordinal()];
+    }
 
-        switch (this) {
-            case RADIANS:
-                if (unit == DEGREES) return Math.toDegrees(value);
-                else return value / TWO_PI;
-            case DEGREES:
-                if (unit == RADIANS) return Math.toRadians(value);
-                else return value / 360;
-            case REVOLUTIONS:
-                if (unit == DEGREES) return value * 360;
-                else return value * TWO_PI;
-        }
+    /**
+     * Converts values from the current unit into the given unit
+     * @param unit  the unit to convert to
+     * @param in    the values to convert
+     * @param out   the array to write the converted values to. Can be the same array as in
+     */
+    @Override
+    public void convertTo(AngleUnit unit, double[] in, double[] out) {
+        if (out.length < in.length) throw new IllegalArgumentException("out is shorter than in");
 
-        throw new RuntimeException("Unreachable");
+        double factor = FACTORS[ordinal()][unit.ordinal()];
+        for (int i = 0; i < in.length; i++) out[i] = in[i] * factor;
+    }
+
+    /**
+     * Converts values from the given unit into the current unit
+     * @param unit  the unit to convert from
+     * @param in    the values to convert
+     * @param out   the array to write the converted values to. Can be the same array as in
+     */
+    @Override
+    public void convertFrom(AngleUnit unit, double[] in, double[] out) {
+        unit.convertTo(this, in, out);
     }
 
     /**
@@ -137,4 +168,9 @@ public enum AngleUnit implements Unit<AngleUnit> {
     public double convertFrom(AngleUnit unit, double value) {
         return unit.convertTo(this, value);
     }
+
+    // computes the entries of the factor table
+    private double computeFactor(AngleUnit unit) {
+        return unit.full / full;
+    }
 }
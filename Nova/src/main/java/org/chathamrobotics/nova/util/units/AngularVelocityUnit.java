@@ -18,6 +18,18 @@ public enum AngularVelocityUnit implements Unit<AngularVelocityUnit> {
     private final AngleUnit angleUnit;
     private final TimeUnit timeUnit;
 
+    // FACTORS[from][to] converts a value in from into to with a single multiply
+    private static final double[][] FACTORS;
+
+    static {
+        AngularVelocityUnit[] units = values();
+        FACTORS = new double[units.length][units.length];
+
+        for (AngularVelocityUnit from : units)
+            for (AngularVelocityUnit to : units)
+                FACTORS[from.ordinal()][to.ordinal()] = from.computeFactor(to);
+    }
+
     AngularVelocityUnit(AngleUnit angleUnit, TimeUnit timeUnit) {
         this.angleUnit = angleUnit;
         this.timeUnit = timeUnit;
@@ -159,15 +171,53 @@ public enum AngularVelocityUnit implements Unit<AngularVelocityUnit> {
     }
 
     /**
-     * Converts from the current unit to the given unit
+     * Gets the factor that converts values from the current unit into the given unit
+     * @param unit  the unit to convert to
+     * @return      the conversion factor
+     */
+    @Override
+    public double getFactor(AngularVelocityUnit unit) {
+        return FACTORS[ordinal()][unit.ordinal()];
+    }
+
+    /**
+     * Converts from the current unit into the given unit
      * @param unit  the unit to convert to
      * @param value the value to convert
      * @return      the converted value
      */
     @Override
     public double convertTo(AngularVelocityUnit unit, double value) {
-        if (unit == this) return value;
+        return value * FACTORS[ordinal()][unit.ordinal()];
+    }
+
+    /**
+     * Converts values from the current unit into the given unit
+     * @param unit  the unit to convert to
+     * @param in    the values to convert
+     * @param out   the array to write the converted values to. Can be the same array as in
+     */
+    @Override
+    public void convertTo(AngularVelocityUnit unit, double[] in, double[] out) {
+        if (out.length < in.length) throw new IllegalArgumentException("out is shorter than in");
+
+        double factor = FACTORS[ordinal()][unit.ordinal()];
+        for (int i = 0; i < in.length; i++) out[i] = in[i] * factor;
+    }
+
+    /**
+     * Converts values from the given unit into the current unit
+     * @param unit  the unit to convert from
+     * @param in    the values to convert
+     * @param out   the array to write the converted values to. Can be the same array as in
+     */
+    @Override
+    public void convertFrom(AngularVelocityUnit unit, double[] in, double[] out) {
+        unit.convertTo(this, in, out);
+    }
 
-        return timeUnit.convertFrom(unit.timeUnit, angleUnit.convertTo(unit.angleUnit, value));
+    // computes the entries of the factor table
+    private double computeFactor(AngularVelocityUnit unit) {
+        return angleUnit.getFactor(unit.angleUnit) / timeUnit.getFactor(unit.timeUnit);
     }
 }
@@ -21,4 +21,27 @@ public interface Unit<U extends Unit> {
      * @return      the converted value
      */
     double convertFrom(U unit, double value);
+
+    /**
+     * Gets the factor that converts values from the current unit to the given unit
+     * @param unit  the unit to convert to
+     * @return      the conversion factor
+     */
+    double getFactor(U unit);
+
+    /**
+     * Converts values from the current unit to the given unit
+     * @param unit  the unit to convert to
+     * @param in    the values to convert
+     * @param out   the array to write the converted values to. Can be the same array as in
+     */
+    void convertTo(U unit, double[] in, double[] out);
+
+    /**
+     * Converts values from the given unit to the current unit
+     * @param unit  the unit to convert from
+     * @param in    the values to convert
+     * @param out   the array to write the converted values to. Can be the same array as in
+     */
+    void convertFrom(U unit, double[] in, double[] out);
 }
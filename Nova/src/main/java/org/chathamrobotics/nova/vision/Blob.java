@@ -0,0 +1,83 @@
+package org.chathamrobotics.nova.vision;
+
+/**
+ * A connected region of pixels that matched a threshold. Positions are in the pixels of the full
+ * size image. Blobs are reused from frame to frame, so they should be read, not kept.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class Blob {
+    int area, left, top, right, bottom;
+    double centerX, centerY;
+
+    /**
+     * Gets the number of pixels in the blob
+     * @return  the area in pixels
+     */
+    public int getArea() {
+        return area;
+    }
+
+    /**
+     * Gets the left edge of the blob's bounding box
+     * @return  the first column in the blob
+     */
+    public int getLeft() {
+        return left;
+    }
+
+    /**
+     * Gets the top edge of the blob's bounding box
+     * @return  the first row in the blob
+     */
+    public int getTop() {
+        return top;
+    }
+
+    /**
+     * Gets the right edge of the blob's bounding box
+     * @return  the column after the last one in the blob
+     */
+    public int getRight() {
+        return right;
+    }
+
+    /**
+     * Gets the bottom edge of the blob's bounding box
+     * @return  the row after the last one in the blob
+     */
+    public int getBottom() {
+        return bottom;
+    }
+
+    /**
+     * Gets the x position of the blob's centroid
+     * @return  the x position in pixels
+     */
+    public double getCenterX() {
+        return centerX;
+    }
+
+    /**
+     * Gets the y position of the blob's centroid
+     * @return  the y position in pixels
+     */
+    public double getCenterY() {
+        return centerY;
+    }
+
+    void set(Blob other) {
+        area = other.area;
+        left = other.left;
+        top = other.top;
+        right = other.right;
+        bottom = other.bottom;
+        centerX = other.centerX;
+        centerY = other.centerY;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Blob(%d px, [%d, %d]-[%d, %d], center (%.1f, %.1f))",
+                area, left, top, right, bottom, centerX, centerY);
+    }
+}
@@ -0,0 +1,84 @@
+package org.chathamrobotics.nova.vision;
+
+import android.support.annotation.NonNull;
+
+/**
+ * An inclusive range of colors in a {@link ColorSpace}, used to threshold pixels. A hue range whose
+ * minimum is greater than its maximum wraps around, so reds can be matched with 340 to 20.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class ColorRange {
+    /**
+     * Creates a range of rgb colors
+     * @param minRed    the minimum red
+     * @param maxRed    the maximum red
+     * @param minGreen  the minimum green
+     * @param maxGreen  the maximum green
+     * @param minBlue   the minimum blue
+     * @param maxBlue   the maximum blue
+     * @return          the range
+     */
+    public static ColorRange rgb(int minRed, int maxRed, int minGreen, int maxGreen, int minBlue, int maxBlue) {
+        return new ColorRange(ColorSpace.RGB, minRed, maxRed, minGreen, maxGreen, minBlue, maxBlue);
+    }
+
+    /**
+     * Creates a range of hsv colors
+     * @param minHue        the minimum hue in degrees
+     * @param maxHue        the maximum hue in degrees. Less than the minimum to wrap through 0
+     * @param minSaturation the minimum saturation, 0 to 255
+     * @param maxSaturation the maximum saturation, 0 to 255
+     * @param minValue      the minimum value, 0 to 255
+     * @param maxValue      the maximum value, 0 to 255
+     * @return              the range
+     */
+    public static ColorRange hsv(int minHue, int maxHue, int minSaturation, int maxSaturation, int minValue, int maxValue) {
+        return new ColorRange(ColorSpace.HSV, minHue, maxHue, minSaturation, maxSaturation, minValue, maxValue);
+    }
+
+    public final ColorSpace space;
+
+    private final int min1, max1, min2, max2, min3, max3;
+    private final boolean wraps;
+
+    private ColorRange(@NonNull ColorSpace space, int min1, int max1, int min2, int max2, int min3, int max3) {
+        if (min2 > max2 || min3 > max3 || (space == ColorSpace.RGB && min1 > max1))
+            throw new IllegalArgumentException("The minimum of a channel must not be greater than its maximum");
+
+        this.space = space;
+        this.min1 = min1;
+        this.max1 = max1;
+        this.min2 = min2;
+        this.max2 = max2;
+        this.min3 = min3;
+        this.max3 = max3;
+        this.wraps = min1 > max1;
+    }
+
+    /**
+     * Checks whether an rgb color is in the range
+     * @param rgb   the color as 0xRRGGBB
+     * @return      whether the color is in the range
+     */
+    public boolean containsRgb(int rgb) {
+        return contains(space.convert(rgb));
+    }
+
+    /**
+     * Checks whether a color already converted into the range's space is in the range
+     * @param color the packed color
+     * @return      whether the color is in the range
+     */
+    public boolean contains(int color) {
+        int c1 = ColorSpace.first(color), c2 = ColorSpace.second(color), c3 = ColorSpace.third(color);
+
+        boolean inFirst = wraps ? c1 >= min1 || c1 <= max1 : c1 >= min1 && c1 <= max1;
+
+        return inFirst && c2 >= min2 && c2 <= max2 && c3 >= min3 && c3 <= max3;
+    }
+
+    @Override
+    public String toString() {
+        return space + " [" + min1 + "-" + max1 + ", " + min2 + "-" + max2 + ", " + min3 + "-" + max3 + "]";
+    }
+}
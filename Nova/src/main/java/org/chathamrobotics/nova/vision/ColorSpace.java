@@ -0,0 +1,78 @@
+package org.chathamrobotics.nova.vision;
+
+/**
+ * Color spaces that pixels can be converted into before thresholding. Colors in every space are
+ * packed into an int with the first channel in bits 16 and up, the second in bits 8 to 15 and the
+ * third in bits 0 to 7.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public enum ColorSpace {
+    /**
+     * Red, green and blue, each 0 to 255
+     */
+    RGB,
+    /**
+     * Hue 0 to 359 degrees, saturation 0 to 255 and value 0 to 255. Better than rgb for picking
+     * out a color under changing lighting
+     */
+    HSV;
+
+    /**
+     * Converts a color from rgb into this space
+     * @param rgb   the color as 0xRRGGBB
+     * @return      the packed color in this space
+     */
+    public int convert(int rgb) {
+        return this == RGB ? rgb : hsv(rgb);
+    }
+
+    /**
+     * Gets the first channel of a packed color
+     * @param color the packed color
+     * @return      the red or hue
+     */
+    public static int first(int color) {
+        return color >>> 16;
+    }
+
+    /**
+     * Gets the second channel of a packed color
+     * @param color the packed color
+     * @return      the green or saturation
+     */
+    public static int second(int color) {
+        return color >>> 8 & 0xff;
+    }
+
+    /**
+     * Gets the third channel of a packed color
+     * @param color the packed color
+     * @return      the blue or value
+     */
+    public static int third(int color) {
+        return color & 0xff;
+    }
+
+    /**
+     * Converts a color from rgb to hsv using integer math
+     * @param rgb   the color as 0xRRGGBB
+     * @return      the packed hsv color
+     */
+    public static int hsv(int rgb) {
+        int r = rgb >>> 16 & 0xff, g = rgb >>> 8 & 0xff, b = rgb & 0xff;
+        int max = Math.max(r, Math.max(g, b));
+        int delta = max - Math.min(r, Math.min(g, b));
+
+        int hue;
+        if (delta == 0) hue = 0;
+        else if (max == r) hue = 60 * (g - b) / delta;
+        else if (max == g) hue = 120 + 60 * (b - r) / delta;
+        else hue = 240 + 60 * (r - g) / delta;
+
+        if (hue < 0) hue += 360;
+
+        int saturation = max == 0 ? 0 : 255 * delta / max;
+
+        return hue << 16 | saturation << 8 | max;
+    }
+}
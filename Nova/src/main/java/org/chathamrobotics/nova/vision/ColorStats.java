@@ -0,0 +1,200 @@
+package org.chathamrobotics.nova.vision;
+
+import android.support.annotation.NonNull;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Color statistics of a {@link Region} of an image: the mean color and a histogram of hues. They
+ * are measured in one pass straight from the image's buffer without copying it. Instances are
+ * reused by measuring again.
+ *
+ * Usage:
+ * <pre>{@code
+ *      ColorStats stats = new ColorStats();
+ *      Region left = new Region(0, 200, 200, 80, 2);
+ *
+ *      // for each frame
+ *      stats.measure(image, left);
+ *      boolean gold = Math.abs(stats.getDominantHue() - 45) < 15;
+ * }</pre>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class ColorStats {
+    /**
+     * The number of bins in the hue histogram
+     */
+    public static final int HUE_BINS = 36;
+
+    /**
+     * The number of degrees of hue in each bin
+     */
+    public static final int HUE_BIN_SIZE = 360 / HUE_BINS;
+
+    private final int[] hueHistogram = new int[HUE_BINS];
+
+    private int minSaturation = 64, minValue = 64;
+    private int count, coloredCount;
+    private long sumRed, sumGreen, sumBlue;
+
+    // ACCESSORS
+
+    /**
+     * Sets how colorful a pixel must be for its hue to be counted. The hue of grays, whites and
+     * blacks is meaningless so they are left out of the histogram
+     * @param minSaturation the minimum saturation, 0 to 255
+     * @param minValue      the minimum value, 0 to 255
+     */
+    public void setColorThreshold(int minSaturation, int minValue) {
+        this.minSaturation = minSaturation;
+        this.minValue = minValue;
+    }
+
+    /**
+     * Gets the number of pixels sampled
+     * @return  the number of pixels
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the number of sampled pixels colorful enough for their hue to be counted
+     * @return  the number of colored pixels
+     */
+    public int getColoredCount() {
+        return coloredCount;
+    }
+
+    /**
+     * Gets the share of the sampled pixels that were colorful enough for their hue to be counted
+     * @return  the share, 0 to 1
+     */
+    public double getColoredFraction() {
+        return count == 0 ? 0 : (double) coloredCount / count;
+    }
+
+    /**
+     * Gets the mean red
+     * @return  the mean red, 0 to 255
+     */
+    public double getMeanRed() {
+        return count == 0 ? 0 : (double) sumRed / count;
+    }
+
+    /**
+     * Gets the mean green
+     * @return  the mean green, 0 to 255
+     */
+    public double getMeanGreen() {
+        return count == 0 ? 0 : (double) sumGreen / count;
+    }
+
+    /**
+     * Gets the mean blue
+     * @return  the mean blue, 0 to 255
+     */
+    public double getMeanBlue() {
+        return count == 0 ? 0 : (double) sumBlue / count;
+    }
+
+    /**
+     * Gets the mean color
+     * @return  the mean color as 0xRRGGBB
+     */
+    public int getMeanRgb() {
+        if (count == 0) return 0;
+
+        return (int) (sumRed / count) << 16 | (int) (sumGreen / count) << 8 | (int) (sumBlue / count);
+    }
+
+    /**
+     * Gets the number of colored pixels in a bin of the hue histogram
+     * @param bin   the bin. Bin n holds hues from n * {@link #HUE_BIN_SIZE} up to the next bin
+     * @return      the number of pixels
+     */
+    public int getHueCount(int bin) {
+        return hueHistogram[bin];
+    }
+
+    /**
+     * Copies the hue histogram
+     * @param out   the array to copy into. Must have a length of at least {@link #HUE_BINS}
+     * @return      the array
+     */
+    public int[] getHueHistogram(int[] out) {
+        System.arraycopy(hueHistogram, 0, out, 0, HUE_BINS);
+
+        return out;
+    }
+
+    /**
+     * Gets the most common hue of the colored pixels
+     * @return  the center of the fullest bin in degrees. -1 if no pixels were colored
+     */
+    public int getDominantHue() {
+        if (coloredCount == 0) return -1;
+
+        int dominant = 0;
+        for (int bin = 1; bin < HUE_BINS; bin++) if (hueHistogram[bin] > hueHistogram[dominant]) dominant = bin;
+
+        return dominant * HUE_BIN_SIZE + HUE_BIN_SIZE / 2;
+    }
+
+    // BEHAVIOR
+
+    /**
+     * Measures the colors in a region of an image, replacing the last measurement
+     * @param image     the image
+     * @param region    the region to measure. Parts outside of the image are ignored
+     * @return          these stats
+     */
+    public ColorStats measure(@NonNull ImageView image, @NonNull Region region) {
+        reset();
+
+        ByteBuffer pixels = image.getPixels();
+        PixelFormat format = image.getFormat();
+
+        int right = region.right(image), bottom = region.bottom(image), step = region.step;
+        int offsetStep = step * format.bytesPerPixel;
+
+        for (int y = region.top; y < bottom; y += step) {
+            int offset = image.offset(region.left, y);
+
+            for (int x = region.left; x < right; x += step, offset += offsetStep) {
+                add(format.rgb(pixels, offset));
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Clears the measurement
+     */
+    public void reset() {
+        count = coloredCount = 0;
+        sumRed = sumGreen = sumBlue = 0;
+        Arrays.fill(hueHistogram, 0);
+    }
+
+    private void add(int rgb) {
+        count++;
+        sumRed += rgb >>> 16 & 0xff;
+        sumGreen += rgb >>> 8 & 0xff;
+        sumBlue += rgb & 0xff;
+
+        int hsv = ColorSpace.hsv(rgb);
+        if (ColorSpace.second(hsv) < minSaturation || ColorSpace.third(hsv) < minValue) return;
+
+        coloredCount++;
+        hueHistogram[ColorSpace.first(hsv) / HUE_BIN_SIZE]++;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ColorStats(%d px, mean #%06x, %.0f%% colored, hue %d)",
+                count, getMeanRgb(), getColoredFraction() * 100, getDominantHue());
+    }
+}
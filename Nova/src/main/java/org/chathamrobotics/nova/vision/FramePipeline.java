@@ -0,0 +1,323 @@
+package org.chathamrobotics.nova.vision;
+
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import org.chathamrobotics.nova.metrics.Counter;
+import org.chathamrobotics.nova.metrics.LatencyHistogram;
+import org.chathamrobotics.nova.metrics.MetricsRegistry;
+
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Takes frames from a queue on its own thread and passes each to the registered processors in the
+ * order they were added. Every frame is closed once the processors are done with it, so processors
+ * must not keep a frame after returning.
+ *
+ * In {@link Mode#LATEST} only the newest frame in the queue is processed and the frames it
+ * supersedes are closed straight away, so a slow processor never works on a stale frame. In
+ * {@link Mode#QUEUE} every frame is processed in order.
+ *
+ * The queue is only read while there are processors, so it can still be read directly when the
+ * pipeline is not in use.
+ * @param <F>   the type of frame
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class FramePipeline<F> {
+    private static final String TAG = FramePipeline.class.getSimpleName();
+    private static final long POLL_TIMEOUT = 100;
+    // shared by every pipeline as an empty array is never written to
+    private static final Processor<?>[] NO_PROCESSORS = new Processor<?>[0];
+
+    /**
+     * Processes a frame
+     * @param <F>   the type of frame
+     */
+    public interface Processor<F> {
+        /**
+         * Processes the frame. The frame is closed after this returns
+         * @param frame         the frame
+         * @throws Exception    thrown if the frame could not be processed. Logged and the next processor is run
+         */
+        void process(F frame) throws Exception;
+    }
+
+    /**
+     * A processor that holds resources, like threads, that are freed when it is removed from the
+     * pipeline
+     * @param <F>   the type of frame
+     */
+    public interface CloseableProcessor<F> extends Processor<F> {
+        /**
+         * Frees the processor's resources. It is not used afterwards. Can be called while the
+         * pipeline's thread is still processing a frame with it, so it should wait for that frame
+         */
+        void close();
+    }
+
+    /**
+     * Frees a frame
+     * @param <F>   the type of frame
+     */
+    public interface Closer<F> {
+        /**
+         * Closes the frame
+         * @param frame the frame
+         */
+        void close(F frame);
+    }
+
+    /**
+     * How frames that arrive while a frame is being processed are handled
+     */
+    public enum Mode {
+        /**
+         * Every frame is processed in order
+         */
+        QUEUE,
+        /**
+         * Only the newest frame is processed. The frames it superseded are closed without being processed
+         */
+        LATEST
+    }
+
+    private final String name;
+    private final Closer<F> closer;
+
+    private final LatencyHistogram processLatency;
+    private final Counter processedFrames;
+    private final Counter droppedFrames;
+    private final Counter errors;
+
+    private volatile BlockingQueue<F> source;
+    private volatile Mode mode = Mode.LATEST;
+    private volatile Processor<F>[] processors = noProcessors();
+
+    private Thread thread;
+
+    /**
+     * Creates a new instance of {@link FramePipeline}
+     * @param name      the name of the pipeline. Used for its thread and metrics
+     * @param closer    frees frames once they are done with
+     */
+    public FramePipeline(@NonNull String name, @NonNull Closer<F> closer) {
+        this.name = name;
+        this.closer = closer;
+
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        this.processLatency = registry.histogram(name + ".process");
+        this.processedFrames = registry.counter(name + ".processed");
+        this.droppedFrames = registry.counter(name + ".dropped");
+        this.errors = registry.counter(name + ".errors");
+    }
+
+    // ACCESSORS
+
+    /**
+     * Sets the queue frames are taken from. Takes effect on the next frame
+     * @param source    the queue. Null to stop taking frames
+     */
+    public void setSource(BlockingQueue<F> source) {
+        this.source = source;
+    }
+
+    /**
+     * Gets the queue frames are taken from
+     * @return  the queue
+     */
+    public BlockingQueue<F> getSource() {
+        return source;
+    }
+
+    /**
+     * Sets how frames that arrive while a frame is being processed are handled
+     * @param mode  the mode. {@link Mode#LATEST} by default
+     */
+    public void setMode(@NonNull Mode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Gets how frames that arrive while a frame is being processed are handled
+     * @return  the mode
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Gets the number of frames closed without being processed in {@link Mode#LATEST}
+     * @return  the number of dropped frames. Zero if metrics are disabled
+     */
+    public long getDroppedFrames() {
+        return droppedFrames.get();
+    }
+
+    /**
+     * Checks whether the pipeline's thread is running
+     * @return  whether the pipeline is running
+     */
+    public synchronized boolean isRunning() {
+        return thread != null && thread.isAlive();
+    }
+
+    // PROCESSORS
+
+    /**
+     * Adds a processor. Frames are passed to processors in the order they were added
+     * @param processor the processor
+     */
+    public synchronized void addProcessor(@NonNull Processor<F> processor) {
+        Processor<F>[] updated = Arrays.copyOf(processors, processors.length + 1);
+        updated[processors.length] = processor;
+        processors = updated;
+
+        notifyAll();
+    }
+
+    /**
+     * Removes a processor, closing it if it is a {@link CloseableProcessor}
+     * @param processor the processor
+     * @return          whether the processor was removed. False if it had not been added
+     */
+    public boolean removeProcessor(@NonNull Processor<F> processor) {
+        synchronized (this) {
+            int index = 0;
+            while (index < processors.length && processors[index] != processor) index++;
+            if (index == processors.length) return false;
+
+            Processor<F>[] updated = Arrays.copyOf(processors, processors.length - 1);
+            System.arraycopy(processors, index + 1, updated, index, processors.length - index - 1);
+            processors = updated;
+        }
+
+        // closed outside the lock as it can wait for the frame being processed
+        close(processor);
+        return true;
+    }
+
+    /**
+     * Removes all the processors, closing the ones that are {@link CloseableProcessor}s
+     * @return  the number of processors removed
+     */
+    public int removeProcessors() {
+        Processor<F>[] removed;
+
+        synchronized (this) {
+            removed = processors;
+            processors = noProcessors();
+        }
+
+        for (Processor<F> processor : removed) close(processor);
+        return removed.length;
+    }
+
+    // BEHAVIOR
+
+    /**
+     * Starts processing frames on the pipeline's own thread
+     */
+    public synchronized void start() {
+        if (isRunning()) throw new IllegalStateException("The frame pipeline is already running");
+
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    while (! Thread.currentThread().isInterrupted()) {
+                        awaitProcessors();
+                        processNext(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+                    }
+                } catch (InterruptedException e) {
+                    // stopped
+                }
+
+                Log.d(TAG, "Stopped " + name);
+            }
+        }, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the pipeline's thread and waits for it to finish the frame it is processing
+     * @throws InterruptedException thrown if interrupted while waiting
+     */
+    public void stop() throws InterruptedException {
+        Thread stopping;
+
+        synchronized (this) {
+            if (thread == null) return;
+
+            stopping = thread;
+            thread = null;
+        }
+
+        stopping.interrupt();
+        stopping.join();
+    }
+
+    /**
+     * Takes the next frame from the queue and passes it to the processors. Called by the
+     * pipeline's thread, or directly to run the pipeline without one
+     * @param timeout               the maximum time to wait for a frame
+     * @param unit                  the unit of the timeout
+     * @return                      whether a frame was processed
+     * @throws InterruptedException thrown if interrupted while waiting for a frame
+     */
+    public boolean processNext(long timeout, TimeUnit unit) throws InterruptedException {
+        BlockingQueue<F> queue = source;
+        if (queue == null) {
+            unit.sleep(timeout);
+            return false;
+        }
+
+        F frame = queue.poll(timeout, unit);
+        if (frame == null) return false;
+
+        if (mode == Mode.LATEST) {
+            F newer;
+
+            while ((newer = queue.poll()) != null) {
+                closer.close(frame);
+                droppedFrames.increment();
+                frame = newer;
+            }
+        }
+
+        long start = processLatency.start();
+
+        try {
+            for (Processor<F> processor : processors) {
+                try {
+                    processor.process(frame);
+                } catch (Exception e) {
+                    errors.increment();
+                    Log.e(TAG, name + " processor failed", e);
+                }
+            }
+        } finally {
+            closer.close(frame);
+        }
+
+        processLatency.stop(start);
+        processedFrames.increment();
+
+        return true;
+    }
+
+    private void close(Processor<F> processor) {
+        if (processor instanceof CloseableProcessor<?>) ((CloseableProcessor<F>) processor).close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <F> Processor<F>[] noProcessors() {
+        return (Processor<F>[]) NO_PROCESSORS;
+    }
+
+    private synchronized void awaitProcessors() throws InterruptedException {
+        while (processors.length == 0) wait();
+    }
+}
@@ -0,0 +1,163 @@
+package org.chathamrobotics.nova.vision;
+
+import android.support.annotation.NonNull;
+
+import com.vuforia.Frame;
+import com.vuforia.Image;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A view of a raw pixel buffer, such as a vuforia {@link Image}'s, that reads pixels in place
+ * without copying them. The view is mutable so one can be reused for every frame.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class ImageView {
+    /**
+     * Allocates a blank image. Used to build synthetic frames
+     * @param width     the width in pixels
+     * @param height    the height in pixels
+     * @param format    the pixel format
+     * @return          the image
+     */
+    public static ImageView allocate(int width, int height, @NonNull PixelFormat format) {
+        int stride = width * format.bytesPerPixel;
+
+        return new ImageView().set(ByteBuffer.allocateDirect(stride * height), width, height, stride, format);
+    }
+
+    private ByteBuffer pixels;
+    private int width, height, stride;
+    private PixelFormat format;
+
+    /**
+     * Points the view at a pixel buffer
+     * @param pixels    the pixels
+     * @param width     the width in pixels
+     * @param height    the height in pixels
+     * @param stride    the number of bytes from the start of one row to the next
+     * @param format    the pixel format
+     * @return          this view
+     */
+    public ImageView set(@NonNull ByteBuffer pixels, int width, int height, int stride, @NonNull PixelFormat format) {
+        if (width <= 0 || height <= 0) throw new IllegalArgumentException("The image must not be empty");
+        if (stride < width * format.bytesPerPixel) throw new IllegalArgumentException("The stride is shorter than a row");
+        if (pixels.capacity() < stride * (height - 1) + width * format.bytesPerPixel)
+            throw new IllegalArgumentException("The buffer is too small for the image");
+
+        this.pixels = pixels;
+        this.width = width;
+        this.height = height;
+        this.stride = stride;
+        this.format = format;
+
+        return this;
+    }
+
+    /**
+     * Points the view at a vuforia image's pixels
+     * @param image the image
+     * @return      whether the image's format is supported. If not the view is unchanged
+     */
+    public boolean set(@NonNull Image image) {
+        PixelFormat format = PixelFormat.fromVuforia(image.getFormat());
+        if (format == null) return false;
+
+        set(image.getPixels(), image.getWidth(), image.getHeight(), image.getStride(), format);
+        return true;
+    }
+
+    /**
+     * Points the view at the first image in a vuforia frame whose format is supported. Vuforia only
+     * includes rgb images if enabled with {@code Vuforia.setFrameFormat}
+     * @param frame the frame
+     * @return      whether the frame had a supported image. If not the view is unchanged
+     */
+    public boolean set(@NonNull Frame frame) {
+        for (int i = 0; i < frame.getNumImages(); i++) if (set(frame.getImage(i))) return true;
+
+        return false;
+    }
+
+    /**
+     * Gets the pixel buffer
+     * @return  the pixels
+     */
+    public ByteBuffer getPixels() {
+        return pixels;
+    }
+
+    /**
+     * Gets the width in pixels
+     * @return  the width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height in pixels
+     * @return  the height
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the number of bytes from the start of one row to the next
+     * @return  the stride
+     */
+    public int getStride() {
+        return stride;
+    }
+
+    /**
+     * Gets the pixel format
+     * @return  the pixel format
+     */
+    public PixelFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Gets the offset of a pixel's first byte in the buffer
+     * @param x the column
+     * @param y the row
+     * @return  the offset
+     */
+    public int offset(int x, int y) {
+        return y * stride + x * format.bytesPerPixel;
+    }
+
+    /**
+     * Reads a pixel
+     * @param x the column
+     * @param y the row
+     * @return  the color as 0xRRGGBB
+     */
+    public int rgb(int x, int y) {
+        return format.rgb(pixels, offset(x, y));
+    }
+
+    /**
+     * Writes a pixel
+     * @param x     the column
+     * @param y     the row
+     * @param rgb   the color as 0xRRGGBB
+     */
+    public void setRgb(int x, int y, int rgb) {
+        format.putRgb(pixels, offset(x, y), rgb);
+    }
+
+    /**
+     * Fills a rectangle with a color
+     * @param left      the first column
+     * @param top       the first row
+     * @param width     the number of columns
+     * @param height    the number of rows
+     * @param rgb       the color as 0xRRGGBB
+     */
+    public void fill(int left, int top, int width, int height, int rgb) {
+        for (int y = top; y < top + height; y++) for (int x = left; x < left + width; x++) setRgb(x, y, rgb);
+    }
+}
@@ -0,0 +1,100 @@
+package org.chathamrobotics.nova.vision;
+
+import com.vuforia.PIXEL_FORMAT;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The layouts of raw pixel buffers that can be read without conversion
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public enum PixelFormat {
+    /**
+     * One byte of brightness
+     */
+    GRAYSCALE(1, PIXEL_FORMAT.GRAYSCALE),
+    /**
+     * Two bytes, little endian, with 5 bits of red, 6 of green and 5 of blue
+     */
+    RGB565(2, PIXEL_FORMAT.RGB565),
+    /**
+     * One byte each of red, green and blue
+     */
+    RGB888(3, PIXEL_FORMAT.RGB888),
+    /**
+     * One byte each of red, green, blue and alpha. The alpha is ignored
+     */
+    RGBA8888(4, PIXEL_FORMAT.RGBA8888);
+
+    /**
+     * Gets the pixel format matching a vuforia pixel format
+     * @param vuforiaFormat the vuforia format, one of {@link PIXEL_FORMAT}
+     * @return              the pixel format. Null if the format is not supported
+     */
+    public static PixelFormat fromVuforia(int vuforiaFormat) {
+        for (PixelFormat format : values()) if (format.vuforiaFormat == vuforiaFormat) return format;
+
+        return null;
+    }
+
+    public final int bytesPerPixel;
+    public final int vuforiaFormat;
+
+    PixelFormat(int bytesPerPixel, int vuforiaFormat) {
+        this.bytesPerPixel = bytesPerPixel;
+        this.vuforiaFormat = vuforiaFormat;
+    }
+
+    /**
+     * Reads a pixel as 8 bit red, green and blue packed into an int as 0xRRGGBB. Uses absolute
+     * reads so the buffer's position is not changed
+     * @param pixels    the pixel buffer
+     * @param offset    the offset of the pixel's first byte
+     * @return          the pixel's color
+     */
+    public int rgb(ByteBuffer pixels, int offset) {
+        switch (this) {
+            case GRAYSCALE:
+                int gray = pixels.get(offset) & 0xff;
+                return gray << 16 | gray << 8 | gray;
+            case RGB565:
+                int packed = (pixels.get(offset + 1) & 0xff) << 8 | pixels.get(offset) & 0xff;
+                int r = packed >>> 11, g = packed >>> 5 & 0x3f, b = packed & 0x1f;
+
+                // scale up to 8 bits, repeating the high bits so that full intensity stays full
+                return (r << 3 | r >>> 2) << 16 | (g << 2 | g >>> 4) << 8 | (b << 3 | b >>> 2);
+            default:
+                return (pixels.get(offset) & 0xff) << 16
+                        | (pixels.get(offset + 1) & 0xff) << 8
+                        | pixels.get(offset + 2) & 0xff;
+        }
+    }
+
+    /**
+     * Writes a pixel, dropping the bits the format can not hold. Used to build synthetic images
+     * @param pixels    the pixel buffer
+     * @param offset    the offset of the pixel's first byte
+     * @param rgb       the color as 0xRRGGBB
+     */
+    public void putRgb(ByteBuffer pixels, int offset, int rgb) {
+        int r = rgb >>> 16 & 0xff, g = rgb >>> 8 & 0xff, b = rgb & 0xff;
+
+        switch (this) {
+            case GRAYSCALE:
+                pixels.put(offset, (byte) ((r * 77 + g * 150 + b * 29) >>> 8));
+                break;
+            case RGB565:
+                int packed = (r >>> 3) << 11 | (g >>> 2) << 5 | b >>> 3;
+                pixels.put(offset, (byte) packed);
+                pixels.put(offset + 1, (byte) (packed >>> 8));
+                break;
+            case RGBA8888:
+                pixels.put(offset + 3, (byte) 0xff);
+                // fall through
+            default:
+                pixels.put(offset, (byte) r);
+                pixels.put(offset + 1, (byte) g);
+                pixels.put(offset + 2, (byte) b);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package org.chathamrobotics.nova.vision;
+
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import org.chathamrobotics.nova.math.Pose2;
+import org.chathamrobotics.nova.metrics.Counter;
+import org.chathamrobotics.nova.metrics.LatencyHistogram;
+import org.chathamrobotics.nova.metrics.MetricsRegistry;
+import org.chathamrobotics.nova.util.Clock;
+import org.chathamrobotics.nova.util.PoseBuffer;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls pose sources, such as {@link TimestampedListener}s, on its own thread and publishes each
+ * new observation to a {@link PoseBuffer} with the time it was captured. Odometry or heading code
+ * can read the buffer from any thread without ever blocking the camera.
+ *
+ * Usage:
+ * <pre>{@code
+ *      PosePublisher publisher = new PosePublisher("Vision.poses", new PoseBuffer(16), clock);
+ *      publisher.addSource(new TimestampedListener(trackable));
+ *      publisher.start();
+ *      ...
+ *      if (publisher.getBuffer().readLatest(sample)) ...
+ * }</pre>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class PosePublisher {
+    private static final String TAG = PosePublisher.class.getSimpleName();
+
+    /**
+     * Something that observes the robot's pose
+     */
+    public interface Source {
+        /**
+         * The capture time of a source that has never observed the pose
+         */
+        long NOT_TRACKED = Long.MIN_VALUE;
+
+        /**
+         * Gets the newest observation of the robot's pose if it was captured after the last one
+         * @param after the capture time of the last observation published
+         * @param out   the pose to set
+         * @return      the capture time of the observation in nanoseconds, or {@link #NOT_TRACKED}
+         *              if there is no newer observation
+         */
+        long poll(long after, Pose2 out);
+
+        /**
+         * Gets how much the observation returned by the last call to {@link #poll(long, Pose2)} can
+         * be trusted
+         * @return  the confidence from 0 to 1
+         */
+        double getConfidence();
+    }
+
+    private static class Entry {
+        final Source source;
+        long lastCaptureTime = Source.NOT_TRACKED;
+
+        Entry(Source source) {
+            this.source = source;
+        }
+    }
+
+    private final String name;
+    private final PoseBuffer buffer;
+    private final Clock clock;
+    private final Pose2 pose = new Pose2();
+
+    private final Counter published;
+    private final LatencyHistogram age;
+
+    private volatile Entry[] entries = new Entry[0];
+    private volatile long period = TimeUnit.MILLISECONDS.toNanos(20);
+    private volatile long captureLatency;
+
+    private Thread thread;
+
+    /**
+     * Creates a new instance of {@link PosePublisher}
+     * @param name      the name of the publisher. Used for its thread and metrics
+     * @param buffer    the buffer to publish to. The publisher must be its only writer
+     * @param clock     the clock capture times are measured with
+     */
+    public PosePublisher(@NonNull String name, @NonNull PoseBuffer buffer, @NonNull Clock clock) {
+        this.name = name;
+        this.buffer = buffer;
+        this.clock = clock;
+
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        this.published = registry.counter(name + ".published");
+        this.age = registry.histogram(name + ".age");
+    }
+
+    // ACCESSORS
+
+    /**
+     * Gets the buffer poses are published to
+     * @return  the pose buffer
+     */
+    public PoseBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Sets how often the sources are polled
+     * @param period    the time between polls
+     * @param unit      the unit of the period
+     */
+    public void setPeriod(long period, TimeUnit unit) {
+        if (period <= 0) throw new IllegalArgumentException("The period must be positive");
+
+        this.period = unit.toNanos(period);
+    }
+
+    /**
+     * Gets how often the sources are polled
+     * @param unit  the unit to get the period in
+     * @return      the time between polls
+     */
+    public long getPeriod(TimeUnit unit) {
+        return unit.convert(period, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Sets the time between a frame being captured and the source seeing it. It is subtracted from
+     * the capture times reported by the sources
+     * @param latency   the latency
+     * @param unit      the unit of the latency
+     */
+    public void setCaptureLatency(long latency, TimeUnit unit) {
+        this.captureLatency = unit.toNanos(latency);
+    }
+
+    /**
+     * Gets the time between a frame being captured and the source seeing it
+     * @param unit  the unit to get the latency in
+     * @return      the latency
+     */
+    public long getCaptureLatency(TimeUnit unit) {
+        return unit.convert(captureLatency, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Checks whether the publisher's thread is running
+     * @return  whether the publisher is running
+     */
+    public synchronized boolean isRunning() {
+        return thread != null && thread.isAlive();
+    }
+
+    // SOURCES
+
+    /**
+     * Adds a source to poll
+     * @param source    the source
+     */
+    public synchronized void addSource(@NonNull Source source) {
+        Entry[] updated = Arrays.copyOf(entries, entries.length + 1);
+        updated[entries.length] = new Entry(source);
+        entries = updated;
+    }
+
+    /**
+     * Removes a source
+     * @param source    the source
+     */
+    public synchronized void removeSource(@NonNull Source source) {
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i].source != source) continue;
+
+            Entry[] updated = Arrays.copyOf(entries, entries.length - 1);
+            System.arraycopy(entries, i + 1, updated, i, entries.length - i - 1);
+            entries = updated;
+
+            return;
+        }
+    }
+
+    /**
+     * Removes all the sources
+     */
+    public synchronized void removeSources() {
+        entries = new Entry[0];
+    }
+
+    // BEHAVIOR
+
+    /**
+     * Starts polling the sources on the publisher's own thread
+     */
+    public synchronized void start() {
+        if (isRunning()) throw new IllegalStateException("The pose publisher is already running");
+
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    while (! Thread.currentThread().isInterrupted()) {
+                        poll();
+                        TimeUnit.NANOSECONDS.sleep(period);
+                    }
+                } catch (InterruptedException e) {
+                    // stopped
+                }
+
+                Log.d(TAG, "Stopped " + name);
+            }
+        }, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the publisher's thread and waits for it to finish
+     * @throws InterruptedException thrown if interrupted while waiting
+     */
+    public void stop() throws InterruptedException {
+        Thread stopping;
+
+        synchronized (this) {
+            if (thread == null) return;
+
+            stopping = thread;
+            thread = null;
+        }
+
+        stopping.interrupt();
+        stopping.join();
+    }
+
+    /**
+     * Publishes the pose of every source that has a new observation. Called by the publisher's
+     * thread, or directly to run the publisher without one. Must not be called from more than one thread
+     * @return  the number of poses published
+     */
+    public int poll() {
+        int count = 0;
+
+        for (Entry entry : entries) {
+            long captureTime = entry.source.poll(entry.lastCaptureTime, pose);
+            if (captureTime == Source.NOT_TRACKED) continue;
+
+            entry.lastCaptureTime = captureTime;
+
+            captureTime -= captureLatency;
+            buffer.publish(pose, captureTime, entry.source.getConfidence());
+
+            age.record(clock.nanoTime() - captureTime);
+            published.increment();
+            count++;
+        }
+
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "PosePublisher(" + name + ", " + entries.length + " sources, " + buffer + ")";
+    }
+}
@@ -0,0 +1,90 @@
+package org.chathamrobotics.nova.vision;
+
+/**
+ * A rectangular region of interest in an image, sampled every {@link #step} pixels in each
+ * direction. Only the pixels in the region are read, so a band across the image costs roughly its
+ * share of the image's area, divided again by the square of the step.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class Region {
+    /**
+     * Creates a region in pixels that samples every pixel
+     * @param left      the first column
+     * @param top       the first row
+     * @param width     the number of columns
+     * @param height    the number of rows
+     * @return          the region
+     */
+    public static Region of(int left, int top, int width, int height) {
+        return new Region(left, top, width, height, 1);
+    }
+
+    public final int left, top, width, height, step;
+
+    /**
+     * Creates a new instance of {@link Region}
+     * @param left      the first column
+     * @param top       the first row
+     * @param width     the number of columns
+     * @param height    the number of rows
+     * @param step      the distance between sampled pixels, in both directions
+     */
+    public Region(int left, int top, int width, int height, int step) {
+        if (left < 0 || top < 0) throw new IllegalArgumentException("The region must start inside the image");
+        if (width <= 0 || height <= 0) throw new IllegalArgumentException("The region must not be empty");
+        if (step < 1) throw new IllegalArgumentException("The step must be at least 1");
+
+        this.left = left;
+        this.top = top;
+        this.width = width;
+        this.height = height;
+        this.step = step;
+    }
+
+    /**
+     * Creates a copy of the region with a different step
+     * @param step  the distance between sampled pixels
+     * @return      the new region
+     */
+    public Region withStep(int step) {
+        return new Region(left, top, width, height, step);
+    }
+
+    /**
+     * Gets the column after the region, limited to the image
+     * @param image the image
+     * @return      the column after the last one in the region
+     */
+    public int right(ImageView image) {
+        return Math.min(left + width, image.getWidth());
+    }
+
+    /**
+     * Gets the row after the region, limited to the image
+     * @param image the image
+     * @return      the row after the last one in the region
+     */
+    public int bottom(ImageView image) {
+        return Math.min(top + height, image.getHeight());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (! (obj instanceof Region)) return false;
+
+        Region other = (Region) obj;
+
+        return left == other.left && top == other.top && width == other.width && height == other.height && step == other.step;
+    }
+
+    @Override
+    public int hashCode() {
+        return (((left * 31 + top) * 31 + width) * 31 + height) * 31 + step;
+    }
+
+    @Override
+    public String toString() {
+        return "Region(" + left + ", " + top + ", " + width + "x" + height + (step > 1 ? " every " + step : "") + ")";
+    }
+}
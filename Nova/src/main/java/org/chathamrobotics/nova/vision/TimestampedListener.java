@@ -0,0 +1,137 @@
+package org.chathamrobotics.nova.vision;
+
+import android.support.annotation.NonNull;
+
+import com.vuforia.TrackableResult;
+
+import org.chathamrobotics.nova.math.Pose2;
+import org.chathamrobotics.nova.util.Clock;
+import org.chathamrobotics.nova.util.NovaClock;
+import org.firstinspires.ftc.robotcore.external.matrices.OpenGLMatrix;
+import org.firstinspires.ftc.robotcore.external.matrices.VectorF;
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.AxesOrder;
+import org.firstinspires.ftc.robotcore.external.navigation.AxesReference;
+import org.firstinspires.ftc.robotcore.external.navigation.Orientation;
+import org.firstinspires.ftc.robotcore.external.navigation.VuforiaTrackable;
+import org.firstinspires.ftc.robotcore.external.navigation.VuforiaTrackableDefaultListener;
+
+/**
+ * A trackable listener that also records when the trackable was last seen, so the robot location
+ * it computes can be lined up with other sensors. Vuforia calls the listener from its frame
+ * callback, right after the frame is tracked, so the time is taken from the clock at that point.
+ * Fixed camera latency can be accounted for with {@link PosePublisher#setCaptureLatency(long, java.util.concurrent.TimeUnit)}
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class TimestampedListener extends VuforiaTrackableDefaultListener implements PosePublisher.Source {
+    private static final float MM_PER_METER = 1000;
+
+    /**
+     * How much a robot location is trusted when the trackable is tracked directly
+     */
+    public static final double TRACKED_CONFIDENCE = 1;
+
+    /**
+     * How much a robot location is trusted when the trackable has only just been detected
+     */
+    public static final double DETECTED_CONFIDENCE = .75;
+
+    /**
+     * How much a robot location is trusted when the trackable is out of view and extended tracking
+     * is guessing where it is
+     */
+    public static final double EXTENDED_TRACKED_CONFIDENCE = .25;
+
+    private final Clock clock;
+
+    private volatile long trackedTime = NOT_TRACKED;
+    private int status;
+    private double confidence;
+
+    /**
+     * Creates a new instance of {@link TimestampedListener} that timestamps with {@link NovaClock}
+     * @param trackable the trackable to listen to
+     */
+    public TimestampedListener(VuforiaTrackable trackable) {
+        this(trackable, NovaClock.getInstance());
+    }
+
+    /**
+     * Creates a new instance of {@link TimestampedListener}
+     * @param trackable the trackable to listen to
+     * @param clock     the clock to timestamp with
+     */
+    public TimestampedListener(VuforiaTrackable trackable, @NonNull Clock clock) {
+        super(trackable);
+
+        this.clock = clock;
+    }
+
+    // ACCESSORS
+
+    /**
+     * Gets when the trackable was last tracked
+     * @return  the time in nanoseconds or {@link PosePublisher.Source#NOT_TRACKED}
+     */
+    public long getTrackedTime() {
+        return trackedTime;
+    }
+
+    /**
+     * Gets how much the last robot location can be trusted, based on how vuforia was tracking the
+     * trackable
+     * @return  the confidence from 0 to 1
+     */
+    @Override
+    public double getConfidence() {
+        return confidence;
+    }
+
+    // BEHAVIOR
+
+    /**
+     * Gets the robot's location on the field from the trackable if it has been tracked since the
+     * given time. The phone information must have been set and the trackable must have a location
+     * @param after the time of the last location read
+     * @param out   the pose to set, in meters and radians
+     * @return      when the location was captured or {@link PosePublisher.Source#NOT_TRACKED}
+     */
+    @Override
+    public synchronized long poll(long after, @NonNull Pose2 out) {
+        if (trackedTime == NOT_TRACKED || trackedTime == after) return NOT_TRACKED;
+
+        OpenGLMatrix location = getRobotLocation();
+        if (location == null) return NOT_TRACKED;
+
+        VectorF translation = location.getTranslation();
+        Orientation orientation = Orientation.getOrientation(
+                location, AxesReference.EXTRINSIC, AxesOrder.XYZ, AngleUnit.RADIANS);
+
+        out.set(translation.get(0) / MM_PER_METER, translation.get(1) / MM_PER_METER, orientation.thirdAngle);
+        confidence = confidenceOf(status);
+
+        return trackedTime;
+    }
+
+    // LISTENER
+
+    @Override
+    public synchronized void onTracked(TrackableResult trackableResult, VuforiaTrackable child) {
+        long time = clock.nanoTime();
+
+        super.onTracked(trackableResult, child);
+
+        status = trackableResult.getStatus();
+        trackedTime = time;
+    }
+
+    // HELPERS
+
+    private static double confidenceOf(int status) {
+        if (status == TrackableResult.STATUS.TRACKED) return TRACKED_CONFIDENCE;
+        if (status == TrackableResult.STATUS.DETECTED) return DETECTED_CONFIDENCE;
+        if (status == TrackableResult.STATUS.EXTENDED_TRACKED) return EXTENDED_TRACKED_CONFIDENCE;
+
+        return 0;
+    }
+}
@@ -0,0 +1,458 @@
+package org.chathamrobotics.nova.vision;
+
+import android.support.annotation.NonNull;
+
+import org.chathamrobotics.nova.metrics.LatencyHistogram;
+import org.chathamrobotics.nova.metrics.MetricsRegistry;
+import org.chathamrobotics.nova.util.Clock;
+import org.chathamrobotics.nova.util.NovaClock;
+import org.firstinspires.ftc.robotcore.external.navigation.VuforiaLocalizer;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Finds blobs of a color in frames. Each frame goes through four stages: it is downsampled by
+ * taking every nth pixel, converted into the range's color space, thresholded against the range
+ * and then searched for connected blobs. Processing can be limited to a {@link Region} of the
+ * frame. The first three stages run together on horizontal bands of the image, one band per
+ * thread, and the blob search runs on the calling thread once every band is done. All buffers are
+ * kept between frames, so after the first frame of a size processing does not allocate.
+ *
+ * Results are published without locking. A consumer, such as the op mode, calls
+ * {@link #acquireLatest()} to get the most recent result while the next frame is processed.
+ *
+ * The worker threads run until the pipeline is closed, which the frame pipeline does when the
+ * processor is removed or vuforia stops. A pipeline used on its own must be closed by its owner.
+ *
+ * Usage:
+ * <pre>{@code
+ *      Vuforia.setFrameFormat(PIXEL_FORMAT.RGB565, true);
+ *
+ *      VisionPipeline pipeline = new VisionPipeline(ColorRange.hsv(40, 70, 100, 255, 80, 255), 4, 2, 8);
+ *      vuforiaManager.addFrameProcessor(pipeline);
+ *
+ *      // in the loop
+ *      Blob gold = pipeline.acquireLatest().getLargestBlob();
+ * }</pre>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class VisionPipeline implements FramePipeline.CloseableProcessor<VuforiaLocalizer.CloseableFrame> {
+    private static final String TAG = VisionPipeline.class.getSimpleName();
+    private static final LatencyHistogram THRESHOLD_LATENCY = MetricsRegistry.getInstance().histogram(TAG + ".threshold");
+    private static final LatencyHistogram BLOB_LATENCY = MetricsRegistry.getInstance().histogram(TAG + ".blobs");
+    private static final Clock CLOCK = NovaClock.getInstance();
+
+    /**
+     * Thresholds one band of rows on its own thread each frame
+     */
+    private final class Worker extends Thread {
+        private final int band;
+
+        Worker(int band) {
+            super(TAG + "-" + band);
+            this.band = band;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            int seen = 0;
+
+            while (! isInterrupted()) {
+                if (generation == seen) {
+                    LockSupport.park(this);
+                    continue;
+                }
+
+                seen = generation;
+
+                try {
+                    threshold(band);
+                } catch (RuntimeException e) {
+                    failure = e;
+                } finally {
+                    if (remaining.decrementAndGet() == 0) LockSupport.unpark(caller);
+                }
+            }
+        }
+    }
+
+    private final int downsample;
+    private final int maxBlobs;
+    private final Worker[] workers;
+    private final ImageView frameView = new ImageView();
+
+    private volatile ColorRange range;
+    private volatile Region region;
+    private volatile int minBlobArea = 1;
+
+    // the frame being processed, handed to the workers by the volatile write to generation. The
+    // width and height are of the downsampled region
+    private ImageView image;
+    private int left, top, step, width, height;
+    private byte[] mask = new byte[0];
+
+    private boolean closed;
+
+    private volatile int generation;
+    private volatile Thread caller;
+    private volatile RuntimeException failure;
+    private final AtomicInteger remaining = new AtomicInteger();
+
+    // blob search buffers, indexed by label
+    private int[] labels = new int[0], parent = new int[1];
+    private int[] area = new int[1], minX = new int[1], minY = new int[1], maxX = new int[1], maxY = new int[1];
+    private long[] sumX = new long[1], sumY = new long[1];
+
+    // triple buffered results. The latest is swapped between the writer and the reader
+    private final AtomicReference<VisionResult> latest;
+    private VisionResult writing, reading;
+    private long sequence;
+
+    /**
+     * Creates a new instance of {@link VisionPipeline}
+     * @param range         the colors to find
+     * @param downsample    the factor to shrink frames by. 1 to process every pixel
+     * @param threads       the number of threads to threshold with, including the calling thread
+     * @param maxBlobs      the maximum number of blobs to report. The largest are kept
+     */
+    public VisionPipeline(@NonNull ColorRange range, int downsample, int threads, int maxBlobs) {
+        if (downsample < 1) throw new IllegalArgumentException("The downsample factor must be at least 1");
+        if (threads < 1) throw new IllegalArgumentException("There must be at least one thread");
+        if (maxBlobs < 1) throw new IllegalArgumentException("There must be room for at least one blob");
+
+        this.range = range;
+        this.downsample = downsample;
+        this.maxBlobs = maxBlobs;
+
+        this.workers = new Worker[threads - 1];
+        for (int i = 0; i < workers.length; i++) workers[i] = new Worker(i + 1);
+
+        this.latest = new AtomicReference<>(new VisionResult(maxBlobs));
+        this.writing = new VisionResult(maxBlobs);
+        this.reading = new VisionResult(maxBlobs);
+    }
+
+    // ACCESSORS
+
+    /**
+     * Sets the colors to find. Takes effect on the next frame
+     * @param range the colors
+     */
+    public void setRange(@NonNull ColorRange range) {
+        this.range = range;
+    }
+
+    /**
+     * Gets the colors to find
+     * @return  the colors
+     */
+    public ColorRange getRange() {
+        return range;
+    }
+
+    /**
+     * Restricts processing to a region of the frame. The region's step is multiplied by the
+     * downsample factor. Takes effect on the next frame
+     * @param region    the region. Null to process the whole frame
+     */
+    public void setRegion(Region region) {
+        this.region = region;
+    }
+
+    /**
+     * Gets the region of the frame that is processed
+     * @return  the region. Null if the whole frame is processed
+     */
+    public Region getRegion() {
+        return region;
+    }
+
+    /**
+     * Sets the smallest blob to report. Smaller blobs are usually noise
+     * @param minBlobArea   the minimum area in full size pixels
+     */
+    public void setMinBlobArea(int minBlobArea) {
+        this.minBlobArea = Math.max(1, minBlobArea);
+    }
+
+    /**
+     * Gets the smallest blob to report
+     * @return  the minimum area in full size pixels
+     */
+    public int getMinBlobArea() {
+        return minBlobArea;
+    }
+
+    /**
+     * Gets the factor frames are shrunk by
+     * @return  the downsample factor
+     */
+    public int getDownsample() {
+        return downsample;
+    }
+
+    // RESULTS
+
+    /**
+     * Gets the result of the most recently processed frame. The result returned previously is
+     * handed back to the pipeline to reuse, so this should only be called from one thread and a
+     * result should not be used after the next call
+     * @return  the latest result. Its sequence is zero if no frame has been processed
+     */
+    public VisionResult acquireLatest() {
+        if (latest.get().sequence > reading.sequence) reading = latest.getAndSet(reading);
+
+        return reading;
+    }
+
+    // BEHAVIOR
+
+    /**
+     * Processes the first image in the frame whose format is supported
+     * @param frame the frame
+     * @see ImageView#set(com.vuforia.Frame)
+     */
+    @Override
+    public void process(VuforiaLocalizer.CloseableFrame frame) {
+        if (frameView.set(frame)) process(frameView);
+    }
+
+    /**
+     * Processes an image and publishes the result
+     * @param image the image
+     * @throws IllegalStateException    thrown if the pipeline has been closed
+     */
+    public synchronized void process(@NonNull ImageView image) {
+        if (closed) throw new IllegalStateException("The vision pipeline has been closed");
+
+        long start = CLOCK.nanoTime();
+
+        prepare(image);
+
+        long thresholdStart = THRESHOLD_LATENCY.start();
+        runBands();
+        THRESHOLD_LATENCY.stop(thresholdStart);
+
+        long blobStart = BLOB_LATENCY.start();
+        findBlobs(writing);
+        BLOB_LATENCY.stop(blobStart);
+
+        writing.width = image.getWidth();
+        writing.height = image.getHeight();
+        writing.sequence = ++sequence;
+        writing.processingTime = CLOCK.nanoTime() - start;
+
+        writing = latest.getAndSet(writing);
+    }
+
+    /**
+     * Stops the worker threads once the frame being processed is done, and waits for them to end.
+     * The pipeline can not be used afterwards
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+
+        for (Worker worker : workers) worker.interrupt();
+
+        try {
+            for (Worker worker : workers) worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Checks whether the pipeline has been closed
+     * @return  whether the pipeline has been closed
+     */
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    private void prepare(ImageView image) {
+        Region region = this.region;
+
+        this.image = image;
+
+        if (region == null) {
+            left = top = 0;
+            step = downsample;
+            width = Math.max(1, image.getWidth() / step);
+            height = Math.max(1, image.getHeight() / step);
+        } else {
+            left = Math.min(region.left, image.getWidth() - 1);
+            top = Math.min(region.top, image.getHeight() - 1);
+            step = downsample * region.step;
+            width = Math.max(1, (region.right(image) - left) / step);
+            height = Math.max(1, (region.bottom(image) - top) / step);
+        }
+
+        int size = width * height;
+        if (mask.length >= size) return;
+
+        mask = new byte[size];
+        labels = new int[size];
+
+        // a new label is only made when neither the pixel to the left nor above has one
+        int maxLabels = (size + 1) / 2 + 2;
+        parent = new int[maxLabels];
+        area = new int[maxLabels];
+        minX = new int[maxLabels];
+        minY = new int[maxLabels];
+        maxX = new int[maxLabels];
+        maxY = new int[maxLabels];
+        sumX = new long[maxLabels];
+        sumY = new long[maxLabels];
+    }
+
+    private void runBands() {
+        if (workers.length == 0) {
+            threshold(0);
+            return;
+        }
+
+        if (! workers[0].isAlive()) for (Worker worker : workers) worker.start();
+
+        caller = Thread.currentThread();
+        remaining.set(workers.length);
+        generation++;
+
+        for (Worker worker : workers) LockSupport.unpark(worker);
+
+        threshold(0);
+
+        while (remaining.get() != 0) LockSupport.park(this);
+
+        RuntimeException thr = failure;
+        if (thr != null) {
+            failure = null;
+            throw thr;
+        }
+    }
+
+    // downsamples, converts and thresholds one band of rows into the mask
+    private void threshold(int band) {
+        int bands = workers.length + 1;
+        int firstRow = height * band / bands, lastRow = height * (band + 1) / bands;
+
+        ColorRange range = this.range;
+        ColorSpace space = range.space;
+
+        ByteBuffer pixels = image.getPixels();
+        PixelFormat format = image.getFormat();
+        int offsetStep = step * format.bytesPerPixel;
+
+        for (int y = firstRow; y < lastRow; y++) {
+            int row = y * width;
+            int offset = image.offset(left, top + y * step);
+
+            for (int x = 0; x < width; x++, offset += offsetStep) {
+                int rgb = format.rgb(pixels, offset);
+
+                mask[row + x] = range.contains(space.convert(rgb)) ? (byte) 1 : 0;
+            }
+        }
+    }
+
+    // labels 4-connected regions of the mask in two passes, merging labels with union find
+    private void findBlobs(VisionResult result) {
+        int labelCount = 0;
+
+        for (int y = 0, i = 0; y < height; y++) {
+            for (int x = 0; x < width; x++, i++) {
+                if (mask[i] == 0) {
+                    labels[i] = 0;
+                    continue;
+                }
+
+                int left = x > 0 ? labels[i - 1] : 0, up = y > 0 ? labels[i - width] : 0;
+
+                if (left == 0 && up == 0) {
+                    labels[i] = ++labelCount;
+                    parent[labelCount] = labelCount;
+                } else if (left == 0 || up == 0) {
+                    labels[i] = left + up;
+                } else {
+                    labels[i] = union(left, up);
+                }
+            }
+        }
+
+        for (int l = 1; l <= labelCount; l++) area[l] = 0;
+
+        for (int y = 0, i = 0; y < height; y++) {
+            for (int x = 0; x < width; x++, i++) {
+                if (labels[i] == 0) continue;
+
+                int root = find(labels[i]);
+
+                if (area[root] == 0) {
+                    minX[root] = maxX[root] = x;
+                    minY[root] = maxY[root] = y;
+                    sumX[root] = sumY[root] = 0;
+                }
+
+                area[root]++;
+                minX[root] = Math.min(minX[root], x);
+                maxX[root] = Math.max(maxX[root], x);
+                maxY[root] = y;
+                sumX[root] += x;
+                sumY[root] += y;
+            }
+        }
+
+        result.blobCount = 0;
+
+        int scaledArea = step * step, minArea = minBlobArea;
+        for (int l = 1; l <= labelCount; l++) {
+            if (parent[l] == l && area[l] * scaledArea >= minArea) addBlob(result, l);
+        }
+    }
+
+    // keeps the largest blobs, sorted largest first
+    private void addBlob(VisionResult result, int label) {
+        int blobArea = area[label] * step * step;
+        Blob[] blobs = result.blobs;
+
+        int index;
+        if (result.blobCount < maxBlobs) index = result.blobCount++;
+        else if (blobArea > blobs[maxBlobs - 1].area) index = maxBlobs - 1;
+        else return;
+
+        Blob blob = blobs[index];
+        for (; index > 0 && blobs[index - 1].area < blobArea; index--) blobs[index] = blobs[index - 1];
+        blobs[index] = blob;
+
+        blob.area = blobArea;
+        blob.left = left + minX[label] * step;
+        blob.top = top + minY[label] * step;
+        blob.right = Math.min(image.getWidth(), left + (maxX[label] + 1) * step);
+        blob.bottom = Math.min(image.getHeight(), top + (maxY[label] + 1) * step);
+        blob.centerX = left + ((double) sumX[label] / area[label] + 0.5) * step;
+        blob.centerY = top + ((double) sumY[label] / area[label] + 0.5) * step;
+    }
+
+    private int union(int a, int b) {
+        int rootA = find(a), rootB = find(b);
+        int root = Math.min(rootA, rootB);
+
+        parent[rootA] = root;
+        parent[rootB] = root;
+
+        return root;
+    }
+
+    private int find(int label) {
+        while (parent[label] != label) {
+            parent[label] = parent[parent[label]];
+            label = parent[label];
+        }
+
+        return label;
+    }
+}
@@ -0,0 +1,84 @@
+package org.chathamrobotics.nova.vision;
+
+/**
+ * The blobs found in a frame by a {@link VisionPipeline}, largest first. Results are reused by the
+ * pipeline, so one is only valid until the next call to {@link VisionPipeline#acquireLatest()}.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class VisionResult {
+    final Blob[] blobs;
+
+    long sequence;
+    long processingTime;
+    int width, height, blobCount;
+
+    VisionResult(int maxBlobs) {
+        this.blobs = new Blob[maxBlobs];
+
+        for (int i = 0; i < maxBlobs; i++) blobs[i] = new Blob();
+    }
+
+    /**
+     * Gets the number of the frame the result is for. Increases by one for every frame processed
+     * @return  the frame number. Zero if no frame has been processed
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets how long the frame took to process
+     * @return  the processing time in nanoseconds
+     */
+    public long getProcessingTime() {
+        return processingTime;
+    }
+
+    /**
+     * Gets the width of the frame
+     * @return  the width in pixels
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the frame
+     * @return  the height in pixels
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the number of blobs found
+     * @return  the number of blobs
+     */
+    public int getBlobCount() {
+        return blobCount;
+    }
+
+    /**
+     * Gets a blob
+     * @param index the index of the blob. Zero is the largest
+     * @return      the blob
+     */
+    public Blob getBlob(int index) {
+        if (index < 0 || index >= blobCount) throw new IndexOutOfBoundsException("No blob " + index + " of " + blobCount);
+
+        return blobs[index];
+    }
+
+    /**
+     * Gets the largest blob
+     * @return  the largest blob. Null if none were found
+     */
+    public Blob getLargestBlob() {
+        return blobCount > 0 ? blobs[0] : null;
+    }
+
+    @Override
+    public String toString() {
+        return "VisionResult(#" + sequence + ", " + blobCount + " blobs)";
+    }
+}
@@ -0,0 +1,196 @@
+package org.chathamrobotics.nova.async;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Enclosed.class)
+public class EventEmitterImplTest {
+    private enum Event { START, STOP }
+
+    private static class CountingCallback implements AsyncCallback {
+        final AtomicInteger count = new AtomicInteger();
+        volatile Throwable last;
+
+        @Override
+        public void run(Throwable thr) {
+            last = thr;
+            count.incrementAndGet();
+        }
+    }
+
+    // runs every test against both the enum indexed and the hashed emitter
+    @RunWith(Parameterized.class)
+    public static class EmitTest {
+        @Parameterized.Parameters(name = "{0}")
+        public static Collection<Object[]> emitters() {
+            return Arrays.asList(new Object[][] {
+                    {"enum", new EventEmitterImpl<>(Event.class)},
+                    {"hashed", new EventEmitterImpl<Event>()}
+            });
+        }
+
+        private final EventEmitterImpl<Event> emitter;
+
+        public EmitTest(String name, EventEmitterImpl<Event> emitter) {
+            this.emitter = emitter;
+            emitter.removeListeners();
+        }
+
+        @Test
+        public void shouldCallListenersInOrder() {
+            final List<Integer> calls = new ArrayList<>();
+
+            for (int i = 0; i < 3; i++) {
+                final int index = i;
+
+                emitter.on(Event.START, new AsyncCallback() {
+                    @Override
+                    public void run(Throwable thr) {
+                        calls.add(index);
+                    }
+                });
+            }
+
+            assertTrue(emitter.emit(Event.START));
+            assertFalse(emitter.emit(Event.STOP));
+            assertEquals(Arrays.asList(0, 1, 2), calls);
+        }
+
+        @Test
+        public void shouldPassTheError() {
+            CountingCallback callback = new CountingCallback();
+            Throwable error = new Exception("test");
+
+            emitter.on(Event.STOP, callback);
+            emitter.emit(Event.STOP, error);
+
+            assertSame(error, callback.last);
+        }
+
+        @Test
+        public void shouldCallOnceListenersOnce() {
+            CountingCallback once = new CountingCallback(), always = new CountingCallback();
+
+            emitter.once(Event.START, once);
+            emitter.on(Event.START, always);
+
+            emitter.emit(Event.START);
+            emitter.emit(Event.START);
+
+            assertEquals(1, once.count.get());
+            assertEquals(2, always.count.get());
+            assertEquals(1, emitter.listenerCount(Event.START));
+        }
+
+        @Test
+        public void shouldRemoveListeners() {
+            CountingCallback a = new CountingCallback(), b = new CountingCallback();
+
+            emitter.on(Event.START, a);
+            emitter.on(Event.START, b);
+            emitter.on(Event.STOP, a);
+
+            emitter.removeListener(Event.START, a);
+            emitter.emit(Event.START);
+            assertEquals(0, a.count.get());
+            assertEquals(1, b.count.get());
+
+            emitter.removeListeners(Event.START);
+            assertEquals(0, emitter.listenerCount(Event.START));
+            assertEquals(1, emitter.listenerCount(Event.STOP));
+
+            emitter.removeListeners();
+            assertFalse(emitter.emit(Event.STOP));
+        }
+
+        @Test
+        public void shouldLetListenersRemoveThemselvesWhileEmitting() {
+            final CountingCallback other = new CountingCallback();
+
+            emitter.on(Event.START, new AsyncCallback() {
+                @Override
+                public void run(Throwable thr) {
+                    emitter.removeListener(Event.START, this);
+                }
+            });
+            emitter.on(Event.START, other);
+
+            emitter.emit(Event.START);
+            emitter.emit(Event.START);
+
+            assertEquals(2, other.count.get());
+            assertEquals(1, emitter.listenerCount(Event.START));
+        }
+
+        @Test
+        public void shouldCallOnceListenersOnceAcrossThreads() throws InterruptedException {
+            final int threads = 4;
+            final CountDownLatch start = new CountDownLatch(1);
+            final CountDownLatch done = new CountDownLatch(threads);
+            final CountingCallback[] callbacks = new CountingCallback[500];
+
+            for (int i = 0; i < callbacks.length; i++) {
+                callbacks[i] = new CountingCallback();
+                emitter.once(Event.START, callbacks[i]);
+            }
+
+            for (int t = 0; t < threads; t++) {
+                new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            start.await();
+                            for (int i = 0; i < 100; i++) emitter.emit(Event.START);
+                        } catch (InterruptedException ignored) {
+                        } finally {
+                            done.countDown();
+                        }
+                    }
+                }).start();
+            }
+
+            start.countDown();
+            done.await();
+
+            for (CountingCallback callback : callbacks) assertEquals(1, callback.count.get());
+        }
+
+        @Test
+        public void shouldNotLoseListenersAddedConcurrently() throws InterruptedException {
+            final int threads = 4, perThread = 250;
+            final CountDownLatch done = new CountDownLatch(threads);
+
+            for (int t = 0; t < threads; t++) {
+                new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int i = 0; i < perThread; i++) {
+                            emitter.on(Event.STOP, new CountingCallback());
+                            emitter.emit(Event.STOP);
+                        }
+
+                        done.countDown();
+                    }
+                }).start();
+            }
+
+            done.await();
+
+            assertEquals(threads * perThread, emitter.listenerCount(Event.STOP));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package org.chathamrobotics.nova.async;
+
+import org.chathamrobotics.nova.metrics.LatencyHistogram;
+import org.chathamrobotics.nova.metrics.MetricsRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Enclosed.class)
+public class EventLoopTest {
+    private static class Counting implements Listener.Condition {
+        int tests;
+
+        @Override
+        public boolean test() {
+            tests++;
+            return false;
+        }
+    }
+
+    private static final AsyncCallback NOOP = new AsyncCallback() {
+        @Override
+        public void run(Throwable thr) {}
+    };
+
+    @RunWith(RobolectricTestRunner.class)
+    @Config(manifest = Config.NONE)
+    public static class PollTest {
+        private EventLoop eventLoop;
+
+        @Before
+        public void setUp() {
+            eventLoop = new EventLoop();
+            eventLoop.setThreaded(false);
+        }
+
+        @Test
+        public void shouldRunAddedListeners() {
+            Counting condition = new Counting();
+            eventLoop.addListener(condition, NOOP);
+
+            eventLoop.poll();
+            eventLoop.poll();
+
+            assertEquals(2, condition.tests);
+        }
+
+        @Test
+        public void shouldNotRunRemovedListeners() {
+            Counting first = new Counting(), second = new Counting(), third = new Counting();
+            Listener a = eventLoop.addListener(first, NOOP);
+            Listener b = eventLoop.addListener(second, NOOP);
+            eventLoop.addListener(third, NOOP);
+
+            eventLoop.removeListener(a);
+            eventLoop.poll();
+            eventLoop.removeAllListeners(Arrays.asList(b));
+            eventLoop.poll();
+            eventLoop.removeAllListeners();
+            eventLoop.poll();
+
+            assertEquals(0, first.tests);
+            assertEquals(1, second.tests);
+            assertEquals(2, third.tests);
+        }
+
+        @Test
+        public void shouldLetListenersRemoveThemselves() {
+            Counting condition = new Counting();
+            final Listener[] self = new Listener[1];
+
+            self[0] = eventLoop.addListener(condition, NOOP);
+            eventLoop.addListener(new Listener.Condition() {
+                @Override
+                public boolean test() {
+                    return true;
+                }
+            }, new AsyncCallback() {
+                @Override
+                public void run(Throwable thr) {
+                    eventLoop.removeListener(self[0]);
+                }
+            });
+
+            eventLoop.poll();
+            eventLoop.poll();
+
+            assertEquals(1, condition.tests);
+        }
+    }
+
+    @RunWith(RobolectricTestRunner.class)
+    @Config(manifest = Config.NONE)
+    public static class MetricsTest {
+        // its own pass histogram, which loops left running by other tests do not record to
+        private static class MeteredLoop extends EventLoop {}
+
+        private EventLoop eventLoop;
+        private LatencyHistogram conditions, passes;
+
+        @Before
+        public void setUp() {
+            MetricsRegistry registry = MetricsRegistry.getInstance();
+            registry.reset();
+            registry.setEnabled(true);
+
+            conditions = registry.histogram("Listener.condition");
+            passes = registry.histogram("MeteredLoop.pass");
+
+            eventLoop = new MeteredLoop();
+            eventLoop.setThreaded(false);
+            eventLoop.addListener(new Counting(), NOOP);
+            eventLoop.addListener(new Counting(), NOOP);
+        }
+
+        @After
+        public void tearDown() {
+            MetricsRegistry.getInstance().setEnabled(false);
+            MetricsRegistry.getInstance().reset();
+        }
+
+        @Test
+        public void shouldOnlyTimeThePassByDefault() {
+            eventLoop.poll();
+
+            assertEquals(1, passes.getCount());
+            assertEquals(0, conditions.getCount());
+        }
+
+        @Test
+        public void shouldTimeEachConditionWhenAsked() {
+            eventLoop.setConditionTiming(true);
+            eventLoop.poll();
+
+            assertEquals(1, passes.getCount());
+            assertEquals(2, conditions.getCount());
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package org.chathamrobotics.nova.async;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Enclosed.class)
+public class PayloadEmitterTest {
+    private enum Event { HEADING, POSE }
+
+    public static class EmitTest {
+        private PayloadEmitter<Event> emitter;
+        private List<String> calls;
+
+        @Before
+        public void setUp() {
+            emitter = new PayloadEmitter<>(Event.class);
+            calls = new ArrayList<>();
+        }
+
+        private void listenAll() {
+            emitter.on(Event.HEADING, new PayloadEmitter.DoubleCallback() {
+                @Override
+                public void run(double value) {
+                    calls.add("double " + value);
+                }
+            });
+            emitter.on(Event.HEADING, new PayloadEmitter.LongCallback() {
+                @Override
+                public void run(long value) {
+                    calls.add("long " + value);
+                }
+            });
+            emitter.on(Event.HEADING, new PayloadEmitter.IntCallback() {
+                @Override
+                public void run(int value) {
+                    calls.add("int " + value);
+                }
+            });
+        }
+
+        @Test
+        public void shouldWidenInts() {
+            listenAll();
+
+            assertTrue(emitter.emit(Event.HEADING, 90));
+            assertEquals("[int 90, long 90, double 90.0]", calls.toString());
+        }
+
+        @Test
+        public void shouldWidenLongs() {
+            listenAll();
+
+            assertTrue(emitter.emit(Event.HEADING, 90L));
+            assertEquals("[long 90, double 90.0]", calls.toString());
+        }
+
+        @Test
+        public void shouldNotNarrowDoubles() {
+            listenAll();
+
+            assertTrue(emitter.emit(Event.HEADING, 90.5));
+            assertEquals("[double 90.5]", calls.toString());
+        }
+
+        @Test
+        public void shouldReturnFalseWithoutMatchingCallbacks() {
+            emitter.on(Event.HEADING, new PayloadEmitter.IntCallback() {
+                @Override
+                public void run(int value) {
+                    calls.add("int " + value);
+                }
+            });
+
+            assertFalse(emitter.emit(Event.HEADING, 1.5));
+            assertFalse(emitter.emit(Event.POSE, 1));
+            assertTrue(calls.isEmpty());
+        }
+
+        @Test
+        public void shouldOnlyPassObjectsToObjectCallbacks() {
+            listenAll();
+            emitter.on(Event.POSE, new PayloadEmitter.ObjectCallback<String>() {
+                @Override
+                public void run(String value) {
+                    calls.add("object " + value);
+                }
+            });
+
+            assertFalse(emitter.emit(Event.POSE, 1));
+            assertTrue(emitter.emitValue(Event.POSE, "origin"));
+            assertFalse(emitter.emitValue(Event.HEADING, "origin"));
+            assertEquals("[object origin]", calls.toString());
+        }
+
+        @Test
+        public void shouldCallOnceCallbacksOnce() {
+            emitter.once(Event.HEADING, new PayloadEmitter.IntCallback() {
+                @Override
+                public void run(int value) {
+                    calls.add("int " + value);
+                }
+            });
+
+            assertTrue(emitter.emit(Event.HEADING, 1));
+            assertFalse(emitter.emit(Event.HEADING, 2));
+            assertEquals("[int 1]", calls.toString());
+        }
+
+        @Test
+        public void shouldKeepOnceCallbacksForOtherKinds() {
+            emitter.once(Event.HEADING, new PayloadEmitter.IntCallback() {
+                @Override
+                public void run(int value) {
+                    calls.add("int " + value);
+                }
+            });
+
+            emitter.emit(Event.HEADING, 1.5);
+            emitter.emit(Event.HEADING);
+            emitter.emit(Event.HEADING, 2);
+
+            assertEquals("[int 2]", calls.toString());
+        }
+
+        @Test
+        public void shouldStillCallAsyncCallbacks() {
+            emitter.on(Event.HEADING, new AsyncCallback() {
+                @Override
+                public void run(Throwable thr) {
+                    calls.add("async");
+                }
+            });
+
+            assertFalse(emitter.emit(Event.HEADING, 1));
+            assertTrue(emitter.emit(Event.HEADING));
+            assertEquals("[async]", calls.toString());
+        }
+    }
+
+    @RunWith(RobolectricTestRunner.class)
+    @Config(manifest = Config.NONE)
+    public static class ErrorTest {
+        @Test
+        public void shouldCallTheRemainingCallbacksAfterOneThrows() {
+            PayloadEmitter<Event> emitter = new PayloadEmitter<>(Event.class);
+            final List<String> calls = new ArrayList<>();
+
+            emitter.on(Event.HEADING, new PayloadEmitter.IntCallback() {
+                @Override
+                public void run(int value) {
+                    throw new IllegalStateException("broken");
+                }
+            });
+            emitter.on(Event.HEADING, new PayloadEmitter.IntCallback() {
+                @Override
+                public void run(int value) {
+                    calls.add("int " + value);
+                }
+            });
+            emitter.on(Event.HEADING, new PayloadEmitter.DoubleCallback() {
+                @Override
+                public void run(double value) {
+                    calls.add("double " + value);
+                }
+            });
+
+            assertTrue(emitter.emit(Event.HEADING, 90));
+            assertEquals("[int 90, double 90.0]", calls.toString());
+        }
+    }
+
+    public static class ListenerTest {
+        private final PayloadEmitter.DoubleCallback callback = new PayloadEmitter.DoubleCallback() {
+            @Override
+            public void run(double value) {}
+        };
+
+        @Test
+        public void shouldCountEveryKind() {
+            PayloadEmitter<Event> emitter = new PayloadEmitter<>();
+
+            emitter.on(Event.HEADING, callback);
+            emitter.on(Event.HEADING, new AsyncCallback() {
+                @Override
+                public void run(Throwable thr) {}
+            });
+            emitter.on(Event.HEADING, new PayloadEmitter.ObjectCallback<Object>() {
+                @Override
+                public void run(Object value) {}
+            });
+
+            assertEquals(3, emitter.listenerCount(Event.HEADING));
+            assertEquals(0, emitter.listenerCount(Event.POSE));
+
+            emitter.removeListener(Event.HEADING, callback);
+            assertEquals(2, emitter.listenerCount(Event.HEADING));
+
+            emitter.removeListeners(Event.HEADING);
+            assertEquals(0, emitter.listenerCount(Event.HEADING));
+        }
+
+        @Test
+        public void shouldRemoveAll() {
+            PayloadEmitter<Event> emitter = new PayloadEmitter<>(Event.class);
+
+            emitter.on(Event.HEADING, callback);
+            emitter.on(Event.POSE, callback);
+            emitter.removeListeners();
+
+            assertFalse(emitter.emit(Event.HEADING, 1.0));
+            assertFalse(emitter.emit(Event.POSE, 1.0));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.chathamrobotics.nova.math;
+
+import org.chathamrobotics.nova.util.units.AngleUnit;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Enclosed.class)
+public class AnglesTest {
+    private static final double DELTA = 1e-9;
+
+    // every multiple of a sixteenth of a degree over several turns in both directions
+    private static final int STEPS_PER_DEGREE = 16;
+    private static final int TURNS = 4;
+
+    public static class WrapTest {
+        @Test
+        public void shouldWrapIntoRange() {
+            assertEquals(0, Angles.wrap(360, AngleUnit.DEGREES), DELTA);
+            assertEquals(350, Angles.wrap(-10, AngleUnit.DEGREES), DELTA);
+            assertEquals(10, Angles.wrap(730, AngleUnit.DEGREES), DELTA);
+            assertEquals(Math.PI, Angles.wrap(-Math.PI), DELTA);
+            assertEquals(0, Angles.wrap(-1e-300, AngleUnit.DEGREES), 0);
+        }
+
+        @Test
+        public void shouldMatchMathForEveryStep() {
+            for (int i = -360 * STEPS_PER_DEGREE * TURNS; i <= 360 * STEPS_PER_DEGREE * TURNS; i++) {
+                double angle = (double) i / STEPS_PER_DEGREE;
+                double wrapped = Angles.wrap(angle, AngleUnit.DEGREES);
+
+                assertTrue(angle + " wrapped to " + wrapped, wrapped >= 0 && wrapped < 360);
+                assertSameDirection(angle, wrapped, Math.sin(Math.toRadians(angle)), Math.cos(Math.toRadians(angle)));
+            }
+        }
+    }
+
+    public static class NormalizeTest {
+        @Test
+        public void shouldNormalizeIntoRange() {
+            assertEquals(180, Angles.normalize(-180, AngleUnit.DEGREES), DELTA);
+            assertEquals(180, Angles.normalize(180, AngleUnit.DEGREES), DELTA);
+            assertEquals(-90, Angles.normalize(270, AngleUnit.DEGREES), DELTA);
+            assertEquals(Math.PI, Angles.normalize(-Math.PI), DELTA);
+        }
+
+        @Test
+        public void shouldMatchMathForEveryStep() {
+            for (int i = -360 * STEPS_PER_DEGREE * TURNS; i <= 360 * STEPS_PER_DEGREE * TURNS; i++) {
+                double angle = (double) i / STEPS_PER_DEGREE;
+                double normalized = Angles.normalize(angle, AngleUnit.DEGREES);
+
+                assertTrue(angle + " normalized to " + normalized, normalized > -180 && normalized <= 180);
+                assertSameDirection(angle, normalized, Math.sin(Math.toRadians(angle)), Math.cos(Math.toRadians(angle)));
+            }
+        }
+    }
+
+    public static class ShortestDistanceTest {
+        @Test
+        public void shouldBeNegativeForClockwise() {
+            assertEquals(-20, Angles.shortestDistance(10, 350, AngleUnit.DEGREES), DELTA);
+            assertEquals(20, Angles.shortestDistance(350, 10, AngleUnit.DEGREES), DELTA);
+            assertEquals(180, Angles.shortestDistance(0, 180, AngleUnit.DEGREES), DELTA);
+            assertEquals(180, Angles.shortestDistance(180, 0, AngleUnit.DEGREES), DELTA);
+            assertEquals(1, Angles.shortestDistance(359, 0, AngleUnit.DEGREES), DELTA);
+        }
+
+        @Test
+        public void shouldMatchModuloForEveryPairOfDegrees() {
+            for (int ini = 0; ini < 360; ini++) {
+                for (int fin = 0; fin < 360; fin++) {
+                    double expected = (fin - ini + 540.0) % 360 - 180;
+                    if (expected == -180) expected = 180;
+
+                    assertEquals(expected, Angles.shortestDistance(ini, fin, AngleUnit.DEGREES), DELTA);
+                }
+            }
+        }
+    }
+
+    public static class RelativeAngleTest {
+        @Test
+        public void shouldMatchModuloForEveryPairOfDegrees() {
+            for (int reference = 0; reference < 360; reference++) {
+                for (int angle = 0; angle < 360; angle++) {
+                    double expected = Math.abs(angle - reference + 360.0) % 360;
+
+                    assertEquals(expected, Angles.relativeAngle(reference, angle, AngleUnit.DEGREES), DELTA);
+                }
+            }
+        }
+    }
+
+    // checks the result is the same direction as the angle
+    private static void assertSameDirection(double angle, double result, double sin, double cos) {
+        String message = angle + " became " + result;
+
+        assertEquals(message, sin, Math.sin(Math.toRadians(result)), DELTA);
+        assertEquals(message, cos, Math.cos(Math.toRadians(result)), DELTA);
+    }
+}
@@ -0,0 +1,49 @@
+package org.chathamrobotics.nova.math;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Enclosed.class)
+public class FastTrigTest {
+    // several times the table size, so every entry and the points between them are checked
+    private static final int STEPS_PER_TURN = 1 << 16;
+    private static final int TURNS = 4;
+
+    public static class AccuracyTest {
+        @Test
+        public void shouldMatchMathOverSeveralTurns() {
+            for (int i = -STEPS_PER_TURN * TURNS; i <= STEPS_PER_TURN * TURNS; i++) {
+                double angle = 2 * Math.PI * i / STEPS_PER_TURN;
+
+                assertEquals("sin " + angle, Math.sin(angle), FastTrig.sin(angle), FastTrig.MAX_ERROR);
+                assertEquals("cos " + angle, Math.cos(angle), FastTrig.cos(angle), FastTrig.MAX_ERROR);
+            }
+        }
+
+        @Test
+        public void shouldMatchMathUpToTheMaxAngle() {
+            Random random = new Random(36);
+
+            for (int i = 0; i < 200000; i++) {
+                double angle = (random.nextDouble() * 2 - 1) * FastTrig.MAX_ANGLE;
+
+                assertEquals("sin " + angle, Math.sin(angle), FastTrig.sin(angle), FastTrig.MAX_ERROR);
+                assertEquals("cos " + angle, Math.cos(angle), FastTrig.cos(angle), FastTrig.MAX_ERROR);
+            }
+        }
+
+        @Test
+        public void shouldFallBackToMathForLargeAngles() {
+            double angle = FastTrig.MAX_ANGLE * 1000 + 0.1;
+
+            assertEquals(Math.sin(angle), FastTrig.sin(angle), 0);
+            assertEquals(Math.cos(angle), FastTrig.cos(angle), 0);
+            assertEquals(Double.NaN, FastTrig.sin(Double.NaN), 0);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.chathamrobotics.nova.math;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Enclosed.class)
+public class Pose2Test {
+    private static final double DELTA = 1e-9;
+
+    public static class MoveTest {
+        @Test
+        public void shouldMoveInThePosesFrame() {
+            Pose2 pose = new Pose2(1, 1, Math.PI / 2);
+
+            pose.move(2, 0, Math.PI / 2);
+
+            assertEquals(1, pose.position.x, DELTA);
+            assertEquals(3, pose.position.y, DELTA);
+            assertEquals(Math.PI, pose.heading, DELTA);
+        }
+
+        @Test
+        public void shouldTransformFieldVectorsIntoTheLocalFrame() {
+            Pose2 pose = new Pose2(0, 0, Math.PI / 2);
+            Vector2 vector = pose.toLocal(new Vector2(1, 0));
+
+            assertEquals(0, vector.x, DELTA);
+            assertEquals(-1, vector.y, DELTA);
+
+            pose.toField(vector);
+            assertEquals(1, vector.x, DELTA);
+            assertEquals(0, vector.y, DELTA);
+        }
+    }
+
+    public static class NormalizeHeadingTest {
+        @Test
+        public void shouldWrapIntoHalfOpenRange() {
+            assertEquals(-Math.PI / 2, new Pose2(0, 0, 3 * Math.PI / 2).normalizeHeading().heading, DELTA);
+            assertEquals(Math.PI / 4, new Pose2(0, 0, -7 * Math.PI / 4).normalizeHeading().heading, DELTA);
+            assertEquals(-Math.PI, new Pose2(0, 0, Math.PI).normalizeHeading().heading, DELTA);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package org.chathamrobotics.nova.math;
+
+import org.chathamrobotics.nova.util.PoseBuffer;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Enclosed.class)
+public class PoseEstimatorTest {
+    private static final double DELTA = 1e-6;
+    private static final long STEP = 5000000;
+
+    public static class PredictTest {
+        private PoseEstimator estimator;
+        private Pose2 pose;
+
+        @Before
+        public void setUp() {
+            estimator = new PoseEstimator(16);
+            pose = new Pose2();
+        }
+
+        @Test
+        public void shouldFollowOdometry() {
+            for (int i = 1; i <= 10; i++) estimator.predict(i * STEP, .1, 0, 0);
+
+            estimator.getPose(pose);
+            assertEquals(1, pose.position.x, DELTA);
+            assertEquals(0, pose.position.y, DELTA);
+        }
+
+        @Test
+        public void shouldMoveInTheRobotsFrame() {
+            estimator.reset(new Pose2(0, 0, Math.PI / 2), 0, 0);
+            estimator.predict(STEP, 1, .5, 0);
+
+            estimator.getPose(pose);
+            assertEquals(-.5, pose.position.x, DELTA);
+            assertEquals(1, pose.position.y, DELTA);
+        }
+
+        @Test
+        public void shouldGrowMoreUncertainAsItMoves() {
+            estimator.predict(STEP, .1, 0, 0);
+            double before = estimator.getPositionDeviation();
+
+            estimator.predict(2 * STEP, .1, 0, .1);
+
+            assertTrue(estimator.getPositionDeviation() > before);
+            assertTrue(estimator.getHeadingDeviation() > 0);
+        }
+
+        @Test
+        public void shouldMatchTheSimulatedChassisKinematics() {
+            // every wheel forward turns the chassis counter clockwise in place
+            WheelSpeeds distances = new WheelSpeeds(.1, .1, .1, .1);
+            estimator.predictHolonomic(STEP, distances, .2);
+
+            estimator.getPose(pose);
+            assertEquals(0, pose.position.x, DELTA);
+            assertEquals(.5, pose.heading, DELTA);
+        }
+
+        @Test
+        public void shouldPublishEachUpdate() {
+            estimator.predict(STEP, .1, 0, 0);
+            estimator.predict(2 * STEP, .1, 0, 0);
+
+            PoseBuffer.Sample sample = new PoseBuffer.Sample();
+            assertTrue(estimator.getOutput().readLatest(sample));
+            assertEquals(.2, sample.pose.position.x, DELTA);
+            assertEquals(2 * STEP, sample.captureTime);
+        }
+    }
+
+    public static class CorrectTest {
+        private PoseEstimator estimator;
+        private Pose2 pose;
+
+        @Before
+        public void setUp() {
+            estimator = new PoseEstimator(16);
+            estimator.reset(new Pose2(), 1, 1);
+            pose = new Pose2();
+        }
+
+        @Test
+        public void shouldWeighAHeadingByItsVariance() {
+            estimator.correctHeading(.5, 1);
+
+            estimator.getPose(pose);
+            assertEquals(.25, pose.heading, DELTA);
+            assertEquals(Math.sqrt(.5), estimator.getHeadingDeviation(), DELTA);
+        }
+
+        @Test
+        public void shouldCorrectAcrossTheWrap() {
+            estimator.reset(new Pose2(0, 0, Math.PI - .1), 1, 1);
+            estimator.correctHeading(-Math.PI + .1, 1);
+
+            estimator.getPose(pose);
+            assertEquals(Math.PI, pose.heading, DELTA);
+        }
+
+        @Test
+        public void shouldTrustAPreciseVisionPose() {
+            estimator.correctPose(0, 2, 3, .5, 1e-6, 1e-6);
+
+            estimator.getPose(pose);
+            assertEquals(2, pose.position.x, 1e-3);
+            assertEquals(3, pose.position.y, 1e-3);
+            assertEquals(.5, pose.heading, 1e-3);
+        }
+
+        @Test
+        public void shouldReplayAfterADelayedVisionPose() {
+            PoseEstimator inOrder = new PoseEstimator(16);
+            inOrder.reset(new Pose2(), 1, 1);
+
+            for (int i = 1; i <= 10; i++) {
+                estimator.predict(i * STEP, .1, 0, .01);
+                estimator.correctHeading(i * .01, .1);
+
+                inOrder.predict(i * STEP, .1, 0, .01);
+                inOrder.correctHeading(i * .01, .1);
+                if (i == 4) inOrder.correctPose(4 * STEP, .3, .1, .05, .01, .01);
+            }
+
+            assertTrue(estimator.correctPose(4 * STEP + 1, .3, .1, .05, .01, .01));
+
+            Pose2 expected = inOrder.getPose(new Pose2());
+            estimator.getPose(pose);
+            assertEquals(expected.position.x, pose.position.x, DELTA);
+            assertEquals(expected.position.y, pose.position.y, DELTA);
+            assertEquals(expected.heading, pose.heading, DELTA);
+            assertEquals(inOrder.getPositionDeviation(), estimator.getPositionDeviation(), DELTA);
+        }
+
+        @Test
+        public void shouldReplayEveryCorrectionInAStep() {
+            PoseEstimator inOrder = new PoseEstimator(16);
+            inOrder.reset(new Pose2(), 1, 1);
+
+            for (int i = 1; i <= 10; i++) {
+                estimator.predict(i * STEP, .1, 0, .01);
+                inOrder.predict(i * STEP, .1, 0, .01);
+
+                if (i == 4) inOrder.correctPose(4 * STEP, .3, .1, .05, .01, .01);
+
+                if (i == 8) {
+                    // two gyro readings and two vision poses in one step
+                    estimator.correctHeading(.07, .1);
+                    estimator.correctHeading(.09, .2);
+                    estimator.correctPose(8 * STEP, .75, .05, .08, .02, .02);
+                    estimator.correctPose(8 * STEP, .85, .02, .06, .04, .01);
+
+                    inOrder.correctHeading(.07, .1);
+                    inOrder.correctHeading(.09, .2);
+                    inOrder.correctPose(8 * STEP, .75, .05, .08, .02, .02);
+                    inOrder.correctPose(8 * STEP, .85, .02, .06, .04, .01);
+                }
+            }
+
+            // a late pose makes the estimator replay step 8
+            assertTrue(estimator.correctPose(4 * STEP + 1, .3, .1, .05, .01, .01));
+
+            Pose2 expected = inOrder.getPose(new Pose2());
+            estimator.getPose(pose);
+            assertEquals(expected.position.x, pose.position.x, DELTA);
+            assertEquals(expected.position.y, pose.position.y, DELTA);
+            assertEquals(expected.heading, pose.heading, DELTA);
+            assertEquals(inOrder.getPositionDeviation(), estimator.getPositionDeviation(), DELTA);
+            assertEquals(inOrder.getHeadingDeviation(), estimator.getHeadingDeviation(), DELTA);
+        }
+
+        @Test
+        public void shouldRejectPosesOlderThanTheHistory() {
+            for (int i = 1; i <= 20; i++) estimator.predict(i * STEP, .1, 0, 0);
+
+            assertFalse(estimator.correctPose(STEP, 0, 0, 0, .01, .01));
+            assertEquals(1, estimator.getRejectedCount());
+        }
+
+        @Test
+        public void shouldReadPosesFromABuffer() {
+            PoseBuffer poses = new PoseBuffer(4);
+            for (int i = 1; i <= 3; i++) estimator.predict(i * STEP, 0, 0, 0);
+
+            poses.publish(1, 1, 0, 2 * STEP, 1);
+            poses.publish(1, 1, 0, 3 * STEP, 0);
+
+            assertEquals(1, estimator.correctFrom(poses));
+            assertEquals(0, estimator.correctFrom(poses));
+
+            estimator.getPose(pose);
+            assertTrue(pose.position.x > .9);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldRejectAZeroVariance() {
+            estimator.correctHeading(0, 0);
+        }
+    }
+
+    public static class FusionTest {
+        @Test
+        public void shouldBeatOdometryAloneWithDelayedVision() {
+            Random random = new Random(7);
+            PoseEstimator fused = new PoseEstimator(64);
+            PoseEstimator odometryOnly = new PoseEstimator(64);
+
+            double x = 0, y = 0, heading = 0;
+            double[] history = new double[3 * 2000];
+
+            for (int i = 0; i < 2000; i++) {
+                long time = (i + 1) * STEP;
+                double forward = .005, turn = .002;
+
+                double mid = heading + turn / 2;
+                x += forward * Math.cos(mid);
+                y += forward * Math.sin(mid);
+                heading += turn;
+                history[i * 3] = x;
+                history[i * 3 + 1] = y;
+                history[i * 3 + 2] = heading;
+
+                // the wheels slip, reading 5% long
+                fused.predict(time, forward * 1.05, 0, turn * 1.05);
+                odometryOnly.predict(time, forward * 1.05, 0, turn * 1.05);
+
+                fused.correctHeading(heading + random.nextGaussian() * .01, 1e-4);
+
+                // a noisy vision fix every 30 steps, arriving 10 steps late
+                if (i % 30 == 0 && i >= 10) {
+                    int seen = i - 10;
+                    fused.correctPose((seen + 1) * STEP,
+                            history[seen * 3] + random.nextGaussian() * .03,
+                            history[seen * 3 + 1] + random.nextGaussian() * .03,
+                            history[seen * 3 + 2] + random.nextGaussian() * .03,
+                            .03 * .03, .03 * .03);
+                }
+            }
+
+            Pose2 a = fused.getPose(new Pose2()), b = odometryOnly.getPose(new Pose2());
+            double fusedError = Math.hypot(a.position.x - x, a.position.y - y);
+            double odometryError = Math.hypot(b.position.x - x, b.position.y - y);
+
+            assertTrue("fused " + fusedError + " vs odometry " + odometryError, fusedError < odometryError / 4);
+            assertTrue(fusedError < .1);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.chathamrobotics.nova.math;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+@RunWith(Enclosed.class)
+public class ScratchTest {
+    public static class ReleaseTest {
+        @Test
+        public void shouldReuseObjectsAfterRelease() {
+            Scratch scratch = Scratch.get();
+            int mark = scratch.mark();
+
+            Vector2 first = scratch.vector();
+            Vector2 second = scratch.vector();
+            WheelSpeeds speeds = scratch.wheelSpeeds();
+            assertNotSame(first, second);
+
+            scratch.release(mark);
+
+            assertSame(first, scratch.vector());
+            assertSame(second, scratch.vector());
+            assertSame(speeds, scratch.wheelSpeeds());
+            assertEquals(mark + 2 + (1 << 20), scratch.mark());
+
+            scratch.release(mark);
+        }
+
+        @Test
+        public void shouldGrowPastTheInitialSize() {
+            Scratch scratch = Scratch.get();
+            int mark = scratch.mark();
+
+            Pose2[] poses = new Pose2[100];
+            for (int i = 0; i < poses.length; i++) poses[i] = scratch.pose();
+
+            scratch.release(mark);
+
+            for (Pose2 pose : poses) assertSame(pose, scratch.pose());
+
+            scratch.release(mark);
+        }
+
+        @Test(expected = IllegalStateException.class)
+        public void shouldThrowIfAMarkIsReleasedTwice() {
+            Scratch scratch = Scratch.get();
+            int outer = scratch.mark();
+
+            scratch.vector();
+            int inner = scratch.mark();
+            scratch.vector();
+
+            scratch.release(outer);
+            scratch.release(inner);
+        }
+    }
+
+    public static class GetTest {
+        @Test
+        public void shouldGiveEachThreadItsOwnPool() throws InterruptedException {
+            final AtomicReference<Scratch> other = new AtomicReference<>();
+
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    other.set(Scratch.get());
+                }
+            });
+            thread.start();
+            thread.join();
+
+            assertSame(Scratch.get(), Scratch.get());
+            assertNotSame(Scratch.get(), other.get());
+        }
+    }
+}
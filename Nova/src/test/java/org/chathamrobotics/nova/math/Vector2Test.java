@@ -0,0 +1,74 @@
+package org.chathamrobotics.nova.math;
+
+import org.chathamrobotics.nova.util.units.AngleUnit;
+import org.chathamrobotics.nova.util.units.DistanceUnit;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+@RunWith(Enclosed.class)
+public class Vector2Test {
+    private static final double DELTA = 1e-9;
+
+    public static class SetTest {
+        @Test
+        public void shouldStoreMeters() {
+            Vector2 vector = new Vector2(12, -6, DistanceUnit.INCH);
+
+            assertEquals(0.3048, vector.x, 1e-6);
+            assertEquals(-0.1524, vector.y, 1e-6);
+            assertEquals(1, vector.getX(DistanceUnit.FEET), DELTA);
+        }
+
+        @Test
+        public void shouldSetFromPolarCoordinates() {
+            Vector2 vector = new Vector2().setPolar(2, 90, AngleUnit.DEGREES);
+
+            assertEquals(0, vector.x, DELTA);
+            assertEquals(2, vector.y, DELTA);
+            assertEquals(2, vector.magnitude(), DELTA);
+            assertEquals(Math.PI / 2, vector.angle(), DELTA);
+        }
+    }
+
+    public static class OperationTest {
+        @Test
+        public void shouldModifyInPlace() {
+            Vector2 vector = new Vector2(1, 2);
+
+            assertSame(vector, vector.add(new Vector2(1, 1)).scale(2).sub(new Vector2(1, 0)));
+            assertEquals(3, vector.x, DELTA);
+            assertEquals(6, vector.y, DELTA);
+        }
+
+        @Test
+        public void shouldRotateCounterClockwise() {
+            Vector2 vector = new Vector2(1, 0).rotate(Math.PI / 2);
+
+            assertEquals(0, vector.x, DELTA);
+            assertEquals(1, vector.y, DELTA);
+        }
+
+        @Test
+        public void shouldLimitTheLengthAndKeepTheDirection() {
+            Vector2 vector = new Vector2(3, 4).limit(1);
+
+            assertEquals(0.6, vector.x, DELTA);
+            assertEquals(0.8, vector.y, DELTA);
+
+            vector.limit(2);
+            assertEquals(1, vector.magnitude(), DELTA);
+        }
+
+        @Test
+        public void shouldLeaveAZeroVectorWhenNormalizing() {
+            Vector2 vector = new Vector2().normalize();
+
+            assertEquals(0, vector.x, 0);
+            assertEquals(0, vector.y, 0);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package org.chathamrobotics.nova.metrics;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Enclosed.class)
+public class LatencyHistogramTest {
+    public static class IndexOfTest {
+        @Test
+        public void shouldRecordSmallValuesExactly() {
+            for (int i = 0; i < 64; i++)
+                assertEquals(i, LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexOf(i)));
+        }
+
+        @Test
+        public void shouldBeWithinRelativeErrorForLargeValues() {
+            for (long value = 64; value < LatencyHistogram.MAX_VALUE; value = value * 3 / 2 + 7) {
+                long upper = LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexOf(value));
+
+                assertTrue(upper >= value);
+                assertTrue((upper - value) <= value / 32);
+            }
+        }
+
+        @Test
+        public void shouldBeMonotonic() {
+            int last = 0;
+            for (long value = 0; value < 1 << 20; value++) {
+                int index = LatencyHistogram.indexOf(value);
+
+                assertTrue(index >= last);
+                last = index;
+            }
+        }
+    }
+
+    public static class RecordTest {
+        private MetricsRegistry registry;
+
+        @Before
+        public void setUp() {
+            registry = new MetricsRegistry();
+            registry.setEnabled(true);
+        }
+
+        @Test
+        public void shouldNotRecordWhenDisabled() {
+            registry.setEnabled(false);
+            LatencyHistogram histogram = registry.histogram("test");
+
+            histogram.record(100);
+
+            assertEquals(0, histogram.getCount());
+            assertEquals(LatencyHistogram.NOT_TIMED, histogram.start());
+        }
+
+        @Test
+        public void shouldCalculatePercentiles() {
+            LatencyHistogram histogram = registry.histogram("test");
+
+            for (int i = 1; i <= 1000; i++) histogram.record(i * 1000L);
+
+            LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+            assertEquals(1000, snapshot.count);
+            assertEquals(1000, snapshot.min);
+            assertEquals(1000000, snapshot.max);
+            assertEquals(500500, snapshot.mean, 0.001);
+            assertEquals(500000, snapshot.p50, 500000 / 32);
+            assertEquals(990000, snapshot.p99, 990000 / 32);
+        }
+
+        @Test
+        public void shouldRecordTheSameFromASingleWriter() {
+            LatencyHistogram atomic = registry.histogram("atomic");
+            LatencyHistogram single = registry.histogram("single");
+
+            for (int i = 1; i <= 1000; i++) {
+                atomic.record(i * 1000L);
+                single.recordSingleWriter(i * 1000L);
+            }
+
+            LatencyHistogram.Snapshot expected = atomic.snapshot(), actual = single.snapshot();
+            assertEquals(expected.count, actual.count);
+            assertEquals(expected.min, actual.min);
+            assertEquals(expected.max, actual.max);
+            assertEquals(expected.mean, actual.mean, 0.001);
+            assertEquals(expected.p99, actual.p99);
+        }
+
+        @Test
+        public void shouldNotRecordFromASingleWriterWhenDisabled() {
+            registry.setEnabled(false);
+            LatencyHistogram histogram = registry.histogram("test");
+
+            histogram.recordSingleWriter(100);
+            histogram.stopSingleWriter(histogram.start());
+
+            assertEquals(0, histogram.getCount());
+        }
+
+        @Test
+        public void shouldClampLargeValues() {
+            LatencyHistogram histogram = registry.histogram("test");
+
+            histogram.record(Long.MAX_VALUE);
+
+            assertEquals(LatencyHistogram.MAX_VALUE, histogram.snapshot().max);
+        }
+    }
+
+    public static class ResetTest {
+        @Test
+        public void shouldClearAllValues() {
+            MetricsRegistry registry = new MetricsRegistry();
+            registry.setEnabled(true);
+            LatencyHistogram histogram = registry.histogram("test");
+
+            histogram.record(10);
+            histogram.reset();
+
+            assertEquals(0, histogram.getCount());
+            assertEquals(0, histogram.getValueAtPercentile(50));
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package org.chathamrobotics.nova.robot;
+
+import android.util.Log;
+
+import org.chathamrobotics.nova.sim.SimMotor;
+import org.chathamrobotics.nova.sim.VirtualClock;
+import org.chathamrobotics.nova.system.HolonomicDrive;
+import org.chathamrobotics.nova.system.RobotSystem;
+import org.chathamrobotics.nova.util.NovaClock;
+import org.chathamrobotics.nova.util.RobotLogger;
+import org.firstinspires.ftc.robotcore.internal.opmode.TelemetryImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLog;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@RunWith(Enclosed.class)
+public class EmergencyStopTest {
+    // only finishes stopping once every system sharing its latch has started to, so a sequential
+    // stop would leave it waiting
+    static class ParallelSystem extends RobotTest.TestSystem {
+        final CountDownLatch stopping;
+        volatile boolean drivePoweredWhenStopped;
+        volatile boolean stoppedTogether;
+        HolonomicDrive drive;
+
+        ParallelSystem(CountDownLatch stopping) {
+            super(false);
+            this.stopping = stopping;
+        }
+
+        @Override
+        public void stop() {
+            if (drive != null) drivePoweredWhenStopped = drive.getActuators()[0].getPower() != 0;
+
+            stopping.countDown();
+            try {
+                stoppedTogether = stopping.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            super.stop();
+        }
+    }
+
+    // never finishes stopping on its own, like vuforia stuck closing the camera
+    static class StuckSystem extends RobotTest.TestSystem {
+        final VirtualClock clock;
+        final CountDownLatch release;
+        HolonomicDrive drive;
+
+        StuckSystem(VirtualClock clock, CountDownLatch release) {
+            super(false);
+            this.clock = clock;
+            this.release = release;
+        }
+
+        @Override
+        public void stop() {
+            try {
+                // runs out the teardown timeout once the drive is done, so only the stuck systems are late
+                if (drive != null) drive.awaitState(State.STOPPED, 5, TimeUnit.SECONDS);
+                clock.advance(1, TimeUnit.SECONDS);
+
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            super.stop();
+        }
+    }
+
+    static HolonomicDrive makeDrive() {
+        return makeDrive(new SimMotor("fl"));
+    }
+
+    static HolonomicDrive makeDrive(SimMotor frontLeft) {
+        RobotLogger logger = new RobotLogger("TEST", mock(TelemetryImpl.class));
+        logger.setLevel(RobotLogger.Level.FATAL);
+
+        return new HolonomicDrive(frontLeft, new SimMotor("fr"), new SimMotor("br"), new SimMotor("bl"), logger);
+    }
+
+    @RunWith(RobolectricTestRunner.class)
+    @Config(manifest = Config.NONE)
+    public static class TriggerTest {
+        private VirtualClock clock;
+        private CountDownLatch stopping, release;
+        private Robot robot;
+        private HolonomicDrive drive;
+
+        @Before
+        public void setUp() {
+            clock = new VirtualClock();
+            NovaClock.getInstance().setSource(clock);
+
+            stopping = new CountDownLatch(2);
+            release = new CountDownLatch(1);
+            robot = RobotTest.makeRobot();
+            drive = makeDrive();
+        }
+
+        @After
+        public void tearDown() {
+            release.countDown();
+            NovaClock.getInstance().reset();
+        }
+
+        // the other systems come first, so a sequential stop would reach the drive last
+        private void start(RobotSystem first, RobotSystem second) {
+            robot.addSystem("first", first);
+            robot.addSystem("second", second);
+            robot.addSystem("drive", drive);
+
+            robot.init();
+            robot.start();
+            drive.drive(1);
+        }
+
+        @Test
+        public void shouldZeroActuatorsBeforeStoppingSystems() {
+            ParallelSystem first = new ParallelSystem(stopping), second = new ParallelSystem(stopping);
+            first.drive = drive;
+            second.drive = drive;
+            start(first, second);
+
+            assertTrue(robot.emergencyStop());
+
+            assertFalse(first.drivePoweredWhenStopped);
+            assertFalse(second.drivePoweredWhenStopped);
+            assertEquals(0, drive.getActuators()[0].getPower(), 0);
+            assertEquals(RobotSystem.State.STOPPED, drive.getState());
+        }
+
+        @Test
+        public void shouldZeroWithinTheLatencyTarget() {
+            start(new ParallelSystem(stopping), new ParallelSystem(stopping));
+
+            robot.emergencyStop();
+
+            assertTrue(robot.getEmergencyStop().isWithinTarget());
+            assertEquals(0, robot.getEmergencyStop().getTimeToZero(TimeUnit.NANOSECONDS));
+        }
+
+        @Test
+        public void shouldStopSystemsInParallel() {
+            ParallelSystem first = new ParallelSystem(stopping), second = new ParallelSystem(stopping);
+            start(first, second);
+
+            assertTrue(robot.emergencyStop());
+
+            assertTrue(first.stoppedTogether);
+            assertTrue(second.stoppedTogether);
+            assertEquals(RobotSystem.State.STOPPED, first.getState());
+            assertEquals(RobotSystem.State.STOPPED, second.getState());
+        }
+
+        @Test
+        public void shouldGiveUpOnSystemsThatDoNotStop() {
+            StuckSystem stuck = new StuckSystem(clock, release);
+            stuck.drive = drive;
+            start(stuck, new RobotTest.TestSystem(false));
+            robot.getEmergencyStop().setTeardownTimeout(50, TimeUnit.MILLISECONDS);
+
+            assertFalse(robot.emergencyStop());
+            assertEquals(0, drive.getActuators()[0].getPower(), 0);
+            assertTrue(robot.getEmergencyStop().getTeardownTime(TimeUnit.MILLISECONDS) >= 50);
+        }
+
+        @Test
+        public void shouldReportEverySystemThatDoesNotStop() {
+            StuckSystem first = new StuckSystem(clock, release), second = new StuckSystem(clock, release);
+            first.drive = drive;
+            second.drive = drive;
+            start(first, second);
+            robot.getEmergencyStop().setTeardownTimeout(50, TimeUnit.MILLISECONDS);
+            ShadowLog.clear();
+
+            assertFalse(robot.emergencyStop());
+
+            String warning = null;
+            for (ShadowLog.LogItem item : ShadowLog.getLogsForTag("EmergencyStop")) {
+                if (item.type == Log.WARN) warning = item.msg;
+            }
+
+            assertTrue(warning, warning != null && warning.contains("first") && warning.contains("second"));
+            assertFalse(warning.contains("drive"));
+        }
+
+        @Test
+        public void shouldZeroActuatorsWhenStoppedNormally() {
+            ParallelSystem first = new ParallelSystem(stopping);
+            first.drive = drive;
+            start(first, new RobotTest.TestSystem(false));
+
+            // a normal stop is sequential, so nothing else is stopping alongside
+            stopping.countDown();
+            robot.stop();
+
+            assertFalse(first.drivePoweredWhenStopped);
+            assertTrue(robot.getEmergencyStop().getTimeToZero(TimeUnit.NANOSECONDS) >= 0);
+        }
+    }
+
+    @RunWith(RobolectricTestRunner.class)
+    @Config(manifest = Config.NONE)
+    public static class ArmTest {
+        @Test
+        public void shouldCollectActuatorsOfSystemsAddedAfterArming() {
+            SystemRegistry registry = new SystemRegistry();
+            EmergencyStop stop = new EmergencyStop(registry);
+
+            stop.arm();
+            assertEquals(0, stop.getActuators().length);
+
+            registry.register("drive", makeDrive());
+            stop.zero();
+
+            assertEquals(4, stop.getActuators().length);
+        }
+
+        @Test
+        public void shouldRearmWhenASystemIsSwappedForAnother() {
+            SystemRegistry registry = new SystemRegistry();
+            EmergencyStop stop = new EmergencyStop(registry);
+            HolonomicDrive old = makeDrive(), replacement = makeDrive();
+
+            registry.register("drive", old);
+            stop.arm();
+            registry.unregister(old);
+            registry.register("drive", replacement);
+            stop.zero();
+
+            assertSame(replacement.getActuators()[0], stop.getActuators()[0]);
+        }
+
+        @Test
+        public void shouldRearmWhenTheRobotsSystemsChange() {
+            Robot robot = RobotTest.makeRobot();
+            HolonomicDrive old = makeDrive(), replacement = makeDrive();
+
+            robot.add(old);
+            assertSame(old.getActuators()[0], robot.getEmergencyStop().getActuators()[0]);
+
+            robot.set(0, replacement);
+            assertSame(replacement.getActuators()[0], robot.getEmergencyStop().getActuators()[0]);
+
+            robot.remove(replacement);
+            assertEquals(0, robot.getEmergencyStop().getActuators().length);
+        }
+
+        @Test
+        public void shouldTimeZeroingWithTheClock() {
+            final VirtualClock clock = new VirtualClock();
+            SystemRegistry registry = new SystemRegistry();
+            EmergencyStop stop = new EmergencyStop(registry, clock);
+
+            // each write to the hub takes a while
+            registry.register("drive", makeDrive(new SimMotor("fl") {
+                @Override
+                public synchronized void setPower(double power) {
+                    clock.advance(30, TimeUnit.MILLISECONDS);
+                    super.setPower(power);
+                }
+            }));
+            stop.arm();
+
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(30), stop.zero());
+            assertFalse(stop.isWithinTarget());
+        }
+
+        @Test(expected = IllegalStateException.class)
+        public void shouldNotCheckTheTargetBeforeTriggering() {
+            new EmergencyStop(new SystemRegistry()).isWithinTarget();
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package org.chathamrobotics.nova.robot;
+
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.chathamrobotics.nova.async.AsyncCallback;
+import org.chathamrobotics.nova.system.RobotSystem;
+import org.chathamrobotics.nova.system.RobotSystemImpl;
+import org.chathamrobotics.nova.util.RobotLogger;
+import org.firstinspires.ftc.robotcore.internal.opmode.TelemetryImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@RunWith(Enclosed.class)
+public class RobotTest {
+    static class TestSystem extends RobotSystemImpl {
+        // initializes on another thread, like vuforia
+        final boolean async;
+
+        TestSystem(boolean async) {
+            super(new RobotLogger("TEST", mock(TelemetryImpl.class)));
+            this.async = async;
+        }
+
+        @Override
+        public void init() {
+            if (! async) {
+                setState(State.INITIALIZED);
+                return;
+            }
+
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+
+                    setState(State.INITIALIZED);
+                }
+            }).start();
+        }
+
+        @Override
+        public void start() {
+            setState(State.RUNNING);
+        }
+
+        @Override
+        public void stop() {
+            setState(State.STOPPED);
+        }
+    }
+
+    // implements RobotSystem directly, like systems written before states were published
+    static class PlainSystem implements RobotSystem {
+        volatile State state;
+
+        @Override
+        public void init() {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+
+                    state = State.INITIALIZED;
+                }
+            }).start();
+        }
+
+        @Override
+        public boolean isInitialized() {
+            return state == State.INITIALIZED || state == State.RUNNING;
+        }
+
+        @Override
+        public void start() {
+            state = State.RUNNING;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return state == State.RUNNING;
+        }
+
+        @Override
+        public void stop() {
+            state = State.STOPPED;
+        }
+
+        @Override
+        public State getState() {
+            return state;
+        }
+    }
+
+    static Robot makeRobot() {
+        Robot robot = new Robot(mock(HardwareMap.class), mock(TelemetryImpl.class));
+        robot.logger.setLevel(RobotLogger.Level.FATAL);
+        return robot;
+    }
+
+    @RunWith(RobolectricTestRunner.class)
+    @Config(manifest = Config.NONE)
+    public static class LifecycleTest {
+        private Robot robot;
+
+        @Before
+        public void setUp() {
+            robot = makeRobot();
+            robot.add(new TestSystem(false));
+            robot.add(new TestSystem(true));
+        }
+
+        @Test
+        public void shouldWaitForEverySystemToInitialize() {
+            robot.init();
+
+            for (RobotSystem system : robot) assertTrue(system.isInitialized());
+        }
+
+        @Test
+        public void shouldSignalOnceEverySystemIsReady() throws InterruptedException {
+            final CountDownLatch ready = new CountDownLatch(1);
+            robot.whenState(RobotSystem.State.INITIALIZED, new AsyncCallback() {
+                @Override
+                public void run(Throwable thr) {
+                    ready.countDown();
+                }
+            });
+
+            robot.get(0).init();
+            assertEquals(1, ready.getCount());
+
+            robot.get(1).init();
+            assertTrue(ready.await(5, TimeUnit.SECONDS));
+        }
+
+        @Test
+        public void shouldWaitForSystemsThatDoNotPublishTheirState() throws InterruptedException {
+            PlainSystem plain = new PlainSystem();
+            robot.add(plain);
+
+            robot.init();
+
+            assertTrue(plain.isInitialized());
+            assertTrue(robot.awaitState(RobotSystem.State.INITIALIZED, 5, TimeUnit.SECONDS));
+        }
+
+        @Test(timeout = 5000)
+        public void shouldNotWaitOnASystemThatStopsBeforeStarting() {
+            robot.add(new TestSystem(false) {
+                @Override
+                public void start() {
+                    // eg. a camera that failed to open
+                    setState(State.STOPPED);
+                }
+            });
+
+            robot.init();
+            robot.start();
+
+            assertEquals(RobotSystem.State.STOPPED, robot.get(2).getState());
+        }
+
+        @Test
+        public void shouldTimeOutWaitingForASystem() throws InterruptedException {
+            robot.get(0).init();
+
+            assertFalse(robot.awaitState(RobotSystem.State.INITIALIZED, 10, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @RunWith(RobolectricTestRunner.class)
+    @Config(manifest = Config.NONE)
+    public static class RegistryTest {
+        private Robot robot;
+
+        @Before
+        public void setUp() {
+            robot = makeRobot();
+        }
+
+        @Test
+        public void shouldNotAddASystemTwice() {
+            TestSystem system = new TestSystem(false);
+
+            assertTrue(robot.add(system));
+            assertFalse(robot.add(system));
+            assertEquals(1, robot.size());
+        }
+
+        @Test
+        public void shouldNameSystemsByClass() {
+            TestSystem first = new TestSystem(false), second = new TestSystem(false);
+            robot.add(first);
+            robot.add(second);
+
+            assertSame(first, robot.getSystem("TestSystem"));
+            assertSame(second, robot.getSystem("TestSystem2"));
+        }
+
+        @Test
+        public void shouldFindSystemsAddedToTheList() {
+            TestSystem system = new TestSystem(false);
+            robot.add(0, system);
+
+            assertSame(system, robot.getSystem(TestSystem.class));
+        }
+
+        @Test
+        public void shouldNotInitializeRemovedSystems() {
+            TestSystem kept = new TestSystem(false), removed = new TestSystem(false);
+            robot.add(kept);
+            robot.add(removed);
+
+            robot.remove(removed);
+            robot.init();
+
+            assertTrue(kept.isInitialized());
+            assertFalse(removed.isInitialized());
+            assertNull(robot.getSystem("TestSystem2"));
+        }
+
+        @Test
+        public void shouldRegisterSystemsInsertedInPlaceOfRemovedOnes() {
+            TestSystem first = new TestSystem(false), second = new TestSystem(false);
+            robot.add(first);
+
+            robot.remove(first);
+            robot.add(0, second);
+            robot.init();
+
+            assertTrue(second.isInitialized());
+            assertFalse(first.isInitialized());
+            assertSame(second, robot.getSystem(TestSystem.class));
+        }
+
+        @Test
+        public void shouldUnregisterEverySystemWhenCleared() {
+            robot.add(new TestSystem(false));
+            robot.add(new TestSystem(false));
+
+            robot.clear();
+
+            assertEquals(0, robot.getRegistry().size());
+            assertNull(robot.getSystem(TestSystem.class));
+        }
+
+        @Test
+        public void shouldRegisterReplacedSystems() {
+            TestSystem first = new TestSystem(false), second = new TestSystem(false);
+            robot.add(first);
+
+            robot.set(0, second);
+
+            assertSame(second, robot.getSystem(TestSystem.class));
+            assertEquals(1, robot.getRegistry().size());
+        }
+
+        @Test
+        public void shouldSyncRemovalsThroughTheIterator() {
+            robot.add(new TestSystem(false));
+
+            Iterator<RobotSystem> iterator = robot.iterator();
+            iterator.next();
+            iterator.remove();
+
+            assertNull(robot.getSystem(TestSystem.class));
+        }
+
+        @Test
+        public void shouldRegisterInsertedAndReplacedSystemsInListOrder() {
+            TestSystem first = new TestSystem(false), second = new TestSystem(false);
+            TestSystem inserted = new TestSystem(false), replacement = new TestSystem(false);
+            robot.add(first);
+            robot.add(second);
+
+            robot.add(0, inserted);
+            robot.set(2, replacement);
+
+            List<RobotSystem> order = new ArrayList<>();
+            for (SystemRegistry.Entry entry : robot.getRegistry().getOrder()) order.add(entry.getSystem());
+
+            assertEquals(robot, order);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldNotInsertASystemTwice() {
+            TestSystem system = new TestSystem(false);
+            robot.add(system);
+
+            robot.add(0, system);
+        }
+
+        @Test
+        public void shouldInitializeDependenciesFirst() {
+            final List<String> initialized = new ArrayList<>();
+
+            TestSystem drive = new TestSystem(false) {
+                @Override
+                public void init() {
+                    initialized.add("drive");
+                    super.init();
+                }
+            };
+            TestSystem gyro = new TestSystem(false) {
+                @Override
+                public void init() {
+                    initialized.add("gyro");
+                    super.init();
+                }
+            };
+
+            robot.add(drive);
+            robot.addSystem("gyro", gyro);
+            robot.getRegistry().addDependency(drive, gyro);
+
+            robot.init();
+
+            assertEquals("[gyro, drive]", initialized.toString());
+        }
+    }
+}
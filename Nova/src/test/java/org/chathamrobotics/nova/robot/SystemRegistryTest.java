@@ -0,0 +1,230 @@
+package org.chathamrobotics.nova.robot;
+
+import org.chathamrobotics.nova.system.RobotSystem;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Enclosed.class)
+public class SystemRegistryTest {
+    static class OtherSystem extends RobotTest.TestSystem {
+        OtherSystem() {
+            super(false);
+        }
+    }
+
+    static List<String> names(SystemRegistry registry) {
+        List<String> names = new ArrayList<>();
+        for (SystemRegistry.Entry entry : registry.getOrder()) names.add(entry.getName());
+
+        return names;
+    }
+
+    @RunWith(RobolectricTestRunner.class)
+    @Config(manifest = Config.NONE)
+    public static class LookupTest {
+        private SystemRegistry registry;
+        private RobotTest.TestSystem test;
+        private OtherSystem other;
+
+        @Before
+        public void setUp() {
+            registry = new SystemRegistry();
+            test = new RobotTest.TestSystem(false);
+            other = new OtherSystem();
+
+            registry.register("test", test);
+            registry.register("other", other);
+        }
+
+        @Test
+        public void shouldFindSystemsByName() {
+            assertSame(test, registry.get("test"));
+            assertSame(other, registry.get("other", OtherSystem.class));
+            assertNull(registry.get("missing"));
+        }
+
+        @Test
+        public void shouldFindSystemsByClass() {
+            assertSame(other, registry.get(OtherSystem.class));
+            assertNull(registry.get(Runnable.class));
+        }
+
+        @Test(expected = IllegalStateException.class)
+        public void shouldRejectAmbiguousTypes() {
+            registry.get(RobotSystem.class);
+        }
+
+        @Test
+        public void shouldForgetUnregisteredSystems() {
+            assertTrue(registry.unregister(other));
+
+            assertNull(registry.get("other"));
+            assertNull(registry.get(OtherSystem.class));
+            assertFalse(registry.contains(other));
+            assertFalse(registry.unregister(other));
+        }
+
+        @Test
+        public void shouldResolveSharedTypesOnceUnregistered() {
+            registry.unregister(other);
+
+            assertSame(test, registry.get(RobotSystem.class));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldRejectDuplicateNames() {
+            registry.register("test", new RobotTest.TestSystem(false));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldRejectDuplicateSystems() {
+            registry.register("again", test);
+        }
+    }
+
+    @RunWith(RobolectricTestRunner.class)
+    @Config(manifest = Config.NONE)
+    public static class OrderTest {
+        private SystemRegistry registry;
+        private RobotSystem a, b, c;
+
+        @Before
+        public void setUp() {
+            registry = new SystemRegistry();
+            a = new RobotTest.TestSystem(false);
+            b = new RobotTest.TestSystem(false);
+            c = new RobotTest.TestSystem(false);
+        }
+
+        @Test
+        public void shouldKeepRegistrationOrderWithoutDependencies() {
+            registry.register("a", a);
+            registry.register("b", b);
+            registry.register("c", c);
+
+            assertEquals("[a, b, c]", names(registry).toString());
+        }
+
+        @Test
+        public void shouldRegisterAtAPosition() {
+            registry.register("a", a);
+            registry.register("b", b);
+            registry.register(1, "c", c);
+            registry.addDependency(a, b);
+
+            assertEquals("[c, b, a]", names(registry).toString());
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void shouldRejectPositionsPastTheEnd() {
+            registry.register(1, "a", a);
+        }
+
+        @Test
+        public void shouldOrderSystemsAfterTheirDependencies() {
+            registry.register("a", a);
+            registry.register("b", b);
+            registry.register("c", c);
+            registry.addDependency(a, c);
+
+            assertEquals("[b, c, a]", names(registry).toString());
+        }
+
+        @Test
+        public void shouldDropDependenciesOnUnregisteredSystems() {
+            registry.register("a", a);
+            registry.register("b", b, a);
+            registry.register("c", c);
+            registry.addDependency(a, c);
+
+            registry.unregister(c);
+
+            assertEquals("[a, b]", names(registry).toString());
+            assertTrue(registry.getEntry(a).getDependencies().isEmpty());
+        }
+
+        @Test
+        public void shouldUnregisterThroughTheIterator() {
+            registry.register("a", a);
+            registry.register("b", b);
+
+            Iterator<RobotSystem> iterator = registry.iterator();
+            iterator.next();
+            iterator.remove();
+
+            assertEquals("[b]", names(registry).toString());
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldRejectCycles() {
+            registry.register("a", a);
+            registry.register("b", b, a);
+            registry.register("c", c, b);
+
+            registry.addDependency(a, c);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldRejectUnregisteredDependencies() {
+            registry.register("a", a, b);
+        }
+
+        @Test
+        public void shouldStopInReverseOrder() {
+            final List<String> stopped = new ArrayList<>();
+
+            registry.register("a", new RobotTest.TestSystem(false) {
+                @Override
+                public void stop() {
+                    stopped.add("a");
+                }
+            });
+            registry.register("b", new RobotTest.TestSystem(false) {
+                @Override
+                public void stop() {
+                    stopped.add("b");
+                }
+            });
+
+            registry.stopAll();
+
+            assertEquals("[b, a]", stopped.toString());
+        }
+    }
+
+    @RunWith(RobolectricTestRunner.class)
+    @Config(manifest = Config.NONE)
+    public static class TimingTest {
+        @Test
+        public void shouldRecordLifecycleTimes() {
+            SystemRegistry registry = new SystemRegistry();
+            SystemRegistry.Entry entry = registry.register("test", new RobotTest.TestSystem(false));
+
+            assertTrue(entry.getInitTime(TimeUnit.NANOSECONDS) < 0);
+
+            registry.initAll();
+            registry.startAll();
+            registry.stopAll();
+
+            assertTrue(entry.getInitTime(TimeUnit.NANOSECONDS) >= 0);
+            assertTrue(entry.getReadyTime(TimeUnit.NANOSECONDS) >= 0);
+            assertTrue(entry.getStartTime(TimeUnit.NANOSECONDS) >= 0);
+            assertTrue(entry.getStopTime(TimeUnit.NANOSECONDS) >= 0);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package org.chathamrobotics.nova.sim;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Enclosed.class)
+public class SimGyroTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    public static class CalibrateTest {
+        @Test
+        public void shouldCalibrateForTheCalibrationTime() {
+            SimGyro gyro = new SimGyro("test", 0, 2 * SECOND);
+
+            gyro.calibrate();
+            gyro.update(SECOND);
+            assertTrue(gyro.isCalibrating());
+
+            gyro.update(SECOND);
+            assertFalse(gyro.isCalibrating());
+        }
+
+        @Test
+        public void shouldNotIntegrateWhileCalibrating() {
+            SimGyro gyro = new SimGyro("test", 0, SECOND);
+            gyro.setAngularVelocity(90);
+
+            gyro.calibrate();
+            gyro.update(SECOND);
+
+            assertEquals(0, gyro.getHeading());
+        }
+    }
+
+    public static class GetHeadingTest {
+        @Test
+        public void shouldIntegrateAngularVelocity() {
+            SimGyro gyro = new SimGyro("test", 0, 0);
+            gyro.setAngularVelocity(45);
+
+            gyro.update(SECOND);
+
+            assertEquals(45, gyro.getHeading());
+        }
+
+        @Test
+        public void shouldDrift() {
+            SimGyro gyro = new SimGyro("test", 0.5, 0);
+
+            gyro.update(10 * SECOND);
+
+            assertEquals(5, gyro.getIntegratedHeading(), 1e-9);
+        }
+
+        @Test
+        public void shouldWrapToAFullRotation() {
+            SimGyro gyro = new SimGyro("test", 0, 0);
+            gyro.setAngularVelocity(-90);
+
+            gyro.update(SECOND);
+
+            assertEquals(270, gyro.getHeading());
+
+            gyro.update(4 * SECOND);
+
+            assertEquals(270, gyro.getHeading());
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.chathamrobotics.nova.sim;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.DcMotorSimple;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Enclosed.class)
+public class SimMotorTest {
+    private static final double MAX_TICKS_PER_SECOND = SimMotor.DEFAULT_MAX_RPM * SimMotor.DEFAULT_TICKS_PER_REV / 60;
+
+    private static void run(SimMotor motor, long millis) {
+        for (long t = 0; t < millis; t++) motor.update(TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    public static class UpdateTest {
+        @Test
+        public void shouldReachFullSpeedAfterSeveralTimeConstants() {
+            SimMotor motor = new SimMotor("test");
+            motor.setPower(1);
+
+            run(motor, 500);
+
+            assertEquals(MAX_TICKS_PER_SECOND, motor.getVelocity(), MAX_TICKS_PER_SECOND * 1e-3);
+        }
+
+        @Test
+        public void shouldLagBehindPower() {
+            SimMotor motor = new SimMotor("test");
+            motor.setPower(1);
+
+            run(motor, (long) (SimMotor.DEFAULT_TIME_CONSTANT * 1000));
+
+            // one time constant reaches 1 - 1/e of the change
+            assertEquals(1 - Math.exp(-1), motor.getVelocity() / MAX_TICKS_PER_SECOND, 1e-3);
+        }
+
+        @Test
+        public void shouldCountTicks() {
+            SimMotor motor = new SimMotor("test");
+            motor.setPower(0.5);
+
+            run(motor, 2000);
+
+            // the distance lost while speeding up is the time constant times the final speed
+            double expected = 0.5 * MAX_TICKS_PER_SECOND * (2 - SimMotor.DEFAULT_TIME_CONSTANT);
+            assertEquals(expected, motor.getCurrentPosition(), 5);
+        }
+
+        @Test
+        public void shouldReverseTheEncoderWithDirection() {
+            SimMotor motor = new SimMotor("test");
+            motor.setDirection(DcMotorSimple.Direction.REVERSE);
+            motor.setPower(1);
+
+            run(motor, 100);
+
+            assertTrue(motor.getCurrentPosition() > 0);
+            assertTrue(motor.getVelocity() > 0);
+        }
+
+        @Test
+        public void shouldCoastLongerWhenFloating() {
+            SimMotor braking = new SimMotor("brake"), floating = new SimMotor("float");
+            floating.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.FLOAT);
+
+            braking.setPower(1);
+            floating.setPower(1);
+            run(braking, 500);
+            run(floating, 500);
+
+            braking.setPower(0);
+            floating.setPower(0);
+            run(braking, 100);
+            run(floating, 100);
+
+            assertTrue(floating.getVelocity() > braking.getVelocity());
+        }
+    }
+
+    public static class RunToPositionTest {
+        @Test
+        public void shouldSettleAtTheTarget() {
+            SimMotor motor = new SimMotor("test");
+            motor.setTargetPosition(1000);
+            motor.setMode(DcMotor.RunMode.RUN_TO_POSITION);
+            motor.setPower(1);
+
+            assertTrue(motor.isBusy());
+
+            run(motor, 3000);
+
+            assertFalse(motor.isBusy());
+            assertEquals(1000, motor.getCurrentPosition(), SimMotor.POSITION_TOLERANCE);
+        }
+
+        @Test
+        public void shouldNotExceedThePower() {
+            SimMotor motor = new SimMotor("test");
+            motor.setTargetPosition(100000);
+            motor.setMode(DcMotor.RunMode.RUN_TO_POSITION);
+            motor.setPower(-0.25);
+
+            run(motor, 1000);
+
+            assertEquals(0.25 * MAX_TICKS_PER_SECOND, motor.getVelocity(), MAX_TICKS_PER_SECOND * 1e-3);
+        }
+    }
+
+    public static class SetModeTest {
+        @Test
+        public void shouldResetTheEncoder() {
+            SimMotor motor = new SimMotor("test");
+            motor.setPower(1);
+            run(motor, 100);
+
+            motor.setMode(DcMotor.RunMode.STOP_AND_RESET_ENCODER);
+
+            assertEquals(0, motor.getCurrentPosition());
+            assertEquals(0, motor.getVelocity(), 0);
+
+            run(motor, 100);
+
+            assertEquals(0, motor.getCurrentPosition());
+        }
+    }
+
+    public static class SetPowerTest {
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldRejectInvalidPower() {
+            new SimMotor("test").setPower(1.5);
+        }
+    }
+}
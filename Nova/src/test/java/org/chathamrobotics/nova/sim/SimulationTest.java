@@ -0,0 +1,269 @@
+package org.chathamrobotics.nova.sim;
+
+import org.chathamrobotics.nova.async.AsyncCallback;
+import org.chathamrobotics.nova.async.EventLoop;
+import org.chathamrobotics.nova.async.Listener;
+import org.chathamrobotics.nova.system.HolonomicDrive;
+import org.chathamrobotics.nova.util.NovaClock;
+import org.chathamrobotics.nova.util.RobotLogger;
+import org.chathamrobotics.nova.util.TimeoutChecker;
+import org.firstinspires.ftc.robotcore.internal.opmode.TelemetryImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@RunWith(Enclosed.class)
+public class SimulationTest {
+    private static final long STEP = Simulation.DEFAULT_STEP;
+
+    private static Listener.Condition afterMillis(final Simulation sim, final long millis) {
+        return new Listener.Condition() {
+            @Override
+            public boolean test() {
+                return sim.getClock().nanoTime() >= TimeUnit.MILLISECONDS.toNanos(millis);
+            }
+        };
+    }
+
+    public static class StepTest {
+        @Test
+        public void shouldAdvanceTheClockAndDevices() {
+            Simulation sim = new Simulation();
+            SimGyro gyro = sim.add(new SimGyro("gyro", 0, 0));
+            gyro.setAngularVelocity(1000);
+
+            sim.step();
+
+            assertEquals(STEP, sim.getClock().nanoTime());
+            assertEquals(1000 * STEP / 1e9, gyro.getIntegratedHeading(), 1e-9);
+        }
+    }
+
+    public static class RunTest {
+        @Test
+        public void shouldRunForTheDuration() {
+            Simulation sim = new Simulation();
+
+            sim.run(1, TimeUnit.SECONDS);
+
+            assertEquals(TimeUnit.SECONDS.toNanos(1), sim.getClock().nanoTime());
+        }
+    }
+
+    public static class RunUntilTest {
+        @Test
+        public void shouldReturnTheTimeTaken() throws Exception {
+            Simulation sim = new Simulation();
+
+            long time = sim.runUntil(afterMillis(sim, 100), 1, TimeUnit.SECONDS);
+
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(100), time);
+        }
+
+        @Test(expected = TimeoutException.class)
+        public void shouldTimeout() throws Exception {
+            Simulation sim = new Simulation();
+
+            sim.runUntil(afterMillis(sim, 2000), 1, TimeUnit.SECONDS);
+        }
+
+        @Test
+        public void shouldMeasureSettleTime() throws Exception {
+            Simulation sim = new Simulation();
+            final SimMotor motor = sim.add(new SimMotor("motor"));
+
+            motor.setTargetPosition(2000);
+            motor.setMode(com.qualcomm.robotcore.hardware.DcMotor.RunMode.RUN_TO_POSITION);
+            motor.setPower(1);
+
+            long time = sim.runUntil(new Listener.Condition() {
+                @Override
+                public boolean test() {
+                    return ! motor.isBusy();
+                }
+            }, 5, TimeUnit.SECONDS);
+
+            // 2000 ticks at full speed takes ~0.67s, the approach takes longer
+            assertTrue(time > TimeUnit.MILLISECONDS.toNanos(670));
+            assertTrue(time < TimeUnit.SECONDS.toNanos(2));
+        }
+    }
+
+    @RunWith(RobolectricTestRunner.class)
+    @Config(manifest = Config.NONE)
+    public static class AttachTest {
+        private Simulation sim;
+        private EventLoop eventLoop;
+
+        @Before
+        public void setUp() {
+            sim = new Simulation();
+            eventLoop = new EventLoop();
+            sim.attach(eventLoop);
+        }
+
+        @After
+        public void tearDown() {
+            sim.detach();
+        }
+
+        @Test
+        public void shouldPollTheEventLoopEachStep() {
+
+            final int[] calls = new int[1];
+            eventLoop.addListener(afterMillis(sim, 50), new AsyncCallback() {
+                @Override
+                public void run(Throwable thr) {
+                    calls[0]++;
+                }
+            });
+
+            assertFalse(eventLoop.isThreaded());
+
+            sim.run(45, TimeUnit.MILLISECONDS);
+            assertEquals(0, calls[0]);
+
+            sim.run(10, TimeUnit.MILLISECONDS);
+            assertEquals(2, calls[0]);
+        }
+
+        @Test
+        public void shouldTimeoutListenersInVirtualTime() {
+
+            final AtomicReference<Throwable> error = new AtomicReference<>();
+            Listener listener = new Listener(
+                    new Listener.Condition() {
+                        @Override
+                        public boolean test() {
+                            return false;
+                        }
+                    },
+                    new AsyncCallback() {
+                        @Override
+                        public void run(Throwable thr) {
+                            error.set(thr);
+                        }
+                    }
+            );
+            eventLoop.addListener(Listener.timeout(listener, 1000, eventLoop));
+
+            sim.run(995, TimeUnit.MILLISECONDS);
+            assertNull(error.get());
+
+            sim.run(10, TimeUnit.MILLISECONDS);
+            assertTrue(error.get() instanceof TimeoutException);
+        }
+
+        @Test
+        public void shouldRunNovaClockOnVirtualTime() {
+            long start = NovaClock.getInstance().nanoTime();
+
+            sim.run(100, TimeUnit.MILLISECONDS);
+
+            assertSame(sim.getClock(), NovaClock.getInstance().getSource());
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(100), NovaClock.getInstance().nanoTime() - start);
+        }
+
+        @Test
+        public void shouldRestoreTheClockAndThreadingWhenDetached() {
+            VirtualClock before = new VirtualClock();
+            NovaClock.getInstance().setSource(before);
+
+            Simulation other = new Simulation();
+            EventLoop otherLoop = new EventLoop();
+            other.attach(otherLoop);
+            assertSame(other.getClock(), NovaClock.getInstance().getSource());
+
+            other.detach();
+            assertSame(before, NovaClock.getInstance().getSource());
+            assertTrue(otherLoop.isThreaded());
+        }
+    }
+
+    public static class TimeoutCheckerTest {
+        @Test(expected = TimeoutException.class)
+        public void shouldTimeoutInVirtualTime() throws TimeoutException {
+            Simulation sim = new Simulation();
+            TimeoutChecker checker = new TimeoutChecker(100, "timed out", sim.getClock());
+
+            sim.run(100, TimeUnit.MILLISECONDS);
+            checker.check();
+
+            sim.step();
+            checker.check();
+        }
+    }
+
+    @RunWith(RobolectricTestRunner.class)
+    @Config(manifest = Config.NONE)
+    public static class HolonomicChassisTest {
+        private static HolonomicDrive makeDrive(SimHolonomicChassis[] chassis, Simulation sim) {
+            SimMotor fl = new SimMotor("fl"), fr = new SimMotor("fr"), br = new SimMotor("br"), bl = new SimMotor("bl");
+            chassis[0] = sim.add(new SimHolonomicChassis(fl, fr, br, bl, new SimGyro("gyro", 0, 0)));
+
+            RobotLogger logger = new RobotLogger("TEST", mock(TelemetryImpl.class));
+            logger.setLevel(RobotLogger.Level.FATAL);
+
+            HolonomicDrive drive = new HolonomicDrive(fl, fr, br, bl, logger);
+            drive.init();
+            drive.start();
+
+            return drive;
+        }
+
+        @Test
+        public void shouldDriveForward() {
+            Simulation sim = new Simulation();
+            SimHolonomicChassis[] chassis = new SimHolonomicChassis[1];
+            HolonomicDrive drive = makeDrive(chassis, sim);
+
+            drive.drive(0.5);
+            sim.run(1, TimeUnit.SECONDS);
+
+            assertTrue(chassis[0].getX() > 0.1);
+            assertEquals(0, chassis[0].getY(), 1e-9);
+            assertEquals(0, chassis[0].getHeading(), 1e-9);
+        }
+
+        @Test
+        public void shouldDriveLeft() {
+            Simulation sim = new Simulation();
+            SimHolonomicChassis[] chassis = new SimHolonomicChassis[1];
+            HolonomicDrive drive = makeDrive(chassis, sim);
+
+            drive.drive(0.5, HolonomicDrive.LEFT_OFFSET, 0);
+            sim.run(1, TimeUnit.SECONDS);
+
+            assertEquals(0, chassis[0].getX(), 1e-9);
+            assertTrue(chassis[0].getY() > 0.1);
+        }
+
+        @Test
+        public void shouldRotateRightForPositiveRotation() {
+            Simulation sim = new Simulation();
+            SimHolonomicChassis[] chassis = new SimHolonomicChassis[1];
+            HolonomicDrive drive = makeDrive(chassis, sim);
+
+            drive.rotate(0.5);
+            sim.run(500, TimeUnit.MILLISECONDS);
+
+            assertTrue(chassis[0].getHeading() < 0);
+            assertEquals(Math.toDegrees(chassis[0].getHeading()), chassis[0].getGyro().getIntegratedHeading(), 1e-6);
+        }
+    }
+}
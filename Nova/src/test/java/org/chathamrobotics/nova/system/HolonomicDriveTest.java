@@ -10,6 +10,7 @@ package org.chathamrobotics.nova.system;
 
 import com.qualcomm.robotcore.hardware.DcMotor;
 
+import org.chathamrobotics.nova.math.Vector2;
 import org.chathamrobotics.nova.mocks.MockMotor;
 import org.chathamrobotics.nova.util.RobotLogger;
 import org.firstinspires.ftc.robotcore.internal.opmode.TelemetryImpl;
@@ -282,6 +283,91 @@ public class HolonomicDriveTest {
         }
     }
 
+    @RunWith(RobolectricTestRunner.class)
+    @Config(manifest = Config.NONE)
+    public static class DriveVectorTest {
+        private static double[] powers(DcMotor... motors) {
+            double[] powers = new double[motors.length];
+
+            for (int i = 0; i < motors.length; i++) powers[i] = motors[i].getPower();
+
+            return powers;
+        }
+
+        @Test(expected = IllegalStateException.class)
+        public void shouldThrowIfNotStartedYet() {
+            HolonomicDrive drive = new HolonomicDrive(mockMotor(), mockMotor(), mockMotor(), mockMotor(), mockLogger());
+            drive.drive(new Vector2(1, 0), 0);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldThrowIfRotationIsOutOfRange() {
+            makeDrive().drive(new Vector2(1, 0), 2);
+        }
+
+        @Test
+        public void shouldMatchDrivingWithADirection() {
+            DcMotor fl1 = mockMotor(), fr1 = mockMotor(), br1 = mockMotor(), bl1 = mockMotor();
+            DcMotor fl2 = mockMotor(), fr2 = mockMotor(), br2 = mockMotor(), bl2 = mockMotor();
+
+            HolonomicDrive polar = new HolonomicDrive(fl1, fr1, br1, bl1, mockLogger());
+            HolonomicDrive vector = new HolonomicDrive(fl2, fr2, br2, bl2, mockLogger());
+            polar.init();
+            polar.start();
+            vector.init();
+            vector.start();
+
+            polar.setOffsetAngle(0.3);
+            vector.setOffsetAngle(0.3);
+
+            polar.drive(0.6, 1.1, 0.2);
+            vector.drive(new Vector2().setPolar(0.6, 1.1), 0.2);
+
+            assertArrayEquals(powers(fl1, fr1, br1, bl1), powers(fl2, fr2, br2, bl2), DELTA);
+        }
+
+        @Test
+        public void shouldDesaturateInsteadOfClipping() {
+            DcMotor frontLeft = mockMotor(), frontRight = mockMotor(),
+                    backRight = mockMotor(), backLeft = mockMotor();
+
+            HolonomicDrive drive = new HolonomicDrive(frontLeft, frontRight, backRight, backLeft, mockLogger());
+            drive.init();
+            drive.start();
+
+            drive.drive(new Vector2(1, 0), 0.5);
+
+            double inverseRootTwo = 1 / Math.sqrt(2);
+            double scale = 1 / (inverseRootTwo + 0.5);
+
+            assertArrayEquals(new double[] {
+                    (-inverseRootTwo - 0.5) * scale,
+                    (-inverseRootTwo - 0.5) * scale,
+                    (inverseRootTwo - 0.5) * scale,
+                    (inverseRootTwo - 0.5) * scale
+            }, powers(frontLeft, frontRight, backRight, backLeft), DELTA);
+        }
+
+        @Test
+        public void shouldDriveRelativeToTheField() {
+            DcMotor fl1 = mockMotor(), fr1 = mockMotor(), br1 = mockMotor(), bl1 = mockMotor();
+            DcMotor fl2 = mockMotor(), fr2 = mockMotor(), br2 = mockMotor(), bl2 = mockMotor();
+
+            HolonomicDrive robotCentric = new HolonomicDrive(fl1, fr1, br1, bl1, mockLogger());
+            HolonomicDrive fieldCentric = new HolonomicDrive(fl2, fr2, br2, bl2, mockLogger());
+            robotCentric.init();
+            robotCentric.start();
+            fieldCentric.init();
+            fieldCentric.start();
+
+            // facing left on the field, so driving forward on the field is driving right for the robot
+            robotCentric.drive(new Vector2(0, -0.5), 0);
+            fieldCentric.drive(new Vector2(0.5, 0), 0, Math.PI / 2);
+
+            assertArrayEquals(powers(fl1, fr1, br1, bl1), powers(fl2, fr2, br2, bl2), DELTA);
+        }
+    }
+
     @RunWith(RobolectricTestRunner.class)
     @Config(manifest = Config.NONE)
     public static class RotateTest {
@@ -0,0 +1,199 @@
+package org.chathamrobotics.nova.system;
+
+import org.chathamrobotics.nova.async.AsyncCallback;
+import org.chathamrobotics.nova.sim.VirtualClock;
+import org.chathamrobotics.nova.util.NovaClock;
+import org.chathamrobotics.nova.util.RobotLogger;
+import org.firstinspires.ftc.robotcore.internal.opmode.TelemetryImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@RunWith(Enclosed.class)
+public class RobotSystemImplTest {
+    static class TestSystem extends RobotSystemImpl {
+        TestSystem() {
+            super(new RobotLogger("TEST", mock(TelemetryImpl.class)));
+        }
+
+        @Override
+        public void init() {
+            setState(State.INITIALIZED);
+        }
+
+        @Override
+        public void start() {
+            setState(State.RUNNING);
+        }
+
+        @Override
+        public void stop() {
+            setState(State.STOPPED);
+        }
+    }
+
+    private static class Recorder implements AsyncCallback {
+        int calls;
+
+        @Override
+        public void run(Throwable thr) {
+            calls++;
+        }
+    }
+
+    @RunWith(RobolectricTestRunner.class)
+    @Config(manifest = Config.NONE)
+    public static class LifecycleTest {
+        private TestSystem system;
+
+        @Before
+        public void setUp() {
+            system = new TestSystem();
+        }
+
+        @Test
+        public void shouldEmitEachState() {
+            final List<RobotSystem.State> states = new ArrayList<>();
+
+            for (final RobotSystem.State state : RobotSystem.State.values()) {
+                system.getLifecycle().on(state, new AsyncCallback() {
+                    @Override
+                    public void run(Throwable thr) {
+                        states.add(state);
+                    }
+                });
+            }
+
+            system.init();
+            system.start();
+            system.stop();
+
+            assertEquals(3, states.size());
+            assertEquals(RobotSystem.State.STOPPED, states.get(2));
+        }
+
+        @Test
+        public void shouldCallWhenTheStateIsReached() {
+            Recorder recorder = new Recorder();
+
+            system.whenState(RobotSystem.State.RUNNING, recorder);
+            system.init();
+            assertEquals(0, recorder.calls);
+
+            system.start();
+            system.stop();
+            system.start();
+            assertEquals(1, recorder.calls);
+        }
+
+        @Test
+        public void shouldCallImmediatelyIfAlreadyReached() {
+            Recorder recorder = new Recorder();
+
+            system.init();
+            system.start();
+            system.whenState(RobotSystem.State.INITIALIZED, recorder);
+
+            assertEquals(1, recorder.calls);
+        }
+
+        @Test
+        public void shouldCountRunningAsInitialized() {
+            Recorder recorder = new Recorder();
+
+            system.whenState(RobotSystem.State.INITIALIZED, recorder);
+            system.start();
+
+            assertEquals(1, recorder.calls);
+        }
+
+        @Test
+        public void shouldCountAStoppedSystemAsPastEveryState() throws InterruptedException {
+            Recorder recorder = new Recorder();
+
+            // stopped before anything waited on it
+            system.init();
+            system.stop();
+            system.whenState(RobotSystem.State.RUNNING, recorder);
+
+            assertEquals(1, recorder.calls);
+            assertTrue(system.awaitState(RobotSystem.State.RUNNING, 10, TimeUnit.MILLISECONDS));
+        }
+
+        @Test
+        public void shouldCallWaitersOnceWhenTheSystemStopsEarly() {
+            Recorder recorder = new Recorder();
+
+            system.whenState(RobotSystem.State.RUNNING, recorder);
+            system.init();
+            system.stop();
+            assertEquals(1, recorder.calls);
+
+            system.init();
+            system.start();
+            assertEquals(1, recorder.calls);
+        }
+
+        @Test
+        public void shouldWakeThreadsWaitingOnAState() throws InterruptedException {
+            Thread initializer = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+
+                    system.init();
+                }
+            });
+            initializer.start();
+
+            assertTrue(system.awaitState(RobotSystem.State.INITIALIZED, 5, TimeUnit.SECONDS));
+            assertFalse(system.awaitState(RobotSystem.State.RUNNING, 10, TimeUnit.MILLISECONDS));
+
+            initializer.join();
+        }
+
+        @Test
+        public void shouldMeasureTimeoutsWithNovaClock() throws InterruptedException {
+            // virtual time does not pass, so the timeout cannot expire
+            NovaClock.getInstance().setSource(new VirtualClock());
+
+            try {
+                Thread initializer = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            Thread.sleep(20);
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+
+                        system.init();
+                    }
+                });
+                initializer.start();
+
+                assertTrue(system.awaitState(RobotSystem.State.INITIALIZED, 1, TimeUnit.MILLISECONDS));
+
+                initializer.join();
+            } finally {
+                NovaClock.getInstance().reset();
+            }
+        }
+    }
+}
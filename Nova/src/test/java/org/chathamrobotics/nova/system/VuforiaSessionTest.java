@@ -0,0 +1,341 @@
+package org.chathamrobotics.nova.system;
+
+import org.chathamrobotics.nova.async.AsyncCallback;
+import org.chathamrobotics.nova.sim.VirtualClock;
+import org.chathamrobotics.nova.util.NovaClock;
+import org.chathamrobotics.nova.util.RobotLogger;
+import org.chathamrobotics.nova.vision.ColorRange;
+import org.chathamrobotics.nova.vision.FramePipeline;
+import org.chathamrobotics.nova.vision.ImageView;
+import org.chathamrobotics.nova.vision.PixelFormat;
+import org.chathamrobotics.nova.vision.VisionPipeline;
+import org.firstinspires.ftc.robotcore.external.navigation.VuforiaLocalizer;
+import org.firstinspires.ftc.robotcore.external.navigation.VuforiaTrackable;
+import org.firstinspires.ftc.robotcore.external.navigation.VuforiaTrackableDefaultListener;
+import org.firstinspires.ftc.robotcore.external.navigation.VuforiaTrackables;
+import org.firstinspires.ftc.robotcore.internal.opmode.TelemetryImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(Enclosed.class)
+public class VuforiaSessionTest {
+    // creating the first mock is slow
+    private static final long TIMEOUT = 10;
+
+    private static class CountingFactory implements VuforiaSession.Factory {
+        final AtomicInteger created = new AtomicInteger();
+
+        @Override
+        public VuforiaManager.PausableVuforia create(VuforiaLocalizer.Parameters parameters) {
+            created.incrementAndGet();
+
+            VuforiaManager.PausableVuforia vuforia = mock(VuforiaManager.PausableVuforia.class);
+            when(vuforia.loadTrackablesFromAsset(anyString())).thenAnswer(new Answer<VuforiaTrackables>() {
+                @Override
+                public VuforiaTrackables answer(InvocationOnMock invocation) {
+                    return mock(VuforiaTrackables.class);
+                }
+            });
+
+            return vuforia;
+        }
+    }
+
+    private static VuforiaLocalizer.Parameters parameters(String key) {
+        VuforiaLocalizer.Parameters parameters = new VuforiaLocalizer.Parameters();
+        parameters.vuforiaLicenseKey = key;
+        return parameters;
+    }
+
+    @RunWith(RobolectricTestRunner.class)
+    @Config(manifest = Config.NONE)
+    public static class WarmUpTest {
+        private CountingFactory factory;
+        private VuforiaSession session;
+
+        @Before
+        public void setUp() {
+            factory = new CountingFactory();
+            session = new VuforiaSession(factory);
+        }
+
+        @Test
+        public void shouldInitializeOnce() throws Exception {
+            session.warmUp(parameters("key"));
+            session.warmUp(parameters("key"));
+
+            assertNotNull(session.await(TIMEOUT, TimeUnit.SECONDS));
+            session.warmUp(parameters("key"));
+
+            assertEquals(1, factory.created.get());
+            assertTrue(session.isReady());
+        }
+
+        @Test
+        public void shouldCallReadyCallbacks() throws Exception {
+            final CountDownLatch latch = new CountDownLatch(2);
+            final AtomicReference<Throwable> error = new AtomicReference<>();
+            AsyncCallback callback = new AsyncCallback() {
+                @Override
+                public void run(Throwable thr) {
+                    if (thr != null) error.set(thr);
+                    latch.countDown();
+                }
+            };
+
+            session.warmUp(parameters("key"));
+            session.whenReady(callback);
+            session.await(TIMEOUT, TimeUnit.SECONDS);
+            session.whenReady(callback);
+
+            assertTrue(latch.await(TIMEOUT, TimeUnit.SECONDS));
+            assertNull(error.get());
+        }
+
+        @Test
+        public void shouldRestartWithNewParametersWhenNotOwned() throws Exception {
+            session.warmUp(parameters("a"));
+            VuforiaManager.PausableVuforia first = session.await(TIMEOUT, TimeUnit.SECONDS);
+
+            session.warmUp(parameters("b"));
+            session.await(TIMEOUT, TimeUnit.SECONDS);
+
+            verify(first).close();
+            assertEquals(2, factory.created.get());
+        }
+
+        @Test(expected = IllegalStateException.class)
+        public void shouldNotRestartWhileOwned() throws Exception {
+            session.warmUp(parameters("a"));
+            session.acquire(this);
+
+            session.warmUp(parameters("b"));
+        }
+
+        @Test
+        public void shouldRetryAfterAFailure() throws Exception {
+            final AtomicInteger attempts = new AtomicInteger();
+            session = new VuforiaSession(new VuforiaSession.Factory() {
+                @Override
+                public VuforiaManager.PausableVuforia create(VuforiaLocalizer.Parameters parameters) {
+                    if (attempts.incrementAndGet() == 1) throw new RuntimeException("No camera");
+
+                    return factory.create(parameters);
+                }
+            });
+
+            session.warmUp(parameters("key"));
+            try {
+                session.await(TIMEOUT, TimeUnit.SECONDS);
+                fail("Expected the first attempt to fail");
+            } catch (IllegalStateException e) {
+                assertEquals("No camera", e.getCause().getMessage());
+            }
+
+            session.warmUp(parameters("key"));
+
+            assertNotNull(session.await(TIMEOUT, TimeUnit.SECONDS));
+        }
+
+        @Test
+        public void shouldMeasureTheTimeoutWithNovaClock() throws Exception {
+            // virtual time does not pass, so the timeout cannot expire
+            NovaClock.getInstance().setSource(new VirtualClock());
+
+            try {
+                session = new VuforiaSession(new VuforiaSession.Factory() {
+                    @Override
+                    public VuforiaManager.PausableVuforia create(VuforiaLocalizer.Parameters parameters) {
+                        try {
+                            Thread.sleep(20);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+
+                        return factory.create(parameters);
+                    }
+                });
+                session.warmUp(parameters("key"));
+
+                assertNotNull(session.await(1, TimeUnit.MILLISECONDS));
+            } finally {
+                NovaClock.getInstance().reset();
+            }
+        }
+
+        @Test(expected = IllegalStateException.class)
+        public void shouldNotAwaitWithoutWarmingUp() throws Exception {
+            session.await(TIMEOUT, TimeUnit.SECONDS);
+        }
+    }
+
+    @RunWith(RobolectricTestRunner.class)
+    @Config(manifest = Config.NONE)
+    public static class OwnershipTest {
+        private VuforiaSession session;
+        private VuforiaManager.PausableVuforia vuforia;
+
+        @Before
+        public void setUp() throws Exception {
+            session = new VuforiaSession(new CountingFactory());
+            session.warmUp(parameters("key"));
+            vuforia = session.await(TIMEOUT, TimeUnit.SECONDS);
+        }
+
+        @Test
+        public void shouldCacheTrackablesByAssetName() {
+            VuforiaTrackables relics = session.loadTrackablesFromAsset("RelicVuMark");
+
+            assertSame(relics, session.loadTrackablesFromAsset("RelicVuMark"));
+            assertNotSame(relics, session.loadTrackablesFromAsset("Other"));
+            verify(vuforia, times(1)).loadTrackablesFromAsset("RelicVuMark");
+        }
+
+        @Test
+        public void shouldResetWhenReleased() {
+            Object opMode = new Object();
+            VuforiaTrackables relics = session.loadTrackablesFromAsset("RelicVuMark");
+
+            session.acquire(opMode);
+            assertTrue(session.release(opMode));
+
+            verify(relics).deactivate();
+            verify(vuforia).setFrameQueueCapacity(0);
+            verify(vuforia).resume();
+            verify(vuforia, never()).close();
+            assertNull(session.getOwner());
+        }
+
+        @Test
+        public void shouldGiveTrackablesFreshListenersOnEachReset() {
+            VuforiaTrackables relics = session.loadTrackablesFromAsset("RelicVuMark");
+            VuforiaTrackable relic = mock(VuforiaTrackable.class);
+            when(relics.size()).thenReturn(1);
+            when(relics.get(0)).thenReturn(relic);
+
+            Object first = new Object(), second = new Object();
+            session.acquire(first);
+            session.acquire(second);
+            session.release(second);
+
+            ArgumentCaptor<VuforiaTrackable.Listener> listeners = ArgumentCaptor.forClass(VuforiaTrackable.Listener.class);
+            verify(relic, times(2)).setListener(listeners.capture());
+
+            VuforiaTrackable.Listener handedOver = listeners.getAllValues().get(0), released = listeners.getAllValues().get(1);
+            assertSame(VuforiaTrackableDefaultListener.class, handedOver.getClass());
+            assertSame(VuforiaTrackableDefaultListener.class, released.getClass());
+            assertNotSame(handedOver, released);
+        }
+
+        @Test
+        public void shouldIgnoreStaleReleases() {
+            Object first = new Object(), second = new Object();
+
+            session.acquire(first);
+            session.acquire(second);
+
+            assertFalse(session.release(first));
+            assertSame(second, session.getOwner());
+            verify(vuforia, times(1)).setFrameQueueCapacity(0);
+        }
+
+        @Test
+        public void shouldCloseAndClearTheCache() {
+            session.loadTrackablesFromAsset("RelicVuMark");
+            session.close();
+
+            verify(vuforia).close();
+            assertFalse(session.isReady());
+            assertEquals(0, session.getCachedTrackablesCount());
+        }
+    }
+
+    @RunWith(RobolectricTestRunner.class)
+    @Config(manifest = Config.NONE)
+    public static class ManagerTest {
+        private VuforiaManager manager;
+
+        @Before
+        public void setUp() throws Exception {
+            RobotLogger logger = new RobotLogger("TEST", mock(TelemetryImpl.class));
+            logger.setLevel(RobotLogger.Level.FATAL);
+
+            manager = new VuforiaManager(parameters("key"), new VuforiaSession(new CountingFactory()), logger);
+            manager.init();
+
+            assertTrue(manager.awaitState(RobotSystem.State.INITIALIZED, TIMEOUT, TimeUnit.SECONDS));
+        }
+
+        @Test
+        public void shouldIgnoreTrackablesThatAreNotActive() {
+            VuforiaTrackables trackables = mock(VuforiaTrackables.class);
+
+            manager.deactivate(trackables);
+
+            verify(trackables, never()).deactivate();
+            assertEquals(0, manager.getIdleMonitor().getUsers());
+        }
+
+        @Test
+        public void shouldHoldVuforiaOnceForTrackablesActivatedTwice() {
+            VuforiaTrackables trackables = mock(VuforiaTrackables.class);
+
+            manager.activate(trackables);
+            manager.activate(trackables);
+            assertEquals(1, manager.getIdleMonitor().getUsers());
+
+            manager.deactivate(trackables);
+            manager.deactivate(trackables);
+            assertEquals(0, manager.getIdleMonitor().getUsers());
+            verify(trackables, times(1)).deactivate();
+        }
+
+        @Test
+        public void shouldEndVisionWorkersWhenStopped() {
+            Set<Thread> before = new HashSet<>(Thread.getAllStackTraces().keySet());
+            VisionPipeline pipeline = new VisionPipeline(ColorRange.hsv(100, 160, 128, 255, 128, 255), 1, 3, 1);
+            manager.addFrameProcessor(pipeline);
+
+            // starts the workers
+            pipeline.process(ImageView.allocate(8, 8, PixelFormat.RGB565));
+
+            Set<Thread> workers = new HashSet<>();
+            for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                if (thread.getName().startsWith("VisionPipeline-") && ! before.contains(thread)) workers.add(thread);
+            }
+            assertEquals(2, workers.size());
+
+            manager.stop();
+
+            assertTrue(pipeline.isClosed());
+            for (Thread worker : workers) assertFalse(worker.isAlive());
+            assertEquals(0, manager.getIdleMonitor().getUsers());
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        public void shouldNotReleaseForProcessorsThatWereNotAdded() {
+            manager.acquire();
+
+            assertFalse(manager.removeFrameProcessor(mock(FramePipeline.Processor.class)));
+            assertEquals(1, manager.getIdleMonitor().getUsers());
+        }
+    }
+}
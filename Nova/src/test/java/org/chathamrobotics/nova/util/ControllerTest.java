@@ -10,10 +10,19 @@ package org.chathamrobotics.nova.util;
 
 import com.qualcomm.robotcore.hardware.Gamepad;
 
+import org.chathamrobotics.nova.async.AsyncCallback;
+import org.chathamrobotics.nova.async.EventLoop;
+import org.chathamrobotics.nova.sim.VirtualClock;
 import org.firstinspires.ftc.robotcore.internal.ui.GamepadUser;
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -499,4 +508,367 @@ public class ControllerTest {
             assertTrue(gpTester.called);
         }
     }
+
+    public static class ChangeDetectionTest {
+        @Test
+        public void shouldNotCopyUnlessTheTimestampChanges() {
+            Gamepad gp = new Gamepad();
+            Controller controller = new Controller(gp);
+            controller.setChangeDetection(true);
+
+            gp.left_stick_x = 0.5f;
+            controller.update();
+            assertEquals(0, controller.left_stick_x, 1e-10);
+
+            gp.setTimestamp(1);
+            controller.update();
+            assertEquals(0.5, controller.left_stick_x, 1e-10);
+        }
+
+        @Test
+        public void shouldAdvanceButtonStatesWithoutNewInput() {
+            Gamepad gp = new Gamepad();
+            Controller controller = new Controller(gp);
+            controller.setChangeDetection(true);
+
+            gp.a = true;
+            gp.setTimestamp(1);
+            controller.update();
+            assertEquals(Controller.ButtonState.TAPPED, controller.getState(Controller.Button.A));
+
+            controller.update();
+            assertEquals(Controller.ButtonState.HELD, controller.getState(Controller.Button.A));
+
+            gp.a = false;
+            gp.setTimestamp(2);
+            controller.update();
+            assertEquals(Controller.ButtonState.RELEASED, controller.aState);
+
+            controller.update();
+            assertEquals(Controller.ButtonState.STATIONARY, controller.aState);
+        }
+    }
+
+    @RunWith(RobolectricTestRunner.class)
+    @Config(manifest = Config.NONE)
+    public static class OnTest {
+        private static class CountingCallback implements AsyncCallback {
+            int count;
+
+            @Override
+            public void run(Throwable thr) {
+                count++;
+            }
+        }
+
+        private Gamepad gp;
+        private VirtualClock clock;
+        private EventLoop eventLoop;
+        private Controller controller;
+
+        @Before
+        public void setUp() {
+            gp = new Gamepad();
+            clock = new VirtualClock();
+
+            eventLoop = new EventLoop();
+            eventLoop.setThreaded(false);
+            eventLoop.setClock(clock);
+
+            controller = new Controller(gp, eventLoop);
+        }
+
+        private void press(boolean pressed) {
+            gp.b = pressed;
+            gp.setTimestamp(gp.timestamp + 1);
+        }
+
+        @Test
+        public void shouldCallTapAndReleaseOncePerPress() {
+            CountingCallback tapped = new CountingCallback(), released = new CountingCallback();
+            controller.on(Controller.Button.B, Controller.ButtonState.TAPPED, tapped);
+            controller.on(Controller.Button.B, Controller.ButtonState.RELEASED, released);
+
+            press(true);
+            eventLoop.poll();
+            eventLoop.poll();
+            assertEquals(1, tapped.count);
+            assertEquals(0, released.count);
+
+            press(false);
+            eventLoop.poll();
+            assertEquals(1, tapped.count);
+            assertEquals(1, released.count);
+        }
+
+        @Test
+        public void shouldCallHeldAfterTheHoldTime() {
+            CountingCallback held = new CountingCallback();
+            controller.setHoldTime(250, TimeUnit.MILLISECONDS);
+            controller.on(Controller.Button.B, Controller.ButtonState.HELD, held);
+
+            press(true);
+            eventLoop.poll();
+
+            clock.advance(249, TimeUnit.MILLISECONDS);
+            eventLoop.poll();
+            assertEquals(0, held.count);
+
+            clock.advance(1, TimeUnit.MILLISECONDS);
+            eventLoop.poll();
+            eventLoop.poll();
+            assertEquals(1, held.count);
+        }
+
+        @Test
+        public void shouldNotCallHeldIfReleasedEarly() {
+            CountingCallback held = new CountingCallback();
+            controller.on(Controller.Button.B, Controller.ButtonState.HELD, held);
+
+            press(true);
+            eventLoop.poll();
+            press(false);
+            eventLoop.poll();
+
+            clock.advance(1, TimeUnit.SECONDS);
+            eventLoop.poll();
+            assertEquals(0, held.count);
+        }
+
+        @Test
+        public void shouldCallWhenAnAxisCrossesTheThreshold() {
+            CountingCallback crossed = new CountingCallback();
+            controller.on(Controller.Axis.LEFT_STICK, 0.5f, Controller.ButtonState.TAPPED, crossed);
+
+            gp.left_stick_x = 0.3f;
+            gp.setTimestamp(1);
+            eventLoop.poll();
+            assertEquals(0, crossed.count);
+
+            gp.left_stick_y = -0.4f;
+            gp.setTimestamp(2);
+            eventLoop.poll();
+            assertEquals(1, crossed.count);
+        }
+
+        @Test
+        public void shouldStopCallingRemovedListeners() {
+            CountingCallback tapped = new CountingCallback();
+            controller.on(Controller.Button.B, Controller.ButtonState.TAPPED, tapped);
+            controller.removeListener(tapped);
+
+            press(true);
+            eventLoop.poll();
+            assertEquals(0, tapped.count);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldNotListenForStationary() {
+            controller.on(Controller.Button.B, Controller.ButtonState.STATIONARY, new CountingCallback());
+        }
+    }
+
+    public static class PackedStateTest {
+        @Test
+        public void shouldComputeMasksFromTheLastTwoUpdates() {
+            Gamepad gp = new Gamepad();
+            Controller controller = new Controller(gp);
+
+            gp.a = true;
+            gp.dpad_up = true;
+            controller.update();
+
+            gp.a = false;
+            gp.b = true;
+            controller.update();
+
+            assertEquals(Controller.Button.mask(Controller.Button.DPAD_UP, Controller.Button.B), controller.getButtons());
+            assertEquals(Controller.Button.B.mask, controller.getTapped());
+            assertEquals(Controller.Button.DPAD_UP.mask, controller.getHeld());
+            assertEquals(Controller.Button.A.mask, controller.getReleased());
+
+            assertTrue(controller.isReleased(Controller.Button.A));
+            assertTrue(controller.isTapped(Controller.Button.B));
+            assertTrue(controller.isHeld(Controller.Button.DPAD_UP));
+            assertTrue(controller.isPressed(Controller.Button.DPAD_UP));
+            assertFalse(controller.isPressed(Controller.Button.A));
+        }
+
+        @Test
+        public void shouldDetectChordsOnlyWhenCompleted() {
+            Gamepad gp = new Gamepad();
+            Controller controller = new Controller(gp);
+            int chord = Controller.Button.mask(Controller.Button.LEFT_BUMPER, Controller.Button.RIGHT_BUMPER);
+
+            gp.left_bumper = true;
+            controller.update();
+            assertFalse(controller.isChord(chord));
+
+            gp.right_bumper = true;
+            controller.update();
+            assertTrue(controller.isChord(chord));
+
+            controller.update();
+            assertFalse(controller.isChord(chord));
+        }
+    }
+
+    public static class ComboTest {
+        private Gamepad gp;
+        private Controller controller;
+        private VirtualClock clock;
+
+        @Before
+        public void setUp() {
+            gp = new Gamepad();
+            controller = new Controller(gp);
+
+            clock = new VirtualClock();
+            NovaClock.getInstance().setSource(clock);
+        }
+
+        @After
+        public void tearDown() {
+            NovaClock.getInstance().reset();
+        }
+
+        private void tap(long afterMillis) {
+            clock.advance(afterMillis, TimeUnit.MILLISECONDS);
+            gp.x = true;
+            controller.update();
+            gp.x = false;
+            controller.update();
+        }
+
+        private boolean tapAndCheck(long afterMillis, Controller.Combo combo) {
+            clock.advance(afterMillis, TimeUnit.MILLISECONDS);
+            gp.x = true;
+            controller.update();
+
+            boolean triggered = controller.isTriggered(combo);
+
+            gp.x = false;
+            controller.update();
+
+            return triggered;
+        }
+
+        @Test
+        public void shouldTriggerADoubleTapWithinTheWindow() {
+            Controller.Combo doubleTap = new Controller.Combo(250, TimeUnit.MILLISECONDS, Controller.Button.X, Controller.Button.X);
+
+            assertFalse(tapAndCheck(0, doubleTap));
+            assertTrue(tapAndCheck(200, doubleTap));
+        }
+
+        @Test
+        public void shouldNotTriggerOutsideTheWindow() {
+            Controller.Combo doubleTap = new Controller.Combo(250, TimeUnit.MILLISECONDS, Controller.Button.X, Controller.Button.X);
+
+            tap(0);
+            assertFalse(tapAndCheck(300, doubleTap));
+        }
+
+        @Test
+        public void shouldNotReuseTaps() {
+            Controller.Combo doubleTap = new Controller.Combo(250, TimeUnit.MILLISECONDS, Controller.Button.X, Controller.Button.X);
+
+            assertFalse(tapAndCheck(0, doubleTap));
+            assertTrue(tapAndCheck(100, doubleTap));
+            assertFalse(tapAndCheck(100, doubleTap));
+            assertTrue(tapAndCheck(100, doubleTap));
+        }
+
+        @Test
+        public void shouldRequireTheStepsInOrder() {
+            Controller.Combo combo = new Controller.Combo(1, TimeUnit.SECONDS, Controller.Button.A, Controller.Button.X);
+
+            gp.a = true;
+            controller.update();
+            gp.a = false;
+            controller.update();
+
+            assertTrue(tapAndCheck(100, combo));
+
+            gp.b = true;
+            controller.update();
+            gp.b = false;
+            controller.update();
+
+            tap(0);
+            assertFalse(tapAndCheck(100, combo));
+        }
+    }
+
+    public static class ShapingTest {
+        @After
+        public void tearDown() {
+            NovaClock.getInstance().reset();
+        }
+
+        @Test
+        public void shouldReturnRawValuesWithoutShaping() {
+            Gamepad gp = new Gamepad();
+            Controller controller = new Controller(gp);
+
+            gp.left_trigger = 0.3f;
+            controller.update();
+
+            assertEquals(0.3, controller.getShaped(Controller.Axis.LEFT_TRIGGER), 1e-6);
+        }
+
+        @Test
+        public void shouldApplyARadialDeadzone() {
+            Gamepad gp = new Gamepad();
+            Controller controller = new Controller(gp);
+            controller.setCurve(Controller.Axis.LEFT_STICK, ResponseCurve.deadzone(0.2));
+
+            // each axis is inside the deadzone but the stick is not
+            gp.left_stick_x = 0.18f;
+            gp.left_stick_y = 0.18f;
+            controller.update();
+
+            assertTrue(controller.getShaped(Controller.Axis.LEFT_STICK_X) > 0);
+            assertEquals(controller.getShaped(Controller.Axis.LEFT_STICK_X), controller.getShaped(Controller.Axis.LEFT_STICK_Y), 1e-6);
+
+            gp.left_stick_x = 0.1f;
+            gp.left_stick_y = -0.1f;
+            controller.update();
+
+            assertEquals(0, controller.getShaped(Controller.Axis.LEFT_STICK), 0);
+        }
+
+        @Test
+        public void shouldApplyAxisCurves() {
+            Gamepad gp = new Gamepad();
+            Controller controller = new Controller(gp);
+            controller.setCurve(Controller.Axis.RIGHT_STICK_X, ResponseCurve.cubic());
+
+            gp.right_stick_x = -0.5f;
+            controller.update();
+
+            assertEquals(-0.125, controller.getShaped(Controller.Axis.RIGHT_STICK_X), 1e-4);
+            assertEquals(-0.5, controller.right_stick_x, 0);
+        }
+
+        @Test
+        public void shouldLimitTheSlewRate() {
+            VirtualClock clock = new VirtualClock();
+            NovaClock.getInstance().setSource(clock);
+
+            Gamepad gp = new Gamepad();
+            Controller controller = new Controller(gp);
+            controller.setSlewRate(Controller.Axis.LEFT_STICK, 2);
+            controller.update();
+
+            gp.left_stick_y = 1;
+            clock.advance(100, TimeUnit.MILLISECONDS);
+            controller.update();
+            assertEquals(0.2, controller.getShaped(Controller.Axis.LEFT_STICK_Y), 1e-6);
+
+            clock.advance(500, TimeUnit.MILLISECONDS);
+            controller.update();
+            assertEquals(1, controller.getShaped(Controller.Axis.LEFT_STICK_Y), 1e-6);
+        }
+    }
 }
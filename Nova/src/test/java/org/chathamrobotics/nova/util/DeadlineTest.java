@@ -0,0 +1,104 @@
+package org.chathamrobotics.nova.util;
+
+import org.chathamrobotics.nova.sim.VirtualClock;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Enclosed.class)
+public class DeadlineTest {
+    public static class HasPassedTest {
+        @Test
+        public void shouldResolveSubMillisecondDeadlines() {
+            VirtualClock clock = new VirtualClock();
+            Deadline deadline = Deadline.after(250, TimeUnit.MICROSECONDS, clock);
+
+            clock.advance(249, TimeUnit.MICROSECONDS);
+            assertFalse(deadline.hasPassed());
+
+            clock.advance(1, TimeUnit.MICROSECONDS);
+            assertTrue(deadline.hasPassed());
+            assertFalse(deadline.isExceeded());
+
+            clock.advance(1, TimeUnit.NANOSECONDS);
+            assertTrue(deadline.isExceeded());
+        }
+
+        @Test
+        public void shouldHandleClockOverflow() {
+            VirtualClock clock = new VirtualClock(Long.MAX_VALUE - TimeUnit.MILLISECONDS.toNanos(1));
+            Deadline deadline = Deadline.after(2, TimeUnit.MILLISECONDS, clock);
+
+            // the deadline wrapped around to a negative time
+            assertTrue(deadline.getTime() < clock.nanoTime());
+            assertFalse(deadline.hasPassed());
+
+            clock.advance(1500, TimeUnit.MICROSECONDS);
+            assertFalse(deadline.hasPassed());
+
+            clock.advance(1, TimeUnit.MILLISECONDS);
+            assertTrue(deadline.hasPassed());
+        }
+    }
+
+    public static class RemainingTest {
+        @Test
+        public void shouldGiveTimeUntilTheDeadline() {
+            VirtualClock clock = new VirtualClock(Long.MAX_VALUE);
+            Deadline deadline = Deadline.after(10, TimeUnit.MILLISECONDS, clock);
+
+            clock.advance(4, TimeUnit.MILLISECONDS);
+            assertEquals(6000, deadline.remaining(TimeUnit.MICROSECONDS));
+
+            clock.advance(8, TimeUnit.MILLISECONDS);
+            assertEquals(-2, deadline.remaining(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    public static class NovaClockTest {
+        @After
+        public void tearDown() {
+            NovaClock.getInstance().reset();
+        }
+
+        @Test
+        public void shouldReadFromTheSource() {
+            VirtualClock clock = new VirtualClock(42);
+            NovaClock.getInstance().setSource(clock);
+
+            assertEquals(42, NovaClock.getInstance().nanoTime());
+
+            clock.advance(1, TimeUnit.SECONDS);
+            assertEquals(1000000042, NovaClock.getInstance().nanoTime());
+        }
+
+        @Test
+        public void shouldResetToTheSystemClock() {
+            NovaClock.getInstance().setSource(new VirtualClock());
+            NovaClock.getInstance().reset();
+
+            assertSame(Clock.SYSTEM, NovaClock.getInstance().getSource());
+        }
+
+        @Test(expected = TimeoutException.class)
+        public void shouldTimeoutCheckersOnTheSource() throws TimeoutException {
+            VirtualClock clock = new VirtualClock();
+            NovaClock.getInstance().setSource(clock);
+
+            TimeoutChecker checker = new TimeoutChecker(500, TimeUnit.MICROSECONDS, "timed out");
+            checker.check();
+
+            clock.advance(501, TimeUnit.MICROSECONDS);
+            checker.check();
+        }
+    }
+}
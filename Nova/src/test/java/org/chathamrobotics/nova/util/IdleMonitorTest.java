@@ -0,0 +1,143 @@
+package org.chathamrobotics.nova.util;
+
+import org.chathamrobotics.nova.sim.VirtualClock;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Enclosed.class)
+public class IdleMonitorTest {
+    private static class Target implements IdleMonitor.Pausable {
+        int pauses, resumes;
+
+        @Override
+        public void pause() {
+            pauses++;
+        }
+
+        @Override
+        public void resume() {
+            resumes++;
+        }
+    }
+
+    public static class PollTest {
+        private VirtualClock clock;
+        private Target target;
+        private IdleMonitor monitor;
+
+        @Before
+        public void setUp() {
+            clock = new VirtualClock();
+            target = new Target();
+            monitor = new IdleMonitor("test", target, 100, TimeUnit.MILLISECONDS, clock);
+        }
+
+        @Test
+        public void shouldPauseAfterTheTimeout() {
+            clock.advance(99, TimeUnit.MILLISECONDS);
+            assertFalse(monitor.poll());
+
+            clock.advance(1, TimeUnit.MILLISECONDS);
+            assertTrue(monitor.isIdle());
+            assertTrue(monitor.poll());
+            assertTrue(monitor.poll());
+
+            assertEquals(1, target.pauses);
+            assertFalse(monitor.isIdle());
+        }
+
+        @Test
+        public void shouldNotPauseWhileAcquired() {
+            monitor.acquire();
+            monitor.acquire();
+            monitor.release();
+            clock.advance(1, TimeUnit.SECONDS);
+
+            assertFalse(monitor.poll());
+            assertEquals(1, monitor.getUsers());
+        }
+
+        @Test
+        public void shouldRestartTheTimeoutOnRelease() {
+            monitor.acquire();
+            clock.advance(1, TimeUnit.SECONDS);
+            monitor.release();
+
+            clock.advance(50, TimeUnit.MILLISECONDS);
+            assertFalse(monitor.poll());
+
+            clock.advance(50, TimeUnit.MILLISECONDS);
+            assertTrue(monitor.poll());
+        }
+
+        @Test
+        public void shouldResumeWhenAcquired() {
+            clock.advance(100, TimeUnit.MILLISECONDS);
+            monitor.poll();
+
+            monitor.acquire();
+
+            assertFalse(monitor.isPaused());
+            assertEquals(1, target.resumes);
+        }
+
+        @Test
+        public void shouldNeverPauseWithANegativeTimeout() {
+            monitor.setIdleTimeout(-1, TimeUnit.MILLISECONDS);
+            clock.advance(1, TimeUnit.HOURS);
+
+            assertFalse(monitor.poll());
+            assertEquals(-1, monitor.getIdleTimeout(TimeUnit.MILLISECONDS));
+        }
+
+        @Test(expected = IllegalStateException.class)
+        public void shouldNotReleaseMoreThanAcquired() {
+            monitor.release();
+        }
+    }
+
+    public static class PausedTimeTest {
+        @Test
+        public void shouldTotalTheTimePaused() {
+            VirtualClock clock = new VirtualClock();
+            IdleMonitor monitor = new IdleMonitor("test", new Target(), 0, TimeUnit.MILLISECONDS, clock);
+
+            monitor.pause();
+            clock.advance(30, TimeUnit.MILLISECONDS);
+            monitor.acquire();
+            clock.advance(100, TimeUnit.MILLISECONDS);
+            monitor.pause();
+            clock.advance(20, TimeUnit.MILLISECONDS);
+
+            assertEquals(50, monitor.getPausedTime(TimeUnit.MILLISECONDS));
+            assertEquals(2, monitor.getPauseCount());
+
+            monitor.resume();
+            clock.advance(20, TimeUnit.MILLISECONDS);
+            assertEquals(50, monitor.getPausedTime(TimeUnit.MILLISECONDS));
+        }
+
+        @Test
+        public void shouldPauseAndResumeOnce() {
+            Target target = new Target();
+            IdleMonitor monitor = new IdleMonitor("test", target, -1, TimeUnit.MILLISECONDS, new VirtualClock());
+
+            monitor.resume();
+            monitor.pause();
+            monitor.pause();
+            monitor.resume();
+            monitor.resume();
+
+            assertEquals(1, target.pauses);
+            assertEquals(1, target.resumes);
+        }
+    }
+}
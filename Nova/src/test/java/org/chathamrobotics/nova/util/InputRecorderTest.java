@@ -0,0 +1,266 @@
+package org.chathamrobotics.nova.util;
+
+import com.qualcomm.robotcore.hardware.Gamepad;
+
+import org.chathamrobotics.nova.sim.VirtualClock;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Enclosed.class)
+public class InputRecorderTest {
+    public static class RecordTest {
+        private VirtualClock clock;
+        private Gamepad gp;
+        private Controller controller;
+        private InputRecorder recorder;
+
+        @Before
+        public void setUp() {
+            clock = new VirtualClock();
+            gp = new Gamepad();
+            controller = new Controller(gp);
+            recorder = new InputRecorder(2, clock, controller);
+        }
+
+        private void loop() {
+            clock.advance(10, TimeUnit.MILLISECONDS);
+            controller.update();
+            recorder.record();
+        }
+
+        @Test
+        public void shouldOnlyRecordChanges() {
+            recorder.start();
+
+            loop();
+            loop();
+
+            gp.a = true;
+            gp.left_stick_y = -1;
+            loop();
+
+            InputRecording recording = recorder.getRecording();
+            assertEquals(2, recording.size());
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(30), recording.getTime(1));
+            assertEquals(Controller.Button.A.mask, recording.getButtons(1, 0));
+            assertEquals(-1, recording.getAxis(1, 0, 1), 0);
+        }
+
+        @Test
+        public void shouldDropFramesWhenFull() {
+            recorder.start();
+
+            for (int i = 0; i < 3; i++) {
+                gp.right_trigger = i / 10f;
+                loop();
+            }
+
+            assertTrue(recorder.isFull());
+            assertEquals(1, recorder.getDroppedFrames());
+        }
+
+        @Test
+        public void shouldNotRecordUntilStarted() {
+            loop();
+
+            assertEquals(0, recorder.getRecording().size());
+        }
+    }
+
+    public static class SerializationTest {
+        @Test
+        public void shouldReadWhatWasWritten() throws IOException {
+            VirtualClock clock = new VirtualClock();
+            Gamepad first = new Gamepad(), second = new Gamepad();
+            Controller one = new Controller(first), two = new Controller(second);
+            InputRecorder recorder = new InputRecorder(16, clock, one, two);
+
+            recorder.start();
+            first.x = true;
+            second.right_stick_x = 0.25f;
+            clock.advance(5, TimeUnit.MILLISECONDS);
+            one.update();
+            two.update();
+            recorder.record();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            recorder.getRecording().write(out);
+            InputRecording read = InputRecording.read(new ByteArrayInputStream(out.toByteArray()));
+
+            assertEquals(2, read.getControllerCount());
+            assertEquals(1, read.size());
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(5), read.getTime(0));
+            assertEquals(Controller.Button.X.mask, read.getButtons(0, 0));
+            assertEquals(0.25, read.getAxis(0, 1, 2), 0);
+        }
+
+        @Test(expected = IOException.class)
+        public void shouldRejectOtherFiles() throws IOException {
+            InputRecording.read(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11}));
+        }
+
+        @Test(expected = IOException.class)
+        public void shouldRejectRecordingsWithoutControllers() throws IOException {
+            InputRecording.read(header(0, 0));
+        }
+
+        @Test(expected = IOException.class)
+        public void shouldRejectNegativeFrameCounts() throws IOException {
+            InputRecording.read(header(1, -1));
+        }
+
+        @Test(expected = IOException.class)
+        public void shouldRejectFrameCountsLongerThanTheFile() throws IOException {
+            InputRecording.read(header(255, Integer.MAX_VALUE));
+        }
+
+        @Test(expected = IOException.class)
+        public void shouldRejectTruncatedRecordings() throws IOException {
+            InputRecorder recorder = new InputRecorder(16, new VirtualClock(), new Controller(new Gamepad()));
+            recorder.start();
+            recorder.record();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            recorder.getRecording().write(out);
+            byte[] bytes = out.toByteArray();
+
+            InputRecording.read(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1)));
+        }
+
+        private static ByteArrayInputStream header(int controllers, int frames) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0x4e564952);
+            out.writeShort(1);
+            out.writeByte(controllers);
+            out.writeInt(frames);
+
+            return new ByteArrayInputStream(bytes.toByteArray());
+        }
+    }
+
+    public static class ReplayTest {
+        @Test
+        public void shouldApplyFramesWhenTheyAreDue() {
+            VirtualClock clock = new VirtualClock();
+            Gamepad source = new Gamepad();
+            Controller recorded = new Controller(source);
+            InputRecorder recorder = new InputRecorder(16, clock, recorded);
+
+            recorder.start();
+            recorded.update();
+            recorder.record();
+
+            clock.advance(20, TimeUnit.MILLISECONDS);
+            source.b = true;
+            source.left_trigger = 0.5f;
+            recorded.update();
+            recorder.record();
+
+            Gamepad target = new Gamepad();
+            Controller controller = new Controller(target);
+            controller.setChangeDetection(true);
+            InputReplay replay = new InputReplay(recorder.getRecording(), clock, target);
+
+            replay.start();
+            assertTrue(replay.update());
+            assertEquals(20, replay.getTimeUntilNextFrame(TimeUnit.MILLISECONDS));
+
+            clock.advance(19, TimeUnit.MILLISECONDS);
+            assertFalse(replay.update());
+
+            clock.advance(1, TimeUnit.MILLISECONDS);
+            assertTrue(replay.update());
+            assertTrue(replay.isFinished());
+
+            controller.update();
+            assertTrue(controller.isTapped(Controller.Button.B));
+            assertEquals(0.5, controller.left_trigger, 0);
+        }
+
+        @Test(timeout = 2000)
+        public void shouldAwaitFramesOnTheReplaysClock() throws InterruptedException {
+            final VirtualClock clock = new VirtualClock();
+            Gamepad source = new Gamepad();
+            Controller recorded = new Controller(source);
+            InputRecorder recorder = new InputRecorder(16, clock, recorded);
+
+            recorder.start();
+            clock.advance(10, TimeUnit.SECONDS);
+            source.a = true;
+            recorded.update();
+            recorder.record();
+
+            InputReplay replay = new InputReplay(recorder.getRecording(), clock, new Gamepad());
+            replay.start();
+
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+
+                    clock.advance(10, TimeUnit.SECONDS);
+                }
+            }).start();
+
+            replay.awaitNextFrame();
+            assertTrue(replay.update());
+        }
+
+        @Test
+        public void shouldNotLoseATapWhenItsPressAndReleaseAreDueTogether() {
+            VirtualClock clock = new VirtualClock();
+            Gamepad source = new Gamepad();
+            Controller recorded = new Controller(source);
+            InputRecorder recorder = new InputRecorder(16, clock, recorded);
+
+            recorder.start();
+
+            clock.advance(10, TimeUnit.MILLISECONDS);
+            source.a = true;
+            recorded.update();
+            recorder.record();
+
+            clock.advance(10, TimeUnit.MILLISECONDS);
+            source.a = false;
+            recorded.update();
+            recorder.record();
+
+            Gamepad target = new Gamepad();
+            Controller controller = new Controller(target);
+            controller.setChangeDetection(true);
+            InputReplay replay = new InputReplay(recorder.getRecording(), clock, target);
+
+            // a slow loop: both frames are due by the first update
+            replay.start();
+            clock.advance(50, TimeUnit.MILLISECONDS);
+
+            assertTrue(replay.update());
+            controller.update();
+            assertTrue(controller.isTapped(Controller.Button.A));
+            assertFalse(replay.isFinished());
+
+            assertTrue(replay.update());
+            controller.update();
+            assertTrue(controller.isReleased(Controller.Button.A));
+            assertTrue(replay.isFinished());
+        }
+    }
+}
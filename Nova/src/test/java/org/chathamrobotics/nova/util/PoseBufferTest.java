@@ -0,0 +1,143 @@
+package org.chathamrobotics.nova.util;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Enclosed.class)
+public class PoseBufferTest {
+    private static final double DELTA = 1e-9;
+
+    public static class ReadTest {
+        private PoseBuffer buffer;
+        private PoseBuffer.Sample sample;
+
+        @Before
+        public void setUp() {
+            buffer = new PoseBuffer(4);
+            sample = new PoseBuffer.Sample();
+        }
+
+        @Test
+        public void shouldBeEmptyAtFirst() {
+            assertEquals(0, buffer.getSequence());
+            assertFalse(buffer.readLatest(sample));
+            assertFalse(buffer.read(1, sample));
+        }
+
+        @Test
+        public void shouldReadThePublishedSample() {
+            long sequence = buffer.publish(1, 2, .5, 100, .75);
+
+            assertTrue(buffer.read(sequence, sample));
+            assertEquals(1, sample.pose.position.x, DELTA);
+            assertEquals(2, sample.pose.position.y, DELTA);
+            assertEquals(.5, sample.pose.heading, DELTA);
+            assertEquals(100, sample.captureTime);
+            assertEquals(.75, sample.confidence, DELTA);
+            assertEquals(1, sample.sequence);
+        }
+
+        @Test
+        public void shouldReadTheLatest() {
+            for (int i = 1; i <= 10; i++) buffer.publish(i, 0, 0, i * 10, 1);
+
+            assertTrue(buffer.readLatest(sample));
+            assertEquals(10, sample.pose.position.x, DELTA);
+            assertEquals(10, sample.sequence);
+        }
+
+        @Test
+        public void shouldNotReadOverwrittenSamples() {
+            for (int i = 1; i <= 6; i++) buffer.publish(i, 0, 0, i * 10, 1);
+
+            assertFalse(buffer.read(2, sample));
+            assertTrue(buffer.read(3, sample));
+            assertFalse(buffer.read(7, sample));
+        }
+
+        @Test
+        public void shouldReadTheSampleCapturedAtOrBeforeATime() {
+            for (int i = 1; i <= 4; i++) buffer.publish(i, 0, 0, i * 10, 1);
+
+            assertTrue(buffer.readAt(25, sample));
+            assertEquals(20, sample.captureTime);
+
+            assertTrue(buffer.readAt(40, sample));
+            assertEquals(40, sample.captureTime);
+
+            assertFalse(buffer.readAt(5, sample));
+            assertEquals(40, sample.captureTime);
+        }
+
+        @Test
+        public void shouldFindSamplesPublishedOutOfOrder() {
+            // a late vision sample published after newer odometry
+            buffer.publish(1, 0, 0, 10, 1);
+            buffer.publish(2, 0, 0, 30, 1);
+            buffer.publish(3, 0, 0, 20, 1);
+            buffer.publish(4, 0, 0, 40, 1);
+
+            assertTrue(buffer.readAt(35, sample));
+            assertEquals(30, sample.captureTime);
+            assertEquals(2, sample.sequence);
+
+            assertTrue(buffer.readAt(25, sample));
+            assertEquals(20, sample.captureTime);
+            assertEquals(3, sample.pose.position.x, 0);
+        }
+
+        @Test
+        public void shouldRoundTheCapacityUp() {
+            assertEquals(8, new PoseBuffer(5).getCapacity());
+            assertEquals(1, new PoseBuffer(1).getCapacity());
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldRejectAnEmptyCapacity() {
+            new PoseBuffer(0);
+        }
+    }
+
+    public static class ConcurrencyTest {
+        @Test
+        public void shouldNeverReadATornSample() throws InterruptedException {
+            final PoseBuffer buffer = new PoseBuffer(2);
+            final AtomicReference<String> failure = new AtomicReference<>();
+
+            Thread reader = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    PoseBuffer.Sample sample = new PoseBuffer.Sample();
+
+                    while (! Thread.currentThread().isInterrupted()) {
+                        if (! buffer.readLatest(sample)) continue;
+
+                        double x = sample.pose.position.x;
+                        if (sample.pose.position.y != 2 * x || sample.pose.heading != 3 * x
+                                || sample.captureTime != (long) x || sample.confidence != x) {
+                            failure.set("Torn sample: " + sample);
+                            return;
+                        }
+                    }
+                }
+            });
+            reader.start();
+
+            for (int i = 1; i <= 200000; i++) buffer.publish(i, 2 * i, 3 * i, i, i);
+
+            reader.interrupt();
+            reader.join();
+
+            assertNull(failure.get());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.chathamrobotics.nova.util;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Enclosed.class)
+public class ResponseCurveTest {
+    public static class ApplyTest {
+        @Test
+        public void shouldMatchTheFunctionWithinInterpolationError() {
+            ResponseCurve curve = ResponseCurve.power(2);
+
+            for (float input = 0; input <= 1; input += 0.01f)
+                assertEquals(input * input, curve.apply(input), 1e-4);
+        }
+
+        @Test
+        public void shouldBeSymmetric() {
+            ResponseCurve curve = ResponseCurve.expo(0.5);
+
+            assertEquals(-curve.apply(0.7f), curve.apply(-0.7f), 0);
+        }
+
+        @Test
+        public void shouldClipInput() {
+            assertEquals(1, ResponseCurve.cubic().apply(1.5f), 0);
+            assertEquals(-1, ResponseCurve.LINEAR.apply(-3), 0);
+        }
+    }
+
+    public static class DeadzoneTest {
+        @Test
+        public void shouldZeroInputInsideTheDeadzone() {
+            ResponseCurve curve = ResponseCurve.deadzone(0.25);
+
+            assertEquals(0, curve.apply(0.2f), 0);
+            assertEquals(0.5, curve.apply(0.625f), 1e-6);
+            assertEquals(1, curve.apply(1), 0);
+        }
+
+        @Test
+        public void shouldKeepTheEdgeOfTheDeadzoneExact() {
+            ResponseCurve curve = ResponseCurve.deadzone(0.1);
+
+            assertEquals(0, curve.apply(0.1f - 1e-3f), 0);
+            assertEquals(0, curve.apply(-0.1f + 1e-3f), 0);
+            assertEquals(0, curve.apply(0.1f), 0);
+            assertEquals(1e-3 / 0.9, curve.apply(0.1f + 1e-3f), 1e-6);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldRejectAFullDeadzone() {
+            ResponseCurve.deadzone(1);
+        }
+    }
+
+    public static class ThenTest {
+        @Test
+        public void shouldApplyBothCurvesInOrder() {
+            ResponseCurve curve = ResponseCurve.deadzone(0.5).then(ResponseCurve.power(2));
+
+            assertEquals(0, curve.apply(0.4f), 0);
+            assertEquals(0.25, curve.apply(0.75f), 1e-3);
+        }
+
+        @Test
+        public void shouldKeepTheFirstCurvesDeadzone() {
+            ResponseCurve curve = ResponseCurve.deadzone(0.1).then(ResponseCurve.expo(0.6));
+
+            assertEquals(0, curve.apply(0.1f - 1e-3f), 0);
+            assertEquals(0.4 * 1e-3 / 0.9, curve.apply(0.1f + 1e-3f), 1e-5);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.chathamrobotics.nova.util.tuple;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Enclosed.class)
+public class DoublePairTest {
+    public static class GetTest {
+        @Test
+        public void shouldReturnUnboxedValues() {
+            DoublePair p = DoublePair.with(0.5, 90);
+
+            assertEquals(0.5, p.first(), 0);
+            assertEquals(90, p.second(), 0);
+        }
+
+        @Test
+        public void shouldBoxLikeATuple() {
+            DoublePair p = DoublePair.with(0.5, 90);
+
+            assertEquals(2, p.size());
+            assertEquals(0.5, p.get(0));
+            assertEquals(Double.class, p.getType(1));
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void shouldThrowIfOutOfBounds() {
+            DoublePair.with(0.5, 90).get(2);
+        }
+    }
+
+    public static class EqualsTest {
+        @Test
+        public void shouldEqualAPairOfTheSameValues() {
+            DoublePair p = DoublePair.with(0.5, 90);
+            Pair<Double, Double> boxed = Pair.with(0.5, 90.0);
+
+            assertTrue(p.equals(boxed));
+            assertTrue(boxed.equals(p));
+            assertEquals(boxed.hashCode(), p.hashCode());
+            assertEquals(p, DoublePair.from(boxed));
+            assertEquals(boxed, p.toPair());
+        }
+
+        @Test
+        public void shouldNotEqualDifferentValues() {
+            assertFalse(DoublePair.with(0.5, 90).equals(DoublePair.with(90, 0.5)));
+            assertFalse(DoublePair.with(0.5, 90).equals(Pair.with(0.5, 90)));
+            assertFalse(DoublePair.with(0.5, 90).equals(Triplet.with(0.5, 90.0, 0.0)));
+        }
+
+        @Test
+        public void shouldEqualTheMutableVariant() {
+            DoublePair p = DoublePair.with(0.5, 90);
+            MutableDoublePair m = new MutableDoublePair(0.5, 90);
+
+            assertTrue(p.equals(m));
+            assertTrue(m.equals(p));
+            assertEquals(p.hashCode(), m.hashCode());
+            assertEquals(p, m.toImmutable());
+        }
+    }
+
+    public static class MutableTest {
+        @Test
+        public void shouldReuseTheSameInstance() {
+            MutableDoublePair m = new MutableDoublePair();
+
+            assertSame(m, m.set(1, 2).setSecond(3));
+            assertEquals(1, m.first(), 0);
+            assertEquals(3, m.second(), 0);
+        }
+
+        @Test
+        public void shouldRehashAfterChanging() {
+            MutableDoublePair m = new MutableDoublePair(1, 2);
+            int before = m.hashCode();
+
+            m.setFirst(5);
+            assertFalse(before == m.hashCode());
+            assertEquals(DoublePair.with(5, 2).hashCode(), m.hashCode());
+        }
+
+        @Test
+        public void shouldWorkAsAHashKeyWhileUnchanged() {
+            Set<TupleView> set = new HashSet<>();
+            set.add(DoublePair.with(1, 2));
+
+            assertTrue(set.contains(new MutableDoublePair(1, 2)));
+            assertTrue(set.contains(Pair.with(1.0, 2.0)));
+        }
+    }
+}
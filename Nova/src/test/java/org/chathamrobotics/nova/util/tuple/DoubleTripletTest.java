@@ -0,0 +1,55 @@
+package org.chathamrobotics.nova.util.tuple;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Enclosed.class)
+public class DoubleTripletTest {
+    public static class GetTest {
+        @Test
+        public void shouldReturnUnboxedValues() {
+            DoubleTriplet t = DoubleTriplet.with(1.2, 0.4, 90);
+
+            assertEquals(1.2, t.first(), 0);
+            assertEquals(0.4, t.second(), 0);
+            assertEquals(90, t.third(), 0);
+            assertEquals(90.0, t.get(2));
+        }
+    }
+
+    public static class EqualsTest {
+        @Test
+        public void shouldEqualATripletOfTheSameValues() {
+            DoubleTriplet t = DoubleTriplet.with(1.2, 0.4, 90);
+            Triplet<Double, Double, Double> boxed = Triplet.with(1.2, 0.4, 90.0);
+
+            assertTrue(t.equals(boxed));
+            assertTrue(boxed.equals(t));
+            assertEquals(boxed.hashCode(), t.hashCode());
+            assertEquals(t, DoubleTriplet.from(boxed));
+            assertEquals(boxed, t.toTriplet());
+        }
+
+        @Test
+        public void shouldEqualTheMutableVariant() {
+            DoubleTriplet t = DoubleTriplet.with(1.2, 0.4, 90);
+            MutableDoubleTriplet m = new MutableDoubleTriplet().set(1.2, 0.4, 0).setThird(90);
+
+            assertTrue(t.equals(m));
+            assertTrue(m.equals(t));
+            assertEquals(t.hashCode(), m.hashCode());
+            assertEquals(t, m.toImmutable());
+        }
+
+        @Test
+        public void shouldTreatNaNAsEqualLikeDouble() {
+            assertTrue(DoubleTriplet.with(Double.NaN, 0, 0).equals(Triplet.with(Double.NaN, 0.0, 0.0)));
+            assertFalse(DoubleTriplet.with(0.0, 0, 0).equals(DoubleTriplet.with(-0.0, 0, 0)));
+        }
+    }
+}
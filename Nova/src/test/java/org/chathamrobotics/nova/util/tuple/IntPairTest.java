@@ -0,0 +1,41 @@
+package org.chathamrobotics.nova.util.tuple;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Enclosed.class)
+public class IntPairTest {
+    public static class EqualsTest {
+        @Test
+        public void shouldEqualAPairOfTheSameValues() {
+            IntPair p = IntPair.with(3, 90);
+            Pair<Integer, Integer> boxed = Pair.with(3, 90);
+
+            assertTrue(p.equals(boxed));
+            assertTrue(boxed.equals(p));
+            assertEquals(boxed.hashCode(), p.hashCode());
+            assertEquals(p, IntPair.from(boxed));
+            assertEquals(Integer.class, p.getType(0));
+        }
+
+        @Test
+        public void shouldNotEqualAPairOfDoubles() {
+            assertFalse(IntPair.with(3, 90).equals(DoublePair.with(3, 90)));
+        }
+
+        @Test
+        public void shouldEqualTheMutableVariant() {
+            IntPair p = IntPair.with(3, 90);
+            MutableIntPair m = new MutableIntPair().set(3, 0).setSecond(90);
+
+            assertTrue(p.equals(m));
+            assertTrue(m.equals(p));
+            assertEquals(p.hashCode(), m.hashCode());
+        }
+    }
+}
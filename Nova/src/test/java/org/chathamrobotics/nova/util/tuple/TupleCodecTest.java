@@ -0,0 +1,137 @@
+package org.chathamrobotics.nova.util.tuple;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Enclosed.class)
+public class TupleCodecTest {
+    private enum Side { LEFT, RIGHT }
+
+    private static ByteBuffer roundTrip(TupleCodec codec, Object value) {
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        codec.writeValue(buffer, value);
+
+        assertEquals(codec.sizeOf(value), buffer.position());
+
+        buffer.flip();
+        return buffer;
+    }
+
+    public static class RoundTripTest {
+        private TupleCodec codec;
+
+        @Before
+        public void setUp() {
+            codec = new TupleCodec();
+            codec.register(Side.class);
+        }
+
+        @Test
+        public void shouldReadBackEveryValueType() {
+            Tuple tuple = new Tuple(
+                    null, true, (byte) 1, (short) 2, 'c', 3, 4L, 5f, 6.5, "héllo", Side.RIGHT
+            );
+
+            ByteBuffer buffer = roundTrip(codec, tuple);
+
+            assertEquals(tuple, codec.read(buffer));
+            assertEquals(0, buffer.remaining());
+        }
+
+        @Test
+        public void shouldKeepPairsAndTriplets() {
+            ByteBuffer buffer = ByteBuffer.allocate(1024);
+            codec.write(buffer, Pair.with("power", 0.5));
+            codec.write(buffer, Triplet.with(1, Side.LEFT, Pair.with(2, 3)));
+            buffer.flip();
+
+            TupleView pair = codec.read(buffer);
+            TupleView triplet = codec.read(buffer);
+
+            assertTrue(pair instanceof Pair);
+            assertEquals(Pair.with("power", 0.5), pair);
+            assertTrue(triplet instanceof Triplet);
+            assertEquals(Triplet.with(1, Side.LEFT, Pair.with(2, 3)), triplet);
+        }
+
+        @Test
+        public void shouldWritePrimitiveTuplesCompactly() {
+            ByteBuffer buffer = roundTrip(codec, new MutableDoublePair(0.5, 90));
+
+            assertEquals(17, buffer.remaining());
+            assertEquals(DoublePair.with(0.5, 90), codec.read(buffer));
+
+            assertEquals(IntPair.with(3, 4), codec.read(roundTrip(codec, IntPair.with(3, 4))));
+            assertEquals(DoubleTriplet.with(1, 2, 3), codec.read(roundTrip(codec, new MutableDoubleTriplet(1, 2, 3))));
+        }
+
+        @Test
+        public void shouldEncodeStringsLikeGetBytes() throws Exception {
+            String[] strings = {"", "ascii", "h\u00e9llo", "\u20ac10", "\ud83d\ude00 smile", "lone \ud800 surrogate"};
+
+            for (String string : strings) {
+                ByteBuffer buffer = roundTrip(codec, string);
+
+                assertEquals(string.getBytes("UTF-8").length, buffer.getInt(1));
+                assertEquals(new String(string.getBytes("UTF-8"), "UTF-8"), codec.readValue(buffer));
+            }
+        }
+
+        @Test
+        public void shouldReadSingleValues() {
+            assertEquals(0.25, codec.readValue(roundTrip(codec, 0.25)));
+            assertEquals(Side.LEFT, codec.readValue(roundTrip(codec, Side.LEFT)));
+            assertNull(codec.readValue(roundTrip(codec, null)));
+        }
+    }
+
+    public static class ErrorTest {
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldThrowForUnsupportedTypes() {
+            new TupleCodec().write(ByteBuffer.allocate(64), Tuple.with(new Object()));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldThrowForUnregisteredEnums() {
+            new TupleCodec().write(ByteBuffer.allocate(64), Pair.with(Side.LEFT, 1));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldThrowForUnknownTags() {
+            new TupleCodec().read(ByteBuffer.wrap(new byte[] {100}));
+        }
+
+        @Test(expected = BufferUnderflowException.class)
+        public void shouldThrowIfTheBufferEndsEarly() {
+            TupleCodec codec = new TupleCodec();
+            ByteBuffer buffer = roundTrip(codec, DoublePair.with(1, 2));
+            buffer.limit(buffer.limit() - 1);
+
+            codec.read(buffer);
+        }
+
+        @Test
+        public void shouldNotConsumeValuesThatAreNotTuples() {
+            TupleCodec codec = new TupleCodec();
+            ByteBuffer buffer = roundTrip(codec, "not a tuple");
+
+            try {
+                codec.read(buffer);
+            } catch (IllegalArgumentException e) {
+                assertEquals("not a tuple", codec.readValue(buffer));
+                return;
+            }
+
+            throw new AssertionError("Expected an IllegalArgumentException");
+        }
+    }
+}
@@ -185,4 +185,20 @@ public class TupleTest {
             assertFalse(a.equals("test"));
         }
     }
+
+    public static class HashCodeTest {
+        @Test
+        public void shouldBeEqualForEqualTuples() {
+            Tuple a = new Tuple("foo", 2);
+            Tuple b = new Tuple("foo", 2);
+
+            assertEquals(a.hashCode(), b.hashCode());
+        }
+
+        @Test
+        public void shouldMatchPrimitiveTuples() {
+            assertEquals(new Tuple(1.5, -2.0).hashCode(), DoublePair.with(1.5, -2).hashCode());
+            assertEquals(new Tuple(3, 4).hashCode(), IntPair.with(3, 4).hashCode());
+        }
+    }
 }
\ No newline at end of file
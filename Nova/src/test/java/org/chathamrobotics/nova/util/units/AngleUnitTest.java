@@ -4,6 +4,7 @@ import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 @RunWith(Enclosed.class)
@@ -128,4 +129,16 @@ public class AngleUnitTest {
             assertEquals(AngleUnit.DEGREES.fromRevolutions(0.5), 180, DELTA);
         }
     }
+
+    public static class BulkConvertTest {
+        @Test
+        public void shouldConvertEveryValue() {
+            double[] in = {0, 90, -180, 720};
+            double[] out = new double[in.length];
+
+            AngleUnit.DEGREES.convertTo(AngleUnit.RADIANS, in, out);
+
+            assertArrayEquals(new double[] {0, Math.PI / 2, -Math.PI, 4 * Math.PI}, out, DELTA);
+        }
+    }
 }
@@ -0,0 +1,103 @@
+package org.chathamrobotics.nova.vision;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Enclosed.class)
+public class ColorStatsTest {
+    private static final int GOLD = 0xe0b020;
+    private static final int WHITE = 0xf0f0f0;
+
+    public static class MeasureTest {
+        private ImageView image;
+        private ColorStats stats;
+
+        @Before
+        public void setUp() {
+            // white on top, gold on the bottom half
+            image = ImageView.allocate(40, 20, PixelFormat.RGB888);
+            image.fill(0, 0, 40, 10, WHITE);
+            image.fill(0, 10, 40, 10, GOLD);
+
+            stats = new ColorStats();
+        }
+
+        @Test
+        public void shouldOnlyReadTheRegion() {
+            stats.measure(image, Region.of(5, 12, 10, 4));
+
+            assertEquals(40, stats.getCount());
+            assertEquals(GOLD, stats.getMeanRgb());
+            assertEquals(1, stats.getColoredFraction(), 0);
+        }
+
+        @Test
+        public void shouldSampleEveryStep() {
+            stats.measure(image, new Region(0, 0, 40, 20, 4));
+
+            assertEquals(10 * 5, stats.getCount());
+            assertEquals(0.4, stats.getColoredFraction(), 1e-9);
+        }
+
+        @Test
+        public void shouldAverageEveryChannel() {
+            stats.measure(image, Region.of(0, 8, 1, 4));
+
+            assertEquals((0xf0 + 0xe0) / 2.0, stats.getMeanRed(), 1e-9);
+            assertEquals((0xf0 + 0xb0) / 2.0, stats.getMeanGreen(), 1e-9);
+            assertEquals((0xf0 + 0x20) / 2.0, stats.getMeanBlue(), 1e-9);
+        }
+
+        @Test
+        public void shouldFindTheDominantHue() {
+            stats.measure(image, Region.of(0, 0, 40, 20));
+
+            int hue = ColorSpace.first(ColorSpace.hsv(GOLD));
+            int bin = hue / ColorStats.HUE_BIN_SIZE;
+
+            assertEquals(400, stats.getHueCount(bin));
+            assertEquals(bin * ColorStats.HUE_BIN_SIZE + ColorStats.HUE_BIN_SIZE / 2, stats.getDominantHue());
+        }
+
+        @Test
+        public void shouldIgnoreTheHueOfGrays() {
+            stats.measure(image, Region.of(0, 0, 40, 10));
+
+            assertEquals(0, stats.getColoredCount());
+            assertEquals(-1, stats.getDominantHue());
+        }
+
+        @Test
+        public void shouldClipToTheImage() {
+            stats.measure(image, Region.of(30, 15, 100, 100));
+
+            assertEquals(10 * 5, stats.getCount());
+        }
+
+        @Test
+        public void shouldRespectTheColorThreshold() {
+            stats.setColorThreshold(0, 0);
+            stats.measure(image, Region.of(0, 0, 40, 10));
+
+            assertEquals(400, stats.getColoredCount());
+        }
+    }
+
+    public static class FormatTest {
+        @Test
+        public void shouldReadRgb565InPlace() {
+            ImageView image = ImageView.allocate(8, 8, PixelFormat.RGB565);
+            image.fill(0, 0, 8, 8, 0xff0000);
+
+            ColorStats stats = new ColorStats().measure(image, new Region(0, 0, 8, 8, 2));
+
+            assertEquals(16, stats.getCount());
+            assertEquals(0xff0000, stats.getMeanRgb());
+            assertEquals(ColorStats.HUE_BIN_SIZE / 2, stats.getDominantHue());
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package org.chathamrobotics.nova.vision;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Enclosed.class)
+public class FramePipelineTest {
+    private static class Recorder implements FramePipeline.Processor<Integer>, FramePipeline.Closer<Integer> {
+        final List<Integer> processed = Collections.synchronizedList(new ArrayList<Integer>());
+        final List<Integer> closed = Collections.synchronizedList(new ArrayList<Integer>());
+
+        @Override
+        public void process(Integer frame) {
+            processed.add(frame);
+        }
+
+        @Override
+        public void close(Integer frame) {
+            closed.add(frame);
+        }
+    }
+
+    @RunWith(RobolectricTestRunner.class)
+    @Config(manifest = Config.NONE)
+    public static class ProcessNextTest {
+        private Recorder recorder;
+        private BlockingQueue<Integer> queue;
+        private FramePipeline<Integer> pipeline;
+
+        @Before
+        public void setUp() {
+            recorder = new Recorder();
+            queue = new ArrayBlockingQueue<>(4);
+            pipeline = new FramePipeline<>("test", recorder);
+            pipeline.setSource(queue);
+            pipeline.addProcessor(recorder);
+        }
+
+        @Test
+        public void shouldOnlyProcessTheLatestFrame() throws InterruptedException {
+            queue.add(1);
+            queue.add(2);
+            queue.add(3);
+
+            assertTrue(pipeline.processNext(0, TimeUnit.MILLISECONDS));
+
+            assertEquals(Collections.singletonList(3), recorder.processed);
+            assertEquals(3, recorder.closed.size());
+            assertTrue(queue.isEmpty());
+        }
+
+        @Test
+        public void shouldProcessEveryFrameInQueueMode() throws InterruptedException {
+            pipeline.setMode(FramePipeline.Mode.QUEUE);
+            queue.add(1);
+            queue.add(2);
+
+            assertTrue(pipeline.processNext(0, TimeUnit.MILLISECONDS));
+            assertTrue(pipeline.processNext(0, TimeUnit.MILLISECONDS));
+            assertFalse(pipeline.processNext(0, TimeUnit.MILLISECONDS));
+
+            assertEquals(recorder.processed, recorder.closed);
+            assertEquals(2, recorder.processed.size());
+        }
+
+        @Test
+        public void shouldCloseFramesWhenAProcessorThrows() throws InterruptedException {
+            pipeline.removeProcessors();
+            pipeline.addProcessor(new FramePipeline.Processor<Integer>() {
+                @Override
+                public void process(Integer frame) throws Exception {
+                    throw new Exception("bad frame");
+                }
+            });
+            pipeline.addProcessor(recorder);
+            queue.add(1);
+
+            assertTrue(pipeline.processNext(0, TimeUnit.MILLISECONDS));
+
+            assertEquals(Collections.singletonList(1), recorder.processed);
+            assertEquals(Collections.singletonList(1), recorder.closed);
+        }
+
+        @Test
+        public void shouldNotProcessWithoutASource() throws InterruptedException {
+            pipeline.setSource(null);
+
+            assertFalse(pipeline.processNext(0, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    public static class RemoveTest {
+        private static class Closing extends Recorder implements FramePipeline.CloseableProcessor<Integer> {
+            int closes;
+
+            @Override
+            public void close() {
+                closes++;
+            }
+        }
+
+        @Test
+        public void shouldCloseRemovedProcessors() {
+            FramePipeline<Integer> pipeline = new FramePipeline<>("test", new Recorder());
+            Closing first = new Closing(), second = new Closing();
+            pipeline.addProcessor(first);
+            pipeline.addProcessor(second);
+            pipeline.addProcessor(new Recorder());
+
+            assertTrue(pipeline.removeProcessor(first));
+            assertEquals(1, first.closes);
+            assertEquals(0, second.closes);
+
+            assertEquals(2, pipeline.removeProcessors());
+            assertEquals(1, first.closes);
+            assertEquals(1, second.closes);
+        }
+
+        @Test
+        public void shouldNotCloseProcessorsThatWereNotAdded() {
+            FramePipeline<Integer> pipeline = new FramePipeline<>("test", new Recorder());
+            Closing processor = new Closing();
+
+            assertFalse(pipeline.removeProcessor(processor));
+            assertEquals(0, processor.closes);
+        }
+    }
+
+    @RunWith(RobolectricTestRunner.class)
+    @Config(manifest = Config.NONE)
+    public static class ThreadTest {
+        @Test
+        public void shouldProcessFramesOnItsOwnThread() throws InterruptedException {
+            final CountDownLatch latch = new CountDownLatch(2);
+            final List<Thread> threads = Collections.synchronizedList(new ArrayList<Thread>());
+
+            BlockingQueue<Integer> queue = new ArrayBlockingQueue<>(4);
+            FramePipeline<Integer> pipeline = new FramePipeline<>("test", new Recorder());
+            pipeline.setSource(queue);
+            pipeline.setMode(FramePipeline.Mode.QUEUE);
+            pipeline.start();
+
+            queue.add(1);
+            pipeline.addProcessor(new FramePipeline.Processor<Integer>() {
+                @Override
+                public void process(Integer frame) {
+                    threads.add(Thread.currentThread());
+                    latch.countDown();
+                }
+            });
+            queue.add(2);
+
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            pipeline.stop();
+
+            assertFalse(pipeline.isRunning());
+            assertFalse(threads.contains(Thread.currentThread()));
+        }
+
+        @Test
+        public void shouldNotReadTheQueueWithoutProcessors() throws InterruptedException {
+            BlockingQueue<Integer> queue = new ArrayBlockingQueue<>(4);
+            FramePipeline<Integer> pipeline = new FramePipeline<>("test", new Recorder());
+            pipeline.setSource(queue);
+            pipeline.start();
+
+            queue.add(1);
+            Thread.sleep(50);
+            pipeline.stop();
+
+            assertEquals(1, queue.size());
+        }
+
+        @Test(expected = IllegalStateException.class)
+        public void shouldNotStartTwice() throws InterruptedException {
+            FramePipeline<Integer> pipeline = new FramePipeline<>("test", new Recorder());
+            pipeline.start();
+
+            try {
+                pipeline.start();
+            } finally {
+                pipeline.stop();
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.chathamrobotics.nova.vision;
+
+import org.chathamrobotics.nova.math.Pose2;
+import org.chathamrobotics.nova.sim.VirtualClock;
+import org.chathamrobotics.nova.util.PoseBuffer;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Enclosed.class)
+public class PosePublisherTest {
+    private static final double DELTA = 1e-9;
+
+    private static class FakeSource implements PosePublisher.Source {
+        final Pose2 pose = new Pose2();
+        long captureTime = NOT_TRACKED;
+        double confidence = 1;
+
+        @Override
+        public long poll(long after, Pose2 out) {
+            if (captureTime == NOT_TRACKED || captureTime == after) return NOT_TRACKED;
+
+            out.set(pose);
+            return captureTime;
+        }
+
+        @Override
+        public double getConfidence() {
+            return confidence;
+        }
+    }
+
+    public static class PollTest {
+        private FakeSource source;
+        private PoseBuffer buffer;
+        private PosePublisher publisher;
+        private PoseBuffer.Sample sample;
+
+        @Before
+        public void setUp() {
+            source = new FakeSource();
+            buffer = new PoseBuffer(8);
+            publisher = new PosePublisher("test", buffer, new VirtualClock());
+            publisher.addSource(source);
+            sample = new PoseBuffer.Sample();
+        }
+
+        @Test
+        public void shouldNotPublishBeforeTracking() {
+            assertEquals(0, publisher.poll());
+            assertEquals(0, buffer.getSequence());
+        }
+
+        @Test
+        public void shouldPublishEachObservationOnce() {
+            source.pose.set(1, 2, 3);
+            source.captureTime = 1000;
+            source.confidence = .5;
+
+            assertEquals(1, publisher.poll());
+            assertEquals(0, publisher.poll());
+
+            assertTrue(buffer.readLatest(sample));
+            assertEquals(1, sample.pose.position.x, DELTA);
+            assertEquals(3, sample.pose.heading, DELTA);
+            assertEquals(1000, sample.captureTime);
+            assertEquals(.5, sample.confidence, DELTA);
+
+            source.captureTime = 2000;
+            assertEquals(1, publisher.poll());
+            assertEquals(2, buffer.getSequence());
+        }
+
+        @Test
+        public void shouldSubtractTheCaptureLatency() {
+            publisher.setCaptureLatency(5, TimeUnit.MILLISECONDS);
+            source.captureTime = TimeUnit.MILLISECONDS.toNanos(100);
+
+            publisher.poll();
+
+            assertTrue(buffer.readLatest(sample));
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(95), sample.captureTime);
+        }
+
+        @Test
+        public void shouldPollEverySource() {
+            FakeSource other = new FakeSource();
+            publisher.addSource(other);
+
+            source.captureTime = 10;
+            other.captureTime = 20;
+
+            assertEquals(2, publisher.poll());
+
+            publisher.removeSource(other);
+            other.captureTime = 30;
+
+            assertEquals(0, publisher.poll());
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package org.chathamrobotics.nova.vision;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Enclosed.class)
+public class VisionPipelineTest {
+    private static final int GREEN = 0x20e040;
+    private static final int RED = 0xe02020;
+    private static final ColorRange GREENS = ColorRange.hsv(100, 160, 128, 255, 128, 255);
+    private static final ColorRange REDS = ColorRange.hsv(340, 20, 128, 255, 128, 255);
+
+    // runs every test against each synthetic frame format and with one and several threads
+    @RunWith(Parameterized.class)
+    public static class ProcessTest {
+        @Parameterized.Parameters(name = "{0} {1} threads")
+        public static Collection<Object[]> parameters() {
+            return Arrays.asList(new Object[][] {
+                    {PixelFormat.RGB565, 1},
+                    {PixelFormat.RGB565, 3},
+                    {PixelFormat.RGB888, 1},
+                    {PixelFormat.RGB888, 3},
+                    {PixelFormat.RGBA8888, 2}
+            });
+        }
+
+        private final PixelFormat format;
+        private final int threads;
+        private VisionPipeline pipeline;
+
+        public ProcessTest(PixelFormat format, int threads) {
+            this.format = format;
+            this.threads = threads;
+        }
+
+        @After
+        public void tearDown() {
+            if (pipeline != null) pipeline.close();
+        }
+
+        private ImageView frame() {
+            ImageView image = ImageView.allocate(64, 48, format);
+            image.fill(0, 0, 64, 48, 0x101010);
+            image.fill(8, 8, 16, 8, GREEN);
+            image.fill(40, 20, 8, 24, GREEN);
+            image.fill(30, 2, 4, 4, RED);
+
+            return image;
+        }
+
+        @Test
+        public void shouldFindBlobsLargestFirst() {
+            pipeline = new VisionPipeline(GREENS, 1, threads, 4);
+            pipeline.process(frame());
+
+            VisionResult result = pipeline.acquireLatest();
+            assertEquals(2, result.getBlobCount());
+
+            Blob tall = result.getBlob(0);
+            assertEquals(8 * 24, tall.getArea());
+            assertEquals(40, tall.getLeft());
+            assertEquals(20, tall.getTop());
+            assertEquals(48, tall.getRight());
+            assertEquals(44, tall.getBottom());
+            assertEquals(44, tall.getCenterX(), 1e-9);
+            assertEquals(32, tall.getCenterY(), 1e-9);
+
+            assertEquals(16 * 8, result.getBlob(1).getArea());
+        }
+
+        @Test
+        public void shouldDownsample() {
+            pipeline = new VisionPipeline(GREENS, 4, threads, 4);
+            pipeline.process(frame());
+
+            Blob tall = pipeline.acquireLatest().getLargestBlob();
+            assertEquals(8 * 24, tall.getArea());
+            assertEquals(44, tall.getCenterX(), 1e-9);
+            assertEquals(32, tall.getCenterY(), 1e-9);
+        }
+
+        @Test
+        public void shouldWrapHueRanges() {
+            pipeline = new VisionPipeline(REDS, 1, threads, 4);
+            pipeline.process(frame());
+
+            VisionResult result = pipeline.acquireLatest();
+            assertEquals(1, result.getBlobCount());
+            assertEquals(16, result.getLargestBlob().getArea());
+        }
+
+        @Test
+        public void shouldKeepOnlyTheLargestBlobs() {
+            pipeline = new VisionPipeline(GREENS, 1, threads, 1);
+            pipeline.setMinBlobArea(1);
+            pipeline.process(frame());
+
+            VisionResult result = pipeline.acquireLatest();
+            assertEquals(1, result.getBlobCount());
+            assertEquals(8 * 24, result.getLargestBlob().getArea());
+        }
+
+        @Test
+        public void shouldOnlyProcessTheRegion() {
+            pipeline = new VisionPipeline(GREENS, 1, threads, 4);
+            pipeline.setRegion(Region.of(32, 16, 32, 32));
+            pipeline.process(frame());
+
+            VisionResult result = pipeline.acquireLatest();
+            assertEquals(1, result.getBlobCount());
+
+            Blob tall = result.getLargestBlob();
+            assertEquals(40, tall.getLeft());
+            assertEquals(20, tall.getTop());
+            assertEquals(44, tall.getCenterX(), 1e-9);
+            assertEquals(32, tall.getCenterY(), 1e-9);
+        }
+
+        @Test
+        public void shouldStepThroughTheRegion() {
+            pipeline = new VisionPipeline(GREENS, 2, threads, 4);
+            pipeline.setRegion(new Region(32, 16, 32, 32, 2));
+            pipeline.process(frame());
+
+            Blob tall = pipeline.acquireLatest().getLargestBlob();
+            assertEquals(8 * 24, tall.getArea());
+            assertEquals(44, tall.getCenterX(), 1e-9);
+        }
+
+        @Test
+        public void shouldIgnoreSmallBlobs() {
+            pipeline = new VisionPipeline(GREENS, 1, threads, 4);
+            pipeline.setMinBlobArea(150);
+            pipeline.process(frame());
+
+            assertEquals(1, pipeline.acquireLatest().getBlobCount());
+        }
+    }
+
+    public static class BlobTest {
+        @Test
+        public void shouldMergeRegionsThatMeetLater() {
+            // a U shape is labeled as two regions until its bottom row joins them
+            ImageView image = ImageView.allocate(10, 10, PixelFormat.RGB888);
+            image.fill(0, 0, 2, 10, GREEN);
+            image.fill(8, 0, 2, 10, GREEN);
+            image.fill(0, 8, 10, 2, GREEN);
+
+            VisionPipeline pipeline = new VisionPipeline(GREENS, 1, 1, 4);
+            pipeline.process(image);
+
+            VisionResult result = pipeline.acquireLatest();
+            assertEquals(1, result.getBlobCount());
+            assertEquals(2 * 10 + 2 * 10 + 6 * 2, result.getLargestBlob().getArea());
+        }
+
+        @Test
+        public void shouldNotConnectDiagonals() {
+            ImageView image = ImageView.allocate(4, 4, PixelFormat.RGB888);
+            for (int i = 0; i < 4; i++) image.setRgb(i, i, GREEN);
+
+            VisionPipeline pipeline = new VisionPipeline(GREENS, 1, 1, 8);
+            pipeline.process(image);
+
+            assertEquals(4, pipeline.acquireLatest().getBlobCount());
+        }
+    }
+
+    // the worker threads alive that are not in the given set
+    private static Set<Thread> newWorkers(Set<Thread> before) {
+        Set<Thread> workers = new HashSet<>();
+
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("VisionPipeline-") && ! before.contains(thread)) workers.add(thread);
+        }
+
+        return workers;
+    }
+
+    public static class CloseTest {
+        @Test
+        public void shouldEndTheWorkersWhenClosed() {
+            Set<Thread> before = newWorkers(new HashSet<Thread>());
+            VisionPipeline pipeline = new VisionPipeline(GREENS, 1, 3, 1);
+
+            pipeline.process(ImageView.allocate(8, 8, PixelFormat.RGB565));
+            Set<Thread> workers = newWorkers(before);
+            assertEquals(2, workers.size());
+
+            pipeline.close();
+
+            assertTrue(pipeline.isClosed());
+            for (Thread worker : workers) assertFalse(worker.isAlive());
+        }
+
+        @Test
+        public void shouldCloseBeforeTheWorkersStart() {
+            VisionPipeline pipeline = new VisionPipeline(GREENS, 1, 3, 1);
+
+            pipeline.close();
+
+            assertTrue(pipeline.isClosed());
+        }
+
+        @Test(expected = IllegalStateException.class)
+        public void shouldNotProcessOnceClosed() {
+            VisionPipeline pipeline = new VisionPipeline(GREENS, 1, 2, 1);
+            pipeline.close();
+
+            pipeline.process(ImageView.allocate(8, 8, PixelFormat.RGB565));
+        }
+    }
+
+    public static class ResultTest {
+        @Test
+        public void shouldStartEmpty() {
+            VisionResult result = new VisionPipeline(GREENS, 1, 1, 1).acquireLatest();
+
+            assertEquals(0, result.getSequence());
+            assertNull(result.getLargestBlob());
+        }
+
+        @Test
+        public void shouldReturnTheSameResultUntilANewFrame() {
+            VisionPipeline pipeline = new VisionPipeline(GREENS, 1, 1, 1);
+            ImageView image = ImageView.allocate(4, 4, PixelFormat.RGB565);
+
+            pipeline.process(image);
+            VisionResult first = pipeline.acquireLatest();
+            assertEquals(1, first.getSequence());
+            assertSame(first, pipeline.acquireLatest());
+
+            pipeline.process(image);
+            pipeline.process(image);
+            VisionResult third = pipeline.acquireLatest();
+            assertEquals(3, third.getSequence());
+            assertTrue(third.getProcessingTime() >= 0);
+        }
+    }
+
+    public static class ColorTest {
+        @Test
+        public void shouldRoundTripRgb565() {
+            ImageView image = ImageView.allocate(1, 1, PixelFormat.RGB565);
+
+            image.setRgb(0, 0, 0xffffff);
+            assertEquals(0xffffff, image.rgb(0, 0));
+
+            image.setRgb(0, 0, 0xf80000);
+            assertEquals(0xff0000, image.rgb(0, 0));
+        }
+
+        @Test
+        public void shouldConvertToHsv() {
+            assertEquals(0 << 16 | 255 << 8 | 255, ColorSpace.hsv(0xff0000));
+            assertEquals(120 << 16 | 255 << 8 | 255, ColorSpace.hsv(0x00ff00));
+            assertEquals(240 << 16 | 255 << 8 | 128, ColorSpace.hsv(0x000080));
+            assertEquals(0x000080, ColorSpace.hsv(0x808080));
+        }
+
+        @Test
+        public void shouldRespectTheStride() {
+            ImageView image = ImageView.allocate(2, 2, PixelFormat.RGB888);
+            ImageView padded = new ImageView().set(ByteBuffer.allocate(16), 2, 2, 8, PixelFormat.RGB888);
+
+            padded.setRgb(1, 1, GREEN);
+            image.setRgb(1, 1, GREEN);
+
+            assertEquals(8 + 3, padded.offset(1, 1));
+            assertEquals(image.rgb(1, 1), padded.rgb(1, 1));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldRejectShortBuffers() {
+            new ImageView().set(ByteBuffer.allocate(10), 2, 2, 6, PixelFormat.RGB888);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.chathamrobotics.nova.async;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks emitting events, alone and while another thread subscribes and unsubscribes
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventEmitterBenchmark {
+    private enum Event { START, UPDATE, STOP }
+
+    @Param({"1", "10"})
+    public int listenerCount;
+
+    @Param({"true", "false"})
+    public boolean enumIndexed;
+
+    private EventEmitterImpl<Event> emitter;
+    private AsyncCallback subscriber;
+
+    @Setup
+    public void setUp(final Blackhole blackhole) {
+        emitter = enumIndexed ? new EventEmitterImpl<>(Event.class) : new EventEmitterImpl<Event>();
+
+        AsyncCallback listener = new AsyncCallback() {
+            @Override
+            public void run(Throwable thr) {
+                blackhole.consume(thr);
+            }
+        };
+
+        for (int l = 0; l < listenerCount; l++) emitter.on(Event.UPDATE, listener);
+
+        subscriber = new AsyncCallback() {
+            @Override
+            public void run(Throwable thr) {
+                blackhole.consume(thr);
+            }
+        };
+    }
+
+    @Benchmark
+    @Group("alone")
+    public boolean emit() {
+        return emitter.emit(Event.UPDATE, null);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(3)
+    public boolean emitWhileSubscribing() {
+        return emitter.emit(Event.UPDATE, null);
+    }
+
+    @Benchmark
+    @Group("contended")
+    public void subscribe() {
+        emitter.on(Event.UPDATE, subscriber);
+        emitter.removeListener(Event.UPDATE, subscriber);
+    }
+}
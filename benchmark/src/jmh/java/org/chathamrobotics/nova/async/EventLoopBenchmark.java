@@ -0,0 +1,75 @@
+package org.chathamrobotics.nova.async;
+
+import org.chathamrobotics.nova.metrics.MetricsRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a single pass of the event loop over its listeners. The polling thread is never
+ * started, passes are run on the benchmark thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventLoopBenchmark {
+    @Param({"1", "10", "100"})
+    public int listenerCount;
+
+    @Param({"false", "true"})
+    public boolean metrics;
+
+    private EventLoop eventLoop;
+    private int pass;
+    private int calls;
+
+    @Setup
+    public void setUp() {
+        MetricsRegistry.getInstance().setEnabled(metrics);
+
+        eventLoop = new EventLoop();
+        eventLoop.setThreaded(false);
+
+        for (int l = 0; l < listenerCount; l++) {
+            final int offset = l;
+
+            eventLoop.addListener(new Listener(
+                    new Listener.Condition() {
+                        @Override
+                        public boolean test() {
+                            // met once every 16 passes, like a button press
+                            return ((pass + offset) & 15) == 0;
+                        }
+                    },
+                    new AsyncCallback() {
+                        @Override
+                        public void run(Throwable thr) {
+                            calls++;
+                        }
+                    }
+            ));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        MetricsRegistry.getInstance().setEnabled(false);
+        MetricsRegistry.getInstance().reset();
+    }
+
+    @Benchmark
+    public int pass() {
+        pass++;
+        eventLoop.poll();
+
+        return calls;
+    }
+}
@@ -0,0 +1,65 @@
+package org.chathamrobotics.nova.async;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks broadcasting a reading to several subscribers with primitive callbacks against
+ * boxing it for object callbacks. Run with -prof gc to compare allocation
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PayloadEmitterBenchmark {
+    private enum Event { HEADING }
+
+    @Param({"1", "10"})
+    public int listenerCount;
+
+    private PayloadEmitter<Event> primitiveEmitter;
+    private PayloadEmitter<Event> boxedEmitter;
+    private double reading;
+
+    @Setup
+    public void setUp(final Blackhole blackhole) {
+        primitiveEmitter = new PayloadEmitter<>(Event.class);
+        boxedEmitter = new PayloadEmitter<>(Event.class);
+
+        PayloadEmitter.DoubleCallback primitive = new PayloadEmitter.DoubleCallback() {
+            @Override
+            public void run(double value) {
+                blackhole.consume(value);
+            }
+        };
+        PayloadEmitter.ObjectCallback<Double> boxed = new PayloadEmitter.ObjectCallback<Double>() {
+            @Override
+            public void run(Double value) {
+                blackhole.consume(value);
+            }
+        };
+
+        for (int l = 0; l < listenerCount; l++) {
+            primitiveEmitter.on(Event.HEADING, primitive);
+            boxedEmitter.on(Event.HEADING, boxed);
+        }
+    }
+
+    @Benchmark
+    public boolean emitPrimitive() {
+        return primitiveEmitter.emit(Event.HEADING, reading += 0.25);
+    }
+
+    @Benchmark
+    public boolean emitBoxed() {
+        return boxedEmitter.emitValue(Event.HEADING, reading += 0.25);
+    }
+}
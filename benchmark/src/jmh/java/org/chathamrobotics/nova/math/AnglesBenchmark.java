@@ -0,0 +1,76 @@
+package org.chathamrobotics.nova.math;
+
+import org.chathamrobotics.nova.util.units.AngleUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks angle normalization and trig against the modulo and {@link Math} versions they replace
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AnglesBenchmark {
+    private static final int ANGLE_COUNT = 1024;
+    private static final double DOUBLE_DELTA = 1e-6;
+
+    private final double[] angles = new double[ANGLE_COUNT];
+    private int i;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(36);
+
+        // headings a gyro could report, in radians so the trig benchmarks can use them too
+        for (int a = 0; a < ANGLE_COUNT; a++) angles[a] = random.nextDouble() * 4 * Math.PI - 2 * Math.PI;
+    }
+
+    @Benchmark
+    public double shortestDistanceModulo() {
+        double full = AngleUnit.RADIANS.getFull();
+        double dis = Math.abs(next() - next() + full / 2) % full - full / 2;
+
+        if (Math.abs(dis + full / 2) < DOUBLE_DELTA) dis = full / 2;
+
+        return dis;
+    }
+
+    @Benchmark
+    public double shortestDistance() {
+        return Angles.shortestDistance(next(), next(), AngleUnit.RADIANS);
+    }
+
+    @Benchmark
+    public double relativeAngleModulo() {
+        double full = AngleUnit.RADIANS.getFull();
+
+        return Math.abs(next() - next() + full) % full;
+    }
+
+    @Benchmark
+    public double relativeAngle() {
+        return Angles.relativeAngle(next(), next(), AngleUnit.RADIANS);
+    }
+
+    @Benchmark
+    public double sinMath() {
+        return Math.sin(next());
+    }
+
+    @Benchmark
+    public double sinTable() {
+        return FastTrig.sin(next());
+    }
+
+    private double next() {
+        return angles[i++ & (ANGLE_COUNT - 1)];
+    }
+}
@@ -0,0 +1,77 @@
+package org.chathamrobotics.nova.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the pose estimator on simulated odometry, gyro and vision data. One step is an encoder
+ * reading, the vision benchmark applies a pose captured 20 steps ago and replays the steps after it
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PoseEstimatorBenchmark {
+    private static final int SAMPLES = 1024;
+    private static final long STEP = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final PoseEstimator estimator = new PoseEstimator(64);
+    private final double[] forward = new double[SAMPLES], turn = new double[SAMPLES], heading = new double[SAMPLES];
+
+    private int index;
+    private long time;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        double trueHeading = 0;
+
+        for (int i = 0; i < SAMPLES; i++) {
+            forward[i] = .005 + random.nextGaussian() * .0005;
+            turn[i] = .002 + random.nextGaussian() * .0002;
+            trueHeading += turn[i];
+            heading[i] = trueHeading + random.nextGaussian() * .01;
+        }
+
+        for (int i = 0; i < 64; i++) step();
+    }
+
+    @Benchmark
+    public PoseEstimator predict() {
+        int i = next();
+        estimator.predict(time, forward[i], 0, turn[i]);
+        return estimator;
+    }
+
+    @Benchmark
+    public PoseEstimator predictAndCorrectHeading() {
+        step();
+        return estimator;
+    }
+
+    @Benchmark
+    public PoseEstimator delayedVision() {
+        step();
+        estimator.correctPose(time - 20 * STEP, 0, 0, 0, .01, .01);
+        return estimator;
+    }
+
+    private void step() {
+        int i = next();
+        estimator.predict(time, forward[i], 0, turn[i]);
+        estimator.correctHeading(heading[i], 1e-4);
+    }
+
+    private int next() {
+        time += STEP;
+        index = (index + 1) & (SAMPLES - 1);
+        return index;
+    }
+}
@@ -0,0 +1,111 @@
+package org.chathamrobotics.nova.mocks;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+
+/**
+ * A motor that only stores the values written to it
+ */
+public class FakeMotor implements DcMotor {
+    private double power;
+    private int target, position;
+    private RunMode mode = RunMode.RUN_WITHOUT_ENCODER;
+    private ZeroPowerBehavior behavior = ZeroPowerBehavior.BRAKE;
+    private Direction direction = Direction.FORWARD;
+
+    @Override
+    public void setPower(double power) {
+        this.power = power;
+    }
+
+    @Override
+    public double getPower() {
+        return power;
+    }
+
+    @Override
+    public boolean isBusy() {
+        return mode == RunMode.RUN_TO_POSITION && position != target;
+    }
+
+    @Override
+    public void setTargetPosition(int position) {
+        this.target = position;
+    }
+
+    @Override
+    public int getTargetPosition() {
+        return target;
+    }
+
+    @Override
+    public int getCurrentPosition() {
+        return position;
+    }
+
+    @Override
+    public void setMode(RunMode mode) {
+        this.mode = mode;
+        if (mode == RunMode.STOP_AND_RESET_ENCODER) position = 0;
+    }
+
+    @Override
+    public RunMode getMode() {
+        return mode;
+    }
+
+    @Override
+    public int getPortNumber() {
+        return 0;
+    }
+
+    @Override
+    public void setZeroPowerBehavior(ZeroPowerBehavior zeroPowerBehavior) {
+        this.behavior = zeroPowerBehavior;
+    }
+
+    @Override
+    public ZeroPowerBehavior getZeroPowerBehavior() {
+        return behavior;
+    }
+
+    @Override
+    public boolean getPowerFloat() {
+        return behavior == ZeroPowerBehavior.FLOAT && power == 0;
+    }
+
+    @Override
+    public void setDirection(Direction direction) {
+        this.direction = direction;
+    }
+
+    @Override
+    public Direction getDirection() {
+        return direction;
+    }
+
+    @Override
+    public Manufacturer getManufacturer() {
+        return Manufacturer.Other;
+    }
+
+    @Override
+    public String getDeviceName() {
+        return FakeMotor.class.getSimpleName();
+    }
+
+    @Override
+    public String getConnectionInfo() {
+        return "none";
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public void resetDeviceConfigurationForOpMode() {}
+
+    @Override
+    public void close() {}
+}
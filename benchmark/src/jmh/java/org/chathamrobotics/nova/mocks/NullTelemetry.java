@@ -0,0 +1,195 @@
+package org.chathamrobotics.nova.mocks;
+
+import org.firstinspires.ftc.robotcore.external.Func;
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+/**
+ * Telemetry that discards everything written to it. Values are still formatted so the cost of
+ * building telemetry is measured
+ */
+public class NullTelemetry implements Telemetry {
+    private static class NullItem implements Item, Line {
+        private String caption;
+        private Object value;
+        private boolean retained;
+
+        @Override
+        public String getCaption() {
+            return caption;
+        }
+
+        @Override
+        public Item setCaption(String caption) {
+            this.caption = caption;
+            return this;
+        }
+
+        @Override
+        public Item setValue(String format, Object... args) {
+            value = String.format(format, args);
+            return this;
+        }
+
+        @Override
+        public Item setValue(Object value) {
+            this.value = value;
+            return this;
+        }
+
+        @Override
+        public <T> Item setValue(Func<T> valueProducer) {
+            value = valueProducer.value();
+            return this;
+        }
+
+        @Override
+        public <T> Item setValue(String format, Func<T> valueProducer) {
+            value = String.format(format, valueProducer.value());
+            return this;
+        }
+
+        @Override
+        public Item setRetained(Boolean retained) {
+            this.retained = retained != null && retained;
+            return this;
+        }
+
+        @Override
+        public boolean isRetained() {
+            return retained;
+        }
+
+        @Override
+        public Item addData(String caption, String format, Object... args) {
+            return setCaption(caption).setValue(format, args);
+        }
+
+        @Override
+        public Item addData(String caption, Object value) {
+            return setCaption(caption).setValue(value);
+        }
+
+        @Override
+        public <T> Item addData(String caption, Func<T> valueProducer) {
+            return setCaption(caption).setValue(valueProducer);
+        }
+
+        @Override
+        public <T> Item addData(String caption, String format, Func<T> valueProducer) {
+            return setCaption(caption).setValue(format, valueProducer);
+        }
+    }
+
+    private final NullItem item = new NullItem();
+
+    private boolean autoClear = true;
+    private int msTransmissionInterval = 250;
+    private String itemSeparator = " | ", captionValueSeparator = " : ";
+
+    @Override
+    public Item addData(String caption, String format, Object... args) {
+        return item.addData(caption, format, args);
+    }
+
+    @Override
+    public Item addData(String caption, Object value) {
+        return item.addData(caption, value);
+    }
+
+    @Override
+    public <T> Item addData(String caption, Func<T> valueProducer) {
+        return item.addData(caption, valueProducer);
+    }
+
+    @Override
+    public <T> Item addData(String caption, String format, Func<T> valueProducer) {
+        return item.addData(caption, format, valueProducer);
+    }
+
+    @Override
+    public boolean removeItem(Item item) {
+        return false;
+    }
+
+    @Override
+    public void clear() {}
+
+    @Override
+    public void clearAll() {}
+
+    @Override
+    public Object addAction(Runnable action) {
+        return action;
+    }
+
+    @Override
+    public boolean removeAction(Object token) {
+        return false;
+    }
+
+    @Override
+    public boolean update() {
+        return true;
+    }
+
+    @Override
+    public Line addLine() {
+        return item;
+    }
+
+    @Override
+    public Line addLine(String lineCaption) {
+        item.setCaption(lineCaption);
+        return item;
+    }
+
+    @Override
+    public boolean removeLine(Line line) {
+        return false;
+    }
+
+    @Override
+    public boolean isAutoClear() {
+        return autoClear;
+    }
+
+    @Override
+    public void setAutoClear(boolean autoClear) {
+        this.autoClear = autoClear;
+    }
+
+    @Override
+    public int getMsTransmissionInterval() {
+        return msTransmissionInterval;
+    }
+
+    @Override
+    public void setMsTransmissionInterval(int msTransmissionInterval) {
+        this.msTransmissionInterval = msTransmissionInterval;
+    }
+
+    @Override
+    public String getItemSeparator() {
+        return itemSeparator;
+    }
+
+    @Override
+    public void setItemSeparator(String itemSeparator) {
+        this.itemSeparator = itemSeparator;
+    }
+
+    @Override
+    public String getCaptionValueSeparator() {
+        return captionValueSeparator;
+    }
+
+    @Override
+    public void setCaptionValueSeparator(String captionValueSeparator) {
+        this.captionValueSeparator = captionValueSeparator;
+    }
+
+    @Override
+    public Log log() {
+        return null;
+    }
+}
@@ -0,0 +1,105 @@
+package org.chathamrobotics.nova.system;
+
+import org.chathamrobotics.nova.math.Vector2;
+import org.chathamrobotics.nova.math.WheelSpeeds;
+import org.chathamrobotics.nova.metrics.MetricsRegistry;
+import org.chathamrobotics.nova.mocks.FakeMotor;
+import org.chathamrobotics.nova.mocks.NullTelemetry;
+import org.chathamrobotics.nova.util.RobotLogger;
+import org.chathamrobotics.nova.util.units.AngleUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the calculations done each time the drive's power is set
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HolonomicDriveBenchmark {
+    private static final int DIRECTION_COUNT = 1024;
+
+    @Param({"false", "true"})
+    public boolean metrics;
+
+    private final double[] directions = new double[DIRECTION_COUNT];
+    private final Vector2[] vectors = new Vector2[DIRECTION_COUNT];
+    private final WheelSpeeds wheelSpeeds = new WheelSpeeds();
+    private HolonomicDrive drive;
+    private int i;
+
+    @Setup
+    public void setUp() {
+        MetricsRegistry.getInstance().setEnabled(metrics);
+
+        // vary the direction so the trig can not be constant folded
+        for (int d = 0; d < DIRECTION_COUNT; d++) {
+            directions[d] = 2 * Math.PI * d / DIRECTION_COUNT;
+            vectors[d] = new Vector2().setPolar(1, directions[d]);
+        }
+
+        drive = new HolonomicDrive(
+                new FakeMotor(),
+                new FakeMotor(),
+                new FakeMotor(),
+                new FakeMotor(),
+                new RobotLogger("HolonomicDriveBenchmark", new NullTelemetry())
+        );
+        drive.init();
+        drive.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        MetricsRegistry.getInstance().setEnabled(false);
+        MetricsRegistry.getInstance().reset();
+    }
+
+    @Benchmark
+    public double[] calcMotorValues() {
+        return drive.calcMotorValues(1, directions[i++ & (DIRECTION_COUNT - 1)], 0.25);
+    }
+
+    @Benchmark
+    public WheelSpeeds calcMotorValuesInPlace() {
+        return drive.calcMotorValues(1, directions[i++ & (DIRECTION_COUNT - 1)], 0.25, wheelSpeeds);
+    }
+
+    @Benchmark
+    public double calcMagnitude() {
+        double direction = directions[i++ & (DIRECTION_COUNT - 1)];
+
+        return drive.calcMagnitude(direction, -direction, 0.5, -0.5);
+    }
+
+    @Benchmark
+    public HolonomicDrive setPower() {
+        drive.setPower(1, directions[i++ & (DIRECTION_COUNT - 1)], AngleUnit.RADIANS, 0.25);
+
+        return drive;
+    }
+
+    @Benchmark
+    public HolonomicDrive driveVector() {
+        drive.drive(vectors[i++ & (DIRECTION_COUNT - 1)], 0.25);
+
+        return drive;
+    }
+
+    @Benchmark
+    public HolonomicDrive driveFieldCentric() {
+        int d = i++ & (DIRECTION_COUNT - 1);
+        drive.drive(vectors[d], 0.25, directions[DIRECTION_COUNT - 1 - d]);
+
+        return drive;
+    }
+}
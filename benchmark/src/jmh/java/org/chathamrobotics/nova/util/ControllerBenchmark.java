@@ -0,0 +1,88 @@
+package org.chathamrobotics.nova.util;
+
+import com.qualcomm.robotcore.hardware.Gamepad;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the per loop cost of reading a controller. The stubbed gamepad copies fields directly
+ * so {@link #update()} is cheaper here than the robocol round trip on a robot
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ControllerBenchmark {
+    private Gamepad gamepad;
+    private Controller controller, changeDetecting, shaped;
+    private Controller.Combo doubleTap;
+    private int chord;
+    private InputRecorder recorder;
+
+    @Setup
+    public void setUp() {
+        gamepad = new Gamepad();
+        gamepad.left_stick_x = 0.5f;
+        gamepad.a = true;
+
+        controller = new Controller(gamepad);
+
+        changeDetecting = new Controller(gamepad);
+        changeDetecting.setChangeDetection(true);
+        changeDetecting.update();
+        changeDetecting.update();
+
+        shaped = new Controller(gamepad);
+        shaped.setCurve(Controller.Axis.LEFT_STICK, ResponseCurve.deadzone(0.1).then(ResponseCurve.expo(0.6)));
+        shaped.setCurve(Controller.Axis.RIGHT_STICK, ResponseCurve.deadzone(0.1));
+        shaped.setSlewRate(Controller.Axis.LEFT_STICK, 4);
+
+        doubleTap = new Controller.Combo(250, TimeUnit.MILLISECONDS, Controller.Button.A, Controller.Button.A);
+        chord = Controller.Button.mask(Controller.Button.LEFT_BUMPER, Controller.Button.RIGHT_BUMPER);
+
+        recorder = new InputRecorder(controller);
+        recorder.start();
+    }
+
+    @Benchmark
+    public int update() {
+        controller.update();
+        return controller.getButtons();
+    }
+
+    @Benchmark
+    public int updateUnchanged() {
+        changeDetecting.update();
+        return changeDetecting.getButtons();
+    }
+
+    @Benchmark
+    public float updateShaped() {
+        shaped.update();
+        return shaped.getShaped(Controller.Axis.LEFT_STICK_X);
+    }
+
+    @Benchmark
+    public boolean queries() {
+        return controller.isTapped(Controller.Button.A)
+                | controller.isChord(chord)
+                | controller.isTriggered(doubleTap);
+    }
+
+    @Benchmark
+    public int record() {
+        // change the input so every call stores a frame
+        controller.left_stick_x = -controller.left_stick_x;
+        if (recorder.isFull()) recorder.start();
+
+        recorder.record();
+        return recorder.getRecording().size();
+    }
+}
@@ -0,0 +1,48 @@
+package org.chathamrobotics.nova.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks publishing to and reading from a pose buffer
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PoseBufferBenchmark {
+    private final PoseBuffer buffer = new PoseBuffer(32);
+    private final PoseBuffer.Sample sample = new PoseBuffer.Sample();
+
+    private long time;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < 32; i++) buffer.publish(i, i, 0, i * 1000, 1);
+        time = 32 * 1000;
+    }
+
+    @Benchmark
+    public long publish() {
+        time += 1000;
+        return buffer.publish(1, 2, .5, time, 1);
+    }
+
+    @Benchmark
+    public PoseBuffer.Sample readLatest() {
+        buffer.readLatest(sample);
+        return sample;
+    }
+
+    @Benchmark
+    public PoseBuffer.Sample readAt() {
+        buffer.readAt(time - 16 * 1000, sample);
+        return sample;
+    }
+}
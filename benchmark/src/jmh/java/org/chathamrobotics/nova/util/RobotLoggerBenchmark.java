@@ -0,0 +1,57 @@
+package org.chathamrobotics.nova.util;
+
+import org.chathamrobotics.nova.mocks.NullTelemetry;
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks formatting log messages for logcat and telemetry
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RobotLoggerBenchmark {
+    private RobotLogger logger, child;
+    private double value;
+
+    @Setup
+    public void setUp() {
+        logger = new RobotLogger("RobotLoggerBenchmark", new NullTelemetry());
+        logger.setLevel(RobotLogger.Level.INFO);
+
+        child = logger.child("Child");
+    }
+
+    @Benchmark
+    public Telemetry.Item message() {
+        return logger.info.log("Starting");
+    }
+
+    @Benchmark
+    public Telemetry.Item captionValue() {
+        return logger.info.log("Power", value += 0.1);
+    }
+
+    @Benchmark
+    public Telemetry.Item captionFormat() {
+        return logger.info.log("Position", "%.2f, %.2f", value += 0.1, -value);
+    }
+
+    @Benchmark
+    public Telemetry.Item child() {
+        return child.info.log("Power", value += 0.1);
+    }
+
+    @Benchmark
+    public Telemetry.Item belowLevel() {
+        return logger.verbose.log("Power", value += 0.1);
+    }
+}
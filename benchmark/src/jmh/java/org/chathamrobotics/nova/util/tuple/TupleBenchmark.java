@@ -0,0 +1,89 @@
+package org.chathamrobotics.nova.util.tuple;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks creating and reading tuples, boxed and primitive
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TupleBenchmark {
+    private Pair<Double, Double> pair, other;
+    private Triplet<Integer, Integer, Integer> triplet;
+    private DoublePair doublePair, otherDoublePair;
+    private final MutableDoublePair mutablePair = new MutableDoublePair();
+    private double value;
+
+    @Setup
+    public void setUp() {
+        pair = Pair.with(1.0, 2.0);
+        other = Pair.with(1.0, 2.0);
+        triplet = Triplet.with(1, 2, 3);
+        doublePair = DoublePair.with(1.0, 2.0);
+        otherDoublePair = DoublePair.with(1.0, 2.0);
+    }
+
+    @Benchmark
+    public Pair<Double, Double> create() {
+        return Pair.with(value += 1, value);
+    }
+
+    @Benchmark
+    public double read() {
+        return pair.first() + pair.second();
+    }
+
+    @Benchmark
+    public int readTriplet() {
+        return triplet.first() + triplet.second() + triplet.third();
+    }
+
+    @Benchmark
+    public Object get() {
+        return triplet.get(2);
+    }
+
+    @Benchmark
+    public boolean equal() {
+        return pair.equals(other);
+    }
+
+    @Benchmark
+    public int hash() {
+        return pair.hashCode();
+    }
+
+    @Benchmark
+    public DoublePair createDoublePair() {
+        return DoublePair.with(value += 1, value);
+    }
+
+    @Benchmark
+    public MutableDoublePair setMutablePair() {
+        return mutablePair.set(value += 1, value);
+    }
+
+    @Benchmark
+    public double readDoublePair() {
+        return doublePair.first() + doublePair.second();
+    }
+
+    @Benchmark
+    public boolean equalDoublePair() {
+        return doublePair.equals(otherDoublePair);
+    }
+
+    @Benchmark
+    public int hashDoublePair() {
+        return doublePair.hashCode();
+    }
+}
@@ -0,0 +1,73 @@
+package org.chathamrobotics.nova.util.tuple;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks encoding tuples with {@link TupleCodec} against java serialization
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TupleCodecBenchmark {
+    private final TupleCodec codec = new TupleCodec();
+    private final ByteBuffer buffer = ByteBuffer.allocate(4096);
+    private final MutableDoublePair doublePair = new MutableDoublePair();
+
+    private Pair<String, Double> pair;
+    private ByteBuffer encodedPair;
+    private double value;
+
+    @Setup
+    public void setUp() {
+        pair = Pair.with("heading", 90.0);
+
+        encodedPair = ByteBuffer.allocate(codec.sizeOf(pair));
+        codec.write(encodedPair, pair);
+        encodedPair.flip();
+    }
+
+    @Benchmark
+    public ByteBuffer writeDoublePair() {
+        buffer.clear();
+        codec.write(buffer, doublePair.set(value += 1, value));
+
+        return buffer;
+    }
+
+    @Benchmark
+    public ByteBuffer writePair() {
+        buffer.clear();
+        codec.write(buffer, pair);
+
+        return buffer;
+    }
+
+    @Benchmark
+    public TupleView readPair() {
+        encodedPair.rewind();
+
+        return codec.read(encodedPair);
+    }
+
+    @Benchmark
+    public byte[] serializePair() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(pair);
+        out.close();
+
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,99 @@
+package org.chathamrobotics.nova.util.units;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks unit conversions, one at a time and in bulk
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.NANOSECONDS)
+public class UnitsBenchmark {
+    /**
+     * A buffer of samples to convert
+     */
+    @State(Scope.Thread)
+    public static class Samples {
+        @Param({"64", "1024"})
+        public int size;
+
+        double[] in, out;
+
+        @Setup
+        public void setUp() {
+            in = new double[size];
+            out = new double[size];
+
+            for (int i = 0; i < size; i++) in[i] = i * 0.5;
+        }
+    }
+
+    private double value = 1;
+
+    @Benchmark
+    public double distanceSameSystem() {
+        return DistanceUnit.INCH.toFeet(value += 1);
+    }
+
+    @Benchmark
+    public double distanceCrossSystem() {
+        return DistanceUnit.INCH.toMillimeters(value += 1);
+    }
+
+    @Benchmark
+    public double angle() {
+        return AngleUnit.DEGREES.toRadians(value += 1);
+    }
+
+    @Benchmark
+    public double time() {
+        return TimeUnit.MILLISECOND.toSeconds(value += 1);
+    }
+
+    @Benchmark
+    public double velocity() {
+        return VelocityUnit.MILE_PER_HOUR.toMetersPerSecond(value += 1);
+    }
+
+    @Benchmark
+    public double angularVelocity() {
+        return AngularVelocityUnit.REVOLUTIONS_PER_MINUTE.toRadiansPerSecond(value += 1);
+    }
+
+    @Benchmark
+    public double[] bulkDistance(Samples samples) {
+        DistanceUnit.INCH.convertTo(DistanceUnit.MILLIMETER, samples.in, samples.out);
+        return samples.out;
+    }
+
+    @Benchmark
+    public double[] bulkAngle(Samples samples) {
+        AngleUnit.DEGREES.convertTo(AngleUnit.RADIANS, samples.in, samples.out);
+        return samples.out;
+    }
+
+    @Benchmark
+    public double[] bulkVelocity(Samples samples) {
+        VelocityUnit.MILE_PER_HOUR.convertTo(VelocityUnit.METER_PER_SECOND, samples.in, samples.out);
+        return samples.out;
+    }
+
+    @Benchmark
+    public double[] bulkAngularVelocity(Samples samples) {
+        AngularVelocityUnit.REVOLUTIONS_PER_MINUTE.convertTo(AngularVelocityUnit.RADIANS_PER_SECOND, samples.in, samples.out);
+        return samples.out;
+    }
+
+    @Benchmark
+    public double[] loopDistance(Samples samples) {
+        for (int i = 0; i < samples.size; i++) samples.out[i] = DistanceUnit.INCH.toMillimeters(samples.in[i]);
+        return samples.out;
+    }
+}
@@ -0,0 +1,50 @@
+package org.chathamrobotics.nova.vision;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks measuring the colors of a whole 640x360 rgb565 frame against a band across it
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ColorStatsBenchmark {
+    private final ColorStats stats = new ColorStats();
+    private final Region frameRegion = Region.of(0, 0, 640, 360);
+    private final Region band = Region.of(0, 200, 640, 60);
+    private final Region sparseBand = new Region(0, 200, 640, 60, 4);
+
+    private ImageView frame;
+
+    @Setup
+    public void setUp() {
+        frame = ImageView.allocate(640, 360, PixelFormat.RGB565);
+
+        Random random = new Random(42);
+        for (int y = 0; y < 360; y++) for (int x = 0; x < 640; x++) frame.setRgb(x, y, random.nextInt(0x1000000));
+    }
+
+    @Benchmark
+    public ColorStats wholeFrame() {
+        return stats.measure(frame, frameRegion);
+    }
+
+    @Benchmark
+    public ColorStats band() {
+        return stats.measure(frame, band);
+    }
+
+    @Benchmark
+    public ColorStats sparseBand() {
+        return stats.measure(frame, sparseBand);
+    }
+}
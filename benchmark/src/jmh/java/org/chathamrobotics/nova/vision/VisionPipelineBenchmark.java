@@ -0,0 +1,55 @@
+package org.chathamrobotics.nova.vision;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks finding blobs in a synthetic 640x360 rgb565 frame, about the size vuforia delivers
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VisionPipelineBenchmark {
+    @Param({"1", "4"})
+    public int downsample;
+
+    @Param({"1", "2"})
+    public int threads;
+
+    private ImageView frame;
+    private VisionPipeline pipeline;
+
+    @Setup
+    public void setUp() {
+        frame = ImageView.allocate(640, 360, PixelFormat.RGB565);
+
+        // noise with a few gold blocks in it
+        Random random = new Random(42);
+        for (int y = 0; y < 360; y++) for (int x = 0; x < 640; x++) frame.setRgb(x, y, random.nextInt(0x1000000));
+        for (int i = 0; i < 5; i++) frame.fill(40 + i * 110, 100 + i * 30, 60, 60, 0xe0b020);
+
+        pipeline = new VisionPipeline(ColorRange.hsv(35, 55, 150, 255, 150, 255), downsample, threads, 8);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pipeline.close();
+    }
+
+    @Benchmark
+    public VisionResult process() {
+        pipeline.process(frame);
+
+        return pipeline.acquireLatest();
+    }
+}
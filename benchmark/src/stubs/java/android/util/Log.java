@@ -0,0 +1,56 @@
+package android.util;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+/**
+ * Stub of android's logcat api. Output is discarded so that benchmarks measure nova's formatting
+ * rather than the console
+ */
+public final class Log {
+    public static final int VERBOSE = 2;
+    public static final int DEBUG = 3;
+    public static final int INFO = 4;
+    public static final int WARN = 5;
+    public static final int ERROR = 6;
+    public static final int ASSERT = 7;
+
+    private Log() {}
+
+    public static int v(String tag, String msg) {
+        return println(VERBOSE, tag, msg);
+    }
+
+    public static int d(String tag, String msg) {
+        return println(DEBUG, tag, msg);
+    }
+
+    public static int i(String tag, String msg) {
+        return println(INFO, tag, msg);
+    }
+
+    public static int w(String tag, String msg) {
+        return println(WARN, tag, msg);
+    }
+
+    public static int e(String tag, String msg) {
+        return println(ERROR, tag, msg);
+    }
+
+    public static int e(String tag, String msg, Throwable tr) {
+        return println(ERROR, tag, msg);
+    }
+
+    public static int println(int priority, String tag, String msg) {
+        return msg == null ? 0 : msg.length();
+    }
+
+    public static String getStackTraceString(Throwable tr) {
+        if (tr == null) return "";
+
+        StringWriter writer = new StringWriter();
+        tr.printStackTrace(new PrintWriter(writer));
+
+        return writer.toString();
+    }
+}
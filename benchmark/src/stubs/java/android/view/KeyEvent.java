@@ -0,0 +1,6 @@
+package android.view;
+
+/**
+ * Stub of android's key event
+ */
+public class KeyEvent {}
@@ -0,0 +1,6 @@
+package android.view;
+
+/**
+ * Stub of android's motion event
+ */
+public class MotionEvent {}
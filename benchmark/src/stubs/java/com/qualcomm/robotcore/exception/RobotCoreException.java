@@ -0,0 +1,10 @@
+package com.qualcomm.robotcore.exception;
+
+/**
+ * Stub of the FTC sdk's checked exception
+ */
+public class RobotCoreException extends Exception {
+    public RobotCoreException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.qualcomm.robotcore.hardware;
+
+/**
+ * Stub of the FTC sdk's motor. Only the parts of the api nova uses are included
+ */
+public interface DcMotor extends DcMotorSimple {
+    enum ZeroPowerBehavior { UNKNOWN, BRAKE, FLOAT }
+
+    enum RunMode { RUN_WITHOUT_ENCODER, RUN_USING_ENCODER, RUN_TO_POSITION, STOP_AND_RESET_ENCODER }
+
+    int getPortNumber();
+    void setZeroPowerBehavior(ZeroPowerBehavior zeroPowerBehavior);
+    ZeroPowerBehavior getZeroPowerBehavior();
+    boolean getPowerFloat();
+    void setTargetPosition(int position);
+    int getTargetPosition();
+    boolean isBusy();
+    int getCurrentPosition();
+    void setMode(RunMode mode);
+    RunMode getMode();
+}
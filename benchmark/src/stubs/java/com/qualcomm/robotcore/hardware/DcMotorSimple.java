@@ -0,0 +1,13 @@
+package com.qualcomm.robotcore.hardware;
+
+/**
+ * Stub of the FTC sdk's simple motor
+ */
+public interface DcMotorSimple extends HardwareDevice {
+    enum Direction { FORWARD, REVERSE }
+
+    void setDirection(Direction direction);
+    Direction getDirection();
+    void setPower(double power);
+    double getPower();
+}
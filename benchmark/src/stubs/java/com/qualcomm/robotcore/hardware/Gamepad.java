@@ -0,0 +1,125 @@
+package com.qualcomm.robotcore.hardware;
+
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+
+import com.qualcomm.robotcore.exception.RobotCoreException;
+import com.qualcomm.robotcore.robocol.RobocolParsable;
+
+import org.firstinspires.ftc.robotcore.internal.ui.GamepadUser;
+
+/**
+ * Stub of the FTC sdk's gamepad. Input events are ignored, state is set through the fields
+ */
+public class Gamepad implements RobocolParsable {
+    public static final int ID_UNASSOCIATED = -1;
+
+    public float left_stick_x = 0f;
+    public float left_stick_y = 0f;
+    public float right_stick_x = 0f;
+    public float right_stick_y = 0f;
+
+    public boolean dpad_up = false;
+    public boolean dpad_down = false;
+    public boolean dpad_left = false;
+    public boolean dpad_right = false;
+
+    public boolean a = false;
+    public boolean b = false;
+    public boolean x = false;
+    public boolean y = false;
+
+    public boolean guide = false;
+    public boolean start = false;
+    public boolean back = false;
+
+    public boolean left_bumper = false;
+    public boolean right_bumper = false;
+    public boolean left_stick_button = false;
+    public boolean right_stick_button = false;
+
+    public float left_trigger = 0f;
+    public float right_trigger = 0f;
+
+    public int id = ID_UNASSOCIATED;
+    public long timestamp = 0;
+
+    protected float joystickDeadzone = 0.2f;
+    protected GamepadUser user;
+
+    public void copy(Gamepad gamepad) throws RobotCoreException {
+        left_stick_x = gamepad.left_stick_x;
+        left_stick_y = gamepad.left_stick_y;
+        right_stick_x = gamepad.right_stick_x;
+        right_stick_y = gamepad.right_stick_y;
+        dpad_up = gamepad.dpad_up;
+        dpad_down = gamepad.dpad_down;
+        dpad_left = gamepad.dpad_left;
+        dpad_right = gamepad.dpad_right;
+        a = gamepad.a;
+        b = gamepad.b;
+        x = gamepad.x;
+        y = gamepad.y;
+        guide = gamepad.guide;
+        start = gamepad.start;
+        back = gamepad.back;
+        left_bumper = gamepad.left_bumper;
+        right_bumper = gamepad.right_bumper;
+        left_stick_button = gamepad.left_stick_button;
+        right_stick_button = gamepad.right_stick_button;
+        left_trigger = gamepad.left_trigger;
+        right_trigger = gamepad.right_trigger;
+        id = gamepad.id;
+        timestamp = gamepad.timestamp;
+        user = gamepad.user;
+    }
+
+    public void reset() {
+        try {
+            copy(new Gamepad());
+        } catch (RobotCoreException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public void setJoystickDeadzone(float deadzone) {
+        joystickDeadzone = deadzone;
+    }
+
+    public void update(KeyEvent event) {}
+
+    public void update(MotionEvent event) {}
+
+    public void setUser(GamepadUser user) {
+        this.user = user;
+    }
+
+    public GamepadUser getUser() {
+        return user;
+    }
+
+    public void setGamepadId(int id) {
+        this.id = id;
+    }
+
+    public int getGamepadId() {
+        return id;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public void refreshTimestamp() {
+        setTimestamp(System.nanoTime());
+    }
+
+    @Override
+    public MsgType getRobocolMsgType() {
+        return MsgType.GAMEPAD;
+    }
+
+    public String type() {
+        return "Standard";
+    }
+}
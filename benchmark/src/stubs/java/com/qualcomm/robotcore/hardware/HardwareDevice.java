@@ -0,0 +1,15 @@
+package com.qualcomm.robotcore.hardware;
+
+/**
+ * Stub of the FTC sdk's hardware device
+ */
+public interface HardwareDevice {
+    enum Manufacturer { Unknown, Other }
+
+    Manufacturer getManufacturer();
+    String getDeviceName();
+    String getConnectionInfo();
+    int getVersion();
+    void resetDeviceConfigurationForOpMode();
+    void close();
+}
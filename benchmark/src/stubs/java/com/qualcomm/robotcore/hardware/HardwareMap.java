@@ -0,0 +1,27 @@
+package com.qualcomm.robotcore.hardware;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stub of the FTC sdk's hardware map. Only motors are supported
+ */
+public class HardwareMap {
+    public static class DeviceMapping<DEVICE_TYPE extends HardwareDevice> {
+        private final Map<String, DEVICE_TYPE> map = new HashMap<>();
+
+        public DEVICE_TYPE get(String deviceName) {
+            DEVICE_TYPE device = map.get(deviceName);
+            if (device == null)
+                throw new IllegalArgumentException(String.format("Unable to find a hardware device with the name \"%s\"", deviceName));
+
+            return device;
+        }
+
+        public void put(String deviceName, DEVICE_TYPE device) {
+            map.put(deviceName, device);
+        }
+    }
+
+    public DeviceMapping<DcMotor> dcMotor = new DeviceMapping<>();
+}
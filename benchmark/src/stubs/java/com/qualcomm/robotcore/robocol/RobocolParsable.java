@@ -0,0 +1,10 @@
+package com.qualcomm.robotcore.robocol;
+
+/**
+ * Stub of the FTC sdk's robocol message interface
+ */
+public interface RobocolParsable {
+    enum MsgType { EMPTY, HEARTBEAT, GAMEPAD, PEER_DISCOVERY, COMMAND, TELEMETRY, KEEPALIVE }
+
+    MsgType getRobocolMsgType();
+}
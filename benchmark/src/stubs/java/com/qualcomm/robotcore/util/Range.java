@@ -0,0 +1,21 @@
+package com.qualcomm.robotcore.util;
+
+/**
+ * Stub of the FTC sdk's range utilities
+ */
+public final class Range {
+    private Range() {}
+
+    public static double clip(double number, double min, double max) {
+        if (number < min) return min;
+        if (number > max) return max;
+        return number;
+    }
+
+    public static void throwIfRangeIsInvalid(double number, double min, double max) throws IllegalArgumentException {
+        if (number < min || number > max)
+            throw new IllegalArgumentException(
+                    String.format("number %f is invalid; valid ranges are %f..%f", number, min, max)
+            );
+    }
+}
@@ -0,0 +1,12 @@
+package com.vuforia;
+
+/**
+ * Stub of vuforia's frame
+ */
+public class Frame {
+    public Frame(Frame frame) {}
+    public double getTimeStamp() { throw new UnsupportedOperationException(); }
+    public long getNumImages() { throw new UnsupportedOperationException(); }
+    public Image getImage(int index) { throw new UnsupportedOperationException(); }
+    public void delete() {}
+}
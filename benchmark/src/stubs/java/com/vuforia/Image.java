@@ -0,0 +1,14 @@
+package com.vuforia;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Stub of vuforia's image
+ */
+public class Image {
+    public int getWidth() { throw new UnsupportedOperationException(); }
+    public int getHeight() { throw new UnsupportedOperationException(); }
+    public int getStride() { throw new UnsupportedOperationException(); }
+    public int getFormat() { throw new UnsupportedOperationException(); }
+    public ByteBuffer getPixels() { throw new UnsupportedOperationException(); }
+}
@@ -0,0 +1,8 @@
+package org.firstinspires.ftc.robotcore.external;
+
+/**
+ * Stub of the FTC sdk's value producer
+ */
+public interface Func<T> {
+    T value();
+}
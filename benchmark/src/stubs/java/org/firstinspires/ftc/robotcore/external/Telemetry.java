@@ -0,0 +1,66 @@
+package org.firstinspires.ftc.robotcore.external;
+
+/**
+ * Stub of the FTC sdk's telemetry interface
+ */
+public interface Telemetry {
+    Item addData(String caption, String format, Object... args);
+    Item addData(String caption, Object value);
+    <T> Item addData(String caption, Func<T> valueProducer);
+    <T> Item addData(String caption, String format, Func<T> valueProducer);
+    boolean removeItem(Item item);
+    void clear();
+    void clearAll();
+    Object addAction(Runnable action);
+    boolean removeAction(Object token);
+    boolean update();
+
+    interface Line {
+        Item addData(String caption, String format, Object... args);
+        Item addData(String caption, Object value);
+        <T> Item addData(String caption, Func<T> valueProducer);
+        <T> Item addData(String caption, String format, Func<T> valueProducer);
+    }
+
+    Line addLine();
+    Line addLine(String lineCaption);
+    boolean removeLine(Line line);
+
+    interface Item {
+        String getCaption();
+        Item setCaption(String caption);
+        Item setValue(String format, Object... args);
+        Item setValue(Object value);
+        <T> Item setValue(Func<T> valueProducer);
+        <T> Item setValue(String format, Func<T> valueProducer);
+        Item setRetained(Boolean retained);
+        boolean isRetained();
+        Item addData(String caption, String format, Object... args);
+        Item addData(String caption, Object value);
+        <T> Item addData(String caption, Func<T> valueProducer);
+        <T> Item addData(String caption, String format, Func<T> valueProducer);
+    }
+
+    boolean isAutoClear();
+    void setAutoClear(boolean autoClear);
+    int getMsTransmissionInterval();
+    void setMsTransmissionInterval(int msTransmissionInterval);
+    String getItemSeparator();
+    void setItemSeparator(String itemSeparator);
+    String getCaptionValueSeparator();
+    void setCaptionValueSeparator(String captionValueSeparator);
+
+    interface Log {
+        enum DisplayOrder { NEWEST_FIRST, OLDEST_FIRST }
+
+        int getCapacity();
+        void setCapacity(int capacity);
+        DisplayOrder getDisplayOrder();
+        void setDisplayOrder(DisplayOrder displayOrder);
+        void add(String entry);
+        void add(String format, Object... args);
+        void clear();
+    }
+
+    Log log();
+}
@@ -0,0 +1,8 @@
+package org.firstinspires.ftc.robotcore.external.navigation;
+
+/**
+ * Stub of the FTC sdk's angle unit
+ */
+public enum AngleUnit {
+    DEGREES, RADIANS
+}
@@ -0,0 +1,18 @@
+package org.firstinspires.ftc.robotcore.external.navigation;
+
+import com.vuforia.Frame;
+
+/**
+ * Stub of the FTC sdk's vuforia localizer, only the frames
+ */
+public interface VuforiaLocalizer {
+    class CloseableFrame extends Frame {
+        public CloseableFrame(Frame frame) {
+            super(frame);
+        }
+
+        public void close() {
+            super.delete();
+        }
+    }
+}
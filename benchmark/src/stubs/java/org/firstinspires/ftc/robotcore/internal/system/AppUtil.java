@@ -0,0 +1,12 @@
+package org.firstinspires.ftc.robotcore.internal.system;
+
+import java.io.File;
+
+/**
+ * Stub of the FTC sdk's app utilities. Files are written to the system temp directory
+ */
+public class AppUtil {
+    public static final File ROOT_FOLDER = new File(System.getProperty("java.io.tmpdir"));
+    public static final File FIRST_FOLDER = new File(ROOT_FOLDER, "FIRST");
+    public static final File ROBOT_DATA_DIR = new File(FIRST_FOLDER, "data");
+}
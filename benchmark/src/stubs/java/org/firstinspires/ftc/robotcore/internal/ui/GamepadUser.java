@@ -0,0 +1,14 @@
+package org.firstinspires.ftc.robotcore.internal.ui;
+
+/**
+ * Stub of the FTC sdk's gamepad user
+ */
+public enum GamepadUser {
+    ONE(1), TWO(2);
+
+    public final byte id;
+
+    GamepadUser(int id) {
+        this.id = (byte) id;
+    }
+}
@@ -9,6 +9,9 @@ import com.qualcomm.robotcore.util.Range;
 import org.chathamrobotics.nova.async.AsyncCallback;
 import org.chathamrobotics.nova.async.NovaEventLoop;
 import org.chathamrobotics.nova.async.ObjectListener;
+import org.chathamrobotics.nova.metrics.Counter;
+import org.chathamrobotics.nova.metrics.LatencyHistogram;
+import org.chathamrobotics.nova.metrics.MetricsRegistry;
 import org.chathamrobotics.nova.util.TimeoutChecker;
 import org.chathamrobotics.nova.util.units.AngleUnit;
 import org.chathamrobotics.nova.util.units.AngularVelocityUnit;
@@ -29,6 +32,8 @@ public class MotorEncoder {
     private final static String TAG = MotorEncoder.class.getSimpleName();
     private final static long NO_TIMEOUT = -1;
     private final static NovaEventLoop EVENT_LOOP = NovaEventLoop.getInstance();
+    private final static Counter MOVE_COUNT = MetricsRegistry.getInstance().counter(TAG + ".moves");
+    private final static LatencyHistogram MOVE_DURATION = MetricsRegistry.getInstance().histogram(TAG + ".move");
 
     private final static AsyncCallback NOOP_CALLBACK = new AsyncCallback() {
         @Override
@@ -39,16 +44,23 @@ public class MotorEncoder {
 
     private static class IsAtPositionCondition implements ObjectListener.Condition<DcMotor> {
         private final int delta;
+        private final long start;
 
         public IsAtPositionCondition(int delta) {
             this.delta = delta;
+            this.start = MOVE_DURATION.start();
+
+            MOVE_COUNT.increment();
         }
 
         @Override
         public boolean test(DcMotor value) {
             boolean atPos = Math.abs(value.getTargetPosition() - value.getCurrentPosition()) <= delta || ! value.isBusy();
 
-            if (atPos) value.setPower(0);
+            if (atPos) {
+                value.setPower(0);
+                MOVE_DURATION.stop(start);
+            }
 
             return atPos;
         }
@@ -421,6 +433,9 @@ public class MotorEncoder {
      * @throws TimeoutException     thrown if the timeout is exceeded
      */
     public void goToPositionSync(int position, int delta, double power, long timeout) throws TimeoutException {
+        long start = MOVE_DURATION.start();
+        MOVE_COUNT.increment();
+
         try {
             TimeoutChecker checker = null;
             if (timeout > 0) checker = new TimeoutChecker(timeout, "goToPositionSync timed out");
@@ -433,6 +448,8 @@ public class MotorEncoder {
                 if (checker != null) checker.check();
                 Thread.yield();
             }
+
+            MOVE_DURATION.stop(start);
         } finally {
             motor.setPower(0);
         }
@@ -673,6 +690,9 @@ public class MotorEncoder {
      * @throws TimeoutException     thrown if the operation times out
      */
     public void goToHeadingSync(double heading, double delta, @NonNull AngleUnit unit, double power, long timeout) throws TimeoutException {
+        long start = MOVE_DURATION.start();
+        MOVE_COUNT.increment();
+
         try {
             TimeoutChecker checker = null;
 
@@ -687,6 +707,7 @@ public class MotorEncoder {
                 Thread.yield();
             }
 
+            MOVE_DURATION.stop(start);
         } finally {
             motor.setPower(0);
         }
@@ -909,6 +930,9 @@ public class MotorEncoder {
      * @throws TimeoutException     thrown if the operation times out
      */
     public void rotateSync(double angle, double delta, @NonNull AngleUnit unit, double power, long timeout) throws TimeoutException {
+        long start = MOVE_DURATION.start();
+        MOVE_COUNT.increment();
+
         TimeoutChecker checker = null;
 
         if (timeout > 0) checker = new TimeoutChecker(timeout, "rotateSync timed out");
@@ -922,5 +946,7 @@ public class MotorEncoder {
             if (checker != null) checker.check();
             Thread.yield();
         }
+
+        MOVE_DURATION.stop(start);
     }
 }
@@ -30,6 +30,18 @@ public enum DistanceUnit implements Unit<DistanceUnit> {
     private final DistanceUnit baseUnit;
     private final double toBaseFactor;
 
+    // FACTORS[from][to] converts a value in from into to with a single multiply
+    private static final double[][] FACTORS;
+
+    static {
+        DistanceUnit[] units = values();
+        FACTORS = new double[units.length][units.length];
+
+        for (DistanceUnit from : units)
+            for (DistanceUnit to : units)
+                FACTORS[from.ordinal()][to.ordinal()] = from.computeFactor(to);
+    }
+
     DistanceUnit() {
         this.baseUnit = this;
         this.toBaseFactor = 1;
@@ -201,24 +213,49 @@ public enum DistanceUnit implements Unit<DistanceUnit> {
     }
 
     /**
-     * Converts from the current unit into to the given unit
+     * Gets the factor that converts values from the current unit into the given unit
+     * @param unit  the unit to convert to
+     * @return      the conversion factor
+     */
+    @Override
+    public double getFactor(DistanceUnit unit) {
+        return FACTORS[ordinal()][unit.ordinal()];
+    }
+
+    /**
+     * Converts from the current unit into the given unit
      * @param unit  the unit to convert to
      * @param value the value to convert
      * @return      the converted value
      */
     @Override
     public double convertTo(DistanceUnit unit, double value) {
-        if (this == unit) return value;
+        return value * FACTORS[ordinal()][unit.ordinal()];
+    }
 
-        double inBase = value * this.toBaseFactor;
+    /**
+     * Converts values from the current unit into the given unit
+     * @param unit  the unit to convert to
+     * @param in    the values to convert
+     * @param out   the array to write the converted values to. Can be the same array as in
+     */
+    @Override
+    public void convertTo(DistanceUnit unit, double[] in, double[] out) {
+        if (out.length < in.length) throw new IllegalArgumentException("out is shorter than in");
 
-        // if are from same system
-        if (unit.isSI() == this.isSI()) {
-            return inBase / unit.toBaseFactor;
-        }
+        double factor = FACTORS[ordinal()][unit.ordinal()];
+        for (int i = 0; i < in.length; i++) out[i] = in[i] * factor;
+    }
 
-        // if are from different systems
-        return (unit.isSI() ? inBase / METER_TO_FOOT : inBase * METER_TO_FOOT) / unit.toBaseFactor;
+    /**
+     * Converts values from the given unit into the current unit
+     * @param unit  the unit to convert from
+     * @param in    the values to convert
+     * @param out   the array to write the converted values to. Can be the same array as in
+     */
+    @Override
+    public void convertFrom(DistanceUnit unit, double[] in, double[] out) {
+        unit.convertTo(this, in, out);
     }
 
     /**
@@ -231,4 +268,15 @@ public enum DistanceUnit implements Unit<DistanceUnit> {
     public double convertFrom(DistanceUnit unit, double value) {
         return unit.convertTo(this, value);
     }
+
+    // computes the entries of the factor table
+    private double computeFactor(DistanceUnit unit) {
+        double factor = toBaseFactor / unit.toBaseFactor;
+
+        // the base units of the two systems are meters and feet
+        if (isSI() && ! unit.isSI()) factor *= METER_TO_FOOT;
+        else if (! isSI() && unit.isSI()) factor /= METER_TO_FOOT;
+
+        return factor;
+    }
 }
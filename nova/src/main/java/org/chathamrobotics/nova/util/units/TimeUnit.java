@@ -23,6 +23,18 @@ public enum TimeUnit implements Unit<TimeUnit> {
 
     private final double toBaseFactor;
 
+    // FACTORS[from][to] converts a value in from into to with a single multiply
+    private static final double[][] FACTORS;
+
+    static {
+        TimeUnit[] units = values();
+        FACTORS = new double[units.length][units.length];
+
+        for (TimeUnit from : units)
+            for (TimeUnit to : units)
+                FACTORS[from.ordinal()][to.ordinal()] = from.computeFactor(to);
+    }
+
     TimeUnit() {
         toBaseFactor = 1;
     }
@@ -156,6 +168,16 @@ public enum TimeUnit implements Unit<TimeUnit> {
         return convertFrom(HOUR, value);
     }
 
+    /**
+     * Gets the factor that converts values from the current unit into the given unit
+     * @param unit  the unit to convert to
+     * @return      the conversion factor
+     */
+    @Override
+    public double getFactor(TimeUnit unit) {
+        return FACTORS[ordinal()][unit.ordinal()];
+    }
+
     /**
      * Converts from the current unit into the given unit
      * @param unit  the unit to convert to
@@ -164,9 +186,32 @@ public enum TimeUnit implements Unit<TimeUnit> {
      */
     @Override
     public double convertTo(TimeUnit unit, double value) {
-        if (this == unit) return value;
+        return value * FACTORS[ordinal()][unit.ordinal()];
+    }
+
+    /**
+     * Converts values from the current unit into the given unit
+     * @param unit  the unit to convert to
+     * @param in    the values to convert
+     * @param out   the array to write the converted values to. Can be the same array as in
+     */
+    @Override
+    public void convertTo(TimeUnit unit, double[] in, double[] out) {
+        if (out.length < in.length) throw new IllegalArgumentException("out is shorter than in");
+
+        double factor = FACTORS[ordinal()][unit.ordinal()];
+        for (int i = 0; i < in.length; i++) out[i] = in[i] * factor;
+    }
 
-        return value * this.toBaseFactor / unit.toBaseFactor;
+    /**
+     * Converts values from the given unit into the current unit
+     * @param unit  the unit to convert from
+     * @param in    the values to convert
+     * @param out   the array to write the converted values to. Can be the same array as in
+     */
+    @Override
+    public void convertFrom(TimeUnit unit, double[] in, double[] out) {
+        unit.convertTo(this, in, out);
     }
 
     /**
@@ -179,4 +224,9 @@ public enum TimeUnit implements Unit<TimeUnit> {
     public double convertFrom(TimeUnit unit, double value) {
         return unit.convertTo(this, value);
     }
+
+    // computes the entries of the factor table
+    private double computeFactor(TimeUnit unit) {
+        return toBaseFactor / unit.toBaseFactor;
+    }
 }
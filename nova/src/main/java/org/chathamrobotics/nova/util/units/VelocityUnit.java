@@ -21,6 +21,18 @@ public enum VelocityUnit implements Unit<VelocityUnit> {
     private final DistanceUnit distanceUnit;
     private final TimeUnit timeUnit;
 
+    // FACTORS[from][to] converts a value in from into to with a single multiply
+    private static final double[][] FACTORS;
+
+    static {
+        VelocityUnit[] units = values();
+        FACTORS = new double[units.length][units.length];
+
+        for (VelocityUnit from : units)
+            for (VelocityUnit to : units)
+                FACTORS[from.ordinal()][to.ordinal()] = from.computeFactor(to);
+    }
+
     VelocityUnit(DistanceUnit distanceUnit, TimeUnit timeUnit) {
         this.distanceUnit = distanceUnit;
         this.timeUnit = timeUnit;
@@ -114,6 +126,16 @@ public enum VelocityUnit implements Unit<VelocityUnit> {
         return convertFrom(MILE_PER_HOUR, value);
     }
 
+    /**
+     * Gets the factor that converts values from the current unit into the given unit
+     * @param unit  the unit to convert to
+     * @return      the conversion factor
+     */
+    @Override
+    public double getFactor(VelocityUnit unit) {
+        return FACTORS[ordinal()][unit.ordinal()];
+    }
+
     /**
      * Converts from the current unit into the given unit
      * @param unit  the unit to convert to
@@ -122,9 +144,32 @@ public enum VelocityUnit implements Unit<VelocityUnit> {
      */
     @Override
     public double convertTo(VelocityUnit unit, double value) {
-        if (this == unit) return value;
+        return value * FACTORS[ordinal()][unit.ordinal()];
+    }
+
+    /**
+     * Converts values from the current unit into the given unit
+     * @param unit  the unit to convert to
+     * @param in    the values to convert
+     * @param out   the array to write the converted values to. Can be the same array as in
+     */
+    @Override
+    public void convertTo(VelocityUnit unit, double[] in, double[] out) {
+        if (out.length < in.length) throw new IllegalArgumentException("out is shorter than in");
+
+        double factor = FACTORS[ordinal()][unit.ordinal()];
+        for (int i = 0; i < in.length; i++) out[i] = in[i] * factor;
+    }
 
-        return timeUnit.convertFrom(unit.timeUnit, distanceUnit.convertTo(unit.distanceUnit, value));
+    /**
+     * Converts values from the given unit into the current unit
+     * @param unit  the unit to convert from
+     * @param in    the values to convert
+     * @param out   the array to write the converted values to. Can be the same array as in
+     */
+    @Override
+    public void convertFrom(VelocityUnit unit, double[] in, double[] out) {
+        unit.convertTo(this, in, out);
     }
 
     /**
@@ -137,4 +182,9 @@ public enum VelocityUnit implements Unit<VelocityUnit> {
     public double convertFrom(VelocityUnit unit, double value) {
         return unit.convertTo(this, value);
     }
+
+    // computes the entries of the factor table
+    private double computeFactor(VelocityUnit unit) {
+        return distanceUnit.getFactor(unit.distanceUnit) / timeUnit.getFactor(unit.timeUnit);
+    }
 }
@@ -12,6 +12,7 @@ import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 @RunWith(Enclosed.class)
@@ -211,4 +212,40 @@ public class DistanceUnitTest {
             assertEquals(5280, DistanceUnit.FEET.fromMile(1), DELTA);
         }
     }
+
+    public static class BulkConvertTest {
+        @Test
+        public void shouldConvertEveryValue() {
+            double[] in = {0, 1, -2.5, 12};
+            double[] out = new double[in.length];
+
+            DistanceUnit.INCH.convertTo(DistanceUnit.CENTIMETER, in, out);
+
+            for (int i = 0; i < in.length; i++)
+                assertEquals(DistanceUnit.INCH.toCentimeters(in[i]), out[i], DELTA);
+        }
+
+        @Test
+        public void shouldConvertInPlace() {
+            double[] values = {1, 2};
+
+            DistanceUnit.METER.convertFrom(DistanceUnit.KILOMETER, values, values);
+
+            assertArrayEquals(new double[] {1e3, 2e3}, values, DELTA);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldThrowIfOutIsTooShort() {
+            DistanceUnit.METER.convertTo(DistanceUnit.FEET, new double[2], new double[1]);
+        }
+    }
+
+    public static class GetFactorTest {
+        @Test
+        public void shouldRoundTrip() {
+            for (DistanceUnit from : DistanceUnit.values())
+                for (DistanceUnit to : DistanceUnit.values())
+                    assertEquals(1, from.getFactor(to) * to.getFactor(from), DELTA);
+        }
+    }
 }